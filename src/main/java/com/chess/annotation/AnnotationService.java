@@ -0,0 +1,319 @@
+package com.chess.annotation;
+
+import com.chess.engine.Evaluator;
+import com.chess.engine.TranspositionTable;
+import com.chess.engine.eval.PieceSquareEvaluator;
+import com.chess.event.GameEndedEvent;
+import com.chess.model.Game;
+import com.chess.model.GameConstants;
+import com.chess.model.MoveAnnotation;
+import com.chess.model.MoveCodec;
+import com.chess.repository.MoveAnnotationRepository;
+import com.chess.service.ChessGameService;
+import com.chess.service.PgnExportService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Análisis en segundo plano de las partidas terminadas: pérdida en centipeones
+ * por jugada, calificación (imprecisión, error, error grave) y PGN anotado.
+ *
+ * Se analizan automáticamente las partidas jugadas aquí; las importadas, solo a
+ * petición. Las partidas esperan en una cola acotada; si está llena, la partida
+ * no se encola (se puede pedir después) en lugar de acumular trabajo sin límite. Los
+ * hilos de análisis son de prioridad mínima, usan motores propios (no los del
+ * pool de jugadas) y un fork-join con paralelismo limitado, de modo que el
+ * análisis solo aprovecha la CPU que el juego en vivo deja libre.
+ */
+@Service
+public class AnnotationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnnotationService.class);
+
+    public record Summary(Long gameId, int depth, int whiteAverageLoss, int blackAverageLoss,
+            List<MoveAnnotation> moves) {
+    }
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Autowired
+    private PgnExportService pgnExportService;
+
+    @Autowired
+    private MoveAnnotationRepository annotationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Analizar automáticamente cada partida al terminar
+    @Value("${chess.annotation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chess.annotation.depth:8}")
+    private int depth;
+
+    @Value("${chess.annotation.workers:1}")
+    private int workers;
+
+    // Hilos del fork-join por partida (0 = la mitad de los núcleos)
+    @Value("${chess.annotation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${chess.annotation.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${chess.annotation.hash-mb:32}")
+    private int hashMegabytes;
+
+    private final Evaluator evaluator = new PieceSquareEvaluator();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicLong analyzed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // Una tabla por hilo de la cola, reutilizada (y vaciada) de partida en partida
+    private final ThreadLocal<TranspositionTable> tables =
+            ThreadLocal.withInitial(() -> new TranspositionTable(hashMegabytes));
+
+    private ThreadPoolExecutor executor;
+    private ForkJoinPool forkJoinPool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "annotation-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        int threadsPerGame = parallelism > 0 ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        forkJoinPool = new ForkJoinPool(threadsPerGame, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("annotation-fj-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    // Las importaciones masivas llenarían la cola: esas partidas se analizan solo a petición
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameEndedEvent event) {
+        if (enabled && !event.imported() && !event.moves().isEmpty()) {
+            enqueue(event.gameId(), List.copyOf(event.moves()));
+        }
+    }
+
+    /**
+     * Encola (o vuelve a encolar) el análisis de una partida terminada.
+     * Lanza IllegalStateException si la cola está llena.
+     */
+    public void request(Long gameId) {
+        Game game = chessGameService.findGame(gameId)
+                .orElseThrow(() -> new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND));
+        if (game.isActive()) {
+            throw new IllegalArgumentException("Solo se analizan partidas terminadas");
+        }
+        if (game.getMoves().isEmpty()) {
+            throw new IllegalArgumentException("La partida no tiene jugadas");
+        }
+        if (!enqueue(gameId, List.copyOf(game.getMoves()))) {
+            throw new IllegalStateException("La cola de análisis está llena; inténtalo más tarde");
+        }
+    }
+
+    public boolean isQueued(Long gameId) {
+        return queued.contains(gameId);
+    }
+
+    public long getAnalyzedCount() {
+        return analyzed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Análisis guardado de la partida, o null si todavía no se ha analizado.
+     */
+    public Summary summary(Long gameId) {
+        List<MoveAnnotation> moves = annotationRepository.findByGameIdOrderByPlyAsc(gameId);
+        if (moves.isEmpty()) {
+            return null;
+        }
+        return new Summary(gameId, moves.get(0).getDepth(), averageLoss(moves, true), averageLoss(moves, false),
+                moves);
+    }
+
+    /**
+     * PGN de la partida con NAG ($6 ?!, $2 ?, $4 ??) y un comentario con la
+     * evaluación y la mejor jugada en las jugadas calificadas.
+     */
+    public String annotatedPgn(Long gameId) throws IOException {
+        Game game = chessGameService.findGame(gameId)
+                .orElseThrow(() -> new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND));
+        List<MoveAnnotation> moves = annotationRepository.findByGameIdOrderByPlyAsc(gameId);
+        if (moves.isEmpty()) {
+            throw new IllegalArgumentException("La partida todavía no se ha analizado");
+        }
+        StringWriter writer = new StringWriter();
+        pgnExportService.writeAnnotated(game, pgnAnnotations(game.getMoves(), moves), writer);
+        return writer.toString();
+    }
+
+    /**
+     * Texto PGN tras cada jugada: NAG y comentario en las calificadas, nada en el resto.
+     */
+    public static List<String> pgnAnnotations(List<String> gameMoves, List<MoveAnnotation> annotations) {
+        List<String> texts = new ArrayList<>(gameMoves.size());
+        for (int i = 0; i < gameMoves.size(); i++) {
+            texts.add(null);
+        }
+        for (MoveAnnotation annotation : annotations) {
+            if (annotation.getJudgement() == null || annotation.getPly() > gameMoves.size()) {
+                continue;
+            }
+            StringBuilder text = new StringBuilder();
+            text.append('$').append(annotation.getJudgement().getNag())
+                    .append(" {").append(annotation.getJudgement().getLabel())
+                    .append(" (").append(formatEval(annotation.getEvalCp())).append(").");
+            if (annotation.getBestMove() != null) {
+                text.append(" Mejor era ")
+                        .append(toSan(gameMoves.subList(0, annotation.getPly() - 1), annotation.getBestMove()))
+                        .append('.');
+            }
+            text.append('}');
+            texts.set(annotation.getPly() - 1, text.toString());
+        }
+        return texts;
+    }
+
+    private boolean enqueue(Long gameId, List<String> moves) {
+        if (!queued.add(gameId)) {
+            return true; // ya está en la cola
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    analyse(gameId, moves, tables.get());
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo analizar la partida {}: {}", gameId, e.getMessage());
+                } finally {
+                    queued.remove(gameId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(gameId);
+            rejected.incrementAndGet();
+            log.warn("Cola de análisis llena: la partida {} no se analizará por ahora", gameId);
+            return false;
+        }
+    }
+
+    /**
+     * Tabla de transposición del tamaño configurado, para quien analiza fuera de la
+     * cola con {@link #annotationsFor}: así la memoria es suya y se libera con él.
+     */
+    public TranspositionTable newTable() {
+        return new TranspositionTable(hashMegabytes);
+    }
+
+    /**
+     * Análisis de la partida: el guardado si ya existe (no se repite) o uno nuevo,
+     * calculado en el hilo que llama con la tabla que recibe (que no debe usar otro
+     * hilo a la vez) y guardado para las siguientes consultas.
+     */
+    public List<MoveAnnotation> annotationsFor(Long gameId, List<String> moves, TranspositionTable table) {
+        List<MoveAnnotation> stored = annotationRepository.findByGameIdOrderByPlyAsc(gameId);
+        if (stored.size() == moves.size()) {
+            return stored;
+        }
+        try {
+            return analyse(gameId, moves, table);
+        } catch (DataIntegrityViolationException e) {
+            // La cola de análisis la ha guardado a la vez: vale la suya
+            return annotationRepository.findByGameIdOrderByPlyAsc(gameId);
+        }
+    }
+
+    private List<MoveAnnotation> analyse(Long gameId, List<String> moves, TranspositionTable table) {
+        long start = System.nanoTime();
+        table.clear();
+        GameAnalyzer.PositionEval[] evals = GameAnalyzer.analyse(moves, depth, table, evaluator, forkJoinPool);
+        List<MoveAnnotation> annotations = GameAnalyzer.annotations(gameId, moves, evals, depth);
+        transactionTemplate.executeWithoutResult(status -> {
+            annotationRepository.deleteByGameId(gameId);
+            annotationRepository.saveAll(annotations);
+        });
+        analyzed.incrementAndGet();
+        log.debug("Partida {} analizada a profundidad {} en {} ms", gameId, depth,
+                (System.nanoTime() - start) / 1_000_000);
+        return annotations;
+    }
+
+    private static int averageLoss(List<MoveAnnotation> moves, boolean white) {
+        long total = 0;
+        int count = 0;
+        for (MoveAnnotation move : moves) {
+            if (move.isWhiteMove() == white) {
+                total += move.getCpLoss();
+                count++;
+            }
+        }
+        return count > 0 ? (int) (total / count) : 0;
+    }
+
+    private static String formatEval(int centipawns) {
+        return String.format(Locale.ROOT, "%+.2f", centipawns / 100.0);
+    }
+
+    // SAN de la jugada alternativa; en LAN si no se puede reconstruir la posición
+    private static String toSan(List<String> previous, String lan) {
+        try {
+            List<String> line = new ArrayList<>(previous);
+            line.add(lan);
+            List<String> san = MoveCodec.toSan(line);
+            return san.get(san.size() - 1);
+        } catch (RuntimeException e) {
+            return lan;
+        }
+    }
+}
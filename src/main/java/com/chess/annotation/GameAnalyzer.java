@@ -0,0 +1,117 @@
+package com.chess.annotation;
+
+import com.chess.engine.AlphaBetaEngine;
+import com.chess.engine.Evaluator;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.TranspositionTable;
+import com.chess.model.MoveAnnotation;
+import com.chess.service.GameRules;
+import com.github.bhlangonijr.chesslib.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Análisis de todas las posiciones de una partida a profundidad fija.
+ *
+ * Las posiciones se reparten con fork-join (cada hoja busca una posición con su
+ * propio motor) y todas las búsquedas comparten la tabla de transposición: las
+ * posiciones consecutivas tienen árboles muy parecidos y lo que calcula un hilo
+ * sirve para ordenar y cortar en los demás.
+ *
+ * Cada rango recibe el tablero en su primera posición: al partirse, la mitad
+ * derecha copia el tablero y avanza hasta su inicio, así que la partida se
+ * reproduce O(n log n) jugadas en total en lugar de una vez por posición.
+ */
+public final class GameAnalyzer {
+
+    /**
+     * Evaluación de la posición tras `ply` jugadas, desde el bando que mueve, y su mejor jugada.
+     */
+    public record PositionEval(int score, String bestMove) {
+    }
+
+    private GameAnalyzer() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Evalúa las moves.size() + 1 posiciones de la partida (la inicial incluida).
+     */
+    public static PositionEval[] analyse(List<String> moves, int depth, TranspositionTable table,
+            Evaluator evaluator, ForkJoinPool pool) {
+        PositionEval[] evals = new PositionEval[moves.size() + 1];
+        pool.invoke(new PlyRange(moves, depth, table, evaluator, evals, 0, evals.length, new Board()));
+        return evals;
+    }
+
+    /**
+     * Convierte las evaluaciones en anotaciones por jugada. La pérdida de una
+     * jugada es la evaluación antes de jugar (desde quien mueve) menos la de
+     * después (desde el mismo bando), con los mates acotados a ±MAX_EVAL para que
+     * un mate más lento no cuente como un error de miles de centipeones.
+     */
+    public static List<MoveAnnotation> annotations(Long gameId, List<String> moves, PositionEval[] evals,
+            int depth) {
+        List<MoveAnnotation> annotations = new ArrayList<>(moves.size());
+        for (int ply = 1; ply <= moves.size(); ply++) {
+            String move = moves.get(ply - 1);
+            PositionEval before = evals[ply - 1];
+            int after = clamp(evals[ply].score());
+            int loss = move.equals(before.bestMove()) ? 0 : Math.max(0, clamp(before.score()) + after);
+            // Tras una jugada de blancas mueven negras: se cambia el signo para darla a favor de blancas
+            int whiteEval = ply % 2 == 1 ? -after : after;
+            annotations.add(new MoveAnnotation(gameId, ply, move, before.bestMove(), whiteEval, loss, depth));
+        }
+        return annotations;
+    }
+
+    private static int clamp(int score) {
+        return Math.max(-MoveAnnotation.MAX_EVAL, Math.min(MoveAnnotation.MAX_EVAL, score));
+    }
+
+    private static final class PlyRange extends RecursiveAction {
+
+        private final List<String> moves;
+        private final int depth;
+        private final TranspositionTable table;
+        private final Evaluator evaluator;
+        private final PositionEval[] evals;
+        private final int from;
+        private final int to;
+        private final Board board; // posición tras `from` jugadas, propiedad de este rango
+
+        PlyRange(List<String> moves, int depth, TranspositionTable table, Evaluator evaluator,
+                PositionEval[] evals, int from, int to, Board board) {
+            this.moves = moves;
+            this.depth = depth;
+            this.table = table;
+            this.evaluator = evaluator;
+            this.evals = evals;
+            this.from = from;
+            this.to = to;
+            this.board = board;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                AlphaBetaEngine engine = new AlphaBetaEngine("annotation", table, evaluator);
+                SearchResult result = engine.search(board, SearchLimits.depth(depth));
+                evals[from] = new PositionEval(result.score(), result.bestMove());
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            // La copia conserva el historial, que la búsqueda usa para detectar repeticiones
+            Board middleBoard = board.clone();
+            for (int ply = from; ply < middle; ply++) {
+                middleBoard.doMove(GameRules.parseAndValidateMove(middleBoard, moves.get(ply)));
+            }
+            invokeAll(new PlyRange(moves, depth, table, evaluator, evals, from, middle, board),
+                    new PlyRange(moves, depth, table, evaluator, evals, middle, to, middleBoard));
+        }
+    }
+}
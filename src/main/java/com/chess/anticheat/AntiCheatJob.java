@@ -0,0 +1,24 @@
+package com.chess.anticheat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalcula periódicamente los informes antitrampas de los jugadores con
+ * partidas recientes.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.anticheat.enabled", havingValue = "true", matchIfMissing = true)
+public class AntiCheatJob {
+
+    @Autowired
+    private AntiCheatService antiCheatService;
+
+    @Scheduled(fixedDelayString = "${chess.anticheat.interval-ms:21600000}",
+            initialDelayString = "${chess.anticheat.initial-delay-ms:600000}")
+    public void run() {
+        antiCheatService.run();
+    }
+}
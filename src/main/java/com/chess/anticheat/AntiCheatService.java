@@ -0,0 +1,336 @@
+package com.chess.anticheat;
+
+import com.chess.annotation.AnnotationService;
+import com.chess.engine.TranspositionTable;
+import com.chess.model.CheatReport;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveAnnotation;
+import com.chess.repository.CheatReportRepository;
+import com.chess.repository.GameRepository;
+import com.chess.repository.MoveAnnotationRepository;
+import com.chess.service.GameArchiveService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Análisis estadístico antitrampas: para cada jugador con partidas recientes
+ * calcula la coincidencia de sus jugadas con el motor y la distribución de
+ * sus tiempos de reflexión sobre sus últimas partidas, y lo marca si supera
+ * los umbrales.
+ *
+ * Las partidas recientes se eligen por fecha de fin entre las vivas y las
+ * archivadas, ya que el archivador retira las terminadas al cabo de unas horas.
+ * Se analizan en paralelo, cada una una sola vez aunque aparezca
+ * en la lista de los dos jugadores; las que ya tienen anotaciones guardadas
+ * (análisis al terminar o ejecuciones anteriores) no se vuelven a analizar.
+ *
+ * Los jugadores se procesan por grupos (chess.anticheat.players-per-chunk): se
+ * cargan sus partidas, se analizan, se guardan sus informes y se descarta todo
+ * antes del grupo siguiente, de modo que la memoria no crece con el número de
+ * jugadores.
+ */
+@Service
+public class AntiCheatService {
+
+    private static final Logger log = LoggerFactory.getLogger(AntiCheatService.class);
+
+    public record Run(int players, int games, int analyzedGames, int cachedGames, int flagged, long millis) {
+    }
+
+    // Lo necesario de una partida, leído dentro de la transacción
+    private record GameSample(Long id, Instant finishedAt, List<String> moves, int[] moveTimes,
+            Long whitePlayerId, Long blackPlayerId) {
+    }
+
+    // Totales de una ejecución y sus tablas de transposición (una por análisis
+    // simultáneo), que se liberan al terminar en lugar de quedarse en los hilos
+    private static final class RunState {
+        final PlayerStats.Thresholds thresholds;
+        final Queue<TranspositionTable> tables = new ConcurrentLinkedQueue<>();
+        final AtomicInteger analyzed = new AtomicInteger();
+        final AtomicInteger cached = new AtomicInteger();
+        int games;
+        int flagged;
+
+        RunState(PlayerStats.Thresholds thresholds) {
+            this.thresholds = thresholds;
+        }
+    }
+
+    // Más recientes primero; como en las consultas, sin fecha de fin al final
+    private static final Comparator<GameSample> MOST_RECENT = Comparator
+            .comparing(GameSample::finishedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+            .thenComparing(GameSample::id)
+            .reversed();
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private MoveAnnotationRepository annotationRepository;
+
+    @Autowired
+    private CheatReportRepository reportRepository;
+
+    @Autowired
+    private AnnotationService annotationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Jugadores con alguna partida terminada en los últimos días
+    @Value("${chess.anticheat.lookback-days:7}")
+    private int lookbackDays;
+
+    @Value("${chess.anticheat.games-per-player:20}")
+    private int gamesPerPlayer;
+
+    // Jugadores cuyas partidas y anotaciones se tienen en memoria a la vez
+    @Value("${chess.anticheat.players-per-chunk:100}")
+    private int playersPerChunk;
+
+    // Partidas analizadas a la vez (cada una usa además el fork-join del análisis)
+    @Value("${chess.anticheat.parallelism:2}")
+    private int parallelism;
+
+    // Jugadas de apertura que no cuentan
+    @Value("${chess.anticheat.skip-plies:10}")
+    private int skipPlies;
+
+    // Ventaja (cp) a partir de la cual la posición se da por decidida y no cuenta
+    @Value("${chess.anticheat.decisive-eval:500}")
+    private int decisiveEval;
+
+    @Value("${chess.anticheat.min-moves:60}")
+    private int minMoves;
+
+    @Value("${chess.anticheat.match-rate:0.85}")
+    private double matchRate;
+
+    @Value("${chess.anticheat.max-average-loss:20}")
+    private int maxAverageLoss;
+
+    @Value("${chess.anticheat.timed-match-rate:0.7}")
+    private double timedMatchRate;
+
+    @Value("${chess.anticheat.max-think-time-cv:0.25}")
+    private double maxThinkTimeCv;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService executor;
+    private ExecutorService runner;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "anticheat-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "anticheat-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        runner.shutdownNow();
+    }
+
+    /**
+     * Lanza una ejecución en segundo plano. Lanza IllegalStateException si ya
+     * hay una en curso.
+     */
+    public void runAsync() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("El análisis antitrampas ya está en curso");
+        }
+        runner.execute(() -> {
+            try {
+                analyse();
+            } catch (RuntimeException e) {
+                log.warn("Error en el análisis antitrampas", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Ejecución síncrona (tarea programada). Si ya hay una en curso no hace nada.
+     */
+    public Optional<Run> run() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(analyse());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<CheatReport> report(Long playerId) {
+        return reportRepository.findByPlayerId(playerId);
+    }
+
+    public List<CheatReport> flagged() {
+        return reportRepository.findByFlaggedTrueOrderByMatchRateDesc();
+    }
+
+    private Run analyse() {
+        long start = System.nanoTime();
+        Instant since = Instant.now().minus(Duration.ofDays(lookbackDays));
+        TreeSet<Long> players = new TreeSet<>(gameRepository.findRecentWhitePlayerIds(GameStatus.ACTIVE, since));
+        players.addAll(gameRepository.findRecentBlackPlayerIds(GameStatus.ACTIVE, since));
+        players.addAll(gameArchiveService.findRecentPlayerIds(since));
+
+        RunState state = new RunState(new PlayerStats.Thresholds(minMoves, matchRate, maxAverageLoss,
+                timedMatchRate, maxThinkTimeCv));
+        List<Long> chunk = new ArrayList<>();
+        for (Long playerId : players) {
+            chunk.add(playerId);
+            if (chunk.size() >= Math.max(1, playersPerChunk)) {
+                analyseChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            analyseChunk(chunk, state);
+        }
+
+        Run run = new Run(players.size(), state.games, state.analyzed.get(), state.cached.get(), state.flagged,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Antitrampas: {} jugadores, {} partidas ({} analizadas, {} ya anotadas), {} marcados en {} ms",
+                run.players(), run.games(), run.analyzedGames(), run.cachedGames(), run.flagged(), run.millis());
+        return run;
+    }
+
+    /**
+     * Carga, analiza e informa de un grupo de jugadores. Las partidas y anotaciones
+     * del grupo se descartan al volver; una partida entre jugadores de grupos
+     * distintos se vuelve a cargar, pero sus anotaciones ya están guardadas.
+     */
+    private void analyseChunk(List<Long> chunk, RunState state) {
+        // Partidas de cada jugador; una partida entre dos jugadores del grupo se carga una vez
+        Map<Long, List<Long>> gamesByPlayer = new HashMap<>();
+        Map<Long, GameSample> samples = new LinkedHashMap<>();
+        for (Long playerId : chunk) {
+            List<GameSample> recent = new ArrayList<>(transactionTemplate.execute(status -> gameRepository
+                    .findRecentFinishedByPlayer(playerId, GameStatus.ACTIVE, PageRequest.of(0, gamesPerPlayer))
+                    .stream().map(AntiCheatService::sample).toList()));
+            gameArchiveService.findRecentByPlayer(playerId, gamesPerPlayer).stream()
+                    .map(AntiCheatService::sample).forEach(recent::add);
+            // Una partida archivada entre las dos lecturas puede aparecer en ambas
+            Set<Long> seen = new HashSet<>();
+            List<GameSample> latest = recent.stream().sorted(MOST_RECENT)
+                    .filter(sample -> seen.add(sample.id()))
+                    .limit(gamesPerPlayer).toList();
+            List<Long> ids = new ArrayList<>(latest.size());
+            for (GameSample sample : latest) {
+                if (!sample.moves().isEmpty()) {
+                    samples.putIfAbsent(sample.id(), sample);
+                    ids.add(sample.id());
+                }
+            }
+            gamesByPlayer.put(playerId, ids);
+        }
+        state.games += samples.size();
+
+        Map<Long, CompletableFuture<List<MoveAnnotation>>> pending = new HashMap<>();
+        for (GameSample sample : samples.values()) {
+            pending.put(sample.id(), CompletableFuture.supplyAsync(() -> {
+                List<MoveAnnotation> stored = annotationRepository.findByGameIdOrderByPlyAsc(sample.id());
+                if (stored.size() == sample.moves().size()) {
+                    state.cached.incrementAndGet();
+                    return stored;
+                }
+                state.analyzed.incrementAndGet();
+                TranspositionTable table = state.tables.poll();
+                if (table == null) {
+                    table = annotationService.newTable();
+                }
+                try {
+                    return annotationService.annotationsFor(sample.id(), sample.moves(), table);
+                } finally {
+                    state.tables.offer(table);
+                }
+            }, executor));
+        }
+        Map<Long, List<MoveAnnotation>> annotations = new HashMap<>();
+        pending.forEach((gameId, future) -> {
+            try {
+                annotations.put(gameId, future.join());
+            } catch (RuntimeException e) {
+                log.warn("No se pudo analizar la partida {}: {}", gameId, e.getMessage());
+            }
+        });
+
+        for (Long playerId : chunk) {
+            PlayerStats stats = new PlayerStats(skipPlies, decisiveEval);
+            for (Long gameId : gamesByPlayer.get(playerId)) {
+                List<MoveAnnotation> gameAnnotations = annotations.get(gameId);
+                if (gameAnnotations != null) {
+                    GameSample sample = samples.get(gameId);
+                    stats.addGame(gameAnnotations, sample.moveTimes(), playerId.equals(sample.whitePlayerId()));
+                }
+            }
+            CheatReport report = transactionTemplate.execute(status -> {
+                CheatReport current = reportRepository.findByPlayerId(playerId)
+                        .orElseGet(() -> new CheatReport(playerId));
+                stats.applyTo(current, state.thresholds);
+                return reportRepository.save(current);
+            });
+            if (report.isFlagged()) {
+                state.flagged++;
+                log.info("Jugador {} marcado por el análisis antitrampas: {}", playerId, report.getReasons());
+            }
+        }
+    }
+
+    private static GameSample sample(Game game) {
+        List<String> moves = List.copyOf(game.getMoves());
+        return new GameSample(game.getId(), game.getFinishedAt(), moves, game.getMoveTimes(),
+                game.getWhitePlayerId(), game.getBlackPlayerId());
+    }
+}
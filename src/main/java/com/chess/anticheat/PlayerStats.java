@@ -0,0 +1,137 @@
+package com.chess.anticheat;
+
+import com.chess.model.CheatReport;
+import com.chess.model.MoveAnnotation;
+import com.chess.model.MoveTimes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Acumula, partida a partida, las jugadas de un jugador: cuántas coinciden con
+ * la mejor jugada del motor, su pérdida media y sus tiempos de reflexión.
+ *
+ * Solo cuentan las jugadas fuera de la apertura (teoría, donde todos
+ * coinciden con el motor) y en posiciones no decididas (con mucha ventaja
+ * cualquier jugada razonable es "la mejor"). No es seguro entre hilos: se
+ * llena desde un único hilo con las anotaciones ya calculadas.
+ */
+public class PlayerStats {
+
+    /**
+     * Umbrales para marcar a un jugador. Regla de precisión: muchas jugadas
+     * del motor con muy poca pérdida. Regla de tiempos: tiempos de reflexión
+     * casi constantes (coeficiente de variación bajo) junto a una coincidencia
+     * alta, el patrón de quien copia jugadas de un motor.
+     */
+    public record Thresholds(int minMoves, double matchRate, int maxAverageLoss,
+            double timedMatchRate, double maxThinkTimeCv) {
+    }
+
+    private final int skipPlies;
+    private final int decisiveEval;
+
+    private int games;
+    private int moves;
+    private int matches;
+    private long totalLoss;
+    private final List<Integer> thinkTimes = new ArrayList<>();
+
+    public PlayerStats(int skipPlies, int decisiveEval) {
+        this.skipPlies = skipPlies;
+        this.decisiveEval = decisiveEval;
+    }
+
+    /**
+     * Añade las jugadas del color indicado de una partida anotada. moveTimes
+     * va en el orden de los movimientos (índice = ply - 1).
+     */
+    public void addGame(List<MoveAnnotation> annotations, int[] moveTimes, boolean white) {
+        games++;
+        for (MoveAnnotation annotation : annotations) {
+            int ply = annotation.getPly();
+            if (annotation.isWhiteMove() != white || ply <= skipPlies) {
+                continue;
+            }
+            // Evaluación antes de la jugada: la que dejó la jugada anterior
+            int before = ply > 1 ? annotations.get(ply - 2).getEvalCp() : 0;
+            if (Math.abs(before) >= decisiveEval) {
+                continue;
+            }
+            moves++;
+            if (annotation.getMove().equals(annotation.getBestMove())) {
+                matches++;
+            }
+            totalLoss += annotation.getCpLoss();
+            int think = ply - 1 < moveTimes.length ? moveTimes[ply - 1] : MoveTimes.UNKNOWN;
+            if (think != MoveTimes.UNKNOWN) {
+                thinkTimes.add(think);
+            }
+        }
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    public double getMatchRate() {
+        return moves > 0 ? (double) matches / moves : 0.0;
+    }
+
+    public int getAverageLoss() {
+        return moves > 0 ? (int) (totalLoss / moves) : 0;
+    }
+
+    public int getTimedMoves() {
+        return thinkTimes.size();
+    }
+
+    /**
+     * Vuelca las estadísticas y el veredicto en el informe del jugador.
+     */
+    public void applyTo(CheatReport report, Thresholds thresholds) {
+        report.setMoveStats(games, moves, matches, getAverageLoss());
+
+        int[] times = thinkTimes.stream().mapToInt(Integer::intValue).sorted().toArray();
+        double mean = Arrays.stream(times).average().orElse(0.0);
+        double variance = Arrays.stream(times).mapToDouble(t -> (t - mean) * (t - mean)).average().orElse(0.0);
+        double cv = mean > 0 ? Math.sqrt(variance) / mean : 0.0;
+        report.setTimeStats(times.length, (int) Math.round(mean), cv,
+                percentile(times, 10), percentile(times, 50), percentile(times, 90));
+
+        List<String> reasons = new ArrayList<>();
+        double matchRate = getMatchRate();
+        if (moves >= thresholds.minMoves() && matchRate >= thresholds.matchRate()
+                && getAverageLoss() <= thresholds.maxAverageLoss()) {
+            reasons.add(String.format(Locale.ROOT,
+                    "coincidencia con el motor %.0f%% y pérdida media %d cp en %d jugadas",
+                    matchRate * 100, getAverageLoss(), moves));
+        }
+        if (times.length >= thresholds.minMoves() && cv <= thresholds.maxThinkTimeCv()
+                && matchRate >= thresholds.timedMatchRate()) {
+            reasons.add(String.format(Locale.ROOT,
+                    "tiempos de reflexión uniformes (CV %.2f, mediana %d ms) con coincidencia %.0f%%",
+                    cv, percentile(times, 50), matchRate * 100));
+        }
+        report.setVerdict(!reasons.isEmpty(), reasons.isEmpty() ? null : String.join("; ", reasons));
+    }
+
+    // Percentil por el método del rango más cercano sobre valores ordenados
+    static int percentile(int[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,77 @@
+package com.chess.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cliente HTTP entre nodos. Las peticiones reenviadas llevan la cabecera
+ * {@link #FORWARDED_HEADER} para que el nodo destino no vuelva a reenviarlas.
+ */
+@Component
+public class ClusterForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Chess-Forwarded";
+
+    // Cabeceras de un solo salto (RFC 9110 §7.6.1) y las que fija el propio cliente HTTP
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-connection",
+            "proxy-authenticate", "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade",
+            "host", "content-length", "expect");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    /**
+     * Reenvía una petición al nodo con las cabeceras extremo a extremo de headers
+     * (las de un solo salto se descartan).
+     */
+    public HttpResponse<byte[]> send(String node, String method, String pathAndQuery,
+            Map<String, List<String>> headers, byte[] body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(Duration.ofSeconds(10))
+                .method(method, body == null || body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        Set<String> skip = hopByHop(headers);
+        headers.forEach((name, values) -> {
+            if (!skip.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        request.setHeader(FORWARDED_HEADER, "true");
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Nombres (en minúsculas) de las cabeceras que no deben pasar de un salto al
+     * siguiente: las fijas, las que nombre la cabecera Connection y las
+     * pseudocabeceras de HTTP/2.
+     */
+    public static Set<String> hopByHop(Map<String, List<String>> headers) {
+        Set<String> names = new HashSet<>(HOP_BY_HOP);
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.startsWith(":")) {
+                names.add(lower);
+            } else if (lower.equals("connection")) {
+                for (String value : values) {
+                    for (String token : value.split(",")) {
+                        names.add(token.trim().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        });
+        return names;
+    }
+}
@@ -0,0 +1,143 @@
+package com.chess.cluster;
+
+import com.chess.service.GameRegistry;
+import com.chess.service.WriteBehindGameStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Miembros del clúster y reparto de partidas entre ellos.
+ *
+ * Cada nodo se arranca con su propia URL y la lista de nodos; todos calculan el
+ * mismo anillo, así que cualquiera sabe a quién reenviar una partida que no es
+ * suya. Al cambiar los miembros se vuelcan y descartan de memoria las partidas
+ * que han pasado a otro nodo, que las cargará desde la base de datos; el nodo
+ * sigue atendiéndolas hasta que ese volcado se confirma.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    @Autowired
+    private WriteBehindGameStore writeBehindStore;
+
+    @Autowired
+    private GameRegistry gameRegistry;
+
+    @Value("${chess.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chess.cluster.self-url:http://localhost:8080}")
+    private String selfUrl;
+
+    @Value("${chess.cluster.nodes:}")
+    private String configuredNodes;
+
+    @Value("${chess.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private final ReentrantLock membershipLock = new ReentrantLock();
+    private volatile ConsistentHashRing ring;
+
+    @PostConstruct
+    void init() {
+        selfUrl = normalize(selfUrl);
+        Set<String> nodes = new LinkedHashSet<>();
+        Arrays.stream(configuredNodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(ClusterMembership::normalize)
+                .forEach(nodes::add);
+        nodes.add(selfUrl);
+        // También al arrancar: lo recuperado del diario que ya no es nuestro se vuelca y se suelta
+        handOff(new ConsistentHashRing(nodes, virtualNodes));
+        if (enabled) {
+            log.info("Clúster activo en {} con nodos {}", selfUrl, nodes);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+
+    public Set<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    public String ownerOf(long gameId) {
+        return ring.ownerOf(gameId);
+    }
+
+    public boolean isLocal(long gameId) {
+        return isLocal(ring, gameId);
+    }
+
+    private boolean isLocal(ConsistentHashRing candidate, long gameId) {
+        return !enabled || selfUrl.equals(candidate.ownerOf(gameId));
+    }
+
+    /**
+     * Añade un nodo al anillo. Devuelve false si ya era miembro.
+     */
+    public boolean join(String node) {
+        return changeMembers(normalize(node), true);
+    }
+
+    /**
+     * Retira un nodo del anillo. Devuelve false si no era miembro. Si el nodo
+     * retirado es este, suelta todas sus partidas y pasa a reenviarlas.
+     */
+    public boolean leave(String node) {
+        String target = normalize(node);
+        if (ring.getNodes().size() == 1 && ring.getNodes().contains(target)) {
+            throw new IllegalArgumentException("No se puede retirar el último nodo del clúster");
+        }
+        return changeMembers(target, false);
+    }
+
+    private boolean changeMembers(String node, boolean add) {
+        membershipLock.lock();
+        try {
+            Set<String> nodes = new LinkedHashSet<>(ring.getNodes());
+            boolean changed = add ? nodes.add(node) : nodes.remove(node);
+            if (!changed) {
+                return false;
+            }
+            handOff(new ConsistentHashRing(nodes, virtualNodes));
+            log.info("Nodos del clúster: {}", nodes);
+            return true;
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    // Lo que deja de ser nuestro se vuelca a la base de datos y se suelta; el anillo nuevo
+    // (y con él el reenvío al nuevo dueño) solo se publica cuando el volcado se ha confirmado
+    private void handOff(ConsistentHashRing next) {
+        writeBehindStore.handOff(gameId -> !isLocal(next, gameId), gameId -> isLocal(next, gameId),
+                () -> ring = next);
+        gameRegistry.evictIf(gameId -> !isLocal(gameId));
+    }
+
+    static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("La URL del nodo no puede estar vacía");
+        }
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,73 @@
+package com.chess.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente que asigna cada partida a un nodo.
+ *
+ * Cada nodo ocupa varios puntos del anillo (nodos virtuales) para repartir la
+ * carga de forma uniforme; al añadir o quitar un nodo solo cambian de dueño las
+ * partidas de los tramos afectados (~1/N del total). Es inmutable: los cambios
+ * de miembros construyen un anillo nuevo.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("El número de nodos virtuales debe ser positivo");
+        }
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Nodo dueño de la partida: el primer punto del anillo en sentido horario.
+     */
+    public String ownerOf(long gameId) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("El anillo no tiene nodos");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(gameId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    // Los ids son consecutivos: se dispersan antes de situarlos en el anillo (finalizador de SplitMix64)
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
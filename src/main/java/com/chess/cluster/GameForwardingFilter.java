@@ -0,0 +1,105 @@
+package com.chess.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reenvía al nodo dueño las peticiones sobre una partida que no pertenece a
+ * este nodo (/games/{id}/...). Solo actúa con el clúster activo; las peticiones
+ * ya reenviadas se atienden siempre en local. Las cabeceras extremo a extremo
+ * (If-None-Match, Accept, ETag, Location, Content-Disposition...) pasan en los
+ * dos sentidos; las de un solo salto no.
+ */
+@Component
+public class GameForwardingFilter extends OncePerRequestFilter {
+
+    private static final Pattern GAME_PATH = Pattern.compile("^/games/(\\d+)(/.*)?$");
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private ClusterForwarder forwarder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !membership.isEnabled() || request.getHeader(ClusterForwarder.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        Matcher matcher = GAME_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long gameId;
+        try {
+            gameId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (membership.isLocal(gameId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String owner = membership.ownerOf(gameId);
+        String pathAndQuery = request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        try {
+            HttpResponse<byte[]> forwarded = forwarder.send(owner, request.getMethod(), pathAndQuery,
+                    requestHeaders(request), request.getInputStream().readAllBytes());
+            response.setStatus(forwarded.statusCode());
+            Map<String, List<String>> headers = forwarded.headers().map();
+            Set<String> skip = ClusterForwarder.hopByHop(headers);
+            headers.forEach((name, values) -> {
+                if (!skip.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            response.getOutputStream().write(forwarded.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeUnavailable(response, owner);
+        } catch (IOException e) {
+            writeUnavailable(response, owner);
+        }
+    }
+
+    private static Map<String, List<String>> requestHeaders(HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+        return headers;
+    }
+
+    private static void writeUnavailable(HttpServletResponse response, String owner) throws IOException {
+        response.setStatus(HttpStatus.BAD_GATEWAY.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write(("Nodo dueño de la partida no disponible: " + owner)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+package com.chess.controller;
+
+import com.chess.annotation.AnnotationService;
+import com.chess.model.MoveAnnotation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/games/{id}/annotation")
+public class AnnotationController {
+
+    @Autowired
+    private AnnotationService annotationService;
+
+    // Encola (o repite) el análisis de una partida terminada
+    @PostMapping
+    public ResponseEntity<String> request(@PathVariable Long id) {
+        try {
+            annotationService.request(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/games/" + id + "/annotation")
+                    .body("Análisis encolado para la partida " + id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<String> getAnnotation(@PathVariable Long id) {
+        AnnotationService.Summary summary = annotationService.summary(id);
+        if (summary == null) {
+            return annotationService.isQueued(id)
+                    ? ResponseEntity.status(HttpStatus.ACCEPTED).body("Análisis en curso")
+                    : ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(formatSummary(summary));
+    }
+
+    @GetMapping(value = "/pgn", produces = "application/x-chess-pgn")
+    public ResponseEntity<String> getAnnotatedPgn(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(annotationService.annotatedPgn(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Error al generar el PGN: " + e.getMessage());
+        }
+    }
+
+    private String formatSummary(AnnotationService.Summary summary) {
+        StringBuilder response = new StringBuilder();
+        response.append("ID del Juego: ").append(summary.gameId()).append("\n");
+        response.append("Profundidad: ").append(summary.depth()).append("\n");
+        response.append("Pérdida media blancas: ").append(summary.whiteAverageLoss()).append(" cp\n");
+        response.append("Pérdida media negras: ").append(summary.blackAverageLoss()).append(" cp\n");
+        for (MoveAnnotation move : summary.moves()) {
+            response.append(move.getPly()).append(". ").append(move.getMove())
+                    .append(" eval ").append(move.getEvalCp())
+                    .append(" pérdida ").append(move.getCpLoss());
+            if (move.getJudgement() != null) {
+                response.append(' ').append(move.getJudgement().getSymbol())
+                        .append(" (mejor ").append(move.getBestMove()).append(')');
+            }
+            response.append("\n");
+        }
+        return response.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.chess.controller;
+
+import com.chess.anticheat.AntiCheatService;
+import com.chess.model.CheatReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/anticheat")
+public class AntiCheatController {
+
+    @Autowired
+    private AntiCheatService antiCheatService;
+
+    // Lanza el análisis en segundo plano (el mismo que la tarea programada)
+    @PostMapping("/run")
+    public ResponseEntity<String> run() {
+        try {
+            antiCheatService.runAsync();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/anticheat/flagged")
+                    .body("Análisis antitrampas lanzado");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/flagged")
+    public ResponseEntity<String> getFlagged() {
+        List<CheatReport> reports = antiCheatService.flagged();
+        StringBuilder response = new StringBuilder();
+        response.append("Jugadores marcados: ").append(reports.size()).append("\n");
+        for (CheatReport report : reports) {
+            response.append(formatReport(report)).append("\n");
+        }
+        return ResponseEntity.ok(response.toString());
+    }
+
+    @GetMapping("/players/{playerId}")
+    public ResponseEntity<String> getReport(@PathVariable Long playerId) {
+        return antiCheatService.report(playerId)
+                .map(report -> ResponseEntity.ok(formatReport(report)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private String formatReport(CheatReport report) {
+        StringBuilder response = new StringBuilder();
+        response.append("ID del Jugador: ").append(report.getPlayerId()).append("\n");
+        response.append("Partidas: ").append(report.getGames())
+                .append(", jugadas analizadas: ").append(report.getMovesAnalyzed()).append("\n");
+        response.append(String.format(Locale.ROOT, "Coincidencia con el motor: %.1f%% (%d jugadas)%n",
+                report.getMatchRate() * 100, report.getEngineMatches()));
+        response.append("Pérdida media: ").append(report.getAverageLoss()).append(" cp\n");
+        response.append(String.format(Locale.ROOT,
+                "Tiempos de reflexión (%d jugadas): media %d ms, CV %.2f, p10/p50/p90 %d/%d/%d ms%n",
+                report.getTimedMoves(), report.getMeanThinkMillis(), report.getThinkTimeCv(),
+                report.getThinkP10Millis(), report.getThinkP50Millis(), report.getThinkP90Millis()));
+        response.append("Marcado: ").append(report.isFlagged() ? "sí" : "no").append("\n");
+        if (report.getReasons() != null) {
+            response.append("Motivos: ").append(report.getReasons()).append("\n");
+        }
+        response.append("Calculado: ").append(report.getComputedAt()).append("\n");
+        return response.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.chess.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tiempo máximo de las respuestas asíncronas (exportaciones en streaming).
+ * Por defecto sin límite: una exportación completa puede durar lo que haga falta
+ * mientras siga enviando datos.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    @Value("${chess.export.timeout-ms:-1}")
+    private long timeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
@@ -0,0 +1,102 @@
+package com.chess.controller;
+
+import com.chess.cluster.ClusterForwarder;
+import com.chess.cluster.ClusterMembership;
+import com.chess.service.GameRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cluster")
+public class ClusterController {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterController.class);
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private ClusterForwarder forwarder;
+
+    @Autowired
+    private GameRegistry gameRegistry;
+
+    @GetMapping("/nodes")
+    public ResponseEntity<String> getNodes() {
+        StringBuilder response = new StringBuilder();
+        response.append("Clúster: ").append(membership.isEnabled() ? "activo" : "desactivado").append("\n");
+        response.append("Este nodo: ").append(membership.getSelfUrl()).append("\n");
+        response.append("Tableros en memoria: ").append(gameRegistry.size()).append("\n");
+        response.append("Nodos:\n");
+        membership.getNodes().forEach(node -> response.append("  ").append(node).append("\n"));
+        return ResponseEntity.ok(response.toString());
+    }
+
+    @GetMapping("/owner/{gameId}")
+    public ResponseEntity<String> getOwner(@PathVariable Long gameId) {
+        return ResponseEntity.ok(membership.ownerOf(gameId));
+    }
+
+    // Alta de un nodo; el nodo que la recibe la propaga al resto de miembros
+    @PostMapping("/nodes")
+    public ResponseEntity<String> join(@RequestParam String url,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_HEADER, required = false) String forwarded) {
+        try {
+            boolean changed = membership.join(url);
+            List<String> peers = new ArrayList<>(membership.getNodes());
+            if (forwarded == null) {
+                broadcast("POST", url, peers);
+            }
+            return ResponseEntity.ok(changed ? "Nodo añadido: " + url : "El nodo ya era miembro: " + url);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    // Baja de un nodo; se avisa también al nodo retirado para que suelte sus partidas
+    @DeleteMapping("/nodes")
+    public ResponseEntity<String> leave(@RequestParam String url,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_HEADER, required = false) String forwarded) {
+        try {
+            List<String> peers = new ArrayList<>(membership.getNodes());
+            boolean changed = membership.leave(url);
+            if (forwarded == null) {
+                broadcast("DELETE", url, peers);
+            }
+            return ResponseEntity.ok(changed ? "Nodo retirado: " + url : "El nodo no era miembro: " + url);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    private void broadcast(String method, String url, List<String> peers) {
+        String path = "/cluster/nodes?url=" + URLEncoder.encode(url, StandardCharsets.UTF_8);
+        for (String peer : peers) {
+            if (peer.equals(membership.getSelfUrl())) {
+                continue;
+            }
+            try {
+                forwarder.send(peer, method, path, Map.of(), null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("No se pudo notificar el cambio de miembros a {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.chess.controller;
+
+import com.chess.explorer.OpeningExplorerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/explorer")
+public class ExplorerController {
+
+    @Autowired
+    private OpeningExplorerService explorerService;
+
+    @GetMapping
+    public ResponseEntity<String> explore(@RequestParam String fen) {
+        try {
+            List<OpeningExplorerService.ExplorerMove> moves = explorerService.explore(fen);
+
+            StringBuilder response = new StringBuilder();
+            response.append("Posición: ").append(fen.trim()).append("\n");
+            if (moves.isEmpty()) {
+                response.append("Sin partidas registradas desde esta posición\n");
+            }
+            for (OpeningExplorerService.ExplorerMove move : moves) {
+                response.append(String.format("%s | Partidas: %d | Blancas: %.1f%% | Tablas: %.1f%% | Negras: %.1f%%%n",
+                        move.move(), move.games(), move.whitePercent(), move.drawPercent(), move.blackPercent()));
+            }
+            return ResponseEntity.ok(response.toString());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
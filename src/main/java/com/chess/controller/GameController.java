@@ -2,14 +2,32 @@ package com.chess.controller;
 
 import com.chess.model.Game;
 import com.chess.model.GameConstants;
-import com.chess.model.Winner;
+import com.chess.model.GameStatus;
+import com.chess.engine.SearchResult;
 import com.chess.service.ChessGameService;
+import com.chess.service.EnginePlayService;
+import com.chess.service.ExportBatches;
+import com.chess.service.GameSeekService;
+import com.chess.service.LegalMovesService;
+import com.chess.service.PgnExportService;
+import com.chess.transfer.BinaryArchiveService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/games")
@@ -18,6 +36,21 @@ public class GameController {
     @Autowired
     private ChessGameService chessGameService;
 
+    @Autowired
+    private GameSeekService gameSeekService;
+
+    @Autowired
+    private LegalMovesService legalMovesService;
+
+    @Autowired
+    private PgnExportService pgnExportService;
+
+    @Autowired
+    private BinaryArchiveService binaryArchiveService;
+
+    @Autowired
+    private EnginePlayService enginePlayService;
+
     @PostMapping("/{gameId}/move/pgn")
     public ResponseEntity<String> makeMovePgn(@PathVariable Long gameId, @RequestParam String move) {
         try {
@@ -37,6 +70,8 @@ public class GameController {
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error inesperado: " + e.getMessage());
         }
@@ -44,9 +79,12 @@ public class GameController {
 
     @PostMapping("/create")
     public ResponseEntity<String> createGame(@RequestParam String playerColor,
-            @RequestParam(defaultValue = "300") int timeControlSeconds) {
+            @RequestParam(defaultValue = "300") int timeControlSeconds,
+            @RequestParam(required = false) Long whitePlayerId,
+            @RequestParam(required = false) Long blackPlayerId) {
         try {
-            Game game = chessGameService.createGame(playerColor, timeControlSeconds, timeControlSeconds);
+            Game game = chessGameService.createGame(playerColor, timeControlSeconds, timeControlSeconds,
+                    whitePlayerId, blackPlayerId);
             String response = buildGameResponse(game);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -56,6 +94,70 @@ public class GameController {
         }
     }
 
+    // Exportación PGN en streaming: status admite varios separados por comas; fechas ISO (to exclusivo)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPgn(@RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportBatches.ExportFilter filter;
+        try {
+            filter = exportFilter(status, from, to);
+        } catch (IllegalArgumentException e) {
+            return streamingBadRequest(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> pgnExportService.export(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-chess-pgn;charset=UTF-8"))
+                .header("Content-Disposition", "attachment; filename=\"games.pgn\"")
+                .body(body);
+    }
+
+    // Exportación en el formato binario comprimido, con los mismos filtros que la PGN
+    @GetMapping("/export/binary")
+    public ResponseEntity<StreamingResponseBody> exportBinary(@RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportBatches.ExportFilter filter;
+        try {
+            filter = exportFilter(status, from, to);
+        } catch (IllegalArgumentException e) {
+            return streamingBadRequest(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> binaryArchiveService.export(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("Content-Disposition", "attachment; filename=\"games.chsa\"")
+                .body(body);
+    }
+
+    // Los métodos de exportación devuelven siempre un cuerpo en streaming, también el error
+    private static ResponseEntity<StreamingResponseBody> streamingBadRequest(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.parseMediaType("text/plain;charset=UTF-8"))
+                .body(out -> out.write(bytes));
+    }
+
+    private static ExportBatches.ExportFilter exportFilter(String status, LocalDate from, LocalDate to) {
+        Set<GameStatus> statuses = EnumSet.allOf(GameStatus.class);
+        if (status != null && !status.isBlank()) {
+            statuses = EnumSet.noneOf(GameStatus.class);
+            for (String value : status.split(",")) {
+                try {
+                    statuses.add(GameStatus.valueOf(value.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Estado desconocido: " + value.trim()
+                            + " (válidos: " + EnumSet.allOf(GameStatus.class) + ")");
+                }
+            }
+        }
+        return new ExportBatches.ExportFilter(statuses,
+                from != null ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0),
+                to != null ? to.atStartOfDay() : LocalDateTime.of(9999, 1, 1, 0, 0));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<String> getGame(@PathVariable Long id) {
         try {
@@ -72,26 +174,135 @@ public class GameController {
     }
 
     @GetMapping("/{id}/moves")
-    public ResponseEntity<List<String>> getMoves(@PathVariable Long id) {
+    public ResponseEntity<List<String>> getMoves(@PathVariable Long id,
+            @RequestParam(defaultValue = "lan") String format) {
         try {
-            List<String> moves = chessGameService.getGameMoves(id);
+            List<String> moves = "san".equalsIgnoreCase(format)
+                    ? chessGameService.getGameMovesSan(id)
+                    : chessGameService.getGameMoves(id);
             return ResponseEntity.ok(moves);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Formato binario: 2 bytes big endian por movimiento (ver MoveCodec)
+    @GetMapping(value = "/{id}/moves", params = "format=binary")
+    public ResponseEntity<byte[]> getMovesBinary(@PathVariable Long id) {
+        try {
+            byte[] packed = chessGameService.getPackedGameMoves(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(packed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Posición en un ply concreto (por defecto, la actual)
+    @GetMapping("/{id}/position")
+    public ResponseEntity<String> getPosition(@PathVariable Long id, @RequestParam(required = false) Integer ply) {
+        try {
+            GameSeekService.SeekResult result = gameSeekService.seek(id, ply);
+            StringBuilder response = new StringBuilder();
+            response.append("ID del Juego: ").append(result.gameId()).append("\n");
+            response.append("Ply: ").append(result.ply()).append(" de ").append(result.totalPlies()).append("\n");
+            response.append("FEN: ").append(result.fen()).append("\n");
+            if (result.lastMove() != null) {
+                response.append("Último Movimiento: ").append(result.lastMove()).append("\n");
+            }
+            response.append("Movimientos Legales: ").append(String.join(" ", result.legalMoves())).append("\n");
+            return ResponseEntity.ok(response.toString());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Movimientos legales agrupados por casilla de origen: "e2:e3,e4 g1:f3,h3"
+    @GetMapping("/{id}/legal-moves")
+    public ResponseEntity<String> getLegalMoves(@PathVariable Long id) {
+        try {
+            LegalMovesService.LegalMoves legalMoves = legalMovesService.legalMoves(id);
+            // La posición identifica la respuesta: un cliente que ya la tiene puede revalidar con If-None-Match
+            return ResponseEntity.ok()
+                    .eTag(Long.toHexString(legalMoves.positionHash()) + (legalMoves.active() ? "" : "-fin"))
+                    .body(legalMoves.encoded());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{gameId}/draw/offer")
+    public ResponseEntity<String> offerDraw(@PathVariable Long gameId, @RequestParam String playerColor) {
+        try {
+            Game game = chessGameService.offerDraw(gameId, playerColor);
+            String message = game.isActive() ? GameConstants.MSG_DRAW_OFFERED : GameConstants.MSG_DRAW_AGREED;
+            return ResponseEntity.ok(message + "\n" + buildGameResponse(game));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // El motor juega por el bando al que le toca, con un tiempo acotado por su reloj
+    @PostMapping("/{gameId}/engine-move")
+    public ResponseEntity<String> engineMove(@PathVariable Long gameId) {
+        try {
+            EnginePlayService.Analysis analysis = enginePlayService.engineMove(gameId);
+            return ResponseEntity.ok("Jugada del Motor: " + analysis.result().bestMove()
+                    + (analysis.ponderHit() ? " (pensada en el turno del rival)" : "") + "\n"
+                    + formatSearch(analysis.result()) + buildGameResponse(analysis.game()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    // Análisis de la posición actual sin jugar (profundidad y tiempo opcionales)
+    @GetMapping("/{id}/analysis")
+    public ResponseEntity<String> analyse(@PathVariable Long id,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) Long moveTime) {
+        try {
+            EnginePlayService.Analysis analysis = enginePlayService.analyse(id, depth, moveTime);
+            SearchResult result = analysis.result();
+            String best = result.hasMove() ? result.bestMove() : "-";
+            return ResponseEntity.ok("Mejor Jugada: " + best + "\n" + formatSearch(result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    // Importación síncrona de una partida; para colecciones grandes, /games/import/jobs
     @PostMapping("/import/pgn")
-    public ResponseEntity<Game> importPgn(@RequestParam String pgn,
+    public ResponseEntity<?> importPgn(@RequestParam String pgn,
             @RequestParam(defaultValue = "300") int whiteClock,
             @RequestParam(defaultValue = "300") int blackClock) {
         try {
             Game game = chessGameService.importFromPgn(pgn, whiteClock, blackClock);
             return ResponseEntity.ok(game);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error inesperado: " + e.getMessage());
+        }
+    }
+
+    // Importación de un archivo binario enviado como cuerpo de la petición (se lee en streaming)
+    @PostMapping(value = "/import/binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<String> importBinary(HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean keepPlayers) {
+        try {
+            BinaryArchiveService.ImportResult result =
+                    binaryArchiveService.importArchive(request.getInputStream(), keepPlayers);
+            return ResponseEntity.ok("Partidas importadas: " + result.games() + ", duplicadas: " + result.duplicates()
+                    + " (" + result.blocks() + " bloques)");
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Archivo inválido: " + e.getMessage());
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body("Error inesperado: " + e.getMessage());
         }
     }
 
@@ -111,30 +322,16 @@ public class GameController {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
-    // Método privado para construir respuesta
-    private String buildGameResponse(Game game) {
-        StringBuilder response = new StringBuilder();
-
-        // Información completa del juego para el frontend
-        response.append("ID del Juego: ").append(game.getId()).append("\n");
-        response.append("Tu Color: ").append(game.getPlayerColor()).append("\n");
-        response.append("Turno Actual: ").append(game.getTurn()).append("\n");
-        response.append("Estado: ").append(game.getStatus()).append("\n");
-
-        if (game.getWinner() != null && game.getWinner() != Winner.NONE) {
-            response.append("Ganador: ").append(game.getWinner()).append("\n");
-        }
-
-        response.append("Tiempo Blancas: ").append(formatTime(game.getWhiteClock())).append("\n");
-        response.append("Tiempo Negras: ").append(formatTime(game.getBlackClock())).append("\n");
-        response.append("PGN: ").append(game.getPgn() != null ? game.getPgn() : "").append("\n");
-
-        return response.toString();
+    private static String formatSearch(SearchResult result) {
+        String score = result.isMate() ? "mate " + result.mateIn() : String.valueOf(result.score());
+        return "Evaluación: " + score + "\n"
+                + "Profundidad: " + result.depth() + "\n"
+                + "Nodos: " + result.nodes() + " (" + result.timeMillis() + " ms)\n"
+                + "Variante: " + String.join(" ", result.pv()) + "\n";
     }
 
-    private String formatTime(int seconds) {
-        int minutes = seconds / 60;
-        int remainingSeconds = seconds % 60;
-        return String.format("%d:%02d", minutes, remainingSeconds);
+    // Método privado para construir respuesta
+    private String buildGameResponse(Game game) {
+        return GameResponses.format(game);
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.chess.controller;
+
+import com.chess.model.Game;
+import com.chess.model.Winner;
+
+/**
+ * Formato de texto de una partida que consume el frontend (ver chess-api.js).
+ * Lo comparten el controlador bloqueante y el reactivo.
+ */
+final class GameResponses {
+
+    private GameResponses() {
+        // Utility class - no instances
+    }
+
+    static String format(Game game) {
+        StringBuilder response = new StringBuilder();
+
+        // Información completa del juego para el frontend
+        response.append("ID del Juego: ").append(game.getId()).append("\n");
+        response.append("Tu Color: ").append(game.getPlayerColor()).append("\n");
+        response.append("Turno Actual: ").append(game.getTurn()).append("\n");
+
+        if (game.hasRegisteredPlayers()) {
+            response.append("Jugador Blancas: ").append(game.getWhitePlayerId()).append("\n");
+            response.append("Jugador Negras: ").append(game.getBlackPlayerId()).append("\n");
+        }
+        response.append("Estado: ").append(game.getStatus()).append("\n");
+
+        if (game.getWinner() != null && game.getWinner() != Winner.NONE) {
+            response.append("Ganador: ").append(game.getWinner()).append("\n");
+        }
+
+        response.append("Tiempo Blancas: ").append(formatTime(game.getWhiteClock())).append("\n");
+        response.append("Tiempo Negras: ").append(formatTime(game.getBlackClock())).append("\n");
+        response.append("PGN: ").append(game.getPgn() != null ? game.getPgn() : "").append("\n");
+
+        return response.toString();
+    }
+
+    static String formatTime(int seconds) {
+        int minutes = seconds / 60;
+        int remainingSeconds = seconds % 60;
+        return String.format("%d:%02d", minutes, remainingSeconds);
+    }
+}
@@ -0,0 +1,69 @@
+package com.chess.controller;
+
+import com.chess.model.ImportJob;
+import com.chess.service.ImportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/games/import/jobs")
+public class ImportJobController {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    // El cuerpo de la petición es el PGN (una o varias partidas); responde en cuanto queda encolado
+    @PostMapping
+    public ResponseEntity<String> submit(HttpServletRequest request,
+            @RequestParam(defaultValue = "300") int whiteClock,
+            @RequestParam(defaultValue = "300") int blackClock) {
+        try {
+            ImportJob job = importJobService.submit(request.getInputStream(), whiteClock, blackClock);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/games/import/jobs/" + job.getId())
+                    .body("Importación encolada. ID del trabajo: " + job.getId());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Error al guardar el fichero: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<String> getJob(@PathVariable Long id) {
+        return importJobService.findJob(id)
+                .map(job -> ResponseEntity.ok(formatJob(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private String formatJob(ImportJob job) {
+        StringBuilder response = new StringBuilder();
+        response.append("ID del Trabajo: ").append(job.getId()).append("\n");
+        response.append("Estado: ").append(job.getStatus()).append("\n");
+        response.append("Partidas importadas: ").append(job.getGamesImported()).append("\n");
+        response.append("Partidas duplicadas (omitidas): ").append(job.getGamesDuplicate()).append("\n");
+        response.append("Partidas con error: ").append(job.getGamesFailed()).append("\n");
+        long percent = job.getFileSize() > 0 ? job.getNextOffset() * 100 / job.getFileSize() : 100;
+        response.append("Progreso: ").append(job.getNextOffset()).append(" / ").append(job.getFileSize())
+                .append(" bytes (").append(percent).append("%)\n");
+        response.append(String.format("Velocidad: %.1f partidas/s%n", job.getGamesPerSecond()));
+        response.append("Creado: ").append(job.getCreatedAt()).append("\n");
+        if (job.getFinishedAt() != null) {
+            response.append("Terminado: ").append(job.getFinishedAt()).append("\n");
+        }
+        if (job.getErrors() != null && !job.getErrors().isEmpty()) {
+            response.append("Errores:\n");
+            for (String error : job.getErrors().split("\n")) {
+                response.append("  ").append(error).append("\n");
+            }
+        }
+        return response.toString();
+    }
+}
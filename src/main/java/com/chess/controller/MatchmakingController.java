@@ -0,0 +1,72 @@
+package com.chess.controller;
+
+import com.chess.matchmaking.MatchTicket;
+import com.chess.matchmaking.MatchmakingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/matchmaking")
+public class MatchmakingController {
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @PostMapping("/queue")
+    public ResponseEntity<String> enqueue(@RequestParam Long playerId,
+            @RequestParam(defaultValue = "300") int timeControlSeconds) {
+        try {
+            // Solo jugadores registrados, con su rating actual
+            MatchTicket ticket = matchmakingService.enqueue(playerId, timeControlSeconds);
+            return ResponseEntity.ok(formatTicket(ticket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error inesperado: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<String> getTicket(@PathVariable Long ticketId) {
+        Optional<MatchTicket> ticket = matchmakingService.findTicket(ticketId);
+        return ticket.map(t -> ResponseEntity.ok(formatTicket(t)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/tickets/{ticketId}")
+    public ResponseEntity<String> cancel(@PathVariable Long ticketId) {
+        try {
+            return matchmakingService.cancel(ticketId)
+                    ? ResponseEntity.ok("Ticket cancelado")
+                    : ResponseEntity.badRequest().body("El ticket ya no está en la cola");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/queues")
+    public ResponseEntity<String> getQueues() {
+        StringBuilder response = new StringBuilder("Jugadores en cola por control de tiempo:\n");
+        matchmakingService.queueSizes().forEach((timeControl, size) ->
+                response.append("  ").append(timeControl).append("s: ").append(size).append("\n"));
+        return ResponseEntity.ok(response.toString());
+    }
+
+    private String formatTicket(MatchTicket ticket) {
+        StringBuilder response = new StringBuilder();
+        response.append("Ticket: ").append(ticket.getId()).append("\n");
+        response.append("Jugador: ").append(ticket.getPlayerId())
+                .append(" (rating ").append(ticket.getRating()).append(")\n");
+        response.append("Control de tiempo: ").append(ticket.getTimeControlSeconds()).append("s\n");
+        response.append("Estado: ").append(ticket.getState()).append("\n");
+        if (ticket.getState() == MatchTicket.State.MATCHED) {
+            response.append("Partida: ").append(ticket.getGameId()).append("\n");
+            response.append("Color: ").append(ticket.getColor()).append("\n");
+            response.append("Rival: ").append(ticket.getOpponentId()).append("\n");
+        }
+        return response.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.chess.controller;
+
+import com.chess.model.Player;
+import com.chess.rating.Leaderboard;
+import com.chess.rating.PlayerService;
+import com.chess.rating.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/players")
+public class PlayerController {
+
+    private static final int MAX_LEADERBOARD_PAGE = 100;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @PostMapping
+    public ResponseEntity<String> register(@RequestParam String username) {
+        try {
+            return ResponseEntity.ok(formatPlayer(playerService.register(username)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error inesperado: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<String> getPlayer(@PathVariable Long id) {
+        return playerService.findPlayer(id)
+                .map(player -> ResponseEntity.ok(formatPlayer(player)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<String> getLeaderboard(@RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (offset < 0 || limit <= 0 || limit > MAX_LEADERBOARD_PAGE) {
+            return ResponseEntity.badRequest().body("limit debe estar entre 1 y " + MAX_LEADERBOARD_PAGE);
+        }
+        List<Leaderboard.Entry> entries = leaderboard.top(offset, limit);
+        StringBuilder response = new StringBuilder("Clasificación (" + leaderboard.size() + " jugadores):\n");
+        int position = offset;
+        for (Leaderboard.Entry entry : entries) {
+            response.append(String.format("%d. %s - %.0f (±%.0f)%n", ++position, entry.username(),
+                    entry.rating(), 2 * entry.deviation()));
+        }
+        return ResponseEntity.ok(response.toString());
+    }
+
+    private String formatPlayer(Player player) {
+        StringBuilder response = new StringBuilder();
+        response.append("ID del Jugador: ").append(player.getId()).append("\n");
+        response.append("Usuario: ").append(player.getUsername()).append("\n");
+        response.append(String.format("Rating: %.0f%n", player.getRating()));
+        response.append(String.format("Desviación: %.0f%n", ratingService.currentDeviation(player)));
+        response.append(String.format("Volatilidad: %.4f%n", player.getVolatility()));
+        response.append("Partidas puntuadas: ").append(player.getGamesPlayed()).append("\n");
+        return response.toString();
+    }
+}
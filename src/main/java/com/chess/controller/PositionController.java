@@ -0,0 +1,47 @@
+package com.chess.controller;
+
+import com.chess.search.PositionIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/positions")
+public class PositionController {
+
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private PositionIndexService positionIndexService;
+
+    @GetMapping("/search")
+    public ResponseEntity<String> search(@RequestParam String fen,
+            @RequestParam(defaultValue = "0") long afterGameId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        try {
+            long hash = PositionIndexService.hashOf(fen);
+            List<Long> games = positionIndexService.findGames(hash, afterGameId, limit);
+            List<PositionIndexService.MoveFrequency> nextMoves = positionIndexService.nextMoves(hash, 20);
+
+            StringBuilder response = new StringBuilder();
+            response.append("Posición: ").append(fen.trim()).append("\n");
+            response.append("Partidas (").append(games.size()).append("):");
+            games.forEach(id -> response.append(" ").append(id));
+            response.append("\n");
+            if (games.size() == limit) {
+                response.append("Siguiente página: afterGameId=").append(games.get(games.size() - 1)).append("\n");
+            }
+            response.append("Jugadas siguientes:\n");
+            nextMoves.forEach(frequency -> response.append("  ").append(frequency.move()).append(": ")
+                    .append(frequency.games()).append("\n"));
+            return ResponseEntity.ok(response.toString());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.chess.controller;
+
+import com.chess.model.GameConstants;
+import com.chess.service.ReactiveGameService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+/**
+ * API reactiva de partidas en memoria: mismas operaciones y mismo formato de
+ * respuesta que {@link GameController} para crear, mover y consultar.
+ *
+ * Se sirve en su propio puerto (chess.reactive.port) con Reactor Netty, aparte
+ * del Tomcat de la aplicación: unos pocos hilos de bucle de eventos atienden
+ * todas las conexiones y ninguna petición ocupa un hilo mientras espera. Los
+ * controladores bloqueantes siguen en la pila servlet. Las partidas son
+ * efímeras: no se guardan en la base de datos, tienen ids negativos (ver
+ * {@link com.chess.service.InMemoryGameStore}) y solo existen bajo
+ * /reactive/games de este puerto.
+ */
+@Component
+public class ReactiveGameServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGameServer.class);
+
+    @Autowired
+    private ReactiveGameService reactiveGameService;
+
+    @Value("${chess.reactive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chess.reactive.port:8081}")
+    private int port;
+
+    private volatile DisposableServer server;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes()));
+        server = HttpServer.create().port(port).handle(adapter).bindNow();
+        log.info("API reactiva de partidas escuchando en el puerto {}", server.port());
+    }
+
+    /**
+     * Puerto en el que escucha la API reactiva, o -1 si no está arrancada.
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : -1;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(POST("/reactive/games/create"), this::createGame)
+                .andRoute(POST("/reactive/games/{gameId}/move/pgn"), this::makeMovePgn)
+                .andRoute(GET("/reactive/games/{id}"), this::getGame);
+    }
+
+    private Mono<ServerResponse> makeMovePgn(ServerRequest request) {
+        Long gameId = pathId(request, "gameId");
+        String move = request.queryParam("move").orElse(null);
+        if (gameId == null || move == null) {
+            return ServerResponse.badRequest().bodyValue("Parámetros inválidos");
+        }
+        return reactiveGameService.applyMove(gameId, move)
+                .flatMap(game -> {
+                    if ("timeout".equals(game.getStatus())) {
+                        String timeoutMessage = game.getWhiteClock() <= 0
+                                ? GameConstants.MSG_TIMEOUT_BLACK_WINS
+                                : GameConstants.MSG_TIMEOUT_WHITE_WINS;
+                        return ServerResponse.ok().bodyValue(timeoutMessage);
+                    }
+                    return ServerResponse.ok().bodyValue(GameResponses.format(game));
+                })
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> ServerResponse.badRequest().bodyValue(e.getMessage()));
+    }
+
+    private Mono<ServerResponse> createGame(ServerRequest request) {
+        String playerColor = request.queryParam("playerColor").orElse(null);
+        int timeControlSeconds;
+        try {
+            timeControlSeconds = Integer.parseInt(request.queryParam("timeControlSeconds").orElse("300"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().bodyValue("timeControlSeconds inválido");
+        }
+        if (playerColor == null) {
+            return ServerResponse.badRequest().bodyValue("Falta playerColor");
+        }
+        return reactiveGameService.createGame(playerColor, timeControlSeconds, timeControlSeconds)
+                .flatMap(game -> ServerResponse.ok().bodyValue(GameResponses.format(game)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> ServerResponse.badRequest().bodyValue(e.getMessage()))
+                .onErrorResume(IllegalStateException.class,
+                        e -> ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).bodyValue(e.getMessage()));
+    }
+
+    private Mono<ServerResponse> getGame(ServerRequest request) {
+        Long id = pathId(request, "id");
+        if (id == null) {
+            return ServerResponse.badRequest().bodyValue("Id inválido");
+        }
+        return reactiveGameService.findGame(id)
+                .flatMap(game -> ServerResponse.ok().bodyValue(GameResponses.format(game)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private static Long pathId(ServerRequest request, String name) {
+        try {
+            return Long.parseLong(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
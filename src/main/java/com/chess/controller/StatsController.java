@@ -0,0 +1,60 @@
+package com.chess.controller;
+
+import com.chess.model.GameStatus;
+import com.chess.model.Winner;
+import com.chess.stats.GameStatsProjector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    @Autowired
+    private GameStatsProjector stats;
+
+    // Todo sale de contadores en memoria: no se consulta la base de datos
+    @GetMapping
+    public ResponseEntity<String> getStats() {
+        long ended = stats.getGamesEnded();
+        Map<Winner, Long> byWinner = stats.getEndedByWinner();
+
+        StringBuilder response = new StringBuilder();
+        response.append("Partidas creadas: ").append(stats.getGamesCreated())
+                .append(" (importadas: ").append(stats.getGamesImported()).append(")\n");
+        response.append("Movimientos jugados: ").append(stats.getMovesApplied()).append("\n");
+        response.append("Partidas terminadas: ").append(ended).append("\n");
+        response.append(String.format("Duración media: %.1f medios movimientos%n", stats.getAverageGameLength()));
+
+        response.append("Por estado:\n");
+        for (Map.Entry<GameStatus, Long> entry : stats.getEndedByStatus().entrySet()) {
+            if (entry.getKey() != GameStatus.ACTIVE) {
+                response.append("  ").append(entry.getKey().getValue()).append(": ").append(entry.getValue()).append("\n");
+            }
+        }
+
+        response.append("Resultados:\n");
+        response.append(String.format("  Blancas: %.1f%%%n", percentage(byWinner.get(Winner.WHITE), ended)));
+        response.append(String.format("  Tablas: %.1f%%%n", percentage(byWinner.get(Winner.DRAW), ended)));
+        response.append(String.format("  Negras: %.1f%%%n", percentage(byWinner.get(Winner.BLACK), ended)));
+
+        response.append("Primeras jugadas más frecuentes:\n");
+        stats.getTopFirstMoves().forEach(entry ->
+                response.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n"));
+
+        response.append("Partidas más largas:\n");
+        stats.getLongestGames().forEach(game ->
+                response.append("  #").append(game.gameId()).append(": ").append(game.plies()).append(" medios movimientos\n"));
+
+        return ResponseEntity.ok(response.toString());
+    }
+
+    private static double percentage(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+}
@@ -0,0 +1,57 @@
+package com.chess.controller;
+
+import com.chess.engine.EngineConfig;
+import com.chess.tournament.Tournament;
+import com.chess.tournament.TournamentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tournaments")
+public class TournamentController {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    // engines: lista separada por comas de "nombre:profundidad[:ms[:MB]]"; un solo motor = autojuego
+    @PostMapping
+    public ResponseEntity<String> start(@RequestParam String engines,
+            @RequestParam(defaultValue = "10") int games,
+            @RequestParam(defaultValue = "60") int clock,
+            @RequestParam(defaultValue = "300") int maxPlies) {
+        try {
+            List<EngineConfig> configs = new ArrayList<>();
+            for (String spec : engines.split(",")) {
+                configs.add(EngineConfig.parse(spec));
+            }
+            Tournament tournament = tournamentService.start(configs, games, clock, maxPlies);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/tournaments/" + tournament.getId())
+                    .body("Torneo iniciado. ID del torneo: " + tournament.getId() + " ("
+                            + tournament.getTotalGames() + " partidas)");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<String> getTournament(@PathVariable long id) {
+        return tournamentService.findTournament(id)
+                .map(tournament -> ResponseEntity.ok(tournamentService.describe(tournament)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> cancel(@PathVariable long id) {
+        try {
+            return ResponseEntity.ok(tournamentService.describe(tournamentService.cancel(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
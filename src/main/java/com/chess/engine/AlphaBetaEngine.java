@@ -0,0 +1,358 @@
+package com.chess.engine;
+
+import com.chess.engine.eval.Accumulator;
+import com.chess.engine.eval.IncrementalEvaluator;
+import com.chess.engine.eval.PieceSquareEvaluator;
+import com.chess.service.GameRules;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Piece;
+import com.github.bhlangonijr.chesslib.move.Move;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Motor propio: negamax con poda alfa-beta, profundización iterativa, búsqueda
+ * de quietud sobre capturas y tabla de transposición para ordenar jugadas y
+ * reutilizar resultados entre iteraciones (y entre jugadas de la misma partida).
+ *
+ * Si se agota el tiempo a mitad de una iteración, se devuelve la mejor jugada de
+ * la última iteración completa. Con un evaluador incremental, la evaluación se
+ * actualiza en cada jugada hecha y deshecha en lugar de recorrer el tablero.
+ */
+public class AlphaBetaEngine implements Engine {
+
+    private static final int INFINITY = 32000;
+    private static final int MAX_PLY = 100;
+    private static final int TIME_CHECK_NODES = 2048;
+
+    private final String name;
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final Accumulator accumulator;
+
+    private volatile SearchToken token = new SearchToken();
+    private boolean aborted;
+    private long nodes;
+    private long deadline;
+
+    public AlphaBetaEngine(String name, int hashMegabytes) {
+        this(name, new TranspositionTable(hashMegabytes), new PieceSquareEvaluator());
+    }
+
+    public AlphaBetaEngine(String name, TranspositionTable table, Evaluator evaluator) {
+        this.name = name;
+        this.table = table;
+        this.evaluator = evaluator;
+        this.accumulator = evaluator instanceof IncrementalEvaluator incremental
+                ? incremental.newAccumulator() : null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void stop() {
+        token.stop();
+    }
+
+    @Override
+    public void newGame() {
+        table.clear();
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, new SearchToken());
+    }
+
+    @Override
+    public SearchResult search(List<String> moves, SearchLimits limits, SearchToken token) {
+        return search(GameRules.reconstructBoard(moves), limits, token);
+    }
+
+    public SearchResult search(Board board, SearchLimits limits, SearchToken token) {
+        long start = System.nanoTime();
+        this.token = token;
+        aborted = false;
+        nodes = 0;
+        deadline = limits.moveTimeMillis() > 0 ? start + limits.moveTimeMillis() * 1_000_000 : Long.MAX_VALUE;
+        table.newSearch();
+        if (accumulator != null) {
+            accumulator.reset(board);
+        }
+
+        List<Move> rootMoves = new ArrayList<>(board.legalMoves());
+        if (rootMoves.isEmpty()) {
+            return SearchResult.noMove(board.isKingAttacked() ? -SearchResult.MATE_SCORE : 0);
+        }
+
+        Move best = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= limits.maxDepth(); depth++) {
+            int alpha = -INFINITY;
+            Move iterationBest = null;
+            order(board, rootMoves, TranspositionTable.encodeMove(best));
+            for (Move move : rootMoves) {
+                make(board, move);
+                int score = -negamax(board, depth - 1, -INFINITY, -alpha, 1);
+                unmake(board);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = move;
+                }
+            }
+            if (aborted) {
+                // Una iteración incompleta solo cuenta si aún no había ninguna completa
+                if (completedDepth == 0 && iterationBest != null) {
+                    best = iterationBest;
+                    bestScore = alpha;
+                    completedDepth = depth;
+                }
+                break;
+            }
+            best = iterationBest;
+            bestScore = alpha;
+            completedDepth = depth;
+            table.store(board.getZobristKey(), depth, TranspositionTable.EXACT, bestScore,
+                    TranspositionTable.encodeMove(best));
+            if (Math.abs(bestScore) >= SearchResult.MATE_BOUND) {
+                break;
+            }
+        }
+
+        List<String> pv = principalVariation(board, best, completedDepth);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new SearchResult(best.toString(), pv.size() > 1 ? pv.get(1) : null, bestScore, completedDepth,
+                nodes, elapsed, pv);
+    }
+
+    private int negamax(Board board, int depth, int alpha, int beta, int ply) {
+        if (timeUp()) {
+            return 0;
+        }
+        if (board.isRepetition() || board.isInsufficientMaterial() || board.getHalfMoveCounter() >= 100) {
+            return 0;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiesce(board, alpha, beta, ply);
+        }
+
+        long key = board.getZobristKey();
+        int alphaOriginal = alpha;
+        long entry = table.probe(key);
+        int ttMove = 0;
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        List<Move> moves = new ArrayList<>(board.legalMoves());
+        if (moves.isEmpty()) {
+            return board.isKingAttacked() ? -SearchResult.MATE_SCORE + ply : 0;
+        }
+        order(board, moves, ttMove);
+
+        int bestScore = -INFINITY;
+        Move bestMove = null;
+        for (Move move : moves) {
+            make(board, move);
+            int score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+            unmake(board);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore <= alphaOriginal ? TranspositionTable.UPPER
+                : bestScore >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(key, depth, bound, toTable(bestScore, ply), TranspositionTable.encodeMove(bestMove));
+        return bestScore;
+    }
+
+    // Solo capturas y promociones, para no evaluar posiciones a mitad de un intercambio
+    private int quiesce(Board board, int alpha, int beta, int ply) {
+        if (timeUp()) {
+            return 0;
+        }
+        int standPat = accumulator != null
+                ? accumulator.evaluate(board.getSideToMove()) : evaluator.evaluate(board);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        List<Move> captures = new ArrayList<>();
+        for (Move move : board.legalMoves()) {
+            if (isCapture(board, move) || TranspositionTable.isPromotion(move)) {
+                captures.add(move);
+            }
+        }
+        order(board, captures, 0);
+        for (Move move : captures) {
+            make(board, move);
+            int score = -quiesce(board, -beta, -alpha, ply + 1);
+            unmake(board);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return alpha;
+    }
+
+    private void make(Board board, Move move) {
+        if (accumulator != null) {
+            accumulator.doMove(board, move);
+        }
+        board.doMove(move);
+    }
+
+    private void unmake(Board board) {
+        board.undoMove();
+        if (accumulator != null) {
+            accumulator.undoMove();
+        }
+    }
+
+    private boolean timeUp() {
+        if ((++nodes & (TIME_CHECK_NODES - 1)) == 0 && (token.isStopped() || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    // Jugada de la tabla primero, después capturas por víctima más valiosa / atacante menos valioso
+    private static void order(Board board, List<Move> moves, int ttMove) {
+        int size = moves.size();
+        int[] scores = new int[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = moveScore(board, moves.get(i), ttMove);
+        }
+        // Inserción: las listas son cortas y casi siempre ya están medio ordenadas
+        for (int i = 1; i < size; i++) {
+            Move move = moves.get(i);
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+    }
+
+    private static int moveScore(Board board, Move move, int ttMove) {
+        if (TranspositionTable.matches(move, ttMove)) {
+            return 1_000_000;
+        }
+        int score = 0;
+        Piece victim = board.getPiece(move.getTo());
+        if (victim != null && victim != Piece.NONE) {
+            Piece attacker = board.getPiece(move.getFrom());
+            score += 100_000 + 10 * MaterialEvaluator.pieceValue(victim.getPieceType())
+                    - (attacker != null ? MaterialEvaluator.pieceValue(attacker.getPieceType()) / 10 : 0);
+        }
+        if (TranspositionTable.isPromotion(move)) {
+            score += 90_000 + MaterialEvaluator.pieceValue(move.getPromotion().getPieceType());
+        }
+        return score;
+    }
+
+    private static boolean isCapture(Board board, Move move) {
+        Piece victim = board.getPiece(move.getTo());
+        return victim != null && victim != Piece.NONE;
+    }
+
+    // Los mates se guardan relativos al nodo para que valgan desde cualquier camino
+    private static int toTable(int score, int ply) {
+        if (score >= SearchResult.MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -SearchResult.MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= SearchResult.MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -SearchResult.MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // Sigue las jugadas guardadas en la tabla desde la raíz, sin repetir posiciones
+    private List<String> principalVariation(Board board, Move best, int depth) {
+        List<String> pv = new ArrayList<>();
+        pv.add(best.toString());
+        board.doMove(best);
+        int played = 1;
+        Set<Long> seen = new HashSet<>();
+        while (played < Math.max(depth, 1) && seen.add(board.getZobristKey())) {
+            long entry = table.probe(board.getZobristKey());
+            int code = entry != 0 ? TranspositionTable.move(entry) : 0;
+            Move next = null;
+            if (code != 0) {
+                for (Move move : board.legalMoves()) {
+                    if (TranspositionTable.matches(move, code)) {
+                        next = move;
+                        break;
+                    }
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            pv.add(next.toString());
+            board.doMove(next);
+            played++;
+        }
+        for (int i = 0; i < played; i++) {
+            board.undoMove();
+        }
+        return pv;
+    }
+}
@@ -0,0 +1,58 @@
+package com.chess.engine;
+
+import com.github.bhlangonijr.chesslib.Board;
+
+import java.util.List;
+
+/**
+ * Motor de ajedrez. Una instancia no es segura entre hilos: cada partida o
+ * análisis en curso usa la suya (salvo {@link #stop()}, que se puede llamar
+ * desde otro hilo para cortar la búsqueda actual).
+ */
+public interface Engine extends AutoCloseable {
+
+    String getName();
+
+    /**
+     * Busca la mejor jugada en la posición del tablero, que queda como estaba.
+     * Devuelve un resultado sin jugada si no hay movimientos legales.
+     */
+    SearchResult search(Board board, SearchLimits limits);
+
+    /**
+     * Busca en la posición alcanzada desde la inicial con las jugadas indicadas (LAN).
+     * Los motores que conocen el historial (repeticiones) lo aprovechan.
+     */
+    default SearchResult search(List<String> moves, SearchLimits limits) {
+        return search(moves, limits, new SearchToken());
+    }
+
+    /**
+     * Como {@link #search(List, SearchLimits)}, cortable con el token desde otro
+     * hilo aunque la orden llegue antes de que la búsqueda empiece.
+     */
+    SearchResult search(List<String> moves, SearchLimits limits, SearchToken token);
+
+    /**
+     * Pide que la búsqueda en curso termine cuanto antes con lo ya calculado.
+     * Si no hay ninguna en curso no tiene efecto: para cortar una búsqueda
+     * concreta sin carreras con su arranque se usa un {@link SearchToken}.
+     */
+    void stop();
+
+    /**
+     * Olvida lo aprendido en partidas anteriores (tabla de transposición).
+     */
+    void newGame();
+
+    /**
+     * false si el motor ya no se puede usar (proceso externo caído).
+     */
+    default boolean isAlive() {
+        return true;
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,48 @@
+package com.chess.engine;
+
+/**
+ * Configuración de un motor propio: nombre, profundidad máxima, tiempo por
+ * jugada (ms, 0 = solo profundidad) y tamaño de la tabla de transposición (MB).
+ */
+public record EngineConfig(String name, int depth, long moveTimeMillis, int hashMegabytes) {
+
+    public static final int DEFAULT_HASH_MB = 16;
+
+    public EngineConfig {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("El motor necesita un nombre");
+        }
+        // Valida profundidad y tiempo con las mismas reglas que la búsqueda
+        SearchLimits.of(depth, moveTimeMillis);
+        if (hashMegabytes <= 0 || hashMegabytes > 1024) {
+            throw new IllegalArgumentException("La tabla de transposición debe tener entre 1 y 1024 MB");
+        }
+    }
+
+    /**
+     * Formato "nombre:profundidad[:ms[:MB]]", p. ej. "rapido:4:100".
+     */
+    public static EngineConfig parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        if (parts.length < 2 || parts.length > 4) {
+            throw new IllegalArgumentException("Motor inválido (nombre:profundidad[:ms[:MB]]): " + spec);
+        }
+        try {
+            int depth = Integer.parseInt(parts[1]);
+            long moveTime = parts.length > 2 ? Long.parseLong(parts[2]) : 0;
+            int hash = parts.length > 3 ? Integer.parseInt(parts[3]) : DEFAULT_HASH_MB;
+            return new EngineConfig(parts[0], depth, moveTime, hash);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Motor inválido (nombre:profundidad[:ms[:MB]]): " + spec);
+        }
+    }
+
+    public Engine create() {
+        return new AlphaBetaEngine(name, hashMegabytes);
+    }
+
+    public SearchLimits limits(long clockBudgetMillis) {
+        long budget = moveTimeMillis > 0 ? Math.min(moveTimeMillis, clockBudgetMillis) : clockBudgetMillis;
+        return SearchLimits.of(depth, Math.max(1, budget));
+    }
+}
@@ -0,0 +1,131 @@
+package com.chess.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool de motores reutilizables (p. ej. procesos UCI, caros de arrancar).
+ *
+ * Los motores se crean bajo demanda hasta el tamaño del pool y se devuelven
+ * con {@link #release}; el que se devuelve roto o muerto se cierra y su hueco
+ * queda libre para crear otro nuevo en el siguiente préstamo.
+ */
+public class EnginePool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EnginePool.class);
+
+    @FunctionalInterface
+    public interface EngineFactory {
+        Engine create(int index) throws IOException;
+    }
+
+    private final EngineFactory factory;
+    private final Semaphore permits;
+    private final Deque<Engine> idle = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    public EnginePool(int size, EngineFactory factory) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("El pool de motores necesita al menos un motor");
+        }
+        this.factory = factory;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Toma un motor libre (o crea uno) esperando como mucho timeoutMillis.
+     * Lanza IllegalStateException si todos siguen ocupados pasado el plazo.
+     */
+    public Engine borrow(long timeoutMillis) {
+        if (closed) {
+            throw new IllegalStateException("El pool de motores está cerrado");
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Todos los motores están ocupados");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera de motor interrumpida");
+        }
+
+        try {
+            Engine engine;
+            while ((engine = pollIdle()) != null) {
+                if (engine.isAlive()) {
+                    return engine;
+                }
+                engine.close();
+            }
+            engine = factory.create(created.incrementAndGet());
+            log.info("Motor {} arrancado", engine.getName());
+            return engine;
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw new IllegalStateException("No se pudo arrancar el motor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Devuelve un motor al pool. Si broken es true o el motor ya no está vivo,
+     * se cierra en lugar de reutilizarse.
+     */
+    public void release(Engine engine, boolean broken) {
+        try {
+            if (broken || closed || !engine.isAlive()) {
+                log.warn("Motor {} descartado", engine.getName());
+                engine.close();
+            } else {
+                lock.lock();
+                try {
+                    idle.push(engine);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Engine engine;
+        while ((engine = pollIdle()) != null) {
+            engine.close();
+        }
+    }
+
+    private Engine pollIdle() {
+        lock.lock();
+        try {
+            return idle.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.chess.engine;
+
+import com.chess.engine.eval.NnueEvaluator;
+import com.chess.engine.eval.NnueNetwork;
+import com.chess.engine.eval.PieceSquareEvaluator;
+import com.chess.engine.uci.UciEngine;
+import com.chess.model.Game;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Punto de acceso al motor de análisis de la aplicación.
+ *
+ * Si chess.engine.uci.command está configurado se lanza un pool de procesos UCI
+ * locales (p. ej. Stockfish) que se reutilizan entre peticiones; si no, el pool
+ * usa el motor alfa-beta propio.
+ *
+ * Las búsquedas pedidas por un cliente tienen prioridad sobre las que piensan en
+ * el turno del rival: si no hay motor libre, se corta la más antigua de estas y
+ * su motor pasa a quien espera.
+ */
+@Service
+public class EngineService {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineService.class);
+
+    @Value("${chess.engine.pool-size:2}")
+    private int poolSize;
+
+    @Value("${chess.engine.depth:8}")
+    private int defaultDepth;
+
+    @Value("${chess.engine.move-time-ms:1000}")
+    private long defaultMoveTime;
+
+    @Value("${chess.engine.hash-mb:16}")
+    private int hashMegabytes;
+
+    // Evaluación del motor propio: pst (material y tablas pieza-casilla), material o nnue
+    @Value("${chess.engine.eval:pst}")
+    private String evaluation;
+
+    @Value("${chess.engine.nnue.file:}")
+    private String nnueFile;
+
+    @Value("${chess.engine.borrow-timeout-ms:5000}")
+    private long borrowTimeout;
+
+    @Value("${chess.engine.uci.command:}")
+    private String uciCommand;
+
+    // Opciones UCI "Nombre=valor" separadas por comas, p. ej. "Threads=1,Hash=64"
+    @Value("${chess.engine.uci.options:}")
+    private String uciOptions;
+
+    @Value("${chess.engine.uci.grace-ms:500}")
+    private long uciGrace;
+
+    // Tiempo máximo que un motor piensa durante el turno del rival (lo ocupa mientras tanto)
+    @Value("${chess.engine.ponder.max-ms:60000}")
+    private long ponderMaxMillis;
+
+    private EnginePool pool;
+    private ExecutorService ponderExecutor;
+    private final Deque<PonderSearch> ponders = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    void init() {
+        if (uciCommand.isBlank()) {
+            Evaluator evaluator = createEvaluator();
+            pool = new EnginePool(poolSize, index -> new AlphaBetaEngine("builtin-" + index,
+                    new TranspositionTable(hashMegabytes), evaluator));
+            log.info("Motor de análisis: alfa-beta propio, evaluación {} ({} instancias)", evaluation, poolSize);
+        } else {
+            List<String> command = Arrays.asList(uciCommand.trim().split("\\s+"));
+            Map<String, String> options = parseOptions(uciOptions);
+            pool = new EnginePool(poolSize, index -> new UciEngine("uci-" + index, command, options, uciGrace));
+            log.info("Motor de análisis: UCI '{}' ({} procesos)", uciCommand, poolSize);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ponderExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "engine-ponder-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ponderExecutor.shutdownNow();
+        pool.close();
+    }
+
+    /**
+     * Límites para la jugada del bando que mueve: profundidad y tiempo pedidos
+     * (o los configurados), sin gastar más de 1/30 de lo que le queda en el reloj.
+     */
+    public SearchLimits limitsFor(Game game, Integer depth, Long moveTimeMillis) {
+        int maxDepth = depth != null ? depth : defaultDepth;
+        long moveTime = moveTimeMillis != null ? moveTimeMillis : defaultMoveTime;
+        if (game != null && game.isActive()) {
+            long clockBudget = Math.max(1, game.getCurrentPlayerClock() * 1000L / 30);
+            moveTime = moveTime > 0 ? Math.min(moveTime, clockBudget) : clockBudget;
+        }
+        return SearchLimits.of(maxDepth, moveTime);
+    }
+
+    /**
+     * Busca en la posición alcanzada con las jugadas (LAN) usando un motor del pool.
+     * Un motor que falla a mitad de búsqueda se descarta y el pool arranca otro.
+     */
+    public SearchResult search(List<String> moves, SearchLimits limits) {
+        Engine engine = borrowForeground();
+        boolean broken = true;
+        try {
+            SearchResult result = engine.search(moves, limits);
+            broken = false;
+            return result;
+        } finally {
+            pool.release(engine, broken);
+        }
+    }
+
+    /**
+     * Empieza a pensar en segundo plano sobre la posición tras las jugadas (la
+     * última es la respuesta prevista del rival), con la profundidad de limits y
+     * como mucho chess.engine.ponder.max-ms. Devuelve null si no hay motor libre.
+     */
+    public PonderSearch ponder(List<String> moves, SearchLimits limits) {
+        ponders.removeIf(PonderSearch::isDone);
+        PonderSearch ponder = PonderSearch.start(pool, moves, SearchLimits.of(limits.maxDepth(), ponderMaxMillis),
+                ponderExecutor);
+        if (ponder != null) {
+            ponders.add(ponder);
+        }
+        return ponder;
+    }
+
+    // El semáforo del pool es justo: el motor que suelta la búsqueda cortada va a quien ya espera
+    private Engine borrowForeground() {
+        try {
+            return pool.borrow(0);
+        } catch (IllegalStateException busy) {
+            PonderSearch ponder;
+            while ((ponder = ponders.poll()) != null) {
+                if (!ponder.isDone()) {
+                    ponder.cancel();
+                    break;
+                }
+            }
+            return pool.borrow(borrowTimeout);
+        }
+    }
+
+    // Los evaluadores son inmutables: uno para todos los motores del pool
+    private Evaluator createEvaluator() {
+        switch (evaluation.trim().toLowerCase()) {
+            case "pst":
+                return new PieceSquareEvaluator();
+            case "material":
+                return new MaterialEvaluator();
+            case "nnue":
+                if (nnueFile.isBlank()) {
+                    throw new IllegalArgumentException("chess.engine.eval=nnue necesita chess.engine.nnue.file");
+                }
+                try {
+                    return new NnueEvaluator(NnueNetwork.load(Path.of(nnueFile)));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("No se pudo cargar la red NNUE " + nnueFile + ": "
+                            + e.getMessage(), e);
+                }
+            default:
+                throw new IllegalArgumentException("Evaluación desconocida: " + evaluation);
+        }
+    }
+
+    static Map<String, String> parseOptions(String spec) {
+        Map<String, String> options = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return options;
+        }
+        for (String option : spec.split(",")) {
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Opción UCI inválida (Nombre=valor): " + option);
+            }
+            options.put(option.substring(0, eq).trim(), option.substring(eq + 1).trim());
+        }
+        return options;
+    }
+}
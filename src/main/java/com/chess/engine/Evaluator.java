@@ -0,0 +1,12 @@
+package com.chess.engine;
+
+import com.github.bhlangonijr.chesslib.Board;
+
+/**
+ * Evaluación estática de una posición en centipeones, desde el punto de vista
+ * del bando que mueve.
+ */
+public interface Evaluator {
+
+    int evaluate(Board board);
+}
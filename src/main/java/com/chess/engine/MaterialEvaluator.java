@@ -0,0 +1,34 @@
+package com.chess.engine;
+
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Piece;
+import com.github.bhlangonijr.chesslib.PieceType;
+import com.github.bhlangonijr.chesslib.Side;
+import com.github.bhlangonijr.chesslib.Square;
+
+/**
+ * Evaluación por material, recorriendo el tablero completo en cada llamada.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    // Por ordinal de PieceType: peón, caballo, alfil, torre, dama, rey
+    static final int[] PIECE_VALUES = { 100, 320, 330, 500, 900, 0, 0 };
+
+    @Override
+    public int evaluate(Board board) {
+        int score = 0;
+        for (int index = 0; index < 64; index++) {
+            Piece piece = board.getPiece(Square.squareAt(index));
+            if (piece == null || piece == Piece.NONE) {
+                continue;
+            }
+            int value = pieceValue(piece.getPieceType());
+            score += piece.getPieceSide() == Side.WHITE ? value : -value;
+        }
+        return board.getSideToMove() == Side.WHITE ? score : -score;
+    }
+
+    static int pieceValue(PieceType type) {
+        return type == null ? 0 : PIECE_VALUES[type.ordinal()];
+    }
+}
@@ -0,0 +1,135 @@
+package com.chess.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Búsqueda en segundo plano sobre la posición que se espera tras la respuesta
+ * del rival, mientras corre su reloj.
+ *
+ * Si el rival juega la jugada prevista ("acierto"), la misma búsqueda sigue su
+ * curso y se recoge con {@link #await}: el árbol y la tabla de transposición ya
+ * calculados se aprovechan y, si terminó, la respuesta es inmediata. Si juega
+ * otra ("fallo"), {@link #cancel} la corta y el motor vuelve al pool.
+ *
+ * El corte va por un {@link SearchToken} propio de esta búsqueda, así que no se
+ * pierde aunque llegue antes de que el executor la arranque.
+ */
+public final class PonderSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(PonderSearch.class);
+
+    private final List<String> moves;
+    private final Engine engine;
+    private final CompletableFuture<SearchResult> result = new CompletableFuture<>();
+    private final SearchToken token = new SearchToken();
+    private volatile boolean cancelled;
+
+    private PonderSearch(List<String> moves, Engine engine) {
+        this.moves = List.copyOf(moves);
+        this.engine = engine;
+    }
+
+    /**
+     * Toma un motor libre del pool y lanza la búsqueda en el executor; el motor
+     * se devuelve al pool al terminar. Devuelve null si no hay motor libre:
+     * pensar en el turno del rival nunca hace esperar a otras búsquedas.
+     */
+    public static PonderSearch start(EnginePool pool, List<String> moves, SearchLimits limits, Executor executor) {
+        Engine engine;
+        try {
+            engine = pool.borrow(0);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+        PonderSearch ponder = new PonderSearch(moves, engine);
+        try {
+            executor.execute(() -> {
+                boolean broken = true;
+                try {
+                    ponder.complete(ponder.cancelled ? null : engine.search(ponder.moves, limits, ponder.token));
+                    broken = false;
+                } catch (RuntimeException e) {
+                    log.warn("Búsqueda en el turno del rival fallida: {}", e.getMessage());
+                    ponder.result.completeExceptionally(e);
+                } finally {
+                    pool.release(engine, broken);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.release(engine, false);
+            return null;
+        }
+        return ponder;
+    }
+
+    /**
+     * Jugadas de la posición buscada: las de la partida más la respuesta prevista.
+     */
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public String getPredictedMove() {
+        return moves.get(moves.size() - 1);
+    }
+
+    /**
+     * true si la partida ha llegado exactamente a la posición buscada.
+     */
+    public boolean isFor(List<String> gameMoves) {
+        return moves.equals(gameMoves);
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Acierto: espera como mucho budgetMillis a que la búsqueda termine sola;
+     * después la corta y se queda con lo ya calculado. Devuelve null si la
+     * búsqueda falló o se canceló.
+     */
+    public SearchResult await(long budgetMillis) {
+        try {
+            return result.get(Math.max(1, budgetMillis), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Se corta y se espera lo ya calculado; el token vale aunque la búsqueda aún no hubiera empezado
+            token.stop();
+            try {
+                return result.get();
+            } catch (ExecutionException failed) {
+                return null;
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Fallo o fin de partida: corta la búsqueda sin esperar; el motor vuelve
+     * al pool en cuanto termina.
+     */
+    public void cancel() {
+        cancelled = true;
+        token.stop();
+    }
+
+    private void complete(SearchResult searchResult) {
+        result.complete(cancelled ? null : searchResult);
+    }
+}
@@ -0,0 +1,27 @@
+package com.chess.engine;
+
+/**
+ * Límites de una búsqueda: profundidad máxima y tiempo máximo en milisegundos
+ * (0 = sin límite de tiempo). La búsqueda para en cuanto alcanza cualquiera de los dos.
+ */
+public record SearchLimits(int maxDepth, long moveTimeMillis) {
+
+    public static final int MAX_DEPTH = 64;
+
+    public SearchLimits {
+        if (maxDepth <= 0 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("La profundidad debe estar entre 1 y " + MAX_DEPTH);
+        }
+        if (moveTimeMillis < 0) {
+            throw new IllegalArgumentException("El tiempo de búsqueda no puede ser negativo");
+        }
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0);
+    }
+
+    public static SearchLimits of(int depth, long moveTimeMillis) {
+        return new SearchLimits(depth, moveTimeMillis);
+    }
+}
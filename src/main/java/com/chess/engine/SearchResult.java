@@ -0,0 +1,42 @@
+package com.chess.engine;
+
+import java.util.List;
+
+/**
+ * Resultado de una búsqueda. score en centipeones desde el punto de vista del
+ * bando que mueve; los mates se expresan como ±(MATE_SCORE - plies).
+ * bestMove y ponderMove en LAN; ponderMove es la respuesta esperada del rival (o null).
+ */
+public record SearchResult(String bestMove, String ponderMove, int score, int depth, long nodes,
+        long timeMillis, List<String> pv) {
+
+    public static final int MATE_SCORE = 30000;
+    public static final int MATE_BOUND = MATE_SCORE - 1000;
+
+    public static SearchResult noMove(int score) {
+        return new SearchResult(null, null, score, 0, 0, 0, List.of());
+    }
+
+    public boolean hasMove() {
+        return bestMove != null;
+    }
+
+    public boolean isMate() {
+        return Math.abs(score) >= MATE_BOUND;
+    }
+
+    /**
+     * Jugadas hasta el mate (positivo si gana el bando que mueve), o 0 si no hay mate.
+     */
+    public int mateIn() {
+        if (!isMate()) {
+            return 0;
+        }
+        int plies = MATE_SCORE - Math.abs(score);
+        return (score > 0 ? 1 : -1) * (plies + 1) / 2;
+    }
+
+    public long nodesPerSecond() {
+        return timeMillis > 0 ? nodes * 1000 / timeMillis : nodes;
+    }
+}
@@ -0,0 +1,20 @@
+package com.chess.engine;
+
+/**
+ * Orden de corte de una búsqueda concreta. A diferencia de {@link Engine#stop()},
+ * que corta lo que el motor esté buscando en ese momento, el token pertenece a
+ * una sola búsqueda: si se corta antes de que empiece, la búsqueda termina nada
+ * más arrancar, y no afecta a las siguientes del mismo motor.
+ */
+public final class SearchToken {
+
+    private volatile boolean stopped;
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+}
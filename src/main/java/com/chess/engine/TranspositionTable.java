@@ -0,0 +1,142 @@
+package com.chess.engine;
+
+import com.github.bhlangonijr.chesslib.Piece;
+import com.github.bhlangonijr.chesslib.PieceType;
+import com.github.bhlangonijr.chesslib.move.Move;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de transposición de tamaño fijo (potencia de dos), una entrada por ranura.
+ *
+ * Cada entrada son dos long: la clave Zobrist xor los datos, y los datos
+ * empaquetados (jugada, puntuación, profundidad, tipo de cota y generación).
+ * Con el xor una lectura que se cruza con una escritura de otro hilo no
+ * valida, así que la tabla se puede compartir entre hilos sin bloqueos.
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long VALID = 1L << 62;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private int generation;
+
+    public TranspositionTable(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("El tamaño de la tabla debe ser positivo");
+        }
+        int entries = Integer.highestOneBit((int) Math.min(1L << 30, (long) megabytes * 1024 * 1024 / ENTRY_BYTES));
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    /**
+     * Datos empaquetados de la posición, o 0 si no está en la tabla.
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        if ((entry & VALID) == 0 || (keys[index] ^ entry) != key) {
+            return 0;
+        }
+        return entry;
+    }
+
+    public void store(long key, int depth, int bound, int score, int move) {
+        int index = (int) key & mask;
+        long existing = data[index];
+        boolean valid = (existing & VALID) != 0;
+        boolean sameKey = valid && (keys[index] ^ existing) == key;
+        // Otra posición analizada más a fondo en esta misma búsqueda se conserva
+        if (valid && !sameKey && generation(existing) == (generation & 0xFF) && depth(existing) > depth) {
+            return;
+        }
+        if (sameKey && move == 0) {
+            move = move(existing);
+        }
+        long entry = (move & 0xFFFFL)
+                | ((long) (score + 32768) & 0xFFFFL) << 16
+                | ((long) Math.max(0, depth) & 0xFFL) << 32
+                | ((long) bound & 0x3L) << 40
+                | ((long) generation & 0xFFL) << 48
+                | VALID;
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * Marca el inicio de una búsqueda: las entradas de búsquedas anteriores se pueden sustituir.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+        generation = 0;
+    }
+
+    /**
+     * Ocupación por mil sobre una muestra de las primeras ranuras.
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, data.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if ((data[i] & VALID) != 0 && generation(data[i]) == (generation & 0xFF)) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int score(long entry) {
+        return (int) ((entry >>> 16) & 0xFFFF) - 32768;
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> 32) & 0xFF);
+    }
+
+    public static int bound(long entry) {
+        return (int) ((entry >>> 40) & 0x3);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> 48) & 0xFF);
+    }
+
+    /**
+     * Codificación de 16 bits de una jugada: origen, destino y tipo de promoción
+     * (0 significa "sin jugada").
+     */
+    public static int encodeMove(Move move) {
+        Piece promotion = move.getPromotion();
+        int promo = promotion == null || promotion == Piece.NONE || promotion.getPieceType() == null
+                ? 0 : promotion.getPieceType().ordinal() + 1;
+        // Origen y destino nunca coinciden, así que una jugada real nunca codifica a 0
+        return move.getFrom().ordinal() | (move.getTo().ordinal() << 6) | (promo << 12);
+    }
+
+    public static boolean matches(Move move, int code) {
+        return code != 0 && encodeMove(move) == code;
+    }
+
+    static boolean isPromotion(Move move) {
+        Piece promotion = move.getPromotion();
+        return promotion != null && promotion != Piece.NONE && promotion.getPieceType() != PieceType.NONE;
+    }
+}
@@ -0,0 +1,134 @@
+package com.chess.engine.eval;
+
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Piece;
+import com.github.bhlangonijr.chesslib.Side;
+import com.github.bhlangonijr.chesslib.Square;
+import com.github.bhlangonijr.chesslib.move.Move;
+
+import java.util.Arrays;
+
+/**
+ * Estado de evaluación que se actualiza con cada jugada en lugar de recorrer el
+ * tablero en cada nodo. Las piezas se identifican por el ordinal de {@link Piece}
+ * (0-5 blancas, 6-11 negras) y las casillas por el de {@link Square} (A1 = 0, H8 = 63).
+ *
+ * {@link #doMove} debe llamarse ANTES de mover en el tablero (lee qué pieza se
+ * mueve y cuál se captura) y {@link #undoMove} después de deshacer. Cada
+ * implementación guarda lo necesario para deshacer en {@link #save} y lo
+ * recupera en {@link #restore}; no es segura entre hilos (una por búsqueda).
+ */
+public abstract class Accumulator {
+
+    public static final int EMPTY = -1;
+    public static final int PIECE_TYPES = 12;
+
+    private static final int WHITE_PAWN = Piece.WHITE_PAWN.ordinal();
+    private static final int BLACK_PAWN = Piece.BLACK_PAWN.ordinal();
+    private static final int WHITE_KING = Piece.WHITE_KING.ordinal();
+    private static final int BLACK_KING = Piece.BLACK_KING.ordinal();
+
+    private int ply;
+
+    /**
+     * Puntuación en centipeones desde el punto de vista del bando que mueve.
+     */
+    public abstract int evaluate(Side sideToMove);
+
+    public abstract void addPiece(int piece, int square);
+
+    public abstract void removePiece(int piece, int square);
+
+    public void movePiece(int piece, int from, int to) {
+        removePiece(piece, from);
+        addPiece(piece, to);
+    }
+
+    // Vacía el estado (tablero sin piezas)
+    protected abstract void clear();
+
+    // Guarda el estado actual en el nivel ply de la pila de deshacer
+    protected abstract void save(int ply);
+
+    protected abstract void restore(int ply);
+
+    /**
+     * Recalcula desde cero a partir de las piezas del tablero.
+     */
+    public final void reset(Board board) {
+        int[] mailbox = new int[64];
+        for (int square = 0; square < 64; square++) {
+            Piece piece = board.getPiece(Square.squareAt(square));
+            mailbox[square] = piece == null || piece == Piece.NONE ? EMPTY : piece.ordinal();
+        }
+        reset(mailbox);
+    }
+
+    /**
+     * Recalcula desde cero a partir de un tablero de 64 casillas (ordinal de la pieza o EMPTY).
+     */
+    public final void reset(int[] mailbox) {
+        ply = 0;
+        clear();
+        for (int square = 0; square < 64; square++) {
+            if (mailbox[square] != EMPTY) {
+                addPiece(mailbox[square], square);
+            }
+        }
+    }
+
+    /**
+     * Abre un nivel de deshacer; las llamadas a addPiece/removePiece/movePiece
+     * que sigan forman la jugada que deshará {@link #undoMove}.
+     */
+    public final void beginMove() {
+        save(ply++);
+    }
+
+    /**
+     * Aplica los cambios de la jugada sobre el tablero aún sin mover: captura
+     * (también al paso), coronación y torre del enroque.
+     */
+    public final void doMove(Board board, Move move) {
+        beginMove();
+        int from = move.getFrom().ordinal();
+        int to = move.getTo().ordinal();
+        int piece = board.getPiece(move.getFrom()).ordinal();
+        Piece target = board.getPiece(move.getTo());
+        if (target != null && target != Piece.NONE) {
+            removePiece(target.ordinal(), to);
+        } else if ((piece == WHITE_PAWN || piece == BLACK_PAWN) && (from & 7) != (to & 7)) {
+            // Al paso: el peón capturado está junto a la casilla de origen
+            int captured = piece == WHITE_PAWN ? BLACK_PAWN : WHITE_PAWN;
+            removePiece(captured, (from & ~7) | (to & 7));
+        }
+
+        Piece promotion = move.getPromotion();
+        if (promotion != null && promotion != Piece.NONE) {
+            removePiece(piece, from);
+            addPiece(promotion.ordinal(), to);
+        } else {
+            movePiece(piece, from, to);
+        }
+
+        if ((piece == WHITE_KING || piece == BLACK_KING) && Math.abs((from & 7) - (to & 7)) == 2) {
+            int rank = from & ~7;
+            boolean kingSide = (to & 7) > (from & 7);
+            movePiece(piece == WHITE_KING ? Piece.WHITE_ROOK.ordinal() : Piece.BLACK_ROOK.ordinal(),
+                    rank + (kingSide ? 7 : 0), rank + (kingSide ? 5 : 3));
+        }
+    }
+
+    public final void undoMove() {
+        restore(--ply);
+    }
+
+    // Crece la pila de deshacer cuando la búsqueda baja más de lo previsto
+    protected static int[] ensure(int[] stack, int ply) {
+        return ply < stack.length ? stack : Arrays.copyOf(stack, Math.max(ply + 1, stack.length * 2));
+    }
+
+    protected static boolean isWhite(int piece) {
+        return piece < 6;
+    }
+}
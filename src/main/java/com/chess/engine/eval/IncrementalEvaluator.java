@@ -0,0 +1,20 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.Evaluator;
+import com.github.bhlangonijr.chesslib.Board;
+
+/**
+ * Evaluador que además sabe mantenerse al día jugada a jugada. El evaluador es
+ * inmutable y compartible entre hilos; cada búsqueda usa su propio acumulador.
+ */
+public interface IncrementalEvaluator extends Evaluator {
+
+    Accumulator newAccumulator();
+
+    @Override
+    default int evaluate(Board board) {
+        Accumulator accumulator = newAccumulator();
+        accumulator.reset(board);
+        return accumulator.evaluate(board.getSideToMove());
+    }
+}
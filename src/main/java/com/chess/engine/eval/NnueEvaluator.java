@@ -0,0 +1,127 @@
+package com.chess.engine.eval;
+
+import com.github.bhlangonijr.chesslib.Side;
+
+import java.util.Arrays;
+
+/**
+ * Evaluación con una red estilo NNUE ({@link NnueNetwork}).
+ *
+ * La capa oculta se guarda ya sumada (acumulador) para cada perspectiva: añadir
+ * o quitar una pieza suma o resta una columna de H pesos, en lugar de recalcular
+ * las 768 entradas. Los pesos de cada entrada están contiguos, así que los
+ * bucles son sumas de arrays enteros que el JIT compila con instrucciones SIMD.
+ */
+public class NnueEvaluator implements IncrementalEvaluator {
+
+    private final NnueNetwork network;
+
+    public NnueEvaluator(NnueNetwork network) {
+        this.network = network;
+    }
+
+    @Override
+    public Accumulator newAccumulator() {
+        return new NnueAccumulator();
+    }
+
+    private static int clippedRelu(int value) {
+        return Math.min(Math.max(value, 0), NnueNetwork.QA);
+    }
+
+    // Entrada vista por las negras: colores intercambiados y tablero girado
+    private static int mirrored(int piece, int square) {
+        return ((piece + 6) % Accumulator.PIECE_TYPES) * 64 + (square ^ 56);
+    }
+
+    private final class NnueAccumulator extends Accumulator {
+
+        private final int hidden = network.getHidden();
+        private final short[] weights = network.inputWeights();
+        private final int[] white = new int[hidden];
+        private final int[] black = new int[hidden];
+        private int[][] saved = new int[128][];
+
+        @Override
+        public int evaluate(Side sideToMove) {
+            int[] us = sideToMove == Side.WHITE ? white : black;
+            int[] them = sideToMove == Side.WHITE ? black : white;
+            short[] output = network.outputWeights();
+            long sum = 0;
+            for (int i = 0; i < hidden; i++) {
+                sum += clippedRelu(us[i]) * output[i];
+            }
+            for (int i = 0; i < hidden; i++) {
+                sum += clippedRelu(them[i]) * output[hidden + i];
+            }
+            sum += network.outputBias();
+            return (int) (sum * NnueNetwork.OUTPUT_SCALE / (NnueNetwork.QA * NnueNetwork.QB));
+        }
+
+        @Override
+        public void addPiece(int piece, int square) {
+            add(white, (piece * 64 + square) * hidden);
+            add(black, mirrored(piece, square) * hidden);
+        }
+
+        @Override
+        public void removePiece(int piece, int square) {
+            subtract(white, (piece * 64 + square) * hidden);
+            subtract(black, mirrored(piece, square) * hidden);
+        }
+
+        @Override
+        public void movePiece(int piece, int from, int to) {
+            // Una pasada por perspectiva en lugar de dos
+            move(white, (piece * 64 + from) * hidden, (piece * 64 + to) * hidden);
+            move(black, mirrored(piece, from) * hidden, mirrored(piece, to) * hidden);
+        }
+
+        @Override
+        protected void clear() {
+            short[] bias = network.hiddenBias();
+            for (int i = 0; i < hidden; i++) {
+                white[i] = bias[i];
+                black[i] = bias[i];
+            }
+        }
+
+        @Override
+        protected void save(int ply) {
+            if (ply >= saved.length) {
+                saved = Arrays.copyOf(saved, saved.length * 2);
+            }
+            int[] copy = saved[ply];
+            if (copy == null) {
+                copy = saved[ply] = new int[2 * hidden];
+            }
+            System.arraycopy(white, 0, copy, 0, hidden);
+            System.arraycopy(black, 0, copy, hidden, hidden);
+        }
+
+        @Override
+        protected void restore(int ply) {
+            int[] copy = saved[ply];
+            System.arraycopy(copy, 0, white, 0, hidden);
+            System.arraycopy(copy, hidden, black, 0, hidden);
+        }
+
+        private void add(int[] accumulator, int offset) {
+            for (int i = 0; i < hidden; i++) {
+                accumulator[i] += weights[offset + i];
+            }
+        }
+
+        private void subtract(int[] accumulator, int offset) {
+            for (int i = 0; i < hidden; i++) {
+                accumulator[i] -= weights[offset + i];
+            }
+        }
+
+        private void move(int[] accumulator, int fromOffset, int toOffset) {
+            for (int i = 0; i < hidden; i++) {
+                accumulator[i] += weights[toOffset + i] - weights[fromOffset + i];
+            }
+        }
+    }
+}
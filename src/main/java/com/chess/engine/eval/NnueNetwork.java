@@ -0,0 +1,127 @@
+package com.chess.engine.eval;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Pesos cuantizados de una red pequeña estilo NNUE: 768 entradas (pieza x casilla)
+ * por perspectiva -> capa oculta de tamaño H -> una salida.
+ *
+ * Formato del archivo (enteros big-endian, como DataOutputStream):
+ * "CHNN", versión (int), H (int), pesos de entrada (768*H short, por entrada),
+ * sesgos ocultos (H short), pesos de salida (2*H short: bando que mueve y rival)
+ * y sesgo de salida (int).
+ */
+public final class NnueNetwork {
+
+    public static final int INPUTS = Accumulator.PIECE_TYPES * 64;
+    // Cuantización: activación recortada a [0, QA], pesos de salida escalados por QB
+    public static final int QA = 255;
+    public static final int QB = 64;
+    public static final int OUTPUT_SCALE = 400;
+
+    private static final int MAGIC = 0x43484E4E; // "CHNN"
+    private static final int VERSION = 1;
+    private static final int MAX_HIDDEN = 4096;
+
+    private final int hidden;
+    private final short[] inputWeights;
+    private final short[] hiddenBias;
+    private final short[] outputWeights;
+    private final int outputBias;
+
+    public NnueNetwork(int hidden, short[] inputWeights, short[] hiddenBias, short[] outputWeights, int outputBias) {
+        if (hidden <= 0 || hidden > MAX_HIDDEN) {
+            throw new IllegalArgumentException("Tamaño de capa oculta inválido: " + hidden);
+        }
+        if (inputWeights.length != INPUTS * hidden || hiddenBias.length != hidden
+                || outputWeights.length != 2 * hidden) {
+            throw new IllegalArgumentException("Los pesos no corresponden a una capa oculta de " + hidden);
+        }
+        this.hidden = hidden;
+        this.inputWeights = inputWeights.clone();
+        this.hiddenBias = hiddenBias.clone();
+        this.outputWeights = outputWeights.clone();
+        this.outputBias = outputBias;
+    }
+
+    public static NnueNetwork load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public static NnueNetwork read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("No es una red NNUE (cabecera inválida)");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Versión de red no soportada: " + version);
+        }
+        int hidden = in.readInt();
+        if (hidden <= 0 || hidden > MAX_HIDDEN) {
+            throw new IOException("Tamaño de capa oculta inválido: " + hidden);
+        }
+        short[] inputWeights = readShorts(in, INPUTS * hidden);
+        short[] hiddenBias = readShorts(in, hidden);
+        short[] outputWeights = readShorts(in, 2 * hidden);
+        int outputBias = in.readInt();
+        return new NnueNetwork(hidden, inputWeights, hiddenBias, outputWeights, outputBias);
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(hidden);
+        writeShorts(out, inputWeights);
+        writeShorts(out, hiddenBias);
+        writeShorts(out, outputWeights);
+        out.writeInt(outputBias);
+        out.flush();
+    }
+
+    public int getHidden() {
+        return hidden;
+    }
+
+    // Acceso directo para el evaluador (mismo paquete), sin copias
+    short[] inputWeights() {
+        return inputWeights;
+    }
+
+    short[] hiddenBias() {
+        return hiddenBias;
+    }
+
+    short[] outputWeights() {
+        return outputWeights;
+    }
+
+    int outputBias() {
+        return outputBias;
+    }
+
+    private static short[] readShorts(DataInputStream in, int count) throws IOException {
+        short[] values = new short[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readShort();
+        }
+        return values;
+    }
+
+    private static void writeShorts(DataOutputStream out, short[] values) throws IOException {
+        for (short value : values) {
+            out.writeShort(value);
+        }
+    }
+}
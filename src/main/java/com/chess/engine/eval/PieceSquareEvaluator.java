@@ -0,0 +1,175 @@
+package com.chess.engine.eval;
+
+import com.github.bhlangonijr.chesslib.Side;
+
+/**
+ * Material más tablas pieza-casilla, con interpolación entre medio juego y final
+ * según el material que queda (fase). Cada pieza suma su valor de medio juego,
+ * de final y de fase; mover una pieza cuesta dos restas y dos sumas.
+ */
+public class PieceSquareEvaluator implements IncrementalEvaluator {
+
+    private static final int MAX_PHASE = 24;
+
+    // Valores de material por tipo: peón, caballo, alfil, torre, dama, rey
+    private static final int[] MATERIAL = { 100, 320, 330, 500, 900, 0 };
+    private static final int[] PHASE = { 0, 1, 1, 2, 4, 0 };
+
+    // Tablas desde el punto de vista de las blancas, de la fila 8 a la 1 (como se leen en un diagrama)
+    private static final int[][] MIDDLEGAME = {
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0 },
+            {
+                    -50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50 },
+            {
+                    -20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20 },
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0 },
+            {
+                    -20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20 },
+            {
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -20, -30, -30, -40, -40, -30, -30, -20,
+                    -10, -20, -20, -20, -20, -20, -20, -10,
+                    20, 20, 0, 0, 0, 0, 20, 20,
+                    20, 30, 10, 0, 0, 10, 30, 20 } };
+
+    // En el final solo cambia el rey (centralizarse); el resto usa la tabla de medio juego
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50 };
+
+    // Por pieza (ordinal de Piece) y casilla (A1 = 0): material + tabla, con signo (blancas +)
+    private final int[] middlegame = new int[Accumulator.PIECE_TYPES * 64];
+    private final int[] endgame = new int[Accumulator.PIECE_TYPES * 64];
+    private final int[] phase = new int[Accumulator.PIECE_TYPES];
+
+    public PieceSquareEvaluator() {
+        for (int piece = 0; piece < Accumulator.PIECE_TYPES; piece++) {
+            int type = piece % 6;
+            boolean white = piece < 6;
+            phase[piece] = PHASE[type];
+            for (int square = 0; square < 64; square++) {
+                // Las tablas empiezan por la fila 8: para blancas se invierte la fila, para negras no
+                int tableIndex = white ? square ^ 56 : square;
+                int sign = white ? 1 : -1;
+                int endgameTable = type == 5 ? KING_ENDGAME[tableIndex] : MIDDLEGAME[type][tableIndex];
+                middlegame[piece * 64 + square] = sign * (MATERIAL[type] + MIDDLEGAME[type][tableIndex]);
+                endgame[piece * 64 + square] = sign * (MATERIAL[type] + endgameTable);
+            }
+        }
+    }
+
+    @Override
+    public Accumulator newAccumulator() {
+        return new PieceSquareAccumulator();
+    }
+
+    private final class PieceSquareAccumulator extends Accumulator {
+
+        private int mg;
+        private int eg;
+        private int gamePhase;
+        private int[] savedMg = new int[128];
+        private int[] savedEg = new int[128];
+        private int[] savedPhase = new int[128];
+
+        @Override
+        public int evaluate(Side sideToMove) {
+            int p = Math.min(gamePhase, MAX_PHASE);
+            int score = (mg * p + eg * (MAX_PHASE - p)) / MAX_PHASE;
+            return sideToMove == Side.WHITE ? score : -score;
+        }
+
+        @Override
+        public void addPiece(int piece, int square) {
+            int index = piece * 64 + square;
+            mg += middlegame[index];
+            eg += endgame[index];
+            gamePhase += phase[piece];
+        }
+
+        @Override
+        public void removePiece(int piece, int square) {
+            int index = piece * 64 + square;
+            mg -= middlegame[index];
+            eg -= endgame[index];
+            gamePhase -= phase[piece];
+        }
+
+        @Override
+        public void movePiece(int piece, int from, int to) {
+            int base = piece * 64;
+            mg += middlegame[base + to] - middlegame[base + from];
+            eg += endgame[base + to] - endgame[base + from];
+        }
+
+        @Override
+        protected void clear() {
+            mg = 0;
+            eg = 0;
+            gamePhase = 0;
+        }
+
+        @Override
+        protected void save(int ply) {
+            savedMg = ensure(savedMg, ply);
+            savedEg = ensure(savedEg, ply);
+            savedPhase = ensure(savedPhase, ply);
+            savedMg[ply] = mg;
+            savedEg[ply] = eg;
+            savedPhase[ply] = gamePhase;
+        }
+
+        @Override
+        protected void restore(int ply) {
+            mg = savedMg[ply];
+            eg = savedEg[ply];
+            gamePhase = savedPhase[ply];
+        }
+    }
+}
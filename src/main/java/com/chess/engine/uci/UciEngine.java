@@ -0,0 +1,314 @@
+package com.chess.engine.uci;
+
+import com.chess.engine.Engine;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.SearchToken;
+import com.github.bhlangonijr.chesslib.Board;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Motor externo que habla UCI por la entrada y salida estándar de un proceso local.
+ *
+ * El proceso se arranca una vez y se reutiliza entre búsquedas. Un hilo lector
+ * pasa cada línea de la salida a una cola, de modo que todas las esperas tienen
+ * plazo: si el motor no contesta "bestmove" en el tiempo pedido más un margen,
+ * se le envía "stop"; si tampoco responde, el proceso se da por perdido
+ * ({@link #isAlive()} = false) y el pool lo sustituye.
+ */
+public class UciEngine implements Engine {
+
+    private static final Logger log = LoggerFactory.getLogger(UciEngine.class);
+
+    private static final String EOF = "\u0000eof";
+    // Cada cuánto se mira el token mientras el motor no escribe nada
+    private static final long TOKEN_CHECK_MILLIS = 50;
+
+    private final String name;
+    private final Process process;
+    private final Writer input;
+    private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final long graceMillis;
+    private volatile boolean broken;
+    private String engineName;
+
+    public UciEngine(String name, List<String> command, Map<String, String> options, long graceMillis)
+            throws IOException {
+        this.name = name;
+        this.graceMillis = graceMillis;
+        this.process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        this.input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+
+        Thread reader = new Thread(this::readOutput, "uci-" + name + "-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            send("uci");
+            String line;
+            while (!"uciok".equals(line = await(graceMillis * 10, "uciok"))) {
+                if (line.startsWith("id name ")) {
+                    engineName = line.substring("id name ".length()).trim();
+                }
+            }
+            for (Map.Entry<String, String> option : options.entrySet()) {
+                send("setoption name " + option.getKey() + " value " + option.getValue());
+            }
+            ready();
+        } catch (RuntimeException e) {
+            close();
+            throw new IOException("El motor UCI no completó el arranque: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return engineName != null ? name + " (" + engineName + ")" : name;
+    }
+
+    public long getPid() {
+        return process.pid();
+    }
+
+    @Override
+    public SearchResult search(Board board, SearchLimits limits) {
+        return go("position fen " + board.getFen(), limits, new SearchToken());
+    }
+
+    @Override
+    public SearchResult search(List<String> moves, SearchLimits limits, SearchToken token) {
+        String position = moves.isEmpty() ? "position startpos" : "position startpos moves " + String.join(" ", moves);
+        return go(position, limits, token);
+    }
+
+    @Override
+    public void stop() {
+        send("stop");
+    }
+
+    @Override
+    public void newGame() {
+        send("ucinewgame");
+        ready();
+    }
+
+    @Override
+    public boolean isAlive() {
+        return !broken && process.isAlive();
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        try {
+            send("quit");
+        } catch (RuntimeException e) {
+            // el proceso ya no acepta órdenes
+        }
+        try {
+            if (!process.waitFor(graceMillis, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SearchResult go(String position, SearchLimits limits, SearchToken token) {
+        output.clear(); // restos de una búsqueda anterior cortada
+        send(position);
+        StringBuilder go = new StringBuilder("go depth ").append(limits.maxDepth());
+        if (limits.moveTimeMillis() > 0) {
+            go.append(" movetime ").append(limits.moveTimeMillis());
+        }
+        long start = System.nanoTime();
+        send(go.toString());
+
+        long budget = limits.moveTimeMillis() > 0 ? limits.moveTimeMillis() + graceMillis : Long.MAX_VALUE / 2;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+        boolean stopSent = false;
+        UciInfo info = new UciInfo();
+        while (true) {
+            // Corte pedido con el token (aunque fuera antes del "go"): se pide la jugada ya
+            if (token.isStopped() && !stopSent) {
+                send("stop");
+                stopSent = true;
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(graceMillis);
+            }
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            String line = remaining > 0 ? poll(Math.min(remaining, TOKEN_CHECK_MILLIS)) : null;
+            if (line == null) {
+                if (System.nanoTime() < deadline) {
+                    continue;
+                }
+                if (stopSent) {
+                    broken = true;
+                    process.destroyForcibly();
+                    throw new IllegalStateException("El motor UCI no respondió a tiempo");
+                }
+                // Fuera de plazo: se pide la jugada y se da un margen más para contestar
+                send("stop");
+                stopSent = true;
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(graceMillis);
+                continue;
+            }
+            if (line.startsWith("info ")) {
+                info.parse(line);
+            } else if (line.startsWith("bestmove")) {
+                return info.toResult(line, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    private void ready() {
+        send("isready");
+        await(graceMillis * 10, "readyok");
+    }
+
+    // Espera una línea concreta (devuelve también las intermedias a quien las pida)
+    private String await(long timeoutMillis, String expected) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            String line = remaining > 0 ? poll(remaining) : null;
+            if (line == null) {
+                broken = true;
+                throw new IllegalStateException("El motor UCI no respondió '" + expected + "' a tiempo");
+            }
+            if (line.equals(expected) || (expected.equals("uciok") && line.startsWith("id name "))) {
+                return line;
+            }
+        }
+    }
+
+    private String poll(long timeoutMillis) {
+        try {
+            String line = output.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (EOF.equals(line)) {
+                broken = true;
+                throw new IllegalStateException("El proceso del motor UCI terminó");
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            throw new IllegalStateException("Búsqueda interrumpida");
+        }
+    }
+
+    private void send(String command) {
+        writeLock.lock();
+        try {
+            input.write(command);
+            input.write('\n');
+            input.flush();
+        } catch (IOException e) {
+            broken = true;
+            throw new IllegalStateException("No se pudo escribir al motor UCI: " + e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line.trim());
+            }
+        } catch (IOException e) {
+            log.debug("Salida del motor {} cerrada: {}", name, e.getMessage());
+        } finally {
+            output.add(EOF);
+        }
+    }
+
+    /**
+     * Última información de búsqueda recibida ("info depth ... score ... pv ...").
+     */
+    static final class UciInfo {
+        private int depth;
+        private int score;
+        private long nodes;
+        private List<String> pv = List.of();
+
+        void parse(String line) {
+            String[] tokens = line.split("\\s+");
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "depth" -> depth = parseInt(tokens, ++i, depth);
+                    case "nodes" -> nodes = parseLong(tokens, ++i, nodes);
+                    case "score" -> {
+                        if (i + 2 < tokens.length && tokens[i + 1].equals("cp")) {
+                            score = parseInt(tokens, i + 2, score);
+                            i += 2;
+                        } else if (i + 2 < tokens.length && tokens[i + 1].equals("mate")) {
+                            int mate = parseInt(tokens, i + 2, 0);
+                            int plies = mate > 0 ? 2 * mate - 1 : -2 * mate;
+                            score = (mate > 0 ? 1 : -1) * (SearchResult.MATE_SCORE - plies);
+                            i += 2;
+                        }
+                    }
+                    case "pv" -> {
+                        pv = new ArrayList<>(Arrays.asList(tokens).subList(i + 1, tokens.length));
+                        i = tokens.length;
+                    }
+                    default -> {
+                        // Campos que no se usan (seldepth, time, nps, hashfull, ...)
+                    }
+                }
+            }
+        }
+
+        SearchResult toResult(String bestmoveLine, long elapsedMillis) {
+            String[] tokens = bestmoveLine.split("\\s+");
+            String best = tokens.length > 1 ? tokens[1] : null;
+            if (best == null || best.equals("(none)") || best.equals("0000")) {
+                return SearchResult.noMove(score);
+            }
+            String ponder = tokens.length > 3 && tokens[2].equals("ponder") ? tokens[3] : null;
+            List<String> line = pv.isEmpty() || !pv.get(0).equals(best) ? List.of(best) : List.copyOf(pv);
+            if (ponder == null && line.size() > 1) {
+                ponder = line.get(1);
+            }
+            return new SearchResult(best, ponder, score, depth, nodes, elapsedMillis, line);
+        }
+
+        private static int parseInt(String[] tokens, int index, int fallback) {
+            try {
+                return index < tokens.length ? Integer.parseInt(tokens[index]) : fallback;
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+
+        private static long parseLong(String[] tokens, int index, long fallback) {
+            try {
+                return index < tokens.length ? Long.parseLong(tokens[index]) : fallback;
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.chess.event;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Partida creada (nueva, emparejada o importada). moves solo tiene contenido en las importadas.
+ */
+public record GameCreatedEvent(long gameId, Long whitePlayerId, Long blackPlayerId, boolean imported,
+        List<String> moves, Instant occurredAt) {
+}
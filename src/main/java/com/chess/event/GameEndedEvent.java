@@ -0,0 +1,19 @@
+package com.chess.event;
+
+import com.chess.model.GameStatus;
+import com.chess.model.Winner;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Partida terminada, con su resultado y la lista completa de movimientos en LAN.
+ * imported indica que llegó ya terminada en una importación (no se jugó aquí).
+ */
+public record GameEndedEvent(long gameId, GameStatus status, Winner winner, List<String> moves,
+        Long whitePlayerId, Long blackPlayerId, boolean imported, Instant occurredAt) {
+
+    public int plies() {
+        return moves.size();
+    }
+}
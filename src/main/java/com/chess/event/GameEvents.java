@@ -0,0 +1,60 @@
+package com.chess.event;
+
+import com.chess.model.Game;
+import com.chess.model.PlayerColor;
+import com.github.bhlangonijr.chesslib.Board;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publica los eventos de ciclo de vida de las partidas.
+ *
+ * Se publican dentro de la transacción que hace el cambio; los oyentes que
+ * mantienen agregados usan @TransactionalEventListener para verlos solo si la
+ * transacción se confirma.
+ */
+@Component
+public class GameEvents {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    public void created(Game game, boolean imported) {
+        publisher.publishEvent(new GameCreatedEvent(game.getId(), game.getWhitePlayerId(),
+                game.getBlackPlayerId(), imported, List.copyOf(game.getMoves()), Instant.now()));
+        if (!game.isActive()) {
+            ended(game, imported);
+        }
+    }
+
+    /**
+     * Publica el último movimiento de la partida y, si con él terminó, el fin de partida.
+     * board es el tablero tras el movimiento, o null si la partida terminó por tiempo sin mover.
+     */
+    public void moveApplied(Game game, Board board) {
+        List<String> moves = game.getMoves();
+        if (board != null && !moves.isEmpty()) {
+            int ply = moves.size();
+            PlayerColor side = ply % 2 == 1 ? PlayerColor.WHITE : PlayerColor.BLACK;
+            publisher.publishEvent(new MoveAppliedEvent(game.getId(), ply, moves.get(ply - 1), side,
+                    board.getZobristKey(), Instant.now()));
+        }
+        if (!game.isActive()) {
+            ended(game);
+        }
+    }
+
+    public void ended(Game game) {
+        ended(game, false);
+    }
+
+    private void ended(Game game, boolean imported) {
+        publisher.publishEvent(new GameEndedEvent(game.getId(), game.getStatusEnum(), game.getWinner(),
+                List.copyOf(game.getMoves()), game.getWhitePlayerId(), game.getBlackPlayerId(), imported,
+                Instant.now()));
+    }
+}
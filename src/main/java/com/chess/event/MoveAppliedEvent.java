@@ -0,0 +1,13 @@
+package com.chess.event;
+
+import com.chess.model.PlayerColor;
+
+import java.time.Instant;
+
+/**
+ * Movimiento aceptado en una partida. ply es el número de medio movimiento (1 = primera jugada de blancas)
+ * y positionHash la clave Zobrist de la posición resultante.
+ */
+public record MoveAppliedEvent(long gameId, int ply, String move, PlayerColor side, long positionHash,
+        Instant occurredAt) {
+}
@@ -0,0 +1,368 @@
+package com.chess.explorer;
+
+import com.chess.event.GameEndedEvent;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
+import com.chess.model.Winner;
+import com.chess.repository.GameRepository;
+import com.chess.search.PositionIndexService;
+import com.chess.service.GameArchiveService;
+import com.chess.service.GameRules;
+import com.github.bhlangonijr.chesslib.Board;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Explorador de aperturas: para cada posición de las primeras jugadas, qué
+ * movimientos se jugaron y con qué resultados.
+ *
+ * El agregado se actualiza al terminar cada partida (incluidas las importadas)
+ * y vive en un mapa de claves long primitivas (Zobrist). Solo se cuentan los
+ * primeros chess.explorer.max-ply medios movimientos, que es lo que consulta un
+ * explorador y acota la memoria. Las posiciones consultadas se guardan ya
+ * calculadas en una caché LRU que se invalida al cambiar la posición.
+ *
+ * El estado se vuelca a un fichero binario periódicamente y al parar. Si al
+ * arrancar no hay fichero, se reconstruye una vez a partir de las partidas
+ * terminadas y archivadas.
+ */
+@Service
+public class OpeningExplorerService {
+
+    private static final Logger log = LoggerFactory.getLogger(OpeningExplorerService.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x4F504E31; // "OPN1"
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    public record ExplorerMove(String move, long games, double whitePercent, double drawPercent,
+            double blackPercent) {
+    }
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chess.explorer.max-ply:30}")
+    private int maxPly;
+
+    @Value("${chess.explorer.cache-size:1024}")
+    private int cacheSize;
+
+    @Value("${chess.explorer.snapshot-file:data/explorer/explorer.bin}")
+    private String snapshotFile;
+
+    @Value("${chess.explorer.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final LongObjectHashMap<PositionMoves> positions = new LongObjectHashMap<>(1 << 16);
+    private final ReentrantReadWriteLock positionsLock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private Map<Long, List<ExplorerMove>> hotPositions;
+
+    private volatile boolean loadedFromSnapshot;
+    private volatile boolean rebuilding;
+
+    @PostConstruct
+    void init() {
+        hotPositions = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<ExplorerMove>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        loadSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameEndedEvent event) {
+        record(event.moves(), event.winner());
+    }
+
+    /**
+     * Suma una partida terminada al agregado. Una posición repetida dentro de la
+     * misma partida solo cuenta una vez.
+     */
+    public void record(List<String> moves, Winner winner) {
+        int result = resultIndex(winner);
+        if (result < 0 || moves.isEmpty()) {
+            return;
+        }
+
+        // Se reproduce fuera del cerrojo: solo se bloquea para tocar el mapa
+        int plies = Math.min(maxPly, moves.size());
+        long[] hashes = new long[plies];
+        short[] codes = new short[plies];
+        try {
+            Board board = new Board();
+            for (int ply = 0; ply < plies; ply++) {
+                hashes[ply] = board.getZobristKey();
+                codes[ply] = MoveCodec.encode(moves.get(ply));
+                board.doMove(GameRules.parseAndValidateMove(board, moves.get(ply)));
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Partida no añadida al explorador: {}", e.getMessage());
+            return;
+        }
+
+        Set<Long> seen = new HashSet<>();
+        positionsLock.writeLock().lock();
+        try {
+            for (int ply = 0; ply < plies; ply++) {
+                if (seen.add(hashes[ply])) {
+                    positions.computeIfAbsent(hashes[ply], key -> new PositionMoves()).record(codes[ply], result);
+                }
+            }
+            // Se invalida antes de soltar el cerrojo de escritura: explore() guarda en
+            // caché con el de lectura, así que no puede dejar una entrada anterior a este cambio
+            cacheLock.lock();
+            try {
+                seen.forEach(hotPositions::remove);
+            } finally {
+                cacheLock.unlock();
+            }
+        } finally {
+            positionsLock.writeLock().unlock();
+        }
+    }
+
+    public List<ExplorerMove> explore(String fen) {
+        long hash = PositionIndexService.hashOf(fen);
+
+        cacheLock.lock();
+        try {
+            List<ExplorerMove> cached = hotPositions.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        List<ExplorerMove> result = new ArrayList<>();
+        positionsLock.readLock().lock();
+        try {
+            PositionMoves moves = positions.get(hash);
+            if (moves != null) {
+                for (int i = 0; i < moves.count(); i++) {
+                    long white = moves.results(i, PositionMoves.WHITE);
+                    long draw = moves.results(i, PositionMoves.DRAW);
+                    long black = moves.results(i, PositionMoves.BLACK);
+                    long games = white + draw + black;
+                    result.add(new ExplorerMove(MoveCodec.decode(moves.move(i)), games,
+                            100.0 * white / games, 100.0 * draw / games, 100.0 * black / games));
+                }
+            }
+            result.sort(Comparator.comparingLong(ExplorerMove::games).reversed());
+            List<ExplorerMove> frozen = List.copyOf(result);
+
+            cacheLock.lock();
+            try {
+                hotPositions.put(hash, frozen);
+            } finally {
+                cacheLock.unlock();
+            }
+            return frozen;
+        } finally {
+            positionsLock.readLock().unlock();
+        }
+    }
+
+    public int positionCount() {
+        positionsLock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            positionsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sin instantánea previa, recorre una vez las partidas terminadas (vivas y
+     * archivadas) en segundo plano. Las que terminen durante el recorrido pueden
+     * contarse dos veces; el error es despreciable frente al histórico.
+     *
+     * Mientras dura no se escriben instantáneas: una parcial haría creer al
+     * siguiente arranque que el agregado está completo. Si se interrumpe, tampoco
+     * se escriben después, y el siguiente arranque vuelve a reconstruir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (loadedFromSnapshot || !rebuildOnStartup) {
+            return;
+        }
+        rebuilding = true;
+        Thread.ofVirtual().name("explorer-rebuild").start(() -> {
+            long games = 0;
+            try {
+                Long afterId = 0L;
+                List<Game> batch;
+                do {
+                    Long from = afterId;
+                    batch = transactionTemplate.execute(status -> {
+                        List<Game> page = gameRepository.findByStatusInAndIdGreaterThanOrderByIdAsc(
+                                GameStatus.finished(), from, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                        page.forEach(Game::getMoves); // materializar movimientos heredados dentro de la transacción
+                        return page;
+                    });
+                    for (Game game : batch) {
+                        record(game.getMoves(), game.getWinner());
+                        afterId = game.getId();
+                    }
+                    games += batch.size();
+                } while (!batch.isEmpty());
+
+                afterId = 0L;
+                do {
+                    batch = gameArchiveService.findArchivedBatch(afterId, REBUILD_BATCH_SIZE);
+                    for (Game game : batch) {
+                        record(game.getMoves(), game.getWinner());
+                        afterId = game.getId();
+                    }
+                    games += batch.size();
+                } while (!batch.isEmpty());
+                rebuilding = false;
+                log.info("Explorador reconstruido con {} partidas ({} posiciones)", games, positionCount());
+            } catch (RuntimeException e) {
+                log.warn("Reconstrucción del explorador interrumpida tras {} partidas: {}", games, e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${chess.explorer.snapshot-interval-ms:300000}",
+            initialDelayString = "${chess.explorer.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (rebuilding) {
+            return;
+        }
+        // Se copia en memoria bajo el cerrojo de lectura y se escribe fuera, para no
+        // frenar record() durante la escritura en disco
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        positionsLock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(positions.size());
+            IOException[] failure = new IOException[1];
+            positions.forEach((hash, moves) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    out.writeLong(hash);
+                    out.writeShort(moves.count());
+                    for (int i = 0; i < moves.count(); i++) {
+                        out.writeShort(moves.move(i));
+                        out.writeInt(moves.results(i, PositionMoves.WHITE));
+                        out.writeInt(moves.results(i, PositionMoves.DRAW));
+                        out.writeInt(moves.results(i, PositionMoves.BLACK));
+                    }
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo preparar la instantánea del explorador: {}", e.getMessage());
+            return;
+        } finally {
+            positionsLock.readLock().unlock();
+        }
+
+        Path path = Paths.get(snapshotFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "explorer", ".tmp");
+            try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                buffer.writeTo(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea del explorador: {}", e.getMessage());
+        }
+    }
+
+    private void loadSnapshot() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Instantánea del explorador con formato desconocido: {}", path);
+                return;
+            }
+            int count = in.readInt();
+            for (int p = 0; p < count; p++) {
+                long hash = in.readLong();
+                int moveCount = in.readShort();
+                PositionMoves moves = new PositionMoves();
+                for (int i = 0; i < moveCount; i++) {
+                    moves.set(in.readShort(), in.readInt(), in.readInt(), in.readInt());
+                }
+                positions.put(hash, moves);
+            }
+            loadedFromSnapshot = true;
+            log.info("Explorador cargado de {} ({} posiciones)", path, count);
+        } catch (IOException e) {
+            positions.clear();
+            log.warn("No se pudo leer la instantánea del explorador {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static int resultIndex(Winner winner) {
+        if (winner == null) {
+            return -1;
+        }
+        switch (winner) {
+            case WHITE:
+                return PositionMoves.WHITE;
+            case DRAW:
+                return PositionMoves.DRAW;
+            case BLACK:
+                return PositionMoves.BLACK;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.chess.explorer;
+
+import java.util.Arrays;
+
+/**
+ * Jugadas registradas desde una posición con sus resultados.
+ * Arrays paralelos en lugar de un objeto por jugada: códigos MoveCodec y,
+ * por cada jugada, tres contadores (victorias blancas, tablas, victorias negras).
+ */
+final class PositionMoves {
+
+    static final int WHITE = 0;
+    static final int DRAW = 1;
+    static final int BLACK = 2;
+
+    private short[] moves = new short[2];
+    private int[] results = new int[6];
+    private int count;
+
+    void record(short move, int result) {
+        int index = indexOf(move);
+        if (index < 0) {
+            if (count == moves.length) {
+                moves = Arrays.copyOf(moves, count * 2);
+                results = Arrays.copyOf(results, count * 6);
+            }
+            index = count++;
+            moves[index] = move;
+        }
+        results[index * 3 + result]++;
+    }
+
+    void set(short move, int white, int draw, int black) {
+        record(move, WHITE);
+        int index = indexOf(move);
+        results[index * 3] = white;
+        results[index * 3 + 1] = draw;
+        results[index * 3 + 2] = black;
+    }
+
+    int count() {
+        return count;
+    }
+
+    short move(int index) {
+        return moves[index];
+    }
+
+    int results(int index, int result) {
+        return results[index * 3 + result];
+    }
+
+    private int indexOf(short move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
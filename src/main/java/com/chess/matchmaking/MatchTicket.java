@@ -0,0 +1,86 @@
+package com.chess.matchmaking;
+
+import com.chess.model.PlayerColor;
+
+/**
+ * Solicitud de partida de un jugador en una cola de emparejamiento.
+ * El estado lo modifica la cola bajo su propio cerrojo; los campos son
+ * volátiles para que la consulta de estado no necesite bloquear.
+ */
+public class MatchTicket {
+
+    public enum State { WAITING, MATCHED, CANCELLED }
+
+    private final long id;
+    private final long playerId;
+    private final int rating;
+    private final int timeControlSeconds;
+    private final long enqueuedAtMillis;
+
+    private volatile State state = State.WAITING;
+    private volatile Long gameId;
+    private volatile PlayerColor color;
+    private volatile long opponentId;
+    private volatile long closedAtMillis;
+
+    public MatchTicket(long id, long playerId, int rating, int timeControlSeconds, long enqueuedAtMillis) {
+        this.id = id;
+        this.playerId = playerId;
+        this.rating = rating;
+        this.timeControlSeconds = timeControlSeconds;
+        this.enqueuedAtMillis = enqueuedAtMillis;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public int getTimeControlSeconds() {
+        return timeControlSeconds;
+    }
+
+    public long getEnqueuedAtMillis() {
+        return enqueuedAtMillis;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public PlayerColor getColor() {
+        return color;
+    }
+
+    public long getOpponentId() {
+        return opponentId;
+    }
+
+    public long getClosedAtMillis() {
+        return closedAtMillis;
+    }
+
+    void matched(long gameId, PlayerColor color, long opponentId, long nowMillis) {
+        this.gameId = gameId;
+        this.color = color;
+        this.opponentId = opponentId;
+        this.closedAtMillis = nowMillis;
+        this.state = State.MATCHED;
+    }
+
+    void cancelled(long nowMillis) {
+        this.closedAtMillis = nowMillis;
+        this.state = State.CANCELLED;
+    }
+}
@@ -0,0 +1,35 @@
+package com.chess.matchmaking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forma parejas a intervalos cortos: así las partidas se crean por lotes y la
+ * espera añadida está acotada por el intervalo.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.matchmaking.enabled", havingValue = "true", matchIfMissing = true)
+public class MatchmakingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingJob.class);
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Scheduled(fixedDelayString = "${chess.matchmaking.interval-ms:200}")
+    public void run() {
+        int created = matchmakingService.pairAll();
+        if (created > 0) {
+            log.debug("Creadas {} partidas emparejadas", created);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chess.matchmaking.purge-interval-ms:60000}")
+    public void purge() {
+        matchmakingService.purgeClosedTickets();
+    }
+}
@@ -0,0 +1,134 @@
+package com.chess.matchmaking;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de emparejamiento de un control de tiempo.
+ *
+ * Los tickets se guardan dos veces: por orden de llegada, para dar prioridad a
+ * quien más espera, y en un árbol ordenado por (rating, id), para encontrar al
+ * rival de rating más cercano mirando solo los vecinos dentro de la ventana en
+ * lugar de recorrer la cola entera. Alta y baja son O(log n).
+ *
+ * La ventana de rating aceptable crece con el tiempo de espera hasta un máximo;
+ * dos jugadores se emparejan solo si cada uno está dentro de la ventana del otro.
+ */
+public class MatchmakingQueue {
+
+    private final int initialWindow;
+    private final int windowGrowthPerSecond;
+    private final int maxWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, MatchTicket> byArrival = new LinkedHashMap<>();
+    private final TreeMap<Long, MatchTicket> byRating = new TreeMap<>();
+
+    public MatchmakingQueue(int initialWindow, int windowGrowthPerSecond, int maxWindow) {
+        this.initialWindow = initialWindow;
+        this.windowGrowthPerSecond = windowGrowthPerSecond;
+        this.maxWindow = maxWindow;
+    }
+
+    public void enqueue(MatchTicket ticket) {
+        lock.lock();
+        try {
+            byArrival.put(ticket.getId(), ticket);
+            byRating.put(ratingKey(ticket), ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saca el ticket de la cola si sigue esperando. Devuelve false si ya estaba emparejado.
+     */
+    public boolean cancel(MatchTicket ticket, long nowMillis) {
+        lock.lock();
+        try {
+            if (ticket.getState() != MatchTicket.State.WAITING || byArrival.remove(ticket.getId()) == null) {
+                return false;
+            }
+            byRating.remove(ratingKey(ticket));
+            ticket.cancelled(nowMillis);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forma todas las parejas posibles en este instante y las saca de la cola.
+     * Los tickets siguen en estado WAITING hasta que se crea la partida.
+     */
+    public List<MatchTicket[]> pair(long nowMillis) {
+        List<MatchTicket[]> pairs = new ArrayList<>();
+        lock.lock();
+        try {
+            for (MatchTicket ticket : new ArrayList<>(byArrival.values())) {
+                if (!byArrival.containsKey(ticket.getId())) {
+                    continue; // ya emparejado en esta pasada como rival de otro
+                }
+                MatchTicket rival = findRival(ticket, nowMillis);
+                if (rival == null) {
+                    continue;
+                }
+                byArrival.remove(ticket.getId());
+                byArrival.remove(rival.getId());
+                byRating.remove(ratingKey(ticket));
+                byRating.remove(ratingKey(rival));
+                pairs.add(new MatchTicket[] { ticket, rival });
+            }
+        } finally {
+            lock.unlock();
+        }
+        return pairs;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return byArrival.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int windowFor(MatchTicket ticket, long nowMillis) {
+        long waitedSeconds = Math.max(0, nowMillis - ticket.getEnqueuedAtMillis()) / 1000;
+        return (int) Math.min(maxWindow, initialWindow + waitedSeconds * windowGrowthPerSecond);
+    }
+
+    // Vecino más cercano en rating que acepte y sea aceptado; se deja de mirar al salir de la ventana
+    private MatchTicket findRival(MatchTicket ticket, long nowMillis) {
+        int window = windowFor(ticket, nowMillis);
+        long key = ratingKey(ticket);
+        MatchTicket best = null;
+        int bestDiff = Integer.MAX_VALUE;
+
+        for (NavigableMap<Long, MatchTicket> side : List.of(
+                byRating.headMap(key, false).descendingMap(), byRating.tailMap(key, false))) {
+            for (MatchTicket candidate : side.values()) {
+                int diff = Math.abs(candidate.getRating() - ticket.getRating());
+                if (diff > window || diff >= bestDiff) {
+                    break;
+                }
+                if (candidate.getPlayerId() != ticket.getPlayerId() && diff <= windowFor(candidate, nowMillis)) {
+                    best = candidate;
+                    bestDiff = diff;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Orden por rating y, a igualdad, por id de ticket (clave única)
+    private static long ratingKey(MatchTicket ticket) {
+        return ((long) ticket.getRating() << 40) | (ticket.getId() & 0xFF_FFFF_FFFFL);
+    }
+}
@@ -0,0 +1,166 @@
+package com.chess.matchmaking;
+
+import com.chess.model.Game;
+import com.chess.model.PlayerColor;
+import com.chess.rating.PlayerService;
+import com.chess.service.ChessGameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emparejamiento de jugadores por rating y control de tiempo.
+ *
+ * Hay una cola por control de tiempo; entrar y salir solo bloquea esa cola y
+ * cuesta O(log n). Las parejas se forman en una tarea periódica y sus partidas
+ * se crean todas juntas en una sola transacción.
+ */
+@Service
+public class MatchmakingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingService.class);
+
+    public static final int MIN_RATING = 0;
+    public static final int MAX_RATING = 4000;
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Value("${chess.matchmaking.initial-window:50}")
+    private int initialWindow;
+
+    @Value("${chess.matchmaking.window-growth-per-second:10}")
+    private int windowGrowthPerSecond;
+
+    @Value("${chess.matchmaking.max-window:400}")
+    private int maxWindow;
+
+    @Value("${chess.matchmaking.ticket-retention-ms:600000}")
+    private long ticketRetentionMs;
+
+    private final Map<Integer, MatchmakingQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, MatchTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<Long, MatchTicket> waitingByPlayer = new ConcurrentHashMap<>();
+    private final AtomicLong ticketSequence = new AtomicLong();
+
+    /**
+     * Pone al jugador registrado en la cola del control de tiempo indicado, con su
+     * rating actual. El rating sale siempre de {@link PlayerService}: el cliente no
+     * puede elegir contra quién juega declarando otro.
+     */
+    public MatchTicket enqueue(long playerId, int timeControlSeconds) {
+        if (timeControlSeconds <= 0) {
+            throw new IllegalArgumentException("El tiempo debe ser mayor que 0");
+        }
+        long current = Math.round(playerService.getPlayer(playerId).getRating());
+        int rating = (int) Math.max(MIN_RATING, Math.min(MAX_RATING, current));
+
+        MatchTicket ticket = new MatchTicket(ticketSequence.incrementAndGet(), playerId, rating,
+                timeControlSeconds, System.currentTimeMillis());
+        if (waitingByPlayer.putIfAbsent(playerId, ticket) != null) {
+            throw new IllegalArgumentException("El jugador ya está en una cola de emparejamiento");
+        }
+        tickets.put(ticket.getId(), ticket);
+        queueFor(timeControlSeconds).enqueue(ticket);
+        return ticket;
+    }
+
+    public Optional<MatchTicket> findTicket(long ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    public boolean cancel(long ticketId) {
+        MatchTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("Ticket no encontrado");
+        }
+        boolean cancelled = queueFor(ticket.getTimeControlSeconds()).cancel(ticket, System.currentTimeMillis());
+        if (cancelled) {
+            waitingByPlayer.remove(ticket.getPlayerId(), ticket);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Empareja todas las colas y crea las partidas resultantes por lotes.
+     * Si la creación falla, los tickets vuelven a su cola con su antigüedad.
+     */
+    public int pairAll() {
+        long now = System.currentTimeMillis();
+        int created = 0;
+        for (Map.Entry<Integer, MatchmakingQueue> entry : queues.entrySet()) {
+            List<MatchTicket[]> pairs = entry.getValue().pair(now);
+            if (pairs.isEmpty()) {
+                continue;
+            }
+            // Color al azar para no favorecer a quien lleva más tiempo esperando
+            List<long[]> pairings = new ArrayList<>(pairs.size());
+            for (MatchTicket[] pair : pairs) {
+                if (ThreadLocalRandom.current().nextBoolean()) {
+                    MatchTicket first = pair[0];
+                    pair[0] = pair[1];
+                    pair[1] = first;
+                }
+                pairings.add(new long[] { pair[0].getPlayerId(), pair[1].getPlayerId() });
+            }
+            try {
+                List<Game> games = chessGameService.createGames(pairings, entry.getKey(), entry.getKey());
+                for (int i = 0; i < pairs.size(); i++) {
+                    assign(pairs.get(i), games.get(i).getId(), now);
+                }
+                created += games.size();
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron crear {} partidas emparejadas: {}", pairs.size(), e.getMessage());
+                for (MatchTicket[] pair : pairs) {
+                    entry.getValue().enqueue(pair[0]);
+                    entry.getValue().enqueue(pair[1]);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Olvida los tickets cerrados hace más del tiempo de retención.
+     */
+    public void purgeClosedTickets() {
+        long cutoff = System.currentTimeMillis() - ticketRetentionMs;
+        tickets.values().removeIf(ticket -> ticket.getState() != MatchTicket.State.WAITING
+                && ticket.getClosedAtMillis() < cutoff);
+    }
+
+    public Map<Integer, Integer> queueSizes() {
+        Map<Integer, Integer> sizes = new TreeMap<>();
+        queues.forEach((timeControl, queue) -> sizes.put(timeControl, queue.size()));
+        return sizes;
+    }
+
+    // pair[0] juega con blancas
+    private void assign(MatchTicket[] pair, long gameId, long now) {
+        MatchTicket white = pair[0];
+        MatchTicket black = pair[1];
+        white.matched(gameId, PlayerColor.WHITE, black.getPlayerId(), now);
+        black.matched(gameId, PlayerColor.BLACK, white.getPlayerId(), now);
+        waitingByPlayer.remove(white.getPlayerId(), white);
+        waitingByPlayer.remove(black.getPlayerId(), black);
+    }
+
+    private MatchmakingQueue queueFor(int timeControlSeconds) {
+        return queues.computeIfAbsent(timeControlSeconds,
+                tc -> new MatchmakingQueue(initialWindow, windowGrowthPerSecond, maxWindow));
+    }
+}
@@ -0,0 +1,235 @@
+package com.chess.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Partida terminada fuera de las tablas vivas. Los movimientos se guardan
+ * empaquetados con {@link MoveCodec} y comprimidos con Deflate.
+ */
+@Entity
+@Table(name = "archived_games", indexes = {
+        @Index(name = "idx_archived_games_created_at", columnList = "created_at"),
+        @Index(name = "idx_archived_games_finished_at", columnList = "finished_at")
+})
+public class ArchivedGame {
+
+    // Mismo id que tenía la partida viva, para que las URLs sigan funcionando
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GameStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Winner winner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PlayerColor playerColor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PlayerColor turn;
+
+    @Column(nullable = false)
+    private int whiteClock;
+
+    @Column(nullable = false)
+    private int blackClock;
+
+    private Instant lastMoveTimestamp;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    @Column(nullable = false)
+    private int moveCount;
+
+    @Column(nullable = false)
+    private byte[] compressedMoves;
+
+    @Column(name = "white_player_id")
+    private Long whitePlayerId;
+
+    @Column(name = "black_player_id")
+    private Long blackPlayerId;
+
+    @Column(name = "content_hash")
+    private Long contentHash;
+
+    @Column(name = "move_times")
+    private byte[] moveTimes;
+
+    // PGN original comprimido, solo si no se puede regenerar a partir de los movimientos
+    // (p. ej. partidas importadas antes de guardar los movimientos)
+    @Column(name = "compressed_pgn")
+    private byte[] compressedPgn;
+
+    @Column(name = "pgn_length")
+    private Integer pgnLength;
+
+    public ArchivedGame() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public Winner getWinner() {
+        return winner;
+    }
+
+    public void setWinner(Winner winner) {
+        this.winner = winner;
+    }
+
+    public PlayerColor getPlayerColor() {
+        return playerColor;
+    }
+
+    public void setPlayerColor(PlayerColor playerColor) {
+        this.playerColor = playerColor;
+    }
+
+    public PlayerColor getTurn() {
+        return turn;
+    }
+
+    public void setTurn(PlayerColor turn) {
+        this.turn = turn;
+    }
+
+    public int getWhiteClock() {
+        return whiteClock;
+    }
+
+    public void setWhiteClock(int whiteClock) {
+        this.whiteClock = whiteClock;
+    }
+
+    public int getBlackClock() {
+        return blackClock;
+    }
+
+    public void setBlackClock(int blackClock) {
+        this.blackClock = blackClock;
+    }
+
+    public Instant getLastMoveTimestamp() {
+        return lastMoveTimestamp;
+    }
+
+    public void setLastMoveTimestamp(Instant lastMoveTimestamp) {
+        this.lastMoveTimestamp = lastMoveTimestamp;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    public byte[] getCompressedMoves() {
+        return compressedMoves;
+    }
+
+    public void setCompressedMoves(byte[] compressedMoves) {
+        this.compressedMoves = compressedMoves;
+    }
+
+    public Long getWhitePlayerId() {
+        return whitePlayerId;
+    }
+
+    public void setWhitePlayerId(Long whitePlayerId) {
+        this.whitePlayerId = whitePlayerId;
+    }
+
+    public Long getBlackPlayerId() {
+        return blackPlayerId;
+    }
+
+    public void setBlackPlayerId(Long blackPlayerId) {
+        this.blackPlayerId = blackPlayerId;
+    }
+
+    public Long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(Long contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getMoveTimes() {
+        return moveTimes;
+    }
+
+    public void setMoveTimes(byte[] moveTimes) {
+        this.moveTimes = moveTimes;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public byte[] getCompressedPgn() {
+        return compressedPgn;
+    }
+
+    public void setCompressedPgn(byte[] compressedPgn) {
+        this.compressedPgn = compressedPgn;
+    }
+
+    public Integer getPgnLength() {
+        return pgnLength;
+    }
+
+    public void setPgnLength(Integer pgnLength) {
+        this.pgnLength = pgnLength;
+    }
+}
@@ -0,0 +1,158 @@
+package com.chess.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Informe antitrampas de un jugador sobre sus partidas recientes: coincidencia
+ * con la mejor jugada del motor, pérdida media y distribución de tiempos de
+ * reflexión. Se sustituye en cada ejecución del análisis (uno por jugador).
+ */
+@Entity
+@Table(name = "player_cheat_reports")
+public class CheatReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false, unique = true)
+    private Long playerId;
+
+    @Column(nullable = false)
+    private int games;
+
+    @Column(name = "moves_analyzed", nullable = false)
+    private int movesAnalyzed;
+
+    @Column(name = "engine_matches", nullable = false)
+    private int engineMatches;
+
+    @Column(name = "match_rate", nullable = false)
+    private double matchRate;
+
+    @Column(name = "average_loss", nullable = false)
+    private int averageLoss;
+
+    @Column(name = "timed_moves", nullable = false)
+    private int timedMoves;
+
+    @Column(name = "mean_think_ms", nullable = false)
+    private int meanThinkMillis;
+
+    // Coeficiente de variación (desviación / media): muy bajo = tiempos sospechosamente regulares
+    @Column(name = "think_time_cv", nullable = false)
+    private double thinkTimeCv;
+
+    @Column(name = "think_p10_ms", nullable = false)
+    private int thinkP10Millis;
+
+    @Column(name = "think_p50_ms", nullable = false)
+    private int thinkP50Millis;
+
+    @Column(name = "think_p90_ms", nullable = false)
+    private int thinkP90Millis;
+
+    @Column(nullable = false)
+    private boolean flagged;
+
+    @Column(length = 500)
+    private String reasons;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    public CheatReport() {
+    }
+
+    public CheatReport(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public void setMoveStats(int games, int movesAnalyzed, int engineMatches, int averageLoss) {
+        this.games = games;
+        this.movesAnalyzed = movesAnalyzed;
+        this.engineMatches = engineMatches;
+        this.matchRate = movesAnalyzed > 0 ? (double) engineMatches / movesAnalyzed : 0.0;
+        this.averageLoss = averageLoss;
+    }
+
+    public void setTimeStats(int timedMoves, int meanThinkMillis, double thinkTimeCv, int p10, int p50, int p90) {
+        this.timedMoves = timedMoves;
+        this.meanThinkMillis = meanThinkMillis;
+        this.thinkTimeCv = thinkTimeCv;
+        this.thinkP10Millis = p10;
+        this.thinkP50Millis = p50;
+        this.thinkP90Millis = p90;
+    }
+
+    public void setVerdict(boolean flagged, String reasons) {
+        this.flagged = flagged;
+        this.reasons = reasons;
+        this.computedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getMovesAnalyzed() {
+        return movesAnalyzed;
+    }
+
+    public int getEngineMatches() {
+        return engineMatches;
+    }
+
+    public double getMatchRate() {
+        return matchRate;
+    }
+
+    public int getAverageLoss() {
+        return averageLoss;
+    }
+
+    public int getTimedMoves() {
+        return timedMoves;
+    }
+
+    public int getMeanThinkMillis() {
+        return meanThinkMillis;
+    }
+
+    public double getThinkTimeCv() {
+        return thinkTimeCv;
+    }
+
+    public int getThinkP10Millis() {
+        return thinkP10Millis;
+    }
+
+    public int getThinkP50Millis() {
+        return thinkP50Millis;
+    }
+
+    public int getThinkP90Millis() {
+        return thinkP90Millis;
+    }
+
+    public boolean isFlagged() {
+        return flagged;
+    }
+
+    public String getReasons() {
+        return reasons;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
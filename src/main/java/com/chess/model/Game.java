@@ -1,5 +1,6 @@
 package com.chess.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -7,13 +8,26 @@ import java.util.List;
 import java.time.Instant;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_status_id", columnList = "status, id"),
+        @Index(name = "idx_games_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_games_status_finished_at", columnList = "status, finished_at"),
+        @Index(name = "idx_games_created_at", columnList = "created_at"),
+        @Index(name = "idx_games_white_player_id", columnList = "white_player_id"),
+        @Index(name = "idx_games_black_player_id", columnList = "black_player_id"),
+        @Index(name = "idx_games_rating_pending_id", columnList = "rating_pending, id")
+})
 public class Game {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Bloqueo optimista: un guardado sobre una copia desfasada falla en lugar de pisar otro cambio
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Column(columnDefinition = "TEXT")
     private String pgn;
 
@@ -35,6 +49,10 @@ public class Game {
 
     private Instant lastMoveTimestamp;
 
+    // Color que tiene una oferta de tablas pendiente (null si no hay)
+    @Enumerated(EnumType.STRING)
+    private PlayerColor drawOfferedBy;
+
     @Column(nullable = false)
     private int whiteClock;
 
@@ -44,10 +62,48 @@ public class Game {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Momento en que la partida dejó de estar activa (null mientras se juega)
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    // Jugadores registrados (null en partidas sin emparejar)
+    @Column(name = "white_player_id")
+    private Long whitePlayerId;
+
+    @Column(name = "black_player_id")
+    private Long blackPlayerId;
+
+    // Partida terminada cuyo resultado aún no ha entrado en un periodo de rating
+    @Column(name = "rating_pending", nullable = false)
+    private boolean ratingPending;
+
+    // Huella de las partidas importadas (GameFingerprint); null en las jugadas aquí
+    @Column(name = "content_hash")
+    private Long contentHash;
+
+    // Movimientos empaquetados con MoveCodec: 2 bytes por movimiento, una sola columna
+    @Column(name = "packed_moves")
+    private byte[] packedMoves;
+
+    // Clave Zobrist de la posición actual (null si no se conoce, p. ej. partidas anteriores
+    // a esta columna): identifica el tablero en memoria que corresponde a lo guardado
+    @Column(name = "position_key")
+    private Long positionKey;
+
+    // Tiempo de reflexión de cada movimiento (MoveTimes: 4 bytes por movimiento, ms)
+    @Column(name = "move_times")
+    private byte[] moveTimes;
+
+    // Formato anterior (una fila por movimiento). Solo se lee en partidas sin packed_moves
+    // y se vacía en cuanto la partida recibe un movimiento nuevo.
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "game_moves", joinColumns = @JoinColumn(name = "game_id"))
+    @OrderColumn(name = "move_index")
     @Column(name = "move_notation")
-    private List<String> moves = new ArrayList<>();
+    private List<String> legacyMoves = new ArrayList<>();
+
+    @Transient
+    private List<String> moves;
 
     public Game() {
         this.createdAt = LocalDateTime.now();
@@ -72,10 +128,31 @@ public class Game {
     }
 
     public void addMove(String move) {
-        if (moves == null) {
-            moves = new ArrayList<>();
-        }
-        moves.add(move);
+        List<String> current = getMoves();
+        current.add(move);
+        packMoves(current);
+    }
+
+    public void addMove(String move, int thinkMillis) {
+        addMove(move);
+        moveTimes = MoveTimes.set(moveTimes, getMoves().size() - 1, thinkMillis);
+    }
+
+    /**
+     * Tiempo de reflexión de cada movimiento en ms (MoveTimes.UNKNOWN si no consta).
+     */
+    @JsonIgnore
+    public int[] getMoveTimes() {
+        return MoveTimes.unpack(moveTimes, getMoves().size());
+    }
+
+    @JsonIgnore
+    public byte[] getPackedMoveTimes() {
+        return moveTimes;
+    }
+
+    public void setPackedMoveTimes(byte[] moveTimes) {
+        this.moveTimes = moveTimes;
     }
 
     public void switchTurn() {
@@ -103,6 +180,19 @@ public class Game {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getPlayerColor() {
         return playerColor != null ? playerColor.getValue() : null;
     }
@@ -150,19 +240,22 @@ public class Game {
     public void setStatus(String status) {
         switch (status.toLowerCase()) {
             case "active":
-                this.status = GameStatus.ACTIVE;
+                setStatusEnum(GameStatus.ACTIVE);
                 break;
             case "mate":
-                this.status = GameStatus.MATE;
+                setStatusEnum(GameStatus.MATE);
                 break;
             case "stalemate":
-                this.status = GameStatus.STALEMATE;
+                setStatusEnum(GameStatus.STALEMATE);
                 break;
             case "draw":
-                this.status = GameStatus.DRAW;
+                setStatusEnum(GameStatus.DRAW);
                 break;
             case "timeout":
-                this.status = GameStatus.TIMEOUT;
+                setStatusEnum(GameStatus.TIMEOUT);
+                break;
+            case "adjudicated":
+                setStatusEnum(GameStatus.ADJUDICATED);
                 break;
             default:
                 throw new IllegalArgumentException("Estado inválido: " + status);
@@ -174,9 +267,27 @@ public class Game {
     }
 
     public void setStatusEnum(GameStatus status) {
+        // Toda partida entre jugadores registrados que termina queda pendiente de rating,
+        // sea por jaque mate, tablas, tiempo o adjudicación
+        if (this.status == GameStatus.ACTIVE && status != GameStatus.ACTIVE && hasRegisteredPlayers()) {
+            this.ratingPending = true;
+        }
+        if (this.status == GameStatus.ACTIVE && status != GameStatus.ACTIVE && finishedAt == null) {
+            this.finishedAt = Instant.now();
+        }
         this.status = status;
     }
 
+    /**
+     * Restablece el estado y el momento de fin tal como estaban guardados (copias de
+     * seguridad, archivo): a diferencia de {@link #setStatusEnum}, no marca el fin
+     * con la hora actual ni deja la partida pendiente de rating.
+     */
+    public void restoreStatus(GameStatus status, Instant finishedAt) {
+        this.status = status;
+        this.finishedAt = finishedAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -185,12 +296,49 @@ public class Game {
         this.createdAt = createdAt;
     }
 
+    @JsonIgnore
+    public Long getPositionKey() {
+        return positionKey;
+    }
+
+    public void setPositionKey(Long positionKey) {
+        this.positionKey = positionKey;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
     public List<String> getMoves() {
+        if (moves == null) {
+            if (packedMoves != null) {
+                moves = MoveCodec.unpack(packedMoves);
+            } else {
+                moves = legacyMoves != null ? new ArrayList<>(legacyMoves) : new ArrayList<>();
+            }
+        }
         return moves;
     }
 
     public void setMoves(List<String> moves) {
-        this.moves = moves;
+        this.moves = moves != null ? new ArrayList<>(moves) : new ArrayList<>();
+        packMoves(this.moves);
+    }
+
+    @JsonIgnore
+    public byte[] getPackedMoves() {
+        return packedMoves != null ? packedMoves : MoveCodec.pack(getMoves());
+    }
+
+    private void packMoves(List<String> current) {
+        if (packedMoves == null && legacyMoves != null && !legacyMoves.isEmpty()) {
+            legacyMoves.clear();
+        }
+        packedMoves = MoveCodec.pack(current);
     }
 
     public String getTurn() {
@@ -217,6 +365,50 @@ public class Game {
         this.lastMoveTimestamp = lastMoveTimestamp;
     }
 
+    public PlayerColor getDrawOfferedBy() {
+        return drawOfferedBy;
+    }
+
+    public void setDrawOfferedBy(PlayerColor drawOfferedBy) {
+        this.drawOfferedBy = drawOfferedBy;
+    }
+
+    public Long getWhitePlayerId() {
+        return whitePlayerId;
+    }
+
+    public void setWhitePlayerId(Long whitePlayerId) {
+        this.whitePlayerId = whitePlayerId;
+    }
+
+    public Long getBlackPlayerId() {
+        return blackPlayerId;
+    }
+
+    public void setBlackPlayerId(Long blackPlayerId) {
+        this.blackPlayerId = blackPlayerId;
+    }
+
+    public boolean hasRegisteredPlayers() {
+        return whitePlayerId != null && blackPlayerId != null;
+    }
+
+    public boolean isRatingPending() {
+        return ratingPending;
+    }
+
+    public void setRatingPending(boolean ratingPending) {
+        this.ratingPending = ratingPending;
+    }
+
+    public Long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(Long contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public Winner getWinner() {
         return winner;
     }
@@ -8,6 +8,7 @@ public final class GameConstants {
     public static final String STATUS_STALEMATE = "stalemate";
     public static final String STATUS_DRAW = "draw";
     public static final String STATUS_TIMEOUT = "timeout";
+    public static final String STATUS_ADJUDICATED = "adjudicated";
 
     // Colores de jugadores
     public static final String COLOR_WHITE = "WHITE";
@@ -32,6 +33,9 @@ public final class GameConstants {
     public static final String MSG_MOVE_SUCCESS = "Movimiento realizado correctamente.";
     public static final String MSG_TIMEOUT_BLACK_WINS = "Timeout: gana negro";
     public static final String MSG_TIMEOUT_WHITE_WINS = "Timeout: gana blanco";
+    public static final String MSG_DRAW_OFFERED = "Oferta de tablas registrada";
+    public static final String MSG_DRAW_AGREED = "Tablas por mutuo acuerdo";
+    public static final String MSG_DRAW_ALREADY_OFFERED = "Ya existe una oferta de tablas de este color";
 
     private GameConstants() {
         // Utility class - no instances
@@ -0,0 +1,72 @@
+package com.chess.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Huella canónica de una partida importada: SHA-256 (primeros 64 bits) de las
+ * etiquetas clave del PGN y de la secuencia de movimientos en LAN.
+ * Las etiquetas se normalizan (espacios, mayúsculas, valores desconocidos "?")
+ * para que dos copias de la misma partida con distinto formato coincidan;
+ * el resto de etiquetas, comentarios y variantes no cuentan.
+ */
+public final class GameFingerprint {
+
+    // Siete etiquetas obligatorias del PGN
+    private static final String[] KEY_TAGS = { "Event", "Site", "Date", "Round", "White", "Black", "Result" };
+
+    private static final Pattern TAG = Pattern.compile("\\[\\s*(\\w+)\\s+\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\]");
+
+    private GameFingerprint() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Etiquetas de la cabecera de un PGN, en orden de aparición.
+     */
+    public static Map<String, String> parseTags(String pgn) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        Matcher matcher = TAG.matcher(pgn);
+        while (matcher.find()) {
+            tags.putIfAbsent(matcher.group(1), matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\"));
+        }
+        return tags;
+    }
+
+    public static long of(Map<String, String> tags, List<String> moves) {
+        StringBuilder canonical = new StringBuilder(64 + moves.size() * 5);
+        for (String key : KEY_TAGS) {
+            canonical.append(key).append('=').append(normalize(tags.get(key))).append('\n');
+        }
+        for (String move : moves) {
+            canonical.append(move.toLowerCase(Locale.ROOT)).append(' ');
+        }
+        byte[] digest = sha256(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        // "?", "????.??.??" y similares significan desconocido
+        return normalized.replace("?", "").replace(".", "").isEmpty() ? "" : normalized;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
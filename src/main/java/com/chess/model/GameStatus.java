@@ -1,11 +1,19 @@
 package com.chess.model;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum GameStatus {
     ACTIVE("active"),
     MATE("mate"),
     STALEMATE("stalemate"),
     DRAW("draw"),
-    TIMEOUT("timeout");
+    TIMEOUT("timeout"),
+    ADJUDICATED("adjudicated");
+
+    private static final Set<GameStatus> FINISHED =
+            Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(ACTIVE)));
 
     private final String value;
 
@@ -17,6 +25,10 @@ public enum GameStatus {
         return value;
     }
 
+    public static Set<GameStatus> finished() {
+        return FINISHED;
+    }
+
     @Override
     public String toString() {
         return value;
@@ -0,0 +1,178 @@
+package com.chess.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Importación PGN asíncrona. El fichero subido queda en disco hasta que el
+ * trabajo termina; nextOffset es el byte desde el que se reanuda tras una caída
+ * y se guarda en la misma transacción que las partidas del lote.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false)
+    private int whiteClock;
+
+    @Column(nullable = false)
+    private int blackClock;
+
+    @Column(name = "next_offset", nullable = false)
+    private long nextOffset;
+
+    @Column(name = "games_imported", nullable = false)
+    private long gamesImported;
+
+    @Column(name = "games_failed", nullable = false)
+    private long gamesFailed;
+
+    // Partidas omitidas por existir ya (misma huella)
+    @Column(name = "games_duplicate", nullable = false)
+    private long gamesDuplicate;
+
+    // Tiempo acumulado de proceso (sin contar la cola ni las caídas), para calcular partidas/s
+    @Column(name = "active_millis", nullable = false)
+    private long activeMillis;
+
+    // Últimos errores, uno por línea
+    @Column(columnDefinition = "TEXT")
+    private String errors;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    public ImportJob() {
+        this.createdAt = Instant.now();
+    }
+
+    public ImportJob(String filePath, long fileSize, int whiteClock, int blackClock) {
+        this();
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.whiteClock = whiteClock;
+        this.blackClock = blackClock;
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+
+    public double getGamesPerSecond() {
+        return activeMillis > 0 ? (gamesImported + gamesFailed + gamesDuplicate) * 1000.0 / activeMillis : 0.0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public int getWhiteClock() {
+        return whiteClock;
+    }
+
+    public int getBlackClock() {
+        return blackClock;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public long getGamesImported() {
+        return gamesImported;
+    }
+
+    public void setGamesImported(long gamesImported) {
+        this.gamesImported = gamesImported;
+    }
+
+    public long getGamesFailed() {
+        return gamesFailed;
+    }
+
+    public void setGamesFailed(long gamesFailed) {
+        this.gamesFailed = gamesFailed;
+    }
+
+    public long getGamesDuplicate() {
+        return gamesDuplicate;
+    }
+
+    public void setGamesDuplicate(long gamesDuplicate) {
+        this.gamesDuplicate = gamesDuplicate;
+    }
+
+    public long getActiveMillis() {
+        return activeMillis;
+    }
+
+    public void setActiveMillis(long activeMillis) {
+        this.activeMillis = activeMillis;
+    }
+
+    public String getErrors() {
+        return errors;
+    }
+
+    public void setErrors(String errors) {
+        this.errors = errors;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
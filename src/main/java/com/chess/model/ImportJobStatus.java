@@ -0,0 +1,5 @@
+package com.chess.model;
+
+public enum ImportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
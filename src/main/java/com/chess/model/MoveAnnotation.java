@@ -0,0 +1,107 @@
+package com.chess.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Análisis de una jugada de una partida terminada. evalCp es la evaluación tras
+ * la jugada a favor de blancas (mates acotados a ±{@link #MAX_EVAL}) y cpLoss lo
+ * que el bando que movió perdió respecto a la mejor jugada del motor.
+ */
+@Entity
+@Table(name = "move_annotations")
+public class MoveAnnotation {
+
+    public static final int MAX_EVAL = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Column(nullable = false)
+    private int ply;
+
+    @Column(nullable = false, length = 5)
+    private String move;
+
+    @Column(name = "best_move", length = 5)
+    private String bestMove;
+
+    @Column(name = "eval_cp", nullable = false)
+    private int evalCp;
+
+    @Column(name = "cp_loss", nullable = false)
+    private int cpLoss;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private MoveJudgement judgement;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Column(name = "analyzed_at", nullable = false)
+    private Instant analyzedAt;
+
+    public MoveAnnotation() {
+    }
+
+    public MoveAnnotation(Long gameId, int ply, String move, String bestMove, int evalCp, int cpLoss, int depth) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.move = move;
+        this.bestMove = bestMove;
+        this.evalCp = evalCp;
+        this.cpLoss = cpLoss;
+        this.judgement = MoveJudgement.of(cpLoss);
+        this.depth = depth;
+        this.analyzedAt = Instant.now();
+    }
+
+    public boolean isWhiteMove() {
+        return ply % 2 == 1;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getMove() {
+        return move;
+    }
+
+    public String getBestMove() {
+        return bestMove;
+    }
+
+    public int getEvalCp() {
+        return evalCp;
+    }
+
+    public int getCpLoss() {
+        return cpLoss;
+    }
+
+    public MoveJudgement getJudgement() {
+        return judgement;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public Instant getAnalyzedAt() {
+        return analyzedAt;
+    }
+}
@@ -0,0 +1,146 @@
+package com.chess.model;
+
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import com.github.bhlangonijr.chesslib.move.MoveList;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Codificación compacta de movimientos en 16 bits:
+ * bits 0-5 casilla origen, bits 6-11 casilla destino, bits 12-14 promoción.
+ * Las casillas se numeran a1 = 0 ... h8 = 63, igual que en chesslib.
+ * Incluye también la conversión entre LAN (formato interno) y SAN.
+ */
+public final class MoveCodec {
+
+    private static final String PROMOTIONS = " nbrq";
+
+    private MoveCodec() {
+        // Utility class - no instances
+    }
+
+    public static short encode(String lan) {
+        if (lan == null || (lan.length() != 4 && lan.length() != 5)) {
+            throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + lan);
+        }
+        int from = squareIndex(lan, 0);
+        int to = squareIndex(lan, 2);
+        int promotion = 0;
+        if (lan.length() == 5) {
+            promotion = PROMOTIONS.indexOf(Character.toLowerCase(lan.charAt(4)));
+            if (promotion <= 0) {
+                throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + lan);
+            }
+        }
+        return (short) (from | (to << 6) | (promotion << 12));
+    }
+
+    public static String decode(short code) {
+        int from = code & 0x3F;
+        int to = (code >>> 6) & 0x3F;
+        int promotion = (code >>> 12) & 0x7;
+
+        StringBuilder lan = new StringBuilder(5);
+        appendSquare(lan, from);
+        appendSquare(lan, to);
+        if (promotion != 0) {
+            lan.append(PROMOTIONS.charAt(promotion));
+        }
+        return lan.toString();
+    }
+
+    /**
+     * Empaqueta una lista de movimientos LAN en 2 bytes por movimiento (big endian).
+     */
+    public static byte[] pack(List<String> moves) {
+        ByteBuffer buffer = ByteBuffer.allocate(moves.size() * 2);
+        for (String move : moves) {
+            buffer.putShort(encode(move));
+        }
+        return buffer.array();
+    }
+
+    public static List<String> unpack(byte[] packed) {
+        List<String> moves = new ArrayList<>(packed.length / 2);
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        while (buffer.remaining() >= 2) {
+            moves.add(decode(buffer.getShort()));
+        }
+        return moves;
+    }
+
+    /**
+     * Convierte una partida en LAN (desde la posición inicial) a SAN.
+     */
+    public static List<String> toSan(List<String> lanMoves) {
+        Board board = new Board();
+        MoveList moveList = new MoveList();
+        for (String lan : lanMoves) {
+            Move move = findLegalMove(board, lan);
+            moveList.add(move);
+            board.doMove(move);
+        }
+        try {
+            return new ArrayList<>(Arrays.asList(moveList.toSanArray()));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("No se pudo convertir a SAN: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Convierte una secuencia SAN ("e4 e5 Nf3 ...", sin números de jugada) a LAN.
+     */
+    public static List<String> fromSan(String sanMoves) {
+        List<String> lanMoves = new ArrayList<>();
+        try {
+            MoveList moveList = new MoveList();
+            moveList.loadFromSan(sanMoves);
+            for (Move move : moveList) {
+                lanMoves.add(move.toString());
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("SAN inválido: " + e.getMessage());
+        }
+        return lanMoves;
+    }
+
+    /**
+     * Traduce un único movimiento SAN en la posición dada a LAN, o null si no es válido.
+     */
+    public static String sanToLan(Board board, String san) {
+        try {
+            MoveList moveList = new MoveList(board.getFen());
+            moveList.loadFromSan(san);
+            return moveList.isEmpty() ? null : moveList.getFirst().toString();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Move findLegalMove(Board board, String lan) {
+        for (Move legalMove : board.legalMoves()) {
+            if (legalMove.toString().equals(lan)) {
+                return legalMove;
+            }
+        }
+        throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + lan);
+    }
+
+    private static int squareIndex(String lan, int offset) {
+        int file = Character.toLowerCase(lan.charAt(offset)) - 'a';
+        int rank = lan.charAt(offset + 1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + lan);
+        }
+        return rank * 8 + file;
+    }
+
+    private static void appendSquare(StringBuilder lan, int square) {
+        lan.append((char) ('a' + (square & 7)));
+        lan.append((char) ('1' + (square >>> 3)));
+    }
+}
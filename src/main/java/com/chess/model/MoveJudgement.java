@@ -0,0 +1,52 @@
+package com.chess.model;
+
+/**
+ * Calificación de una jugada según los centipeones perdidos respecto a la mejor,
+ * con su NAG de PGN ($6 ?!, $2 ?, $4 ??).
+ */
+public enum MoveJudgement {
+    INACCURACY(50, 6, "?!", "Imprecisión"),
+    MISTAKE(100, 2, "?", "Error"),
+    BLUNDER(300, 4, "??", "Error grave");
+
+    private final int minLoss;
+    private final int nag;
+    private final String symbol;
+    private final String label;
+
+    MoveJudgement(int minLoss, int nag, String symbol, String label) {
+        this.minLoss = minLoss;
+        this.nag = nag;
+        this.symbol = symbol;
+        this.label = label;
+    }
+
+    /**
+     * La calificación más grave que alcanza la pérdida, o null si la jugada es buena.
+     */
+    public static MoveJudgement of(int centipawnLoss) {
+        MoveJudgement judgement = null;
+        for (MoveJudgement candidate : values()) {
+            if (centipawnLoss >= candidate.minLoss) {
+                judgement = candidate;
+            }
+        }
+        return judgement;
+    }
+
+    public int getMinLoss() {
+        return minLoss;
+    }
+
+    public int getNag() {
+        return nag;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
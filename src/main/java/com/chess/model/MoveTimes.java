@@ -0,0 +1,51 @@
+package com.chess.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Tiempo de reflexión de cada movimiento en milisegundos, empaquetado en 4 bytes
+ * por movimiento (big endian), en el mismo orden que los movimientos.
+ * {@link #UNKNOWN} marca los movimientos sin tiempo (primera jugada, partidas
+ * importadas o anteriores a esta columna).
+ */
+public final class MoveTimes {
+
+    public static final int UNKNOWN = -1;
+
+    private MoveTimes() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Tiempos de los primeros moveCount movimientos; los que falten, UNKNOWN.
+     */
+    public static int[] unpack(byte[] packed, int moveCount) {
+        int[] times = new int[moveCount];
+        Arrays.fill(times, UNKNOWN);
+        if (packed != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(packed);
+            for (int i = 0; i < moveCount && buffer.remaining() >= 4; i++) {
+                times[i] = buffer.getInt();
+            }
+        }
+        return times;
+    }
+
+    public static byte[] pack(int[] times) {
+        ByteBuffer buffer = ByteBuffer.allocate(times.length * 4);
+        for (int time : times) {
+            buffer.putInt(time);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Fija el tiempo del movimiento index, rellenando con UNKNOWN los anteriores que falten.
+     */
+    public static byte[] set(byte[] packed, int index, int millis) {
+        int[] times = unpack(packed, Math.max(index + 1, packed != null ? packed.length / 4 : 0));
+        times[index] = millis;
+        return pack(times);
+    }
+}
@@ -0,0 +1,108 @@
+package com.chess.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Jugador registrado. El rating sigue el sistema Glicko-2: valor, desviación
+ * (incertidumbre) y volatilidad, en la escala clásica (1500 / 350 / 0.06).
+ */
+@Entity
+@Table(name = "players", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_players_username", columnNames = "username")
+})
+public class Player {
+
+    public static final double DEFAULT_RATING = 1500.0;
+    public static final double DEFAULT_DEVIATION = 350.0;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(nullable = false)
+    private double rating = DEFAULT_RATING;
+
+    @Column(name = "rating_deviation", nullable = false)
+    private double ratingDeviation = DEFAULT_DEVIATION;
+
+    @Column(nullable = false)
+    private double volatility = DEFAULT_VOLATILITY;
+
+    @Column(nullable = false)
+    private int gamesPlayed;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant lastRatedAt;
+
+    public Player() {
+        this.createdAt = Instant.now();
+    }
+
+    public Player(String username) {
+        this();
+        this.username = username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+
+    public double getRatingDeviation() {
+        return ratingDeviation;
+    }
+
+    public void setRatingDeviation(double ratingDeviation) {
+        this.ratingDeviation = ratingDeviation;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public void setVolatility(double volatility) {
+        this.volatility = volatility;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getLastRatedAt() {
+        return lastRatedAt;
+    }
+
+    public void setLastRatedAt(Instant lastRatedAt) {
+        this.lastRatedAt = lastRatedAt;
+    }
+}
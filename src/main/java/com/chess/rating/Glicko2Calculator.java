@@ -0,0 +1,126 @@
+package com.chess.rating;
+
+import java.util.List;
+
+/**
+ * Cálculo de un periodo de rating Glicko-2 (Glickman, "Example of the Glicko-2 system").
+ *
+ * Es puro y sin estado: recibe el rating de un jugador al inicio del periodo y
+ * los resultados contra los ratings de inicio de periodo de sus rivales, así que
+ * los jugadores de un mismo periodo pueden calcularse en paralelo.
+ */
+public class Glicko2Calculator {
+
+    private static final double SCALE = 173.7178;
+    private static final double BASE_RATING = 1500.0;
+    private static final double CONVERGENCE = 0.000001;
+    private static final double MAX_DEVIATION = 350.0;
+
+    private final double tau;
+
+    public Glicko2Calculator(double tau) {
+        if (tau <= 0) {
+            throw new IllegalArgumentException("tau debe ser positivo");
+        }
+        this.tau = tau;
+    }
+
+    public record Rating(double rating, double deviation, double volatility) {
+    }
+
+    /**
+     * Resultado de una partida desde el punto de vista del jugador: 1, 0.5 o 0.
+     */
+    public record Result(Rating opponent, double score) {
+    }
+
+    public Rating rate(Rating player, List<Result> results) {
+        double mu = (player.rating() - BASE_RATING) / SCALE;
+        double phi = player.deviation() / SCALE;
+        double sigma = player.volatility();
+
+        // Sin partidas en el periodo solo crece la incertidumbre
+        if (results.isEmpty()) {
+            return idle(player, 1);
+        }
+
+        double inverseVariance = 0;
+        double improvementSum = 0;
+        for (Result result : results) {
+            double muJ = (result.opponent().rating() - BASE_RATING) / SCALE;
+            double phiJ = result.opponent().deviation() / SCALE;
+            double g = g(phiJ);
+            double expected = 1.0 / (1.0 + Math.exp(-g * (mu - muJ)));
+            inverseVariance += g * g * expected * (1 - expected);
+            improvementSum += g * (result.score() - expected);
+        }
+        double v = 1.0 / inverseVariance;
+        double delta = v * improvementSum;
+
+        double newSigma = newVolatility(phi, sigma, v, delta);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1.0 / Math.sqrt(1.0 / (phiStar * phiStar) + 1.0 / v);
+        double newMu = mu + newPhi * newPhi * improvementSum;
+
+        return new Rating(newMu * SCALE + BASE_RATING, Math.min(newPhi * SCALE, MAX_DEVIATION), newSigma);
+    }
+
+    /**
+     * Rating tras varios periodos sin partidas (admite fracciones de periodo): el
+     * paso sin resultados aplicado n veces, φ' = √(φ² + n·σ²).
+     */
+    public Rating idle(Rating player, double periods) {
+        if (periods <= 0) {
+            return player;
+        }
+        double phi = player.deviation() / SCALE;
+        double sigma = player.volatility();
+        double grown = Math.sqrt(phi * phi + periods * sigma * sigma) * SCALE;
+        return new Rating(player.rating(), Math.min(grown, MAX_DEVIATION), sigma);
+    }
+
+    private static double g(double phi) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    // Paso 5 del algoritmo: raíz de f(x) por el método de Illinois
+    private double newVolatility(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double deltaSq = delta * delta;
+        double phiSq = phi * phi;
+
+        double lower = a;
+        double upper;
+        if (deltaSq > phiSq + v) {
+            upper = Math.log(deltaSq - phiSq - v);
+        } else {
+            int k = 1;
+            while (f(a - k * tau, a, deltaSq, phiSq, v) < 0) {
+                k++;
+            }
+            upper = a - k * tau;
+        }
+
+        double fLower = f(lower, a, deltaSq, phiSq, v);
+        double fUpper = f(upper, a, deltaSq, phiSq, v);
+        while (Math.abs(upper - lower) > CONVERGENCE) {
+            double candidate = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fCandidate = f(candidate, a, deltaSq, phiSq, v);
+            if (fCandidate * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower = fLower / 2;
+            }
+            upper = candidate;
+            fUpper = fCandidate;
+        }
+        return Math.exp(lower / 2);
+    }
+
+    private double f(double x, double a, double deltaSq, double phiSq, double v) {
+        double ex = Math.exp(x);
+        double denominator = phiSq + v + ex;
+        return ex * (deltaSq - phiSq - v - ex) / (2 * denominator * denominator) - (x - a) / (tau * tau);
+    }
+}
@@ -0,0 +1,89 @@
+package com.chess.rating;
+
+import com.chess.model.Player;
+import com.chess.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Clasificación en memoria, siempre ordenada por rating.
+ *
+ * Se carga una vez al arrancar y después solo se actualizan los jugadores que
+ * cambian en cada periodo de rating (O(log n) por jugador), así que consultar
+ * el top no ordena la tabla de jugadores en cada petición.
+ */
+@Component
+public class Leaderboard {
+
+    public record Entry(long playerId, String username, double rating, double deviation) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::rating).reversed()
+            .thenComparingLong(Entry::playerId);
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Long, Entry> byPlayer = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int page = 0;
+        Page<Player> players;
+        do {
+            players = playerRepository.findAll(PageRequest.of(page++, LOAD_PAGE_SIZE, Sort.by("id")));
+            players.forEach(this::update);
+        } while (players.hasNext());
+    }
+
+    /**
+     * Inserta o recoloca al jugador con su rating actual.
+     */
+    public void update(Player player) {
+        Entry entry = new Entry(player.getId(), player.getUsername(), player.getRating(), player.getRatingDeviation());
+        // Por jugador se serializa con compute para que quitar y volver a insertar sea atómico
+        byPlayer.compute(player.getId(), (id, previous) -> {
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(entry);
+            return entry;
+        });
+    }
+
+    public List<Entry> top(int offset, int limit) {
+        List<Entry> page = new ArrayList<>(limit);
+        int skipped = 0;
+        for (Entry entry : ranking) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+
+    public int size() {
+        return byPlayer.size();
+    }
+}
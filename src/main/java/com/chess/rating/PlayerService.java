@@ -0,0 +1,46 @@
+package com.chess.rating;
+
+import com.chess.model.Player;
+import com.chess.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@Transactional
+public class PlayerService {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    /**
+     * Registra un jugador con el rating inicial de Glicko-2
+     */
+    public Player register(String username) {
+        if (username == null || username.trim().isEmpty() || username.trim().length() > 50) {
+            throw new IllegalArgumentException("El nombre de usuario debe tener entre 1 y 50 caracteres");
+        }
+        if (playerRepository.existsByUsername(username.trim())) {
+            throw new IllegalArgumentException("El nombre de usuario ya existe");
+        }
+        Player player = playerRepository.save(new Player(username.trim()));
+        leaderboard.update(player);
+        return player;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Player> findPlayer(Long id) {
+        return playerRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Player getPlayer(Long id) {
+        return playerRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Jugador no encontrado"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.chess.rating;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cierra periodos de rating mientras haya partidas pendientes y, ya
+ * confirmada cada transacción, recoloca a los jugadores en la clasificación.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.rating.enabled", havingValue = "true", matchIfMissing = true)
+public class RatingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingJob.class);
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Scheduled(fixedDelayString = "${chess.rating.interval-ms:60000}",
+            initialDelayString = "${chess.rating.initial-delay-ms:30000}")
+    public void run() {
+        int games = 0;
+        int players = 0;
+        RatingService.Period period;
+        do {
+            period = ratingService.processPeriod();
+            period.updatedPlayers().forEach(leaderboard::update);
+            games += period.games();
+            players += period.updatedPlayers().size();
+        } while (period.games() > 0);
+        log.debug("Puntuadas {} partidas; ratings actualizados para {} jugadores", games, players);
+    }
+}
@@ -0,0 +1,151 @@
+package com.chess.rating;
+
+import com.chess.model.Game;
+import com.chess.model.Player;
+import com.chess.model.Winner;
+import com.chess.rating.Glicko2Calculator.Rating;
+import com.chess.rating.Glicko2Calculator.Result;
+import com.chess.repository.GameRepository;
+import com.chess.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Procesa los resultados pendientes como periodos de rating Glicko-2.
+ *
+ * Cada lote de partidas terminadas forma un periodo: todos los jugadores se
+ * puntúan frente a los ratings de sus rivales al inicio del periodo, de modo que
+ * el cálculo de cada jugador es independiente y se reparte entre varios hilos.
+ *
+ * La inactividad se mide en tiempo: antes de puntuar, la desviación de cada
+ * jugador crece según los periodos de chess.rating.period-hours transcurridos
+ * desde su última puntuación (el paso sin partidas de Glicko-2), de modo que
+ * quien vuelve tras meses no conserva una desviación mínima.
+ */
+@Service
+public class RatingService {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Value("${chess.rating.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${chess.rating.tau:0.5}")
+    private double tau;
+
+    // Duración de un periodo de rating a efectos de inactividad
+    @Value("${chess.rating.period-hours:24}")
+    private double periodHours;
+
+    /**
+     * Resultado de un periodo: partidas consumidas y jugadores actualizados.
+     */
+    public record Period(int games, List<Player> updatedPlayers) {
+    }
+
+    /**
+     * Procesa un lote de partidas pendientes como un periodo de rating.
+     */
+    @Transactional
+    public Period processPeriod() {
+        List<Game> games = gameRepository.findByRatingPendingTrueOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (games.isEmpty()) {
+            return new Period(0, List.of());
+        }
+
+        Set<Long> playerIds = new HashSet<>();
+        for (Game game : games) {
+            playerIds.add(game.getWhitePlayerId());
+            playerIds.add(game.getBlackPlayerId());
+        }
+        Map<Long, Player> players = playerRepository.findAllById(playerIds).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        Instant now = Instant.now();
+        Glicko2Calculator calculator = new Glicko2Calculator(tau);
+        Map<Long, Rating> before = new HashMap<>();
+        players.forEach((id, player) -> before.put(id, currentRating(calculator, player, now)));
+
+        Map<Long, List<Result>> results = new HashMap<>();
+        for (Game game : games) {
+            Long white = game.getWhitePlayerId();
+            Long black = game.getBlackPlayerId();
+            double whiteScore = scoreForWhite(game.getWinner());
+            if (white.equals(black) || whiteScore < 0 || !before.containsKey(white) || !before.containsKey(black)) {
+                continue;
+            }
+            results.computeIfAbsent(white, id -> new ArrayList<>()).add(new Result(before.get(black), whiteScore));
+            results.computeIfAbsent(black, id -> new ArrayList<>()).add(new Result(before.get(white), 1 - whiteScore));
+        }
+
+        // Cálculo en paralelo por jugador: solo lee los ratings de inicio de periodo
+        Map<Long, Rating> after = results.entrySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey,
+                        entry -> calculator.rate(before.get(entry.getKey()), entry.getValue())));
+
+        List<Player> updated = new ArrayList<>(after.size());
+        after.forEach((id, rating) -> {
+            Player player = players.get(id);
+            player.setRating(rating.rating());
+            player.setRatingDeviation(rating.deviation());
+            player.setVolatility(rating.volatility());
+            player.setGamesPlayed(player.getGamesPlayed() + results.get(id).size());
+            player.setLastRatedAt(now);
+            updated.add(player);
+        });
+        playerRepository.saveAll(updated);
+        gameRepository.clearRatingPending(games.stream().map(Game::getId).toList());
+        return new Period(games.size(), updated);
+    }
+
+    /**
+     * Desviación actual del jugador, contando los periodos sin partidas desde su
+     * última puntuación (la guardada solo cambia al puntuar).
+     */
+    public double currentDeviation(Player player) {
+        return currentRating(new Glicko2Calculator(tau), player, Instant.now()).deviation();
+    }
+
+    private Rating currentRating(Glicko2Calculator calculator, Player player, Instant now) {
+        Rating stored = new Rating(player.getRating(), player.getRatingDeviation(), player.getVolatility());
+        if (player.getLastRatedAt() == null) {
+            return stored;
+        }
+        double periods = Duration.between(player.getLastRatedAt(), now).toMillis() / (periodHours * 3_600_000);
+        return calculator.idle(stored, periods);
+    }
+
+    // 1 gana blancas, 0 ganan negras, 0.5 tablas; -1 si no hay resultado puntuable
+    private static double scoreForWhite(Winner winner) {
+        if (winner == null) {
+            return -1;
+        }
+        switch (winner) {
+            case WHITE:
+                return 1.0;
+            case BLACK:
+                return 0.0;
+            case DRAW:
+                return 0.5;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.chess.repository;
+
+import com.chess.model.ArchivedGame;
+import com.chess.model.GameStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedGameRepository extends JpaRepository<ArchivedGame, Long> {
+
+    // Recorrido del archivo por clave primaria
+    List<ArchivedGame> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Lote de exportación del archivo, con los mismos filtros que las partidas vivas
+    @Query("select a from ArchivedGame a where a.id > :afterId and a.status in :statuses "
+            + "and a.createdAt >= :from and a.createdAt < :to order by a.id")
+    List<ArchivedGame> findExportBatch(@Param("afterId") Long afterId, @Param("statuses") Collection<GameStatus> statuses,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("select a.contentHash from ArchivedGame a where a.contentHash in :hashes")
+    List<Long> findExistingContentHashes(@Param("hashes") Collection<Long> hashes);
+
+    // Jugadores con alguna partida archivada terminada desde el instante indicado (análisis antitrampas)
+    @Query("select distinct a.whitePlayerId from ArchivedGame a where a.whitePlayerId is not null "
+            + "and a.finishedAt >= :since")
+    List<Long> findRecentWhitePlayerIds(@Param("since") Instant since);
+
+    @Query("select distinct a.blackPlayerId from ArchivedGame a where a.blackPlayerId is not null "
+            + "and a.finishedAt >= :since")
+    List<Long> findRecentBlackPlayerIds(@Param("since") Instant since);
+
+    // Últimas partidas archivadas de un jugador, con cualquier color, por fecha de fin
+    @Query("select a from ArchivedGame a where a.whitePlayerId = :playerId or a.blackPlayerId = :playerId "
+            + "order by a.finishedAt desc nulls last, a.id desc")
+    List<ArchivedGame> findRecentByPlayer(@Param("playerId") Long playerId, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.chess.repository;
+
+import com.chess.model.CheatReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CheatReportRepository extends JpaRepository<CheatReport, Long> {
+
+    Optional<CheatReport> findByPlayerId(Long playerId);
+
+    // Jugadores marcados, los más sospechosos primero
+    List<CheatReport> findByFlaggedTrueOrderByMatchRateDesc();
+}
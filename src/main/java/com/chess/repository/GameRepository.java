@@ -1,7 +1,65 @@
 package com.chess.repository;
 
 import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
+
+    // Paginación por clave (status, id) para recorrer partidas sin escanear la tabla
+    List<Game> findByStatusAndIdGreaterThanOrderByIdAsc(GameStatus status, Long id, Pageable pageable);
+
+    // Recorrido por clave de las partidas en cualquiera de los estados indicados
+    List<Game> findByStatusInAndIdGreaterThanOrderByIdAsc(Collection<GameStatus> statuses, Long id, Pageable pageable);
+
+    // Partidas hasta maxId con actividad desde un instante (relleno del índice de posiciones), paginado por id
+    @Query("select g from Game g where g.id > :afterId and g.id <= :maxId and (g.lastMoveTimestamp >= :since "
+            + "or g.finishedAt >= :since or g.createdAt >= :createdSince) order by g.id")
+    List<Game> findTouchedSince(@Param("afterId") Long afterId, @Param("maxId") Long maxId,
+            @Param("since") Instant since, @Param("createdSince") LocalDateTime createdSince, Pageable pageable);
+
+    // Lote de exportación: filtro por estado y fecha de creación, paginado por id
+    @Query("select g from Game g where g.id > :afterId and g.status in :statuses "
+            + "and g.createdAt >= :from and g.createdAt < :to order by g.id")
+    List<Game> findExportBatch(@Param("afterId") Long afterId, @Param("statuses") Collection<GameStatus> statuses,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Partidas terminadas antes de un instante, candidatas a archivarse (ya puntuadas)
+    List<Game> findByStatusInAndFinishedAtBeforeAndRatingPendingFalseOrderByIdAsc(Collection<GameStatus> statuses,
+            Instant finishedBefore, Pageable pageable);
+
+    // Siguiente lote de partidas terminadas pendientes de rating
+    List<Game> findByRatingPendingTrueOrderByIdAsc(Pageable pageable);
+
+    // Huellas ya presentes entre las indicadas (deduplicación de importaciones)
+    @Query("select g.contentHash from Game g where g.contentHash in :hashes")
+    List<Long> findExistingContentHashes(@Param("hashes") Collection<Long> hashes);
+
+    // Jugadores con alguna partida terminada desde el instante indicado (análisis antitrampas)
+    @Query("select distinct g.whitePlayerId from Game g where g.whitePlayerId is not null "
+            + "and g.status <> :active and g.finishedAt >= :since")
+    List<Long> findRecentWhitePlayerIds(@Param("active") GameStatus active, @Param("since") Instant since);
+
+    @Query("select distinct g.blackPlayerId from Game g where g.blackPlayerId is not null "
+            + "and g.status <> :active and g.finishedAt >= :since")
+    List<Long> findRecentBlackPlayerIds(@Param("active") GameStatus active, @Param("since") Instant since);
+
+    // Últimas partidas terminadas de un jugador, con cualquier color, por fecha de fin
+    @Query("select g from Game g where (g.whitePlayerId = :playerId or g.blackPlayerId = :playerId) "
+            + "and g.status <> :active order by g.finishedAt desc nulls last, g.id desc")
+    List<Game> findRecentFinishedByPlayer(@Param("playerId") Long playerId, @Param("active") GameStatus active,
+            Pageable pageable);
+
+    @Modifying
+    @Query("update Game g set g.ratingPending = false where g.id in :ids")
+    int clearRatingPending(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.chess.repository;
+
+import com.chess.model.ImportJob;
+import com.chess.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    // Trabajos sin terminar (en cola o interrumpidos por una caída), en orden de llegada
+    List<ImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+}
@@ -0,0 +1,21 @@
+package com.chess.repository;
+
+import com.chess.model.MoveAnnotation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MoveAnnotationRepository extends JpaRepository<MoveAnnotation, Long> {
+
+    List<MoveAnnotation> findByGameIdOrderByPlyAsc(Long gameId);
+
+    boolean existsByGameId(Long gameId);
+
+    // Un nuevo análisis sustituye al anterior
+    @Modifying
+    @Query("delete from MoveAnnotation a where a.gameId = :gameId")
+    int deleteByGameId(@Param("gameId") Long gameId);
+}
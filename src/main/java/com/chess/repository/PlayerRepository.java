@@ -0,0 +1,13 @@
+package com.chess.repository;
+
+import com.chess.model.Player;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PlayerRepository extends JpaRepository<Player, Long> {
+
+    Optional<Player> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+}
@@ -0,0 +1,353 @@
+package com.chess.search;
+
+import com.chess.event.GameCreatedEvent;
+import com.chess.event.MoveAppliedEvent;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
+import com.chess.repository.GameRepository;
+import com.chess.service.GameArchiveService;
+import com.chess.service.GameRules;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Índice de posiciones: clave Zobrist de cada posición alcanzada -> partidas.
+ *
+ * Se alimenta de los eventos de movimiento e importación. Las filas se acumulan
+ * en memoria y se insertan por lotes con JDBC en una tarea periódica, para que
+ * mover no pague una escritura extra en la base de datos. La búsqueda usa el
+ * índice (position_hash, game_id) y la frecuencia de jugadas siguientes se
+ * obtiene uniendo cada fila con la del ply siguiente por clave primaria.
+ *
+ * La inserción es idempotente (se salta la fila si ya existe su clave primaria),
+ * así que un lote fallido vuelve a la cola y se reintenta en la siguiente pasada.
+ * Lo que se pierda en memoria por una caída, y las partidas anteriores al índice
+ * o ya archivadas, se completa al arrancar reindexando las que tengan menos
+ * filas que posiciones (ver {@link #backfill()}).
+ */
+@Service
+public class PositionIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(PositionIndexService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO game_positions (game_id, ply, position_hash, move_code) "
+                    + "SELECT CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS SMALLINT) "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM game_positions WHERE game_id = ? AND ply = ?)";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final String SELECT_STATE_SQL =
+            "SELECT live_checked_id, archived_checked_id, checked_at FROM position_index_state WHERE id = 1";
+    // GREATEST: con varios nodos arrancando a la vez la marca nunca retrocede
+    private static final String UPDATE_LIVE_MARK_SQL =
+            "UPDATE position_index_state SET live_checked_id = GREATEST(live_checked_id, ?) WHERE id = 1";
+    private static final String UPDATE_ARCHIVED_MARK_SQL =
+            "UPDATE position_index_state SET archived_checked_id = GREATEST(archived_checked_id, ?) WHERE id = 1";
+    private static final String UPDATE_CHECKED_AT_SQL = "UPDATE position_index_state SET checked_at = ? WHERE id = 1";
+
+    private record BackfillState(long liveCheckedId, long archivedCheckedId, Instant checkedAt) {
+    }
+
+    public record PositionRow(long gameId, int ply, long positionHash, Short moveCode) {
+    }
+
+    public record MoveFrequency(String move, long games) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chess.positions.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${chess.positions.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final ConcurrentLinkedQueue<PositionRow> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long startPositionHash = new Board().getZobristKey();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameCreatedEvent event) {
+        pending.add(new PositionRow(event.gameId(), 0, startPositionHash, null));
+        if (!event.moves().isEmpty()) {
+            pending.addAll(replay(event.gameId(), event.moves()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoveAppliedEvent event) {
+        pending.add(new PositionRow(event.gameId(), event.ply(), event.positionHash(), MoveCodec.encode(event.move())));
+    }
+
+    /**
+     * Filas de todas las posiciones de una partida a partir de sus movimientos (sin la inicial).
+     */
+    static List<PositionRow> replay(long gameId, List<String> moves) {
+        List<PositionRow> rows = new ArrayList<>(moves.size());
+        Board board = new Board();
+        int ply = 0;
+        for (String lan : moves) {
+            Move move = GameRules.parseAndValidateMove(board, lan);
+            board.doMove(move);
+            rows.add(new PositionRow(gameId, ++ply, board.getZobristKey(), MoveCodec.encode(lan)));
+        }
+        return rows;
+    }
+
+    /**
+     * Inserta las filas acumuladas por lotes. Un lote que falla se devuelve a la
+     * cola y la pasada termina: se reintentará en la siguiente, y como la
+     * inserción es idempotente no importa que parte del lote ya estuviera escrita.
+     */
+    @Scheduled(fixedDelayString = "${chess.positions.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PositionRow> batch = new ArrayList<>(batchSize);
+            PositionRow row;
+            while ((row = pending.poll()) != null) {
+                batch.add(row);
+                if (batch.size() == batchSize && !insertOrRequeue(batch)) {
+                    return;
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertOrRequeue(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean insertOrRequeue(List<PositionRow> batch) {
+        try {
+            insert(batch);
+            batch.clear();
+            return true;
+        } catch (RuntimeException e) {
+            pending.addAll(batch);
+            log.warn("No se pudieron indexar {} posiciones; se reintentará: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void insert(List<PositionRow> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+            ps.setLong(1, row.gameId());
+            ps.setInt(2, row.ply());
+            ps.setLong(3, row.positionHash());
+            if (row.moveCode() != null) {
+                ps.setShort(4, row.moveCode());
+            } else {
+                ps.setNull(4, Types.SMALLINT);
+            }
+            ps.setLong(5, row.gameId());
+            ps.setInt(6, row.ply());
+        });
+    }
+
+    /**
+     * Completa el índice en segundo plano con lo que la última pasada no cubrió:
+     * partidas vivas (de cualquier estado) y archivadas con id posterior a las ya
+     * comprobadas, y partidas vivas con actividad desde que empezó la última
+     * pasada completa, cuyas filas pudieron perderse en memoria al caer el
+     * proceso. El progreso se guarda en position_index_state, así que solo la
+     * primera pasada recorre todo el histórico. Las filas que ya existen se
+     * saltan al insertar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        Thread.ofVirtual().name("positions-backfill").start(this::runBackfill);
+    }
+
+    void runBackfill() {
+        Instant started = Instant.now();
+        long games = 0;
+        try {
+            BackfillState state = jdbcTemplate.queryForObject(SELECT_STATE_SQL, (rs, rowNum) -> {
+                OffsetDateTime checkedAt = rs.getObject(3, OffsetDateTime.class);
+                return new BackfillState(rs.getLong(1), rs.getLong(2),
+                        checkedAt != null ? checkedAt.toInstant() : null);
+            });
+
+            List<GameStatus> statuses = Arrays.asList(GameStatus.values());
+            Long afterId = state.liveCheckedId();
+            List<Game> batch;
+            do {
+                Long from = afterId;
+                batch = loadLive(() -> gameRepository.findByStatusInAndIdGreaterThanOrderByIdAsc(
+                        statuses, from, PageRequest.of(0, BACKFILL_BATCH_SIZE)));
+                games += reindexMissing(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                    jdbcTemplate.update(UPDATE_LIVE_MARK_SQL, afterId);
+                }
+            } while (!batch.isEmpty());
+
+            if (state.checkedAt() != null) {
+                LocalDateTime createdSince = LocalDateTime.ofInstant(state.checkedAt(), ZoneId.systemDefault());
+                afterId = 0L;
+                do {
+                    Long from = afterId;
+                    batch = loadLive(() -> gameRepository.findTouchedSince(from, state.liveCheckedId(),
+                            state.checkedAt(), createdSince, PageRequest.of(0, BACKFILL_BATCH_SIZE)));
+                    games += reindexMissing(batch);
+                    if (!batch.isEmpty()) {
+                        afterId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (!batch.isEmpty());
+            }
+
+            afterId = state.archivedCheckedId();
+            do {
+                batch = gameArchiveService.findArchivedBatch(afterId, BACKFILL_BATCH_SIZE);
+                games += reindexMissing(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                    jdbcTemplate.update(UPDATE_ARCHIVED_MARK_SQL, afterId);
+                }
+            } while (!batch.isEmpty());
+
+            jdbcTemplate.update(UPDATE_CHECKED_AT_SQL, OffsetDateTime.ofInstant(started, ZoneOffset.UTC));
+            if (games > 0) {
+                log.info("Índice de posiciones completado para {} partidas", games);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Relleno del índice de posiciones interrumpido tras {} partidas: {}", games, e.getMessage());
+        }
+    }
+
+    private List<Game> loadLive(Supplier<List<Game>> query) {
+        return transactionTemplate.execute(status -> {
+            List<Game> page = query.get();
+            page.forEach(Game::getMoves); // materializar movimientos heredados dentro de la transacción
+            return page;
+        });
+    }
+
+    /**
+     * Reindexa las partidas del lote (ordenado por id) con menos filas que posiciones.
+     */
+    private int reindexMissing(List<Game> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> indexed = new HashMap<>();
+        jdbcTemplate.query("SELECT game_id, COUNT(*) FROM game_positions WHERE game_id BETWEEN ? AND ? GROUP BY game_id",
+                rs -> {
+                    indexed.put(rs.getLong(1), rs.getInt(2));
+                },
+                batch.get(0).getId(), batch.get(batch.size() - 1).getId());
+
+        List<PositionRow> rows = new ArrayList<>();
+        int games = 0;
+        for (Game game : batch) {
+            List<String> moves = game.getMoves() != null ? game.getMoves() : List.of();
+            if (indexed.getOrDefault(game.getId(), 0) > moves.size()) {
+                continue;
+            }
+            try {
+                List<PositionRow> replayed = replay(game.getId(), moves);
+                rows.add(new PositionRow(game.getId(), 0, startPositionHash, null));
+                rows.addAll(replayed);
+                games++;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo reproducir la partida {} para el índice: {}", game.getId(), e.getMessage());
+            }
+        }
+        flushLock.lock();
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                insert(rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        return games;
+    }
+
+    public static long hashOf(String fen) {
+        if (fen == null || fen.trim().isEmpty()) {
+            throw new IllegalArgumentException("El FEN no puede estar vacío");
+        }
+        try {
+            Board board = new Board();
+            board.loadFromFen(fen.trim());
+            return board.getZobristKey();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("FEN inválido: " + fen);
+        }
+    }
+
+    /**
+     * Partidas que pasaron por la posición, paginadas por id (afterGameId exclusivo).
+     */
+    public List<Long> findGames(long positionHash, long afterGameId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT game_id FROM game_positions WHERE position_hash = ? AND game_id > ? "
+                        + "ORDER BY game_id LIMIT ?",
+                Long.class, positionHash, afterGameId, limit);
+    }
+
+    /**
+     * Jugadas realizadas desde la posición, de más a menos frecuente.
+     */
+    public List<MoveFrequency> nextMoves(long positionHash, int limit) {
+        return jdbcTemplate.query(
+                "SELECT n.move_code, COUNT(DISTINCT n.game_id) AS games FROM game_positions p "
+                        + "JOIN game_positions n ON n.game_id = p.game_id AND n.ply = p.ply + 1 "
+                        + "WHERE p.position_hash = ? GROUP BY n.move_code ORDER BY games DESC LIMIT ?",
+                (rs, rowNum) -> new MoveFrequency(MoveCodec.decode(rs.getShort(1)), rs.getLong(2)),
+                positionHash, limit);
+    }
+
+    public void deleteAll() {
+        pending.clear();
+        jdbcTemplate.update("DELETE FROM game_positions");
+    }
+}
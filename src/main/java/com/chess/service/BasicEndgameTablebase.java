@@ -0,0 +1,58 @@
+package com.chess.service;
+
+import com.chess.model.Winner;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Piece;
+import com.github.bhlangonijr.chesslib.Side;
+import com.github.bhlangonijr.chesslib.move.Move;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Tablebase mínima para finales triviales: rey y dama o rey y torre contra rey
+ * solo se ganan siempre, salvo que el rey solo pueda capturar la pieza mayor.
+ * Se puede sustituir por un bean que consulte tablebases Syzygy reales.
+ */
+@Component
+public class BasicEndgameTablebase implements EndgameTablebase {
+
+    @Override
+    public Optional<Winner> probe(Board board) {
+        if (Long.bitCount(board.getBitboard()) != 3) {
+            return Optional.empty();
+        }
+
+        for (Side side : Side.values()) {
+            Side weak = side == Side.WHITE ? Side.BLACK : Side.WHITE;
+            if (Long.bitCount(board.getBitboard(weak)) != 1) {
+                continue;
+            }
+            long heavy = board.getBitboard(queenOf(side)) | board.getBitboard(rookOf(side));
+            if (heavy != 0 && !loneKingCanCapture(board, weak)) {
+                return Optional.of(side == Side.WHITE ? Winner.WHITE : Winner.BLACK);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean loneKingCanCapture(Board board, Side weak) {
+        if (board.getSideToMove() != weak) {
+            return false;
+        }
+        for (Move move : board.legalMoves()) {
+            if (board.getPiece(move.getTo()) != Piece.NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Piece queenOf(Side side) {
+        return side == Side.WHITE ? Piece.WHITE_QUEEN : Piece.BLACK_QUEEN;
+    }
+
+    private Piece rookOf(Side side) {
+        return side == Side.WHITE ? Piece.WHITE_ROOK : Piece.BLACK_ROOK;
+    }
+}
@@ -1,203 +1,309 @@
 package com.chess.service;
 
+import com.chess.event.GameEvents;
 import com.chess.model.Game;
 import com.chess.model.GameConstants;
+import com.chess.model.GameFingerprint;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
 import com.chess.model.Winner;
 import com.chess.model.PlayerColor;
 import com.chess.repository.GameRepository;
+import com.chess.search.PositionIndexService;
 import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Side;
 import com.github.bhlangonijr.chesslib.move.Move;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
 
 @Service
 @Transactional
 public class ChessGameService {
 
+    private static final int MOVE_ATTEMPTS = 3;
+
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private WriteBehindGameStore writeBehindStore;
+
+    @Autowired
+    private GameRegistry gameRegistry;
+
+    @Autowired
+    private GameEvents gameEvents;
+
+    @Autowired
+    private GameDedupService gameDedupService;
+
+    @Autowired
+    private PositionIndexService positionIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     /**
      * Crea un nuevo juego
      */
     public Game createGame(String playerColor, int whiteClock, int blackClock) {
-        validateGameCreation(playerColor, whiteClock, blackClock);
-
-        Game game = new Game(PlayerColor.fromString(playerColor), whiteClock, blackClock);
-        return gameRepository.save(game);
+        return createGame(playerColor, whiteClock, blackClock, null, null);
     }
 
     /**
-     * Aplica un movimiento al juego - OPTIMIZADO
+     * Crea un nuevo juego entre jugadores registrados (ids opcionales)
      */
-    public Game applyMove(Long gameId, String moveNotation) {
-        Game game = findGameById(gameId);
-        validateMoveRequest(game, moveNotation);
-
-        // Actualizar tiempo ANTES de aplicar el movimiento
-        updateGameClock(game);
-
-        if (game.isTimedOut()) {
-            return handleTimeout(game);
+    public Game createGame(String playerColor, int whiteClock, int blackClock, Long whitePlayerId, Long blackPlayerId) {
+        GameRules.validateGameCreation(playerColor, whiteClock, blackClock);
+        if (whitePlayerId != null && whitePlayerId.equals(blackPlayerId)) {
+            throw new IllegalArgumentException("Un jugador no puede jugar contra sí mismo");
         }
 
-        // Reconstruir tablero (esto podría optimizarse más con caché)
-        Board board = reconstructBoard(game.getMoves());
-
-        // Aplicar movimiento
-        Move move = parseAndValidateMove(board, moveNotation.trim());
-        board.doMove(move);
-
-        // Actualizar estado del juego
-        game.addMove(moveNotation.trim());
-        game.setPgn(generatePgn(game.getMoves()));
+        Game game = new Game(PlayerColor.fromString(playerColor), whiteClock, blackClock);
+        game.setWhitePlayerId(whitePlayerId);
+        game.setBlackPlayerId(blackPlayerId);
+        Game saved = gameRepository.save(game);
+        gameEvents.created(saved, false);
+        return saved;
+    }
 
-        // Evaluar estado final
-        evaluateGameState(board, game);
+    /**
+     * Crea varias partidas de una vez (emparejamiento) en una sola transacción.
+     * Cada elemento de pairings es {id de blancas, id de negras}.
+     */
+    public List<Game> createGames(List<long[]> pairings, int whiteClock, int blackClock) {
+        GameRules.validateGameCreation(GameConstants.COLOR_WHITE, whiteClock, blackClock);
 
-        // Actualizar turno solo si la partida sigue activa
-        if (game.isActive()) {
-            game.switchTurn();
-            game.setLastMoveTimestamp(Instant.now());
+        List<Game> games = new ArrayList<>(pairings.size());
+        for (long[] pairing : pairings) {
+            Game game = new Game(PlayerColor.WHITE, whiteClock, blackClock);
+            game.setWhitePlayerId(pairing[0]);
+            game.setBlackPlayerId(pairing[1]);
+            games.add(game);
         }
-
-        return gameRepository.save(game);
+        List<Game> saved = gameRepository.saveAll(games);
+        saved.forEach(game -> gameEvents.created(game, false));
+        return saved;
     }
 
     /**
-     * Encuentra un juego por ID
+     * Aplica un movimiento al juego - OPTIMIZADO
+     *
+     * Sin transacción propia: en modo write-behind el movimiento se confirma en
+     * memoria y en el diario local, sin tocar la base de datos.
      */
-    @Transactional(readOnly = true)
-    public Optional<Game> findGame(Long id) {
-        return gameRepository.findById(id);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Game applyMove(Long gameId, String moveNotation) {
+        return applyMove(gameId, moveNotation, null);
     }
 
     /**
-     * Obtiene los movimientos de un juego
+     * Como {@link #applyMove(Long, String)}, pero solo si la partida sigue en el ply
+     * esperado (número de movimientos ya jugados). La comprobación se hace con el
+     * cerrojo de la partida o dentro de la transacción que guarda el movimiento, así
+     * que un movimiento calculado sobre una posición anterior nunca se aplica.
      */
-    @Transactional(readOnly = true)
-    public List<String> getGameMoves(Long gameId) {
-        Game game = findGameById(gameId);
-        return game.getMoves() != null ? new ArrayList<>(game.getMoves()) : new ArrayList<>();
-    }
-
-    // Métodos privados de utilidad
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Game applyMove(Long gameId, String moveNotation, Integer expectedPly) {
+        if (writeBehindStore.isEnabled()) {
+            Lock lock = writeBehindStore.lockFor(gameId);
+            lock.lock();
+            try {
+                // Cargar con el cerrojo tomado: la adjudicación puede estar guardando la copia de la base de datos
+                Game game = findGameForUpdate(gameId);
+                checkPly(game, expectedPly);
+                Board board = GameRules.applyMove(game, moveNotation, gameRegistry.take(game));
+                // Sin tablero la partida terminó por tiempo y el movimiento no se aplicó: línea solo de estado
+                writeBehindStore.append(game, board != null ? moveNotation.trim() : null);
+                gameEvents.moveApplied(game, board);
+                gameRegistry.put(game, board);
+                return game;
+            } finally {
+                lock.unlock();
+            }
+        }
 
-    private Game findGameById(Long gameId) {
-        return gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND));
+        // Dos movimientos simultáneos sobre la misma partida: el segundo en guardar falla la
+        // comprobación de versión y se repite sobre la posición ya confirmada
+        for (int attempt = 1; ; attempt++) {
+            Board[] board = new Board[1];
+            try {
+                Game saved = transactionTemplate.execute(status -> {
+                    Game game = findGameById(gameId);
+                    checkPly(game, expectedPly);
+                    board[0] = GameRules.applyMove(game, moveNotation, gameRegistry.take(game));
+                    Game merged = gameRepository.saveAndFlush(game);
+                    // El evento lee el tablero: antes de devolverlo al registro, donde otro hilo podría tomarlo
+                    gameEvents.moveApplied(merged, board[0]);
+                    return merged;
+                });
+                // Solo un tablero ya confirmado vuelve al registro
+                gameRegistry.put(saved, board[0]);
+                return saved;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MOVE_ATTEMPTS) {
+                    throw new IllegalStateException("La partida ha cambiado mientras se aplicaba el movimiento; "
+                            + "inténtalo de nuevo");
+                }
+            }
+        }
     }
 
-    private void validateGameCreation(String playerColor, int whiteClock, int blackClock) {
-        if (!GameConstants.COLOR_WHITE.equals(playerColor) && !GameConstants.COLOR_BLACK.equals(playerColor)) {
-            throw new IllegalArgumentException(GameConstants.MSG_INVALID_COLOR);
-        }
-        if (whiteClock <= 0 || blackClock <= 0) {
-            throw new IllegalArgumentException(GameConstants.MSG_INVALID_TIME);
+    private static void checkPly(Game game, Integer expectedPly) {
+        if (expectedPly != null && game.getMoves().size() != expectedPly) {
+            throw new IllegalArgumentException("La partida cambió: se esperaba el movimiento " + (expectedPly + 1)
+                    + " y ya se han jugado " + game.getMoves().size());
         }
     }
 
-    private void validateMoveRequest(Game game, String moveNotation) {
-        if (moveNotation == null || moveNotation.trim().isEmpty()) {
-            throw new IllegalArgumentException(GameConstants.MSG_EMPTY_MOVE);
+    /**
+     * Registra una oferta de tablas. Si el rival ya había ofrecido tablas,
+     * la partida termina en tablas por mutuo acuerdo.
+     */
+    public Game offerDraw(Long gameId, String playerColor) {
+        if (writeBehindStore.isEnabled()) {
+            Lock lock = writeBehindStore.lockFor(gameId);
+            lock.lock();
+            try {
+                Game game = findGameForUpdate(gameId);
+                recordDrawOffer(game, playerColor);
+                writeBehindStore.append(game, null);
+                if (!game.isActive()) {
+                    gameEvents.ended(game);
+                }
+                return game;
+            } finally {
+                lock.unlock();
+            }
         }
 
+        Game game = findGameById(gameId);
+        recordDrawOffer(game, playerColor);
+        Game saved = gameRepository.save(game);
+        if (!saved.isActive()) {
+            gameEvents.ended(saved);
+        }
+        return saved;
+    }
+
+    private void recordDrawOffer(Game game, String playerColor) {
         if (!game.isActive()) {
             throw new IllegalArgumentException(GameConstants.MSG_GAME_NOT_ACTIVE);
         }
-    }
 
-    private Board reconstructBoard(List<String> moves) {
-        Board board = new Board();
-        if (moves != null) {
-            for (String moveNotation : moves) {
-                Move move = parseAndValidateMove(board, moveNotation);
-                board.doMove(move);
-            }
+        PlayerColor color = PlayerColor.fromString(playerColor);
+        if (game.getDrawOfferedBy() == color) {
+            throw new IllegalArgumentException(GameConstants.MSG_DRAW_ALREADY_OFFERED);
         }
-        return board;
-    }
 
-    private Move parseAndValidateMove(Board board, String algebraic) {
-        for (Move legalMove : board.legalMoves()) {
-            if (legalMove.toString().equals(algebraic)) {
-                return legalMove;
-            }
+        if (game.getDrawOfferedBy() == color.opposite()) {
+            game.setDrawOfferedBy(null);
+            game.setWinner(Winner.DRAW);
+            game.setStatusEnum(GameStatus.DRAW);
+        } else {
+            game.setDrawOfferedBy(color);
         }
-        throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + algebraic);
     }
 
-    private void updateGameClock(Game game) {
-        if (game.getLastMoveTimestamp() != null) {
-            long secondsElapsed = Duration.between(game.getLastMoveTimestamp(), Instant.now()).getSeconds();
-            game.updateClock(secondsElapsed);
+    /**
+     * Encuentra un juego por ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Game> findGame(Long id) {
+        Game pending = writeBehindStore.get(id);
+        if (pending != null) {
+            return Optional.of(pending);
         }
+
+        Optional<Game> game = gameRepository.findById(id);
+        return game.isPresent() ? game : gameArchiveService.findArchived(id);
     }
 
-    private Game handleTimeout(Game game) {
-        if (game.getWhiteClock() <= 0) {
-            game.setStatusEnum(com.chess.model.GameStatus.TIMEOUT);
-            game.setWinner(Winner.BLACK);
-        } else {
-            game.setStatusEnum(com.chess.model.GameStatus.TIMEOUT);
-            game.setWinner(Winner.WHITE);
+    /**
+     * Consulta la posición actual de la partida sin modificarla, reutilizando el
+     * tablero en memoria si lo hay. La consulta no debe mover piezas en el tablero.
+     */
+    @Transactional(readOnly = true)
+    public <T> T inspectCurrentPosition(Long gameId, BiFunction<Game, Board, T> inspection) {
+        Lock lock = writeBehindStore.isEnabled() ? writeBehindStore.lockFor(gameId) : null;
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            Game game = findGameById(gameId);
+            Board board = gameRegistry.take(game);
+            if (board == null) {
+                board = GameRules.reconstructBoard(game.getMoves());
+            }
+            T result = inspection.apply(game, board);
+            gameRegistry.put(game, board);
+            return result;
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
         }
-        return gameRepository.save(game);
     }
 
-    private String generatePgn(List<String> moves) {
-        if (moves == null || moves.isEmpty()) {
-            return GameConstants.EMPTY_PGN;
-        }
+    /**
+     * Obtiene los movimientos de un juego
+     */
+    @Transactional(readOnly = true)
+    public List<String> getGameMoves(Long gameId) {
+        Game game = findGameById(gameId);
+        return game.getMoves() != null ? new ArrayList<>(game.getMoves()) : new ArrayList<>();
+    }
 
-        StringBuilder pgnBuilder = new StringBuilder();
-        int moveNumber = 1;
-        boolean whiteToMove = true;
+    /**
+     * Obtiene los movimientos de un juego en SAN
+     */
+    @Transactional(readOnly = true)
+    public List<String> getGameMovesSan(Long gameId) {
+        return MoveCodec.toSan(findGameById(gameId).getMoves());
+    }
 
-        for (String moveNotation : moves) {
-            if (whiteToMove) {
-                pgnBuilder.append(moveNumber).append(". ");
-            }
-            pgnBuilder.append(moveNotation).append(" ");
+    /**
+     * Obtiene los movimientos empaquetados (2 bytes por movimiento, ver MoveCodec)
+     */
+    @Transactional(readOnly = true)
+    public byte[] getPackedGameMoves(Long gameId) {
+        return findGameById(gameId).getPackedMoves();
+    }
 
-            whiteToMove = !whiteToMove;
-            if (whiteToMove) {
-                moveNumber++;
-            }
-        }
+    // Métodos privados de utilidad
 
-        return pgnBuilder.toString().trim();
+    private Game findGameById(Long gameId) {
+        // Las partidas archivadas están terminadas: sirven para leer, no para mover
+        return findGame(gameId)
+                .orElseThrow(() -> new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND));
     }
 
-    private void evaluateGameState(Board board, Game game) {
-        if (board.isMated()) {
-            if (board.getSideToMove() == com.github.bhlangonijr.chesslib.Side.WHITE) {
-                game.setWinner(Winner.BLACK);
-                game.setStatusEnum(com.chess.model.GameStatus.MATE);
-            } else {
-                game.setWinner(Winner.WHITE);
-                game.setStatusEnum(com.chess.model.GameStatus.MATE);
+    private Game findGameForUpdate(Long gameId) {
+        if (writeBehindStore.isEnabled()) {
+            Game game = writeBehindStore.getOrLoad(gameId);
+            if (game != null) {
+                return game;
             }
-        } else if (board.isStaleMate()) {
-            game.setWinner(Winner.DRAW);
-            game.setStatusEnum(com.chess.model.GameStatus.STALEMATE);
-        } else if (board.isDraw()) {
-            game.setWinner(Winner.DRAW);
-            game.setStatusEnum(com.chess.model.GameStatus.DRAW);
         }
-        // Si no es ninguno de los anteriores, el juego continúa activo
+        return findGameById(gameId);
     }
 
     public String getGameStateMessage(Board board, Game game) {
         if (board.isMated()) {
-            return board.getSideToMove() == com.github.bhlangonijr.chesslib.Side.WHITE
+            return board.getSideToMove() == Side.WHITE
                     ? GameConstants.MSG_CHECKMATE_BLACK_WINS
                     : GameConstants.MSG_CHECKMATE_WHITE_WINS;
         } else if (board.isStaleMate()) {
@@ -215,6 +321,41 @@ public class ChessGameService {
      * Importa un juego desde PGN
      */
     public Game importFromPgn(String pgn, int whiteClock, int blackClock) {
+        List<Game> saved = saveImported(List.of(parsePgn(pgn, whiteClock, blackClock)));
+        if (saved.isEmpty()) {
+            throw new IllegalArgumentException("La partida ya existe: se importó anteriormente");
+        }
+        return saved.get(0);
+    }
+
+    /**
+     * Guarda partidas ya validadas con {@link #parsePgn} (importaciones por lotes),
+     * omitiendo las que ya existen. Devuelve solo las guardadas.
+     */
+    public List<Game> saveImported(List<Game> games) {
+        return saveImported(games, false);
+    }
+
+    /**
+     * Igual que {@link #saveImported(List)}; con recheck las huellas se comprueban
+     * todas en la base de datos (repetición tras un conflicto con el índice único).
+     */
+    public List<Game> saveImported(List<Game> games, boolean recheck) {
+        List<Game> fresh = recheck ? gameDedupService.filterNewChecked(games) : gameDedupService.filterNew(games);
+        List<Game> saved = gameRepository.saveAll(fresh);
+        gameDedupService.added(saved);
+        for (Game game : saved) {
+            gameEvents.created(game, true);
+        }
+        return saved;
+    }
+
+    /**
+     * Valida un PGN y construye la partida sin guardarla. No toca la base de datos,
+     * así que un PGN inválido no afecta a la transacción de quien llama.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Game parsePgn(String pgn, int whiteClock, int blackClock) {
         validatePgnInput(pgn, whiteClock, blackClock);
 
         try {
@@ -227,7 +368,8 @@ public class ChessGameService {
             // Aplicar los movimientos del PGN para validarlo
             String[] moves = parsePgnMoves(cleanPgn);
 
-            // Validar cada movimiento
+            // Validar cada movimiento y guardarlo en LAN, el formato interno
+            List<String> lanMoves = new ArrayList<>();
             for (String moveStr : moves) {
                 if (moveStr.trim().isEmpty())
                     continue;
@@ -237,19 +379,22 @@ public class ChessGameService {
                     throw new IllegalArgumentException("Movimiento inválido en PGN: " + moveStr);
                 }
                 board.doMove(move);
+                lanMoves.add(move.toString());
             }
 
             // Crear el juego con el PGN importado
             Game game = new Game(PlayerColor.WHITE, whiteClock, blackClock);
             game.setPgn(cleanPgn);
+            game.setMoves(lanMoves);
 
             // Establecer el turno actual basado en el tablero
-            game.setTurn(board.getSideToMove() == com.github.bhlangonijr.chesslib.Side.WHITE ? "WHITE" : "BLACK");
+            game.setTurn(board.getSideToMove() == Side.WHITE ? "WHITE" : "BLACK");
 
             // Evaluar el estado del juego
-            evaluateGameState(board, game);
-
-            return gameRepository.save(game);
+            GameRules.evaluateGameState(board, game);
+            game.setPositionKey(board.getZobristKey());
+            game.setContentHash(GameFingerprint.of(GameFingerprint.parseTags(pgn), lanMoves));
+            return game;
 
         } catch (Exception e) {
             throw new IllegalArgumentException("Error al importar PGN: " + e.getMessage());
@@ -275,7 +420,7 @@ public class ChessGameService {
                 .trim();
 
         // Remover resultado final si existe
-        cleaned = cleaned.replaceAll("(1-0|0-1|1/2-1/2)\\s*$", "").trim();
+        cleaned = cleaned.replaceAll("(1-0|0-1|1/2-1/2|\\*)\\s*$", "").trim();
 
         return cleaned;
     }
@@ -288,33 +433,24 @@ public class ChessGameService {
     }
 
     private Move findLegalMoveFromPgn(Board board, String pgnMove) {
-        // Intentar convertir PGN a LAN (Long Algebraic Notation)
+        String lan = pgnMove;
+        boolean isLan = pgnMove.matches("[a-h][1-8][a-h][1-8][nbrq]?");
+        if (!isLan) {
+            // SAN (Nf3, exd5, O-O, e8=Q+): traducir a LAN en la posición actual
+            lan = MoveCodec.sanToLan(board, pgnMove);
+            if (lan == null) {
+                return null;
+            }
+        }
+
         for (Move legalMove : board.legalMoves()) {
-            // Chesslib puede manejar tanto SAN como LAN
-            if (legalMove.toString().equals(pgnMove) ||
-                    matchesPgnMove(legalMove, pgnMove, board)) {
+            if (legalMove.toString().equals(lan)) {
                 return legalMove;
             }
         }
         return null;
     }
 
-    private boolean matchesPgnMove(Move move, String pgnMove, Board board) {
-        // Lógica simplificada para matching de movimientos PGN
-        // En un sistema completo, esto sería más sofisticado
-        String moveStr = move.toString();
-
-        // Casos básicos: movimiento directo
-        if (moveStr.equals(pgnMove)) {
-            return true;
-        }
-
-        // TODO: Implementar matching más sofisticado para SAN si es necesario
-        // Por ahora, chesslib maneja la mayoría de casos automáticamente
-
-        return false;
-    }
-
     /**
      * Método temporal para limpiar datos de prueba
      */
@@ -323,5 +459,6 @@ public class ChessGameService {
         // Eliminar todos los juegos (esto eliminará también los movimientos por
         // cascada)
         gameRepository.deleteAll();
+        positionIndexService.deleteAll();
     }
 }
@@ -0,0 +1,15 @@
+package com.chess.service;
+
+import com.chess.model.Winner;
+import com.github.bhlangonijr.chesslib.Board;
+
+import java.util.Optional;
+
+/**
+ * Consulta de resultados teóricos de finales. Devuelve el resultado con juego
+ * perfecto o vacío si la posición no está cubierta.
+ */
+public interface EndgameTablebase {
+
+    Optional<Winner> probe(Board board);
+}
@@ -0,0 +1,144 @@
+package com.chess.service;
+
+import com.chess.engine.EngineService;
+import com.chess.engine.PonderSearch;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.event.GameEndedEvent;
+import com.chess.event.MoveAppliedEvent;
+import com.chess.model.Game;
+import com.chess.model.GameConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jugadas y análisis del motor sobre partidas guardadas.
+ *
+ * La búsqueda se hace sobre una copia de las jugadas, sin bloquear la partida;
+ * al terminar se comprueba que nadie haya movido entretanto antes de aplicar la
+ * jugada del motor por el camino normal (reloj, eventos, write-behind).
+ *
+ * Tras cada jugada del motor se piensa en segundo plano sobre la respuesta
+ * prevista del rival. Si la acierta, la siguiente jugada del motor recoge esa
+ * búsqueda (al instante si ya terminó); si no, se cancela al llegar la jugada real.
+ */
+@Service
+public class EnginePlayService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnginePlayService.class);
+
+    public record Analysis(Game game, SearchLimits limits, SearchResult result, boolean ponderHit) {
+    }
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Autowired
+    private EngineService engineService;
+
+    @Value("${chess.engine.ponder.enabled:true}")
+    private boolean ponderEnabled;
+
+    private final Map<Long, PonderSearch> pondering = new ConcurrentHashMap<>();
+
+    /**
+     * Juega la mejor jugada del motor para el bando al que le toca.
+     */
+    public Analysis engineMove(Long gameId) {
+        Game game = findGame(gameId);
+        if (!game.isActive()) {
+            throw new IllegalArgumentException(GameConstants.MSG_GAME_NOT_ACTIVE);
+        }
+        List<String> moves = List.copyOf(game.getMoves());
+        SearchLimits limits = engineService.limitsFor(game, null, null);
+
+        SearchResult result = null;
+        PonderSearch ponder = pondering.remove(gameId);
+        if (ponder != null) {
+            if (ponder.isFor(moves)) {
+                // El reloj del motor corre desde la jugada del rival: solo se espera lo que le toca
+                result = ponder.await(limits.moveTimeMillis());
+            } else {
+                ponder.cancel();
+            }
+        }
+        boolean ponderHit = result != null && result.hasMove();
+        if (!ponderHit) {
+            result = engineService.search(moves, limits);
+        }
+        if (!result.hasMove()) {
+            throw new IllegalArgumentException("El motor no encontró jugada en esta posición");
+        }
+
+        // Se aplica solo si nadie ha movido durante la búsqueda (comprobado con el cerrojo de la partida)
+        Game played = chessGameService.applyMove(gameId, result.bestMove(), moves.size());
+        if (ponderEnabled && played.isActive() && result.ponderMove() != null) {
+            startPonder(gameId, played.getMoves(), result.ponderMove(), limits);
+        }
+        return new Analysis(played, limits, result, ponderHit);
+    }
+
+    /**
+     * Analiza la posición actual sin modificar la partida.
+     */
+    public Analysis analyse(Long gameId, Integer depth, Long moveTimeMillis) {
+        Game game = findGame(gameId);
+        List<String> moves = List.copyOf(game.getMoves());
+        SearchLimits limits = engineService.limitsFor(game, depth, moveTimeMillis);
+        return new Analysis(game, limits, engineService.search(moves, limits), false);
+    }
+
+    public boolean isPondering(Long gameId) {
+        return pondering.containsKey(gameId);
+    }
+
+    // Jugada real del rival: si no es la prevista, la búsqueda en segundo plano ya no sirve
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoveAppliedEvent event) {
+        PonderSearch ponder = pondering.get(event.gameId());
+        if (ponder == null) {
+            return;
+        }
+        boolean hit = event.ply() == ponder.getMoves().size() && event.move().equals(ponder.getPredictedMove());
+        if (hit) {
+            log.debug("Partida {}: acierto en la jugada prevista {}", event.gameId(), event.move());
+        } else if (pondering.remove(event.gameId(), ponder)) {
+            ponder.cancel();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameEndedEvent event) {
+        PonderSearch ponder = pondering.remove(event.gameId());
+        if (ponder != null) {
+            ponder.cancel();
+        }
+    }
+
+    private void startPonder(Long gameId, List<String> gameMoves, String predicted, SearchLimits limits) {
+        List<String> moves = new ArrayList<>(gameMoves);
+        moves.add(predicted);
+        PonderSearch ponder = engineService.ponder(moves, limits);
+        if (ponder == null) {
+            return;
+        }
+        PonderSearch previous = pondering.put(gameId, ponder);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private Game findGame(Long gameId) {
+        return chessGameService.findGame(gameId)
+                .orElseThrow(() -> new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND));
+    }
+}
@@ -0,0 +1,103 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Recorrido por clave de las partidas a exportar, vivas y archivadas fusionadas
+ * por id, en lotes de tamaño fijo, cada uno leído en su propia transacción. Lo
+ * comparten los exportadores para que ninguno cargue más de dos lotes en memoria.
+ *
+ * Las dos fuentes avanzan con un único cursor: una partida que se archive
+ * durante la exportación sale una sola vez, desde la fuente en la que estuviera
+ * al leer su lote.
+ */
+@Component
+public class ExportBatches {
+
+    /**
+     * Filtro de exportación: estados y rango [from, to) de fecha de creación.
+     */
+    public record ExportFilter(Collection<GameStatus> statuses, LocalDateTime from, LocalDateTime to) {
+    }
+
+    @FunctionalInterface
+    public interface BatchHandler {
+        void handle(List<Game> batch) throws IOException;
+    }
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiveService gameArchiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Entrega los lotes en orden de id. Devuelve el número total de partidas.
+     *
+     * En cada paso se lee un lote de cada fuente a partir del cursor, primero las
+     * vivas y después el archivo: el archivador solo mueve partidas de vivas a
+     * archivadas, así que toda partida con id hasta el último de un lote lleno
+     * está en alguna de las dos lecturas. Se entregan las de id hasta el menor de
+     * esos últimos ids (sin repetir las que aparezcan en ambas) y el cursor avanza.
+     */
+    public long forEachBatch(ExportFilter filter, int batchSize, BatchHandler handler) throws IOException {
+        long total = 0;
+
+        Long afterId = 0L;
+        boolean more;
+        do {
+            Long from = afterId;
+            List<Game> live = transactionTemplate.execute(status -> {
+                List<Game> page = gameRepository.findExportBatch(from, filter.statuses(), filter.from(), filter.to(),
+                        PageRequest.of(0, batchSize));
+                page.forEach(Game::getMoves); // materializar movimientos heredados dentro de la transacción
+                return page;
+            });
+            List<Game> archived = gameArchiveService.findArchivedExportBatch(from, filter.statuses(), filter.from(),
+                    filter.to(), batchSize);
+
+            long limit = Long.MAX_VALUE;
+            if (live.size() == batchSize) {
+                limit = Math.min(limit, live.get(live.size() - 1).getId());
+            }
+            if (archived.size() == batchSize) {
+                limit = Math.min(limit, archived.get(archived.size() - 1).getId());
+            }
+            TreeMap<Long, Game> merged = new TreeMap<>();
+            archived.forEach(game -> merged.put(game.getId(), game));
+            live.forEach(game -> merged.put(game.getId(), game));
+
+            List<Game> batch = new ArrayList<>(batchSize);
+            for (Game game : merged.headMap(limit, true).values()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(game);
+            }
+            if (!batch.isEmpty()) {
+                handler.handle(batch);
+                total += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            more = live.size() == batchSize || archived.size() == batchSize || batch.size() < merged.size();
+        } while (more);
+
+        return total;
+    }
+}
@@ -0,0 +1,34 @@
+package com.chess.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recorre periódicamente las partidas activas por lotes. Cada lote es una
+ * transacción independiente para no mantener bloqueos durante toda la pasada.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.adjudication.enabled", havingValue = "true", matchIfMissing = true)
+public class GameAdjudicationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(GameAdjudicationJob.class);
+
+    @Autowired
+    private GameAdjudicationService adjudicationService;
+
+    @Scheduled(fixedDelayString = "${chess.adjudication.interval-ms:60000}",
+            initialDelayString = "${chess.adjudication.initial-delay-ms:60000}")
+    public void run() {
+        Long lastId = 0L;
+        int batches = 0;
+        while (lastId != null) {
+            lastId = adjudicationService.adjudicateBatch(lastId);
+            batches++;
+        }
+        log.debug("Pasada de adjudicación completada en {} lotes", batches);
+    }
+}
@@ -0,0 +1,161 @@
+package com.chess.service;
+
+import com.chess.event.GameEvents;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.Winner;
+import com.chess.repository.GameRepository;
+import com.github.bhlangonijr.chesslib.Board;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Cierra partidas activas que ya tienen un resultado decidido: reloj agotado
+ * sin que nadie haya movido, material insuficiente, triple repetición, regla
+ * de los 50 movimientos o final resuelto por la tablebase.
+ *
+ * El lote se lee de una vez, pero cada partida adjudicada se guarda en su
+ * propia transacción con bloqueo optimista: si alguien movió entre la lectura
+ * y el guardado, esa partida se omite (la siguiente pasada la vuelve a ver)
+ * en lugar de pisar el movimiento.
+ */
+@Service
+@Transactional
+public class GameAdjudicationService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameAdjudicationService.class);
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private EndgameTablebase endgameTablebase;
+
+    @Autowired
+    private WriteBehindGameStore writeBehindStore;
+
+    @Autowired
+    private GameEvents gameEvents;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${chess.adjudication.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Adjudica un lote de partidas activas con id mayor que afterId.
+     * Devuelve el último id procesado, o null si no quedan partidas activas.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long adjudicateBatch(Long afterId) {
+        List<Game> batch = transactionTemplate.execute(status -> {
+            List<Game> games = gameRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    GameStatus.ACTIVE, afterId, PageRequest.of(0, batchSize));
+            for (Game game : games) {
+                game.getMoves(); // materializar antes de desacoplar
+                entityManager.detach(game);
+            }
+            return games;
+        });
+        if (batch.isEmpty()) {
+            return null;
+        }
+
+        for (Game game : batch) {
+            if (writeBehindStore.isEnabled()) {
+                adjudicateHeld(game);
+            } else if (adjudicate(game)) {
+                save(game);
+            }
+        }
+        return batch.get(batch.size() - 1).getId();
+    }
+
+    /**
+     * Modo write-behind: con el cerrojo de la partida, manda la copia en memoria si
+     * la hay (una partida abandonada no recibe más movimientos que la cierren); si
+     * no, se guarda la de la base de datos antes de que nadie pueda cargarla.
+     */
+    private void adjudicateHeld(Game stored) {
+        Lock lock = writeBehindStore.lockFor(stored.getId());
+        lock.lock();
+        try {
+            Game held = writeBehindStore.get(stored.getId());
+            if (held == null) {
+                if (adjudicate(stored)) {
+                    save(stored);
+                }
+            } else if (held.isActive() && adjudicate(held)) {
+                writeBehindStore.append(held, null);
+                gameEvents.ended(held);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void save(Game game) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                gameRepository.save(game);
+                gameEvents.ended(game);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.debug("Partida {} modificada durante la adjudicación; se revisará en la siguiente pasada",
+                    game.getId());
+        }
+    }
+
+    boolean adjudicate(Game game) {
+        if (isClockExpired(game)) {
+            GameRules.updateGameClock(game);
+            GameRules.applyTimeoutResult(game);
+            return true;
+        }
+
+        Board board = GameRules.reconstructBoard(game.getMoves());
+
+        // Mate, ahogado y tablas automáticas (material, repetición, 50 movimientos)
+        GameRules.evaluateGameState(board, game);
+        if (!game.isActive()) {
+            return true;
+        }
+
+        Optional<Winner> result = endgameTablebase.probe(board);
+        if (result.isPresent()) {
+            Winner winner = result.get();
+            game.setWinner(winner);
+            game.setStatusEnum(winner == Winner.DRAW ? GameStatus.DRAW : GameStatus.ADJUDICATED);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isClockExpired(Game game) {
+        if (game.getLastMoveTimestamp() == null) {
+            return false;
+        }
+        long secondsElapsed = Duration.between(game.getLastMoveTimestamp(), Instant.now()).getSeconds();
+        return secondsElapsed >= game.getCurrentPlayerClock();
+    }
+}
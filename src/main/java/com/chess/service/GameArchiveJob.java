@@ -0,0 +1,34 @@
+package com.chess.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vacía periódicamente las tablas vivas de partidas terminadas, lote a lote,
+ * para que su tamaño dependa de las partidas en curso y no del histórico.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class GameArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(GameArchiveJob.class);
+
+    @Autowired
+    private GameArchiveService archiveService;
+
+    @Scheduled(fixedDelayString = "${chess.archive.interval-ms:3600000}",
+            initialDelayString = "${chess.archive.initial-delay-ms:300000}")
+    public void run() {
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveService.archiveBatch();
+            total += moved;
+        } while (moved > 0);
+        log.debug("Archivadas {} partidas terminadas", total);
+    }
+}
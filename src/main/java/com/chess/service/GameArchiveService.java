@@ -0,0 +1,204 @@
+package com.chess.service;
+
+import com.chess.model.ArchivedGame;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
+import com.chess.repository.ArchivedGameRepository;
+import com.chess.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Mueve las partidas terminadas de las tablas vivas (games/game_moves) al
+ * almacén frío archived_games, y las recupera para las consultas de lectura.
+ */
+@Service
+@Transactional
+public class GameArchiveService {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Value("${chess.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chess.archive.min-age-hours:24}")
+    private long minAgeHours;
+
+    /**
+     * Archiva un lote de partidas terminadas. Devuelve cuántas se movieron.
+     */
+    public int archiveBatch() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(minAgeHours));
+        List<Game> batch = gameRepository.findByStatusInAndFinishedAtBeforeAndRatingPendingFalseOrderByIdAsc(
+                GameStatus.finished(), cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ArchivedGame> archived = new ArrayList<>(batch.size());
+        for (Game game : batch) {
+            archived.add(toArchived(game));
+        }
+        archivedGameRepository.saveAll(archived);
+        gameRepository.deleteAll(batch);
+        return batch.size();
+    }
+
+    /**
+     * Busca una partida en el archivo y la reconstruye como {@link Game}
+     * (no gestionada, solo para lectura).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Game> findArchived(Long id) {
+        return archivedGameRepository.findById(id).map(this::toGame);
+    }
+
+    /**
+     * Siguiente lote del archivo con id mayor que afterId, reconstruido como {@link Game}.
+     */
+    @Transactional(readOnly = true)
+    public List<Game> findArchivedBatch(Long afterId, int size) {
+        return archivedGameRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size))
+                .stream().map(this::toGame).toList();
+    }
+
+    /**
+     * Lote de exportación del archivo, reconstruido como {@link Game}.
+     */
+    @Transactional(readOnly = true)
+    public List<Game> findArchivedExportBatch(Long afterId, Collection<GameStatus> statuses,
+            LocalDateTime from, LocalDateTime to, int size) {
+        return archivedGameRepository.findExportBatch(afterId, statuses, from, to, PageRequest.of(0, size))
+                .stream().map(this::toGame).toList();
+    }
+
+    /**
+     * Jugadores con alguna partida archivada terminada desde since.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findRecentPlayerIds(Instant since) {
+        Set<Long> players = new HashSet<>(archivedGameRepository.findRecentWhitePlayerIds(since));
+        players.addAll(archivedGameRepository.findRecentBlackPlayerIds(since));
+        return players;
+    }
+
+    /**
+     * Últimas partidas archivadas de un jugador por fecha de fin, reconstruidas como {@link Game}.
+     */
+    @Transactional(readOnly = true)
+    public List<Game> findRecentByPlayer(Long playerId, int size) {
+        return archivedGameRepository.findRecentByPlayer(playerId, PageRequest.of(0, size))
+                .stream().map(this::toGame).toList();
+    }
+
+    private ArchivedGame toArchived(Game game) {
+        List<String> moves = game.getMoves() != null ? game.getMoves() : new ArrayList<>();
+
+        ArchivedGame archived = new ArchivedGame();
+        archived.setId(game.getId());
+        archived.setStatus(game.getStatusEnum());
+        archived.setWinner(game.getWinner());
+        archived.setPlayerColor(game.getPlayerColorEnum());
+        archived.setTurn(game.getTurnEnum());
+        archived.setWhiteClock(game.getWhiteClock());
+        archived.setBlackClock(game.getBlackClock());
+        archived.setLastMoveTimestamp(game.getLastMoveTimestamp());
+        archived.setCreatedAt(game.getCreatedAt());
+        archived.setFinishedAt(game.getFinishedAt());
+        archived.setArchivedAt(Instant.now());
+        archived.setMoveCount(moves.size());
+        archived.setCompressedMoves(compress(game.getPackedMoves()));
+        archived.setWhitePlayerId(game.getWhitePlayerId());
+        archived.setBlackPlayerId(game.getBlackPlayerId());
+        archived.setContentHash(game.getContentHash());
+        archived.setMoveTimes(game.getPackedMoveTimes());
+        // El PGN de las partidas jugadas aquí se regenera de los movimientos; el resto
+        // (importadas, sobre todo las anteriores a guardar los movimientos) se conserva tal cual
+        String pgn = game.getPgn();
+        if (pgn != null && !pgn.equals(GameRules.generatePgn(moves))) {
+            byte[] bytes = pgn.getBytes(StandardCharsets.UTF_8);
+            archived.setCompressedPgn(compress(bytes));
+            archived.setPgnLength(bytes.length);
+        }
+        return archived;
+    }
+
+    private Game toGame(ArchivedGame archived) {
+        List<String> moves = MoveCodec.unpack(decompress(archived.getCompressedMoves(), archived.getMoveCount() * 2));
+
+        Game game = new Game(archived.getPlayerColor(), archived.getWhiteClock(), archived.getBlackClock());
+        game.setId(archived.getId());
+        game.setStatusEnum(archived.getStatus());
+        game.setWinner(archived.getWinner());
+        game.setTurnEnum(archived.getTurn());
+        game.setLastMoveTimestamp(archived.getLastMoveTimestamp());
+        game.setCreatedAt(archived.getCreatedAt());
+        game.setFinishedAt(archived.getFinishedAt());
+        game.setMoves(moves);
+        game.setPgn(archived.getCompressedPgn() != null
+                ? new String(decompress(archived.getCompressedPgn(), archived.getPgnLength()), StandardCharsets.UTF_8)
+                : GameRules.generatePgn(moves));
+        game.setWhitePlayerId(archived.getWhitePlayerId());
+        game.setBlackPlayerId(archived.getBlackPlayerId());
+        game.setContentHash(archived.getContentHash());
+        game.setPackedMoveTimes(archived.getMoveTimes());
+        return game;
+    }
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, data.length / 2));
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] data, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] result = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                read += inflater.inflate(result, read, originalLength - read);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Movimientos archivados corruptos", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.chess.service;
+
+import com.github.bhlangonijr.chesslib.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puntos de control de una partida: el FEN cada K plies (plies 0, K, 2K...)
+ * hasta donde llegan los movimientos conocidos. Los movimientos ya jugados no
+ * cambian, así que sirven también para partidas en curso: al crecer la partida
+ * se extienden reproduciendo solo los movimientos nuevos. Inmutable; extender
+ * devuelve una copia.
+ */
+public final class GameCheckpoints {
+
+    private final int interval;
+    private final List<String> fens;
+
+    public GameCheckpoints(int interval, List<String> fens) {
+        if (interval < 1 || fens.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita un intervalo positivo y la posición inicial");
+        }
+        this.interval = interval;
+        this.fens = List.copyOf(fens);
+    }
+
+    /**
+     * Puntos de control vacíos: solo la posición inicial.
+     */
+    public static GameCheckpoints initial(int interval) {
+        return new GameCheckpoints(interval, List.of(new Board().getFen()));
+    }
+
+    public int size() {
+        return fens.size();
+    }
+
+    /**
+     * Ply del último punto de control guardado.
+     */
+    public int lastPly() {
+        return plyOf(fens.size() - 1);
+    }
+
+    /**
+     * Índice del punto de control del que parte la búsqueda de ply: el anterior
+     * o igual a ply entre los guardados.
+     */
+    public int indexFor(int ply) {
+        return Math.min(ply / interval, fens.size() - 1);
+    }
+
+    public int plyOf(int index) {
+        return index * interval;
+    }
+
+    public String fen(int index) {
+        return fens.get(index);
+    }
+
+    /**
+     * Puntos de control de moves: si ya están todos, los mismos; si no, se
+     * añaden los que faltan partiendo del último guardado.
+     */
+    public GameCheckpoints extend(List<String> moves) {
+        int last = moves.size() / interval;
+        if (last < fens.size()) {
+            return this;
+        }
+        List<String> extended = new ArrayList<>(fens);
+        Board board = new Board();
+        board.loadFromFen(fens.get(fens.size() - 1));
+        for (int i = lastPly(); i < plyOf(last); i++) {
+            board.doMove(GameRules.parseAndValidateMove(board, moves.get(i)));
+            if ((i + 1) % interval == 0) {
+                extended.add(board.getFen());
+            }
+        }
+        return new GameCheckpoints(interval, extended);
+    }
+
+    /**
+     * Tablero tras ply medios movimientos: carga el punto de control anterior y
+     * reproduce como mucho K-1 movimientos (más si ply queda por encima de los
+     * puntos guardados; extender antes con moves lo evita).
+     */
+    public Board boardAt(List<String> moves, int ply) {
+        int index = indexFor(ply);
+        Board board = new Board();
+        board.loadFromFen(fens.get(index));
+        for (int i = plyOf(index); i < ply; i++) {
+            board.doMove(GameRules.parseAndValidateMove(board, moves.get(i)));
+        }
+        return board;
+    }
+}
@@ -0,0 +1,167 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.repository.ArchivedGameRepository;
+import com.chess.repository.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicación de partidas importadas por su huella ({@link com.chess.model.GameFingerprint}).
+ *
+ * Un filtro de Bloom en memoria con todas las huellas guardadas descarta sin
+ * consultar la base de datos casi todas las partidas nuevas; solo las que el
+ * filtro da como posibles se comprueban con una consulta por lote. Mientras el
+ * filtro se carga al arrancar, todas las huellas se comprueban en la base de datos.
+ * El índice único sobre games.content_hash cubre las carreras entre importaciones
+ * simultáneas de la misma partida.
+ *
+ * El filtro es de este nodo: no conoce las huellas que guardan otros nodos del
+ * clúster sobre la misma base de datos. Tras un conflicto con el índice único,
+ * quien guarda repite el lote con {@link #filterNewChecked}, que consulta todas
+ * las huellas en la base de datos; las que encuentra pasan también al filtro.
+ */
+@Service
+public class GameDedupService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameDedupService.class);
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${chess.dedup.expected-games:1000000}")
+    private long expectedGames;
+
+    @Value("${chess.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile LongBloomFilter filter;
+    private volatile boolean loaded;
+
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        Long live = jdbcTemplate.queryForObject("SELECT COUNT(content_hash) FROM games", Long.class);
+        Long archived = jdbcTemplate.queryForObject("SELECT COUNT(content_hash) FROM archived_games", Long.class);
+        long existing = (live != null ? live : 0) + (archived != null ? archived : 0);
+
+        // Margen para seguir importando sin que suba la tasa de falsos positivos
+        LongBloomFilter loading = new LongBloomFilter(Math.max(expectedGames, existing * 2), falsePositiveRate);
+        filter = loading; // las importaciones concurrentes ya añaden sus huellas aquí
+        jdbcTemplate.query("SELECT content_hash FROM games WHERE content_hash IS NOT NULL",
+                rs -> { loading.put(rs.getLong(1)); });
+        jdbcTemplate.query("SELECT content_hash FROM archived_games WHERE content_hash IS NOT NULL",
+                rs -> { loading.put(rs.getLong(1)); });
+        loaded = true;
+        log.info("Filtro de duplicados cargado: {} huellas, {} bits, {} hashes ({} ms)", existing,
+                loading.getBitCount(), loading.getHashCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Partidas de la lista que no existen todavía (ni vivas ni archivadas), sin
+     * repetidas dentro de la propia lista. Las partidas sin huella pasan siempre.
+     */
+    public List<Game> filterNew(List<Game> games) {
+        return filterNew(games, false);
+    }
+
+    /**
+     * Igual que {@link #filterNew} pero sin confiar en el filtro de Bloom: todas las
+     * huellas se comprueban en la base de datos. Para repetir un lote que chocó con
+     * el índice único, porque otro nodo guardó alguna de sus partidas.
+     */
+    public List<Game> filterNewChecked(List<Game> games) {
+        return filterNew(games, true);
+    }
+
+    private List<Game> filterNew(List<Game> games, boolean checkAll) {
+        Map<Long, Game> candidates = new LinkedHashMap<>();
+        List<Game> fresh = new ArrayList<>(games.size());
+        List<Long> uncertain = new ArrayList<>();
+        for (Game game : games) {
+            Long hash = game.getContentHash();
+            if (hash == null) {
+                fresh.add(game);
+            } else if (candidates.putIfAbsent(hash, game) == null) {
+                if (!checkAll && loaded && !filter.mightContain(hash)) {
+                    skippedLookups.increment();
+                } else {
+                    uncertain.add(hash);
+                }
+            }
+        }
+
+        Set<Long> existing = uncertain.isEmpty() ? Set.of() : findExisting(uncertain);
+        for (Map.Entry<Long, Game> entry : candidates.entrySet()) {
+            if (!existing.contains(entry.getKey())) {
+                fresh.add(entry.getValue());
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Registra las huellas de partidas recién guardadas.
+     */
+    public void added(Collection<Game> games) {
+        LongBloomFilter current = filter;
+        if (current == null) {
+            return; // la carga inicial las leerá de la base de datos
+        }
+        for (Game game : games) {
+            if (game.getContentHash() != null) {
+                current.put(game.getContentHash());
+            }
+        }
+    }
+
+    public long getSkippedLookups() {
+        return skippedLookups.sum();
+    }
+
+    public long getDatabaseLookups() {
+        return databaseLookups.sum();
+    }
+
+    private Set<Long> findExisting(List<Long> hashes) {
+        databaseLookups.add(hashes.size());
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < hashes.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = hashes.subList(from, Math.min(hashes.size(), from + LOOKUP_CHUNK));
+            existing.addAll(gameRepository.findExistingContentHashes(chunk));
+            existing.addAll(archivedGameRepository.findExistingContentHashes(chunk));
+        }
+        // Pueden venir de otro nodo: así el filtro local deja de darlas por nuevas
+        LongBloomFilter current = filter;
+        if (current != null) {
+            existing.forEach(current::put);
+        }
+        return existing;
+    }
+}
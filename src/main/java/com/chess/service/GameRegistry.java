@@ -0,0 +1,72 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.github.bhlangonijr.chesslib.Board;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tableros en memoria de las partidas que atiende este nodo, para no
+ * reconstruir la posición desde el primer movimiento en cada jugada.
+ *
+ * Un tablero se retira del registro mientras se usa y se devuelve al terminar,
+ * así que dos peticiones simultáneas nunca comparten el mismo objeto Board:
+ * la segunda simplemente lo reconstruye.
+ *
+ * Cada tablero se guarda con la clave Zobrist de su posición y solo se entrega
+ * si coincide con la de la partida tal como está guardada: un tablero que se
+ * devuelve tarde, o el de un movimiento que perdió frente a otro simultáneo,
+ * nunca se usa para validar el siguiente.
+ */
+@Component
+public class GameRegistry {
+
+    private final Map<Long, CachedBoard> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Retira el tablero de la partida si está en la posición actual; null si no hay
+     * o está desfasado (p. ej. porque otro nodo o petición movió mientras tanto).
+     */
+    public Board take(Game game) {
+        CachedBoard cached = boards.remove(game.getId());
+        if (cached == null || cached.ply != game.getMoves().size()
+                || !Long.valueOf(cached.positionKey).equals(game.getPositionKey())) {
+            return null;
+        }
+        return cached.board;
+    }
+
+    /**
+     * Devuelve el tablero de la partida ya guardada (tras confirmar la transacción).
+     */
+    public void put(Game game, Board board) {
+        if (board == null || !game.isActive() || game.getPositionKey() == null) {
+            boards.remove(game.getId());
+            return;
+        }
+        boards.put(game.getId(), new CachedBoard(board, game.getMoves().size(), board.getZobristKey()));
+    }
+
+    public void evictIf(Predicate<Long> predicate) {
+        boards.keySet().removeIf(predicate);
+    }
+
+    public int size() {
+        return boards.size();
+    }
+
+    private static final class CachedBoard {
+        private final Board board;
+        private final int ply;
+        private final long positionKey;
+
+        private CachedBoard(Board board, int ply, long positionKey) {
+            this.board = board;
+            this.ply = ply;
+            this.positionKey = positionKey;
+        }
+    }
+}
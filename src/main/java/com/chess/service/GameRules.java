@@ -0,0 +1,184 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.GameConstants;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveTimes;
+import com.chess.model.Winner;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.Side;
+import com.github.bhlangonijr.chesslib.move.Move;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reglas de la partida sin estado ni persistencia: validación, reloj,
+ * aplicación de movimientos y evaluación del final. Las comparten el servicio
+ * bloqueante (JPA), el modo write-behind y la API reactiva en memoria.
+ */
+public final class GameRules {
+
+    private GameRules() {
+        // Utility class - no instances
+    }
+
+    public static void validateGameCreation(String playerColor, int whiteClock, int blackClock) {
+        if (!GameConstants.COLOR_WHITE.equals(playerColor) && !GameConstants.COLOR_BLACK.equals(playerColor)) {
+            throw new IllegalArgumentException(GameConstants.MSG_INVALID_COLOR);
+        }
+        if (whiteClock <= 0 || blackClock <= 0) {
+            throw new IllegalArgumentException(GameConstants.MSG_INVALID_TIME);
+        }
+    }
+
+    public static void validateMoveRequest(Game game, String moveNotation) {
+        if (moveNotation == null || moveNotation.trim().isEmpty()) {
+            throw new IllegalArgumentException(GameConstants.MSG_EMPTY_MOVE);
+        }
+
+        if (!game.isActive()) {
+            throw new IllegalArgumentException(GameConstants.MSG_GAME_NOT_ACTIVE);
+        }
+    }
+
+    /**
+     * Valida y aplica el movimiento sobre la partida en memoria, sin persistirla.
+     */
+    public static void applyMove(Game game, String moveNotation) {
+        applyMove(game, moveNotation, null);
+    }
+
+    /**
+     * Igual que {@link #applyMove(Game, String)} partiendo de un tablero ya situado
+     * en la posición actual de la partida (se modifica), o null para reconstruirlo.
+     * Devuelve el tablero tras el movimiento, o null si la partida terminó por tiempo.
+     */
+    public static Board applyMove(Game game, String moveNotation, Board board) {
+        validateMoveRequest(game, moveNotation);
+
+        // Tiempo de reflexión de este movimiento, desde el anterior
+        int thinkMillis = MoveTimes.UNKNOWN;
+        if (game.getLastMoveTimestamp() != null) {
+            long elapsed = Duration.between(game.getLastMoveTimestamp(), Instant.now()).toMillis();
+            thinkMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(0, elapsed));
+        }
+
+        // Actualizar tiempo ANTES de aplicar el movimiento
+        updateGameClock(game);
+
+        if (game.isTimedOut()) {
+            applyTimeoutResult(game);
+            return null;
+        }
+
+        if (board == null) {
+            board = reconstructBoard(game.getMoves());
+        }
+
+        // Aplicar movimiento
+        Move move = parseAndValidateMove(board, moveNotation.trim());
+        board.doMove(move);
+
+        // Actualizar estado del juego
+        game.addMove(moveNotation.trim(), thinkMillis);
+        game.setPositionKey(board.getZobristKey());
+
+        // Mover implica rechazar la oferta de tablas pendiente del rival
+        if (game.getDrawOfferedBy() == game.getTurnEnum().opposite()) {
+            game.setDrawOfferedBy(null);
+        }
+        game.setPgn(generatePgn(game.getMoves()));
+
+        // Evaluar estado final
+        evaluateGameState(board, game);
+
+        // Actualizar turno solo si la partida sigue activa
+        if (game.isActive()) {
+            game.switchTurn();
+            game.setLastMoveTimestamp(Instant.now());
+        }
+        return board;
+    }
+
+    public static Board reconstructBoard(List<String> moves) {
+        Board board = new Board();
+        if (moves != null) {
+            for (String moveNotation : moves) {
+                Move move = parseAndValidateMove(board, moveNotation);
+                board.doMove(move);
+            }
+        }
+        return board;
+    }
+
+    public static Move parseAndValidateMove(Board board, String algebraic) {
+        for (Move legalMove : board.legalMoves()) {
+            if (legalMove.toString().equals(algebraic)) {
+                return legalMove;
+            }
+        }
+        throw new IllegalArgumentException(GameConstants.MSG_ILLEGAL_MOVE + algebraic);
+    }
+
+    public static void updateGameClock(Game game) {
+        if (game.getLastMoveTimestamp() != null) {
+            long secondsElapsed = Duration.between(game.getLastMoveTimestamp(), Instant.now()).getSeconds();
+            game.updateClock(secondsElapsed);
+        }
+    }
+
+    public static void applyTimeoutResult(Game game) {
+        if (game.getWhiteClock() <= 0) {
+            game.setStatusEnum(GameStatus.TIMEOUT);
+            game.setWinner(Winner.BLACK);
+        } else {
+            game.setStatusEnum(GameStatus.TIMEOUT);
+            game.setWinner(Winner.WHITE);
+        }
+    }
+
+    public static String generatePgn(List<String> moves) {
+        if (moves == null || moves.isEmpty()) {
+            return GameConstants.EMPTY_PGN;
+        }
+
+        StringBuilder pgnBuilder = new StringBuilder();
+        int moveNumber = 1;
+        boolean whiteToMove = true;
+
+        for (String moveNotation : moves) {
+            if (whiteToMove) {
+                pgnBuilder.append(moveNumber).append(". ");
+            }
+            pgnBuilder.append(moveNotation).append(" ");
+
+            whiteToMove = !whiteToMove;
+            if (whiteToMove) {
+                moveNumber++;
+            }
+        }
+
+        return pgnBuilder.toString().trim();
+    }
+
+    public static void evaluateGameState(Board board, Game game) {
+        if (board.isMated()) {
+            if (board.getSideToMove() == Side.WHITE) {
+                game.setWinner(Winner.BLACK);
+                game.setStatusEnum(GameStatus.MATE);
+            } else {
+                game.setWinner(Winner.WHITE);
+                game.setStatusEnum(GameStatus.MATE);
+            }
+        } else if (board.isStaleMate()) {
+            game.setWinner(Winner.DRAW);
+            game.setStatusEnum(GameStatus.STALEMATE);
+        } else if (board.isDraw()) {
+            game.setWinner(Winner.DRAW);
+            game.setStatusEnum(GameStatus.DRAW);
+        }
+        // Si no es ninguno de los anteriores, el juego continúa activo
+    }
+}
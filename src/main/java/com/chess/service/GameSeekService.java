@@ -0,0 +1,111 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Posición de una partida en cualquier ply (FEN y movimientos legales).
+ *
+ * Los movimientos ya jugados no cambian, así que la primera consulta de una
+ * partida reproduce sus movimientos una vez y guarda el FEN cada K plies
+ * ({@link GameCheckpoints}); las siguientes parten del punto de control anterior
+ * y reproducen como mucho K-1 movimientos. En una partida en curso los puntos se
+ * extienden con los movimientos nuevos en la siguiente consulta. Se guardan en
+ * una caché LRU acotada, que retiene las partidas más vistas.
+ */
+@Service
+public class GameSeekService {
+
+    public record SeekResult(long gameId, int ply, int totalPlies, String fen, String lastMove,
+            List<String> legalMoves) {
+    }
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Value("${chess.seek.checkpoint-interval:10}")
+    private int checkpointInterval;
+
+    @Value("${chess.seek.cache-size:512}")
+    private int cacheSize;
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private Map<Long, GameCheckpoints> checkpoints;
+
+    @PostConstruct
+    void init() {
+        if (checkpointInterval < 1) {
+            throw new IllegalStateException("chess.seek.checkpoint-interval debe ser positivo");
+        }
+        checkpoints = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, GameCheckpoints> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Posición tras ply medios movimientos (0 = posición inicial, null = la última).
+     */
+    public SeekResult seek(Long gameId, Integer ply) {
+        Game game = chessGameService.findGame(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Juego no encontrado"));
+        boolean active = game.isActive();
+        // Copia: la partida en memoria puede recibir movimientos mientras se reproduce
+        List<String> moves = List.copyOf(game.getMoves());
+        int target = ply != null ? ply : moves.size();
+        if (target < 0 || target > moves.size()) {
+            throw new IllegalArgumentException("El ply debe estar entre 0 y " + moves.size());
+        }
+
+        Board board = checkpointsFor(gameId, moves).boardAt(moves, target);
+
+        // En la posición final de una partida terminada ya no hay jugadas
+        List<String> legalMoves = new ArrayList<>();
+        if (active || target < moves.size()) {
+            for (Move move : board.legalMoves()) {
+                legalMoves.add(move.toString());
+            }
+        }
+        return new SeekResult(gameId, target, moves.size(), board.getFen(),
+                target > 0 ? moves.get(target - 1) : null, legalMoves);
+    }
+
+    private GameCheckpoints checkpointsFor(Long gameId, List<String> moves) {
+        GameCheckpoints cached;
+        cacheLock.lock();
+        try {
+            cached = checkpoints.get(gameId);
+        } finally {
+            cacheLock.unlock();
+        }
+
+        // Se calcula fuera del cerrojo; si dos hilos coinciden, se queda la versión más larga
+        GameCheckpoints extended = (cached != null ? cached : GameCheckpoints.initial(checkpointInterval))
+                .extend(moves);
+        if (extended != cached) {
+            cacheLock.lock();
+            try {
+                GameCheckpoints current = checkpoints.get(gameId);
+                if (current == null || current.size() < extended.size()) {
+                    checkpoints.put(gameId, extended);
+                }
+            } finally {
+                cacheLock.unlock();
+            }
+        }
+        return extended;
+    }
+}
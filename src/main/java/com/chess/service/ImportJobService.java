@@ -0,0 +1,292 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.ImportJob;
+import com.chess.model.ImportJobStatus;
+import com.chess.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importaciones PGN asíncronas.
+ *
+ * La subida se guarda en un fichero temporal y el trabajo se encola en un pool
+ * acotado (si la cola está llena se rechaza en lugar de acumular ficheros). Cada
+ * lote de partidas se guarda en la misma transacción que el byte desde el que
+ * continuar, así que un trabajo interrumpido por una caída se reanuda al arrancar
+ * sin repetir ni perder partidas. Las partidas con PGN inválido se cuentan y se
+ * anotan en el trabajo sin detenerlo.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chess.import.dir:${java.io.tmpdir}/chess-imports}")
+    private String importDir;
+
+    @Value("${chess.import.workers:2}")
+    private int workers;
+
+    @Value("${chess.import.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${chess.import.checkpoint-games:100}")
+    private int checkpointGames;
+
+    @Value("${chess.import.max-errors:20}")
+    private int maxErrors;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(Paths.get(importDir));
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "pgn-import-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Los trabajos en curso quedan en RUNNING y se reanudan desde su último punto de control
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reanuda los trabajos pendientes cuyo fichero está en este nodo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        for (ImportJob job : importJobRepository.findByStatusInOrderByIdAsc(
+                EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            if (!Files.exists(Paths.get(job.getFilePath()))) {
+                continue;
+            }
+            try {
+                executor.execute(() -> run(job.getId()));
+                log.info("Reanudando importación {} desde el byte {}", job.getId(), job.getNextOffset());
+            } catch (RejectedExecutionException e) {
+                log.warn("Cola de importación llena: el trabajo {} se reanudará en el próximo arranque", job.getId());
+            }
+        }
+    }
+
+    /**
+     * Guarda la subida en disco y encola el trabajo. Lanza IllegalStateException
+     * si la cola está llena.
+     */
+    public ImportJob submit(InputStream upload, int whiteClock, int blackClock) throws IOException {
+        if (whiteClock < 0 || blackClock < 0) {
+            throw new IllegalArgumentException("El tiempo del reloj no puede ser negativo");
+        }
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new IllegalStateException("La cola de importación está llena, inténtalo más tarde");
+        }
+
+        Path file = Files.createTempFile(Paths.get(importDir), "import-", ".pgn");
+        ImportJob job;
+        try {
+            long size = Files.copy(upload, file, StandardCopyOption.REPLACE_EXISTING);
+            if (size == 0) {
+                throw new IllegalArgumentException("PGN no puede estar vacío");
+            }
+            job = importJobRepository.save(new ImportJob(file.toString(), size, whiteClock, blackClock));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        try {
+            Long jobId = job.getId();
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            importJobRepository.delete(job);
+            Files.deleteIfExists(file);
+            throw new IllegalStateException("La cola de importación está llena, inténtalo más tarde");
+        }
+        log.info("Importación {} encolada ({} bytes)", job.getId(), job.getFileSize());
+        return job;
+    }
+
+    public Optional<ImportJob> findJob(Long id) {
+        return importJobRepository.findById(id);
+    }
+
+    void run(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return;
+        }
+        job.setStatus(ImportJobStatus.RUNNING);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(Instant.now());
+        }
+        job = importJobRepository.save(job);
+
+        Deque<String> errors = new ArrayDeque<>();
+        if (job.getErrors() != null && !job.getErrors().isEmpty()) {
+            errors.addAll(Arrays.asList(job.getErrors().split("\n")));
+        }
+
+        Path file = Paths.get(job.getFilePath());
+        try (InputStream in = new FileInputStream(file.toFile())) {
+            in.skipNBytes(job.getNextOffset());
+            PgnCollectionReader reader = new PgnCollectionReader(new BufferedInputStream(in, 64 * 1024),
+                    job.getNextOffset());
+
+            List<Game> batch = new ArrayList<>(checkpointGames);
+            int failed = 0;
+            long since = System.currentTimeMillis();
+            long offset = job.getNextOffset();
+            PgnCollectionReader.PgnChunk chunk;
+            while ((chunk = reader.next()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Importación {} detenida en el byte {}; se reanudará al arrancar", jobId, offset);
+                    return;
+                }
+                try {
+                    if (chunk.error() != null) {
+                        throw new IllegalArgumentException(chunk.error());
+                    }
+                    batch.add(chessGameService.parsePgn(chunk.text(), job.getWhiteClock(), job.getBlackClock()));
+                } catch (IllegalArgumentException e) {
+                    failed++;
+                    long number = job.getGamesImported() + job.getGamesFailed() + job.getGamesDuplicate()
+                            + batch.size() + failed;
+                    addError(errors, "Partida " + number + " (byte " + chunk.startOffset() + "): " + e.getMessage());
+                }
+                offset = chunk.endOffset();
+
+                if (batch.size() + failed >= checkpointGames) {
+                    job = checkpoint(job, batch, failed, offset, since, errors);
+                    batch.clear();
+                    failed = 0;
+                    since = System.currentTimeMillis();
+                }
+            }
+            job = checkpoint(job, batch, failed, offset, since, errors);
+            finish(job, ImportJobStatus.COMPLETED, errors);
+            log.info("Importación {} terminada: {} partidas, {} duplicadas, {} con error ({} partidas/s)", jobId,
+                    job.getGamesImported(), job.getGamesDuplicate(), job.getGamesFailed(),
+                    String.format("%.1f", job.getGamesPerSecond()));
+        } catch (Exception e) {
+            if (interrupted(e)) {
+                // Parada del ejecutor a mitad de una escritura: sigue RUNNING y conserva su fichero
+                log.info("Importación {} interrumpida; se reanudará al arrancar", jobId);
+                return;
+            }
+            log.error("Importación {} fallida", jobId, e);
+            addError(errors, "Error fatal: " + e.getMessage());
+            finish(importJobRepository.findById(jobId).orElse(job), ImportJobStatus.FAILED, errors);
+        }
+    }
+
+    // La interrupción puede llegar como excepción del driver o de E/S, y el flag ya limpio
+    private static boolean interrupted(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof InterruptedIOException
+                    || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Guarda el lote y el punto de reanudación de forma atómica
+    private ImportJob checkpoint(ImportJob job, List<Game> batch, int failed, long offset, long since,
+            Deque<String> errors) {
+        try {
+            return saveCheckpoint(job, batch, failed, offset, since, errors, false);
+        } catch (DataIntegrityViolationException e) {
+            // Otra importación (quizá de otro nodo, que el filtro local no ve) guardó a la vez alguna
+            // de estas partidas: al repetir consultando todas las huellas se detectan como duplicadas
+            log.debug("Conflicto de huellas en la importación {}, se repite el lote", job.getId());
+            batch.forEach(game -> game.setId(null));
+            return saveCheckpoint(importJobRepository.findById(job.getId()).orElse(job), batch, failed, offset,
+                    since, errors, true);
+        }
+    }
+
+    private ImportJob saveCheckpoint(ImportJob job, List<Game> batch, int failed, long offset, long since,
+            Deque<String> errors, boolean recheck) {
+        return transactionTemplate.execute(status -> {
+            int saved = batch.isEmpty() ? 0 : chessGameService.saveImported(batch, recheck).size();
+            job.setNextOffset(offset);
+            job.setGamesImported(job.getGamesImported() + saved);
+            job.setGamesDuplicate(job.getGamesDuplicate() + batch.size() - saved);
+            job.setGamesFailed(job.getGamesFailed() + failed);
+            job.setActiveMillis(job.getActiveMillis() + System.currentTimeMillis() - since);
+            job.setErrors(String.join("\n", errors));
+            return importJobRepository.save(job);
+        });
+    }
+
+    private void finish(ImportJob job, ImportJobStatus status, Deque<String> errors) {
+        job.setStatus(status);
+        job.setErrors(String.join("\n", errors));
+        job.setFinishedAt(Instant.now());
+        importJobRepository.save(job);
+        try {
+            Files.deleteIfExists(Paths.get(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el fichero de la importación {}", job.getId(), e);
+        }
+    }
+
+    private void addError(Deque<String> errors, String message) {
+        errors.addLast(message.replace('\n', ' '));
+        while (errors.size() > maxErrors) {
+            errors.removeFirst();
+        }
+    }
+}
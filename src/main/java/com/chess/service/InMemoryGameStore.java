@@ -0,0 +1,112 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Almacén en memoria de las partidas de la API reactiva. No toca la base de
+ * datos: las partidas viven mientras dure el proceso. Las terminadas se
+ * descartan pasado el periodo de retención, y las activas cuando se agota el
+ * reloj del jugador al que le toca o llevan demasiado tiempo sin movimientos.
+ * El número de partidas está acotado: crear partidas no puede agotar la memoria.
+ *
+ * Los ids son negativos para no coincidir nunca con los de la base de datos
+ * (identidad positiva): un id de /reactive/games no se confunde con una
+ * partida de /games ni con sus índices, estadísticas o exportaciones.
+ */
+@Component
+public class InMemoryGameStore {
+
+    // Cerrojos por franjas de ids: acotados aunque se pidan para partidas ya descartadas
+    private static final int LOCK_STRIPES = 1024;
+
+    private final Map<Long, Game> games = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong ids = new AtomicLong();
+
+    @Value("${chess.reactive.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${chess.reactive.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${chess.reactive.max-games:100000}")
+    private int maxGames;
+
+    public InMemoryGameStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Game add(Game game) {
+        if (games.size() >= maxGames) {
+            throw new IllegalStateException("Demasiadas partidas en memoria; inténtalo más tarde");
+        }
+        game.setId(-ids.incrementAndGet());
+        games.put(game.getId(), game);
+        return game;
+    }
+
+    public Game get(Long id) {
+        return games.get(id);
+    }
+
+    public ReentrantLock lockFor(Long id) {
+        return locks[Math.floorMod(Long.hashCode(id), LOCK_STRIPES)];
+    }
+
+    @Scheduled(fixedDelayString = "${chess.reactive.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        Instant finishedCutoff = now.minus(Duration.ofMinutes(retentionMinutes));
+        Instant idleCutoff = now.minus(Duration.ofMinutes(idleMinutes));
+        for (Long id : games.keySet()) {
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                Game game = games.get(id);
+                if (game == null) {
+                    continue;
+                }
+                Instant lastActivity = lastActivity(game);
+                boolean expired = game.isActive()
+                        ? lastActivity.isBefore(idleCutoff) || clockExpired(game, now)
+                        : lastActivity.isBefore(finishedCutoff);
+                if (expired) {
+                    games.remove(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // El reloj solo corre desde el primer movimiento
+    private static boolean clockExpired(Game game, Instant now) {
+        if (game.getLastMoveTimestamp() == null) {
+            return false;
+        }
+        long elapsed = Duration.between(game.getLastMoveTimestamp(), now).getSeconds();
+        return game.getCurrentPlayerClock() - elapsed <= 0;
+    }
+
+    private static Instant lastActivity(Game game) {
+        if (game.getLastMoveTimestamp() != null) {
+            return game.getLastMoveTimestamp();
+        }
+        LocalDateTime createdAt = game.getCreatedAt();
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
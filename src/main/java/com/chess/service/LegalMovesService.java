@@ -0,0 +1,156 @@
+package com.chess.service;
+
+import com.chess.event.GameEndedEvent;
+import com.chess.event.MoveAppliedEvent;
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Movimientos legales de la posición actual, agrupados por casilla de origen
+ * en un formato compacto: "e2:e3,e4 g1:f3,h3" (coronaciones con la pieza, "a7:a8q,a8n").
+ *
+ * Dos cachés LRU: por clave Zobrist, compartida por todas las partidas que
+ * pasan por la misma posición, y por partida, para responder a los
+ * espectadores sin cargar la partida. La de partida se invalida con cada
+ * movimiento aplicado y al terminar la partida (abandono, tiempo, tablas o
+ * adjudicación, que no cambian el ply); una lectura que llegue tarde con un ply
+ * anterior, o todavía activa con el mismo ply, no puede volver a escribir una
+ * entrada ya invalidada.
+ */
+@Service
+public class LegalMovesService {
+
+    public record LegalMoves(long positionHash, int ply, boolean active, String encoded) {
+    }
+
+    @Autowired
+    private ChessGameService chessGameService;
+
+    @Value("${chess.legal-moves.cache-size:4096}")
+    private int cacheSize;
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private Map<Long, String> byPosition;
+    private Map<Long, LegalMoves> byGame;
+
+    @PostConstruct
+    void init() {
+        byPosition = lruMap();
+        byGame = lruMap();
+    }
+
+    public LegalMoves legalMoves(Long gameId) {
+        cacheLock.lock();
+        try {
+            LegalMoves cached = byGame.get(gameId);
+            if (cached != null && cached.encoded() != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        LegalMoves computed = chessGameService.inspectCurrentPosition(gameId, (game, board) -> {
+            long hash = board.getZobristKey();
+            int ply = game.getMoves().size();
+            if (!game.isActive()) {
+                return new LegalMoves(hash, ply, false, "");
+            }
+            return new LegalMoves(hash, ply, true, encodedFor(hash, board));
+        });
+
+        cacheLock.lock();
+        try {
+            LegalMoves current = byGame.get(gameId);
+            if (current == null || current.ply() < computed.ply()
+                    || (current.ply() == computed.ply() && (current.active() || !computed.active()))) {
+                byGame.put(gameId, computed);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        return computed;
+    }
+
+    // Deja una marca con el ply nuevo: invalida la entrada y bloquea escrituras con plies anteriores
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoveAppliedEvent event) {
+        cacheLock.lock();
+        try {
+            byGame.put(event.gameId(), new LegalMoves(event.positionHash(), event.ply(), true, null));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    // Marca de partida terminada: con el mismo ply, solo una lectura ya inactiva puede sustituirla
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameEndedEvent event) {
+        cacheLock.lock();
+        try {
+            byGame.put(event.gameId(), new LegalMoves(0L, event.plies(), false, null));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private String encodedFor(long hash, Board board) {
+        cacheLock.lock();
+        try {
+            String cached = byPosition.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        String encoded = encode(board.legalMoves());
+        cacheLock.lock();
+        try {
+            byPosition.put(hash, encoded);
+        } finally {
+            cacheLock.unlock();
+        }
+        return encoded;
+    }
+
+    static String encode(List<Move> moves) {
+        Map<String, StringBuilder> byOrigin = new LinkedHashMap<>();
+        for (Move move : moves) {
+            String lan = move.toString();
+            StringBuilder targets = byOrigin.computeIfAbsent(lan.substring(0, 2), origin -> new StringBuilder());
+            if (targets.length() > 0) {
+                targets.append(',');
+            }
+            targets.append(lan, 2, lan.length());
+        }
+        StringBuilder encoded = new StringBuilder();
+        byOrigin.forEach((origin, targets) -> {
+            if (encoded.length() > 0) {
+                encoded.append(' ');
+            }
+            encoded.append(origin).append(':').append(targets);
+        });
+        return encoded.toString();
+    }
+
+    private <V> Map<Long, V> lruMap() {
+        return new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+}
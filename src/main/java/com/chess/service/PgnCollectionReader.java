@@ -0,0 +1,143 @@
+package com.chess.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Divide un fichero PGN con varias partidas en partidas sueltas, llevando la
+ * cuenta del byte en que termina cada una para poder reanudar la lectura.
+ * Una partida empieza en una línea de etiqueta ('[') que sigue a texto de
+ * movimientos; las partidas sin etiquetas separadas por una línea en blanco
+ * también se reconocen.
+ *
+ * Una partida de más de 1 MB (o con una línea de ese tamaño) no se acumula en
+ * memoria: se salta hasta el comienzo de la siguiente y se entrega sin texto y
+ * con el motivo en {@link PgnChunk#error()}, para contarla como fallida y seguir.
+ */
+public class PgnCollectionReader {
+
+    public record PgnChunk(String text, long startOffset, long endOffset, String error) {
+    }
+
+    private static final int MAX_GAME_BYTES = 1024 * 1024;
+
+    private final InputStream in;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+    private final StringBuilder game = new StringBuilder(1024);
+
+    private long offset;
+    private long gameStart;
+    private boolean inMoves;
+    private boolean oversized;
+    private boolean lineTruncated;
+    private boolean blankAfterMoves;
+    private String pendingLine;
+    private boolean eof;
+
+    /**
+     * in debe estar posicionado en el byte offset del fichero (inicio de una partida).
+     */
+    public PgnCollectionReader(InputStream in, long offset) {
+        this.in = in;
+        this.offset = offset;
+        this.gameStart = offset;
+    }
+
+    /**
+     * Siguiente partida, o null al final del fichero.
+     */
+    public PgnChunk next() throws IOException {
+        if (pendingLine != null) {
+            // Primera línea de esta partida, leída al cerrar la anterior
+            append(pendingLine, pendingLine.trim());
+            pendingLine = null;
+        }
+        while (!eof) {
+            long lineStart = offset;
+            String text = readLine();
+            if (text == null) {
+                eof = true;
+                break;
+            }
+            String trimmed = text.trim();
+
+            boolean startsNewGame = inMoves && (trimmed.startsWith("[") || (blankAfterMoves && !trimmed.isEmpty()));
+            if (startsNewGame) {
+                PgnChunk chunk = chunk(lineStart);
+                blankAfterMoves = false;
+                pendingLine = text;
+                return chunk;
+            }
+            append(text, trimmed);
+        }
+
+        if (!oversized && game.toString().isBlank()) {
+            return null;
+        }
+        return chunk(offset);
+    }
+
+    // Cierra la partida en curso en el byte end y deja el lector al comienzo de la siguiente
+    private PgnChunk chunk(long end) {
+        PgnChunk chunk = oversized
+                ? new PgnChunk("", gameStart, end, "Partida de más de " + MAX_GAME_BYTES / 1024 + " KB")
+                : new PgnChunk(game.toString(), gameStart, end, null);
+        game.setLength(0);
+        inMoves = false;
+        oversized = false;
+        gameStart = end;
+        return chunk;
+    }
+
+    private void append(String text, String trimmed) {
+        if (trimmed.isEmpty()) {
+            if (inMoves) {
+                blankAfterMoves = true;
+            }
+        } else if (!trimmed.startsWith("[") && !trimmed.startsWith("%")) {
+            inMoves = true;
+        }
+        if (lineTruncated || game.length() + text.length() > MAX_GAME_BYTES) {
+            // El resto de la partida se lee solo para encontrar dónde empieza la siguiente
+            oversized = true;
+            game.setLength(0);
+        }
+        if (!oversized) {
+            game.append(text).append('\n');
+        }
+    }
+
+    // Lee una línea en bytes (para contar offsets exactos) y la decodifica como UTF-8.
+    // De una línea demasiado larga solo se guarda el principio (ver lineTruncated)
+    private String readLine() throws IOException {
+        line.reset();
+        lineTruncated = false;
+        int b;
+        boolean any = false;
+        while ((b = in.read()) != -1) {
+            any = true;
+            offset++;
+            if (b == '\n') {
+                break;
+            }
+            if (line.size() < MAX_GAME_BYTES) {
+                line.write(b);
+            } else {
+                lineTruncated = true;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        return text;
+    }
+}
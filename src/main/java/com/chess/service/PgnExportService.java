@@ -0,0 +1,218 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
+import com.chess.model.Player;
+import com.chess.model.Winner;
+import com.chess.repository.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exportación de partidas a PGN en streaming.
+ *
+ * Recorre las partidas por clave en lotes de tamaño fijo ({@link ExportBatches})
+ * y escribe cada lote en la salida antes de pedir el siguiente: la memoria no
+ * depende del número de partidas y el cliente recibe datos desde el primer lote.
+ */
+@Service
+public class PgnExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PgnExportService.class);
+
+    private static final DateTimeFormatter PGN_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final int MAX_LINE_LENGTH = 80;
+
+    @Autowired
+    private ExportBatches exportBatches;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Value("${chess.export.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Escribe en out todas las partidas (vivas y archivadas) que cumplen el filtro.
+     * Devuelve el número de partidas exportadas.
+     */
+    public long export(ExportBatches.ExportFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long exported = exportBatches.forEachBatch(filter, batchSize, batch -> writeBatch(batch, writer));
+        writer.flush();
+        log.debug("Exportadas {} partidas a PGN", exported);
+        return exported;
+    }
+
+    private void writeBatch(List<Game> batch, Writer writer) throws IOException {
+        Map<Long, String> usernames = usernamesFor(batch);
+        for (Game game : batch) {
+            writeGame(game, usernames, writer);
+        }
+        // Un lote es un trozo de la respuesta: se envía antes de leer el siguiente
+        writer.flush();
+    }
+
+    private Map<Long, String> usernamesFor(List<Game> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (Game game : batch) {
+            if (game.getWhitePlayerId() != null) {
+                ids.add(game.getWhitePlayerId());
+            }
+            if (game.getBlackPlayerId() != null) {
+                ids.add(game.getBlackPlayerId());
+            }
+        }
+        Map<Long, String> usernames = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Player player : playerRepository.findAllById(ids)) {
+                usernames.put(player.getId(), player.getUsername());
+            }
+        }
+        return usernames;
+    }
+
+    void writeGame(Game game, Map<Long, String> usernames, Writer writer) throws IOException {
+        writeGame(game, usernames, null, writer);
+    }
+
+    private void writeGame(Game game, Map<Long, String> usernames, List<String> annotations, Writer writer)
+            throws IOException {
+        writeGame(game, "Partida en línea", "-", usernames.getOrDefault(game.getWhitePlayerId(), "?"),
+                usernames.getOrDefault(game.getBlackPlayerId(), "?"), annotations, writer);
+    }
+
+    /**
+     * Escribe una partida de la aplicación con un texto tras cada jugada
+     * (NAG y comentario, p. ej. "$4 {Mejor era Cf3}"); annotations.get(i)
+     * corresponde a la jugada i + 1 y puede ser null.
+     */
+    public void writeAnnotated(Game game, List<String> annotations, Writer writer) throws IOException {
+        writeGame(game, usernamesFor(List.of(game)), annotations, writer);
+    }
+
+    /**
+     * Escribe una partida con cabecera propia (partidas entre motores, que no
+     * tienen jugadores registrados ni id).
+     */
+    public void writeGame(Game game, String event, String round, String white, String black, Writer writer)
+            throws IOException {
+        writeGame(game, event, round, white, black, null, writer);
+    }
+
+    /**
+     * Igual, con un texto tras cada jugada (ver {@link #writeAnnotated}).
+     */
+    public void writeGame(Game game, String event, String round, String white, String black,
+            List<String> annotations, Writer writer) throws IOException {
+        String result = result(game);
+        List<String> moves = game.getMoves();
+
+        tag(writer, "Event", event);
+        tag(writer, "Site", "?");
+        tag(writer, "Date", game.getCreatedAt() != null ? game.getCreatedAt().format(PGN_DATE) : "????.??.??");
+        tag(writer, "Round", round);
+        tag(writer, "White", white);
+        tag(writer, "Black", black);
+        tag(writer, "Result", result);
+        if (game.getId() != null) {
+            tag(writer, "GameId", String.valueOf(game.getId()));
+        }
+        tag(writer, "PlyCount", String.valueOf(moves.size()));
+        tag(writer, "Termination", termination(game.getStatusEnum()));
+        writer.write('\n');
+
+        List<String> san;
+        try {
+            san = MoveCodec.toSan(moves);
+        } catch (IllegalArgumentException e) {
+            // Una partida con movimientos corruptos no debe cortar la exportación completa
+            log.warn("Partida {} exportada en LAN: {}", game.getId(), e.getMessage());
+            san = moves;
+        }
+
+        int lineLength = 0;
+        boolean annotated = false;
+        for (int i = 0; i <= san.size(); i++) {
+            String token;
+            if (i == san.size()) {
+                token = result;
+            } else if (i % 2 == 0) {
+                token = (i / 2 + 1) + ". " + san.get(i);
+            } else {
+                // Tras un comentario, la jugada de negras vuelve a llevar número ("12... Cf6")
+                token = annotated ? (i / 2 + 1) + "... " + san.get(i) : san.get(i);
+            }
+            String annotation = annotations != null && i < annotations.size() ? annotations.get(i) : null;
+            annotated = annotation != null && !annotation.isEmpty();
+            if (annotated) {
+                token = token + " " + annotation;
+            }
+            if (lineLength > 0 && lineLength + 1 + token.length() > MAX_LINE_LENGTH) {
+                writer.write('\n');
+                lineLength = 0;
+            } else if (lineLength > 0) {
+                writer.write(' ');
+                lineLength++;
+            }
+            writer.write(token);
+            lineLength += token.length();
+        }
+        writer.write("\n\n");
+    }
+
+    private static void tag(Writer writer, String name, String value) throws IOException {
+        writer.write('[');
+        writer.write(name);
+        writer.write(" \"");
+        writer.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        writer.write("\"]\n");
+    }
+
+    /**
+     * Resultado en notación PGN ("1-0", "0-1", "1/2-1/2" o "*").
+     */
+    public static String result(Game game) {
+        if (game.isActive()) {
+            return "*";
+        }
+        Winner winner = game.getWinner();
+        if (winner == Winner.WHITE) {
+            return "1-0";
+        }
+        if (winner == Winner.BLACK) {
+            return "0-1";
+        }
+        return winner == Winner.DRAW ? "1/2-1/2" : "*";
+    }
+
+    private static String termination(GameStatus status) {
+        switch (status) {
+            case ACTIVE:
+                return "unterminated";
+            case TIMEOUT:
+                return "time forfeit";
+            case ADJUDICATED:
+                return "adjudication";
+            default:
+                return "normal";
+        }
+    }
+}
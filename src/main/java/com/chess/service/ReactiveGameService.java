@@ -0,0 +1,50 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.GameConstants;
+import com.chess.model.PlayerColor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Variante no bloqueante de crear, mover y consultar partidas. Usa las mismas
+ * reglas que {@link ChessGameService} ({@link GameRules}) sobre un almacén en
+ * memoria, así que ninguna operación espera a E/S y puede ejecutarse en el
+ * bucle de eventos sin ocupar un hilo por conexión.
+ */
+@Service
+public class ReactiveGameService {
+
+    @Autowired
+    private InMemoryGameStore gameStore;
+
+    public Mono<Game> createGame(String playerColor, int whiteClock, int blackClock) {
+        return Mono.fromSupplier(() -> {
+            GameRules.validateGameCreation(playerColor, whiteClock, blackClock);
+            return gameStore.add(new Game(PlayerColor.fromString(playerColor), whiteClock, blackClock));
+        });
+    }
+
+    public Mono<Game> applyMove(Long gameId, String moveNotation) {
+        return findGame(gameId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(GameConstants.MSG_GAME_NOT_FOUND)))
+                .map(game -> {
+                    // El cerrojo solo cubre cálculo en memoria; nunca se mantiene durante E/S
+                    ReentrantLock lock = gameStore.lockFor(gameId);
+                    lock.lock();
+                    try {
+                        GameRules.applyMove(game, moveNotation);
+                        return game;
+                    } finally {
+                        lock.unlock();
+                    }
+                });
+    }
+
+    public Mono<Game> findGame(Long gameId) {
+        return Mono.fromSupplier(() -> gameStore.get(gameId));
+    }
+}
@@ -0,0 +1,452 @@
+package com.chess.service;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveTimes;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.repository.GameRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Persistencia diferida (write-behind) de las partidas en curso.
+ *
+ * Con chess.write-behind.enabled=true las partidas se mantienen en memoria:
+ * cada cambio se anota en un diario local sincronizado a disco (fsync) antes
+ * de confirmarse al cliente, y un proceso periódico vuelca por lotes las
+ * partidas modificadas a la base de datos. Al arrancar se reaplica lo que
+ * quedara en el diario sin volcar.
+ *
+ * Formato del diario: una línea por cambio,
+ * gameId|ply|move|whiteClock|blackClock|turn|status|winner|lastMoveMillis|drawOfferedBy|thinkMillis
+ * (move y thinkMillis vacíos para cambios de estado sin movimiento, p. ej.
+ * timeout; las líneas antiguas de 10 campos no tienen thinkMillis).
+ */
+@Component
+public class WriteBehindGameStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindGameStore.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // Cerrojos por franjas de ids: acotados aunque se bloqueen partidas que nunca se cargan
+    // (p. ej. la adjudicación sobre la copia de la base de datos)
+    private static final int LOCK_STRIPES = 1024;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${chess.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chess.write-behind.journal-dir:data/journal}")
+    private String journalDir;
+
+    private final Map<Long, Game> games = new ConcurrentHashMap<>();
+    private final ReentrantLock[] gameLocks = new ReentrantLock[LOCK_STRIPES];
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // ReentrantLock y no synchronized: el fsync bajo un monitor fijaría el hilo
+    // portador cuando las peticiones se atienden con hilos virtuales
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private FileChannel journal;
+    private long segment;
+    // Partidas que este nodo puede cargar (todas salvo que el clúster las reparta)
+    private volatile Predicate<Long> owned = gameId -> true;
+
+    public WriteBehindGameStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            gameLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Game get(Long gameId) {
+        return enabled ? games.get(gameId) : null;
+    }
+
+    public boolean contains(Long gameId) {
+        return enabled && games.containsKey(gameId);
+    }
+
+    /**
+     * Cerrojo de la partida: protege la aplicación de un cambio y su anotación en el diario,
+     * y la carga de la partida en memoria. Partidas distintas pueden compartir cerrojo.
+     */
+    public Lock lockFor(Long gameId) {
+        return gameLocks[Math.floorMod(Long.hashCode(gameId), LOCK_STRIPES)];
+    }
+
+    /**
+     * Devuelve la partida en memoria, cargándola de la base de datos (desacoplada
+     * del contexto de persistencia) la primera vez. Null si no está en las tablas vivas.
+     * Debe llamarse con el cerrojo de la partida tomado.
+     */
+    public Game getOrLoad(Long gameId) {
+        if (!owned.test(gameId)) {
+            throw new IllegalStateException("La partida pertenece a otro nodo; repite la petición");
+        }
+        Game cached = games.get(gameId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Game loaded = transactionTemplate.execute(status -> {
+            Game game = gameRepository.findById(gameId).orElse(null);
+            if (game != null) {
+                game.getMoves(); // materializar antes de desacoplar
+                entityManager.detach(game);
+            }
+            return game;
+        });
+        if (loaded == null) {
+            return null;
+        }
+        Game previous = games.putIfAbsent(gameId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    /**
+     * Anota en el diario el estado actual de la partida tras un cambio.
+     * Debe llamarse con el cerrojo de la partida ({@link #lockFor}) tomado.
+     */
+    public void append(Game game, String move) {
+        // Marcar antes de escribir: un volcado que rote el diario tras esta línea
+        // verá la partida como pendiente y no perderá el cambio
+        dirty.add(game.getId());
+
+        String record = game.getId() + "|" + game.getMoves().size() + "|" + (move != null ? move : "")
+                + "|" + game.getWhiteClock() + "|" + game.getBlackClock()
+                + "|" + game.getTurnEnum() + "|" + game.getStatusEnum() + "|" + game.getWinner()
+                + "|" + (game.getLastMoveTimestamp() != null ? game.getLastMoveTimestamp().toEpochMilli() : "")
+                + "|" + (game.getDrawOfferedBy() != null ? game.getDrawOfferedBy() : "")
+                + "|" + (move != null ? game.getMoveTimes()[game.getMoves().size() - 1] : "") + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(record.getBytes(StandardCharsets.UTF_8));
+
+        journalLock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el diario de movimientos", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Vuelca a la base de datos las partidas modificadas y descarta los
+     * segmentos de diario que ya quedan cubiertos por ese volcado.
+     */
+    @Scheduled(fixedDelayString = "${chess.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled || journal == null) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            long sealedUpTo = rotateJournal();
+
+            List<Long> ids = new ArrayList<>(dirty);
+            dirty.removeAll(ids);
+            if (!ids.isEmpty()) {
+                Map<Long, Game> merged = new LinkedHashMap<>();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (Long id : ids) {
+                            Game game = games.get(id);
+                            if (game == null) {
+                                continue;
+                            }
+                            Lock lock = lockFor(id);
+                            lock.lock();
+                            try {
+                                merged.put(id, entityManager.merge(game));
+                            } finally {
+                                lock.unlock();
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    dirty.addAll(ids);
+                    log.error("Fallo al volcar {} partidas; se reintentará", ids.size(), e);
+                    return;
+                }
+
+                // La copia en memoria sigue desacoplada: adopta la versión que acaba de escribirse
+                merged.forEach((id, managed) -> {
+                    Game game = games.get(id);
+                    if (game != null) {
+                        Lock lock = lockFor(id);
+                        lock.lock();
+                        try {
+                            game.setVersion(managed.getVersion());
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                });
+
+                // Las partidas terminadas ya no reciben movimientos
+                for (Long id : ids) {
+                    Lock lock = lockFor(id);
+                    lock.lock();
+                    try {
+                        Game game = games.get(id);
+                        if (game != null && !game.isActive() && !dirty.contains(id)) {
+                            games.remove(id);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+
+            deleteSegmentsUpTo(sealedUpTo);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Entrega a otro nodo las partidas en memoria que cumplan leaving. Con todos
+     * los cerrojos de partida tomados (ningún cambio en curso ni nuevo) las vuelca
+     * a la base de datos, las descarta y solo entonces ejecuta handOver, que
+     * publica el nuevo reparto. Si el volcado falla se lanza la excepción, nada se
+     * descarta y el reparto no cambia. A partir de aquí solo se cargan las
+     * partidas que cumplan owned: un cambio que llegó con el reparto anterior y
+     * esperaba su cerrojo no puede volver a cargar una partida ya entregada.
+     */
+    public void handOff(Predicate<Long> leaving, Predicate<Long> owned, Runnable handOver) {
+        if (!enabled) {
+            handOver.run();
+            return;
+        }
+
+        flushLock.lock();
+        for (ReentrantLock lock : gameLocks) {
+            lock.lock();
+        }
+        try {
+            List<Long> ids = games.keySet().stream().filter(leaving).toList();
+            if (!ids.isEmpty()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (Long id : ids) {
+                            entityManager.merge(games.get(id));
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("No se pudieron volcar las partidas a entregar; "
+                            + "el reparto no cambia", e);
+                }
+                ids.forEach(games::remove);
+                dirty.removeAll(ids);
+                log.info("Entregadas {} partidas en memoria tras volcarlas", ids.size());
+            }
+            this.owned = owned;
+            handOver.run();
+        } finally {
+            for (int i = gameLocks.length - 1; i >= 0; i--) {
+                gameLocks[i].unlock();
+            }
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Reaplica el diario pendiente tras un reinicio y lo vuelca de inmediato,
+     * antes de que el servidor empiece a aceptar movimientos.
+     */
+    @PostConstruct
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Path dir = Paths.get(journalDir);
+            Files.createDirectories(dir);
+
+            Map<Long, List<String[]>> pending = new LinkedHashMap<>();
+            for (Path path : listSegments(dir)) {
+                segment = Math.max(segment, segmentNumber(path));
+                try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = parseRecord(line);
+                        if (fields != null) {
+                            pending.computeIfAbsent(Long.parseLong(fields[0]), id -> new ArrayList<>()).add(fields);
+                        }
+                    }
+                }
+            }
+
+            openSegment(segment + 1);
+
+            for (Map.Entry<Long, List<String[]>> entry : pending.entrySet()) {
+                Game game = getOrLoad(entry.getKey());
+                if (game == null) {
+                    continue;
+                }
+                for (String[] fields : entry.getValue()) {
+                    replay(game, fields);
+                }
+                game.setPgn(GameRules.generatePgn(game.getMoves()));
+                dirty.add(game.getId());
+            }
+            if (!pending.isEmpty()) {
+                log.info("Recuperadas {} partidas del diario de movimientos", pending.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo recuperar el diario de movimientos", e);
+        }
+
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled && journal != null) {
+            flush();
+            journalLock.lock();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Error al cerrar el diario", e);
+            } finally {
+                journalLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Campos de una línea del diario, o null si está incompleta: una escritura
+     * interrumpida nunca se confirmó al cliente. Las líneas de 10 campos se
+     * escribieron antes de guardar el tiempo por movimiento.
+     */
+    public static String[] parseRecord(String line) {
+        String[] fields = line.split("\\|", -1);
+        return fields.length == 10 || fields.length == 11 ? fields : null;
+    }
+
+    /**
+     * Reaplica una línea del diario sobre la partida cargada de la base de datos.
+     * Las líneas que el volcado ya cubría (ply distinto del conocido) se ignoran.
+     */
+    public static void replay(Game game, String[] fields) {
+        int ply = Integer.parseInt(fields[1]);
+        String move = fields[2];
+        int known = game.getMoves().size();
+
+        if (!move.isEmpty() && ply == known + 1) {
+            // Las líneas anteriores al tiempo por movimiento no lo traen
+            boolean timed = fields.length > 10 && !fields[10].isEmpty();
+            game.addMove(move, timed ? Integer.parseInt(fields[10]) : MoveTimes.UNKNOWN);
+            game.setPositionKey(null); // sin tablero: se desconoce hasta el siguiente movimiento
+        } else if (ply != known) {
+            return; // ya volcado antes del reinicio
+        }
+
+        game.setWhiteClock(Integer.parseInt(fields[3]));
+        game.setBlackClock(Integer.parseInt(fields[4]));
+        game.setTurnEnum(PlayerColor.valueOf(fields[5]));
+        game.setStatusEnum(GameStatus.valueOf(fields[6].toUpperCase()));
+        game.setWinner(Winner.valueOf(fields[7]));
+        game.setLastMoveTimestamp(fields[8].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(fields[8])));
+        game.setDrawOfferedBy(fields[9].isEmpty() ? null : PlayerColor.valueOf(fields[9]));
+    }
+
+    private long rotateJournal() {
+        journalLock.lock();
+        try {
+            long sealed = segment;
+            journal.close();
+            openSegment(segment + 1);
+            return sealed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo rotar el diario de movimientos", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = number;
+        journal = FileChannel.open(Paths.get(journalDir, SEGMENT_PREFIX + number + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void deleteSegmentsUpTo(long number) {
+        try {
+            for (Path path : listSegments(Paths.get(journalDir))) {
+                if (segmentNumber(path) <= number) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("No se pudieron borrar segmentos antiguos del diario", e);
+        }
+    }
+
+    private List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted(Comparator.comparingLong(this::segmentNumber))
+                    .toList();
+        }
+    }
+
+    private long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,271 @@
+package com.chess.stats;
+
+import com.chess.event.GameCreatedEvent;
+import com.chess.event.GameEndedEvent;
+import com.chess.event.MoveAppliedEvent;
+import com.chess.model.GameStatus;
+import com.chess.model.Winner;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Modelo de lectura de estadísticas, mantenido a partir de los eventos de partida.
+ *
+ * Cada evento solo incrementa contadores (LongAdder, sin contención entre hilos)
+ * o actualiza un top-N acotado, así que consultar las estadísticas no depende
+ * del tamaño del histórico. El estado se guarda periódicamente en disco y se
+ * recarga al arrancar; lo ocurrido desde la última instantánea se pierde si el
+ * proceso cae, por lo que las cifras son aproximadas tras un fallo.
+ */
+@Component
+public class GameStatsProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(GameStatsProjector.class);
+
+    public record LongestGame(long gameId, int plies) {
+    }
+
+    @Value("${chess.stats.snapshot-file:data/stats/stats-snapshot.properties}")
+    private String snapshotFile;
+
+    @Value("${chess.stats.top-size:10}")
+    private int topSize;
+
+    private final LongAdder gamesCreated = new LongAdder();
+    private final LongAdder gamesImported = new LongAdder();
+    private final LongAdder movesApplied = new LongAdder();
+    private final LongAdder gamesEnded = new LongAdder();
+    private final LongAdder endedPlies = new LongAdder();
+    private final Map<GameStatus, LongAdder> endedByStatus = new EnumMap<>(GameStatus.class);
+    private final Map<Winner, LongAdder> endedByWinner = new EnumMap<>(Winner.class);
+    private final Map<String, LongAdder> firstMoves = new ConcurrentHashMap<>();
+
+    // Min-heap de las partidas más largas: la raíz es la más corta del top
+    private final PriorityQueue<LongestGame> longestGames =
+            new PriorityQueue<>(Comparator.comparingInt(LongestGame::plies));
+    private final ReentrantLock longestLock = new ReentrantLock();
+
+    public GameStatsProjector() {
+        for (GameStatus status : GameStatus.values()) {
+            endedByStatus.put(status, new LongAdder());
+        }
+        for (Winner winner : Winner.values()) {
+            endedByWinner.put(winner, new LongAdder());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameCreatedEvent event) {
+        gamesCreated.increment();
+        if (event.imported()) {
+            gamesImported.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoveAppliedEvent event) {
+        movesApplied.increment();
+        if (event.ply() == 1) {
+            firstMoves.computeIfAbsent(event.move(), move -> new LongAdder()).increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(GameEndedEvent event) {
+        gamesEnded.increment();
+        endedPlies.add(event.plies());
+        endedByStatus.get(event.status()).increment();
+        endedByWinner.get(event.winner()).increment();
+        offerLongest(new LongestGame(event.gameId(), event.plies()));
+    }
+
+    public long getGamesCreated() {
+        return gamesCreated.sum();
+    }
+
+    public long getGamesImported() {
+        return gamesImported.sum();
+    }
+
+    public long getMovesApplied() {
+        return movesApplied.sum();
+    }
+
+    public long getGamesEnded() {
+        return gamesEnded.sum();
+    }
+
+    public double getAverageGameLength() {
+        long ended = gamesEnded.sum();
+        return ended == 0 ? 0 : (double) endedPlies.sum() / ended;
+    }
+
+    public Map<GameStatus, Long> getEndedByStatus() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        endedByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public Map<Winner, Long> getEndedByWinner() {
+        Map<Winner, Long> counts = new EnumMap<>(Winner.class);
+        endedByWinner.forEach((winner, count) -> counts.put(winner, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Primeras jugadas más frecuentes (hay como mucho 20 distintas).
+     */
+    public List<Map.Entry<String, Long>> getTopFirstMoves() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        firstMoves.forEach((move, count) -> entries.add(Map.entry(move, count.sum())));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries.subList(0, Math.min(topSize, entries.size()));
+    }
+
+    public List<LongestGame> getLongestGames() {
+        longestLock.lock();
+        try {
+            List<LongestGame> games = new ArrayList<>(longestGames);
+            games.sort(Comparator.comparingInt(LongestGame::plies).reversed());
+            return games;
+        } finally {
+            longestLock.unlock();
+        }
+    }
+
+    private void offerLongest(LongestGame game) {
+        longestLock.lock();
+        try {
+            if (longestGames.size() < topSize) {
+                longestGames.add(game);
+            } else if (game.plies() > longestGames.peek().plies()) {
+                longestGames.poll();
+                longestGames.add(game);
+            }
+        } finally {
+            longestLock.unlock();
+        }
+    }
+
+    @PostConstruct
+    void loadSnapshot() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        Properties snapshot = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            snapshot.load(reader);
+        } catch (IOException e) {
+            log.warn("No se pudo leer la instantánea de estadísticas {}: {}", path, e.getMessage());
+            return;
+        }
+
+        for (String key : snapshot.stringPropertyNames()) {
+            String value = snapshot.getProperty(key);
+            try {
+                if (key.equals("longest")) {
+                    for (String item : value.split(",")) {
+                        if (!item.isEmpty()) {
+                            String[] parts = item.split(":");
+                            offerLongest(new LongestGame(Long.parseLong(parts[0]), Integer.parseInt(parts[1])));
+                        }
+                    }
+                } else {
+                    counterFor(key).add(Long.parseLong(value));
+                }
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                log.warn("Entrada de instantánea ignorada: {}={}", key, value);
+            }
+        }
+        log.info("Estadísticas recuperadas de {}: {} partidas creadas", path, gamesCreated.sum());
+    }
+
+    /**
+     * Guarda el estado en disco: se escribe un fichero temporal y se renombra
+     * encima del anterior, así nunca queda una instantánea a medias.
+     */
+    @Scheduled(fixedDelayString = "${chess.stats.snapshot-interval-ms:60000}",
+            initialDelayString = "${chess.stats.snapshot-interval-ms:60000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        Properties snapshot = new Properties();
+        snapshot.setProperty("created", Long.toString(gamesCreated.sum()));
+        snapshot.setProperty("imported", Long.toString(gamesImported.sum()));
+        snapshot.setProperty("moves", Long.toString(movesApplied.sum()));
+        snapshot.setProperty("ended", Long.toString(gamesEnded.sum()));
+        snapshot.setProperty("plies", Long.toString(endedPlies.sum()));
+        endedByStatus.forEach((status, count) -> snapshot.setProperty("status." + status.name(), Long.toString(count.sum())));
+        endedByWinner.forEach((winner, count) -> snapshot.setProperty("winner." + winner.name(), Long.toString(count.sum())));
+        firstMoves.forEach((move, count) -> snapshot.setProperty("first." + move, Long.toString(count.sum())));
+        StringBuilder longest = new StringBuilder();
+        for (LongestGame game : getLongestGames()) {
+            longest.append(longest.length() > 0 ? "," : "").append(game.gameId()).append(':').append(game.plies());
+        }
+        snapshot.setProperty("longest", longest.toString());
+
+        Path path = Paths.get(snapshotFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "stats", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                snapshot.store(writer, "Estadísticas de partidas");
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea de estadísticas: {}", e.getMessage());
+        }
+    }
+
+    private LongAdder counterFor(String key) {
+        switch (key) {
+            case "created":
+                return gamesCreated;
+            case "imported":
+                return gamesImported;
+            case "moves":
+                return movesApplied;
+            case "ended":
+                return gamesEnded;
+            case "plies":
+                return endedPlies;
+            default:
+                break;
+        }
+        if (key.startsWith("status.")) {
+            return endedByStatus.get(GameStatus.valueOf(key.substring("status.".length())));
+        }
+        if (key.startsWith("winner.")) {
+            return endedByWinner.get(Winner.valueOf(key.substring("winner.".length())));
+        }
+        if (key.startsWith("first.")) {
+            return firstMoves.computeIfAbsent(key.substring("first.".length()), move -> new LongAdder());
+        }
+        throw new IllegalArgumentException("Clave desconocida: " + key);
+    }
+}
@@ -0,0 +1,54 @@
+package com.chess.tournament;
+
+/**
+ * Diferencia de Elo estimada a partir de victorias, tablas y derrotas, con su
+ * intervalo de confianza del 95%: se calcula la desviación típica de la
+ * puntuación por partida y se convierten a Elo los extremos del intervalo de la
+ * puntuación media. Con todo ganado o todo perdido la diferencia es infinita.
+ */
+public record EloEstimate(int wins, int draws, int losses, double score, double elo, double lower, double upper) {
+
+    private static final double Z_95 = 1.959964;
+
+    public static EloEstimate of(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0) {
+            return new EloEstimate(0, 0, 0, 0.5, 0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+        double score = (wins + 0.5 * draws) / games;
+        double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        double margin = Z_95 * Math.sqrt(variance / games);
+        return new EloEstimate(wins, draws, losses, score, toElo(score),
+                toElo(score - margin), toElo(score + margin));
+    }
+
+    public int games() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Margen simétrico aproximado (mitad del intervalo).
+     */
+    public double errorMargin() {
+        return (upper - lower) / 2;
+    }
+
+    public static double toElo(double score) {
+        if (score <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (score >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -400 * Math.log10(1 / score - 1) + 0.0; // + 0.0 normaliza -0.0
+    }
+
+    @Override
+    public String toString() {
+        if (Double.isInfinite(elo) || Double.isInfinite(errorMargin())) {
+            return String.format("%+.0f (+%d =%d -%d)", elo, wins, draws, losses);
+        }
+        return String.format("%+.1f ± %.1f (+%d =%d -%d)", elo, errorMargin(), wins, draws, losses);
+    }
+}
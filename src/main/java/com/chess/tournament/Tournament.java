@@ -0,0 +1,204 @@
+package com.chess.tournament;
+
+import com.chess.engine.EngineConfig;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado de un torneo entre motores: todos contra todos (o autojuego con un solo
+ * motor), gamesPerPair partidas por emparejamiento alternando colores. Los
+ * contadores se actualizan desde los hilos del pool sin bloqueo; la escritura
+ * del PGN por lotes usa writeLock.
+ */
+public class Tournament {
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED
+    }
+
+    /**
+     * Resultados de un emparejamiento desde el punto de vista del primer motor.
+     */
+    public static final class Pairing {
+        private final EngineConfig first;
+        private final EngineConfig second;
+        private final AtomicInteger wins = new AtomicInteger();
+        private final AtomicInteger draws = new AtomicInteger();
+        private final AtomicInteger losses = new AtomicInteger();
+
+        Pairing(EngineConfig first, EngineConfig second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public EngineConfig getFirst() {
+            return first;
+        }
+
+        public EngineConfig getSecond() {
+            return second;
+        }
+
+        public EloEstimate estimate() {
+            return EloEstimate.of(wins.get(), draws.get(), losses.get());
+        }
+
+        void record(double firstScore) {
+            if (firstScore == 1) {
+                wins.incrementAndGet();
+            } else if (firstScore == 0) {
+                losses.incrementAndGet();
+            } else {
+                draws.incrementAndGet();
+            }
+        }
+    }
+
+    private final long id;
+    private final List<EngineConfig> engines;
+    private final List<Pairing> pairings;
+    private final int gamesPerPair;
+    private final int clockSeconds;
+    private final int maxPlies;
+    private final Path pgnFile;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicInteger finishedGames = new AtomicInteger();
+    private final AtomicInteger failedGames = new AtomicInteger();
+    private final AtomicInteger totalPlies = new AtomicInteger();
+    private final Queue<String> pendingPgn = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+
+    Tournament(long id, List<EngineConfig> engines, int gamesPerPair, int clockSeconds, int maxPlies, Path pgnFile) {
+        this.id = id;
+        this.engines = List.copyOf(engines);
+        this.gamesPerPair = gamesPerPair;
+        this.clockSeconds = clockSeconds;
+        this.maxPlies = maxPlies;
+        this.pgnFile = pgnFile;
+
+        List<Pairing> list = new ArrayList<>();
+        if (engines.size() == 1) {
+            list.add(new Pairing(engines.get(0), engines.get(0)));
+        }
+        for (int i = 0; i < engines.size(); i++) {
+            for (int j = i + 1; j < engines.size(); j++) {
+                list.add(new Pairing(engines.get(i), engines.get(j)));
+            }
+        }
+        this.pairings = Collections.unmodifiableList(list);
+    }
+
+    public int getTotalGames() {
+        return pairings.size() * gamesPerPair;
+    }
+
+    /**
+     * Registra una partida terminada (o fallida) y devuelve las que llevan acabadas en total.
+     */
+    int gameDone(Pairing pairing, Double firstScore, int plies) {
+        if (firstScore != null) {
+            pairing.record(firstScore);
+            totalPlies.addAndGet(plies);
+            finishedGames.incrementAndGet();
+        } else {
+            failedGames.incrementAndGet();
+        }
+        return finishedGames.get() + failedGames.get();
+    }
+
+    int addPgn(String pgn) {
+        pendingPgn.add(pgn);
+        return pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Saca del buffer todas las partidas pendientes de escribir.
+     */
+    List<String> drainPgn() {
+        List<String> batch = new ArrayList<>();
+        String pgn;
+        while ((pgn = pendingPgn.poll()) != null) {
+            batch.add(pgn);
+            pendingCount.decrementAndGet();
+        }
+        return batch;
+    }
+
+    ReentrantLock getWriteLock() {
+        return writeLock;
+    }
+
+    void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+
+    public boolean isCancelled() {
+        return status == Status.CANCELLED;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public List<EngineConfig> getEngines() {
+        return engines;
+    }
+
+    public List<Pairing> getPairings() {
+        return pairings;
+    }
+
+    public int getGamesPerPair() {
+        return gamesPerPair;
+    }
+
+    public int getClockSeconds() {
+        return clockSeconds;
+    }
+
+    public int getMaxPlies() {
+        return maxPlies;
+    }
+
+    public Path getPgnFile() {
+        return pgnFile;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getFinishedGames() {
+        return finishedGames.get();
+    }
+
+    public int getFailedGames() {
+        return failedGames.get();
+    }
+
+    public int getTotalPlies() {
+        return totalPlies.get();
+    }
+}
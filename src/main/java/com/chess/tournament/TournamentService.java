@@ -0,0 +1,328 @@
+package com.chess.tournament;
+
+import com.chess.engine.Engine;
+import com.chess.engine.EngineConfig;
+import com.chess.engine.SearchResult;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.service.GameRules;
+import com.chess.service.PgnExportService;
+import com.github.bhlangonijr.chesslib.Board;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Torneos entre motores propios sin clientes humanos, para comparar
+ * configuraciones y generar partidas de entrenamiento.
+ *
+ * Cada partida es una tarea independiente en un pool con un hilo por núcleo
+ * (por defecto), de modo que un torneo con muchas partidas ocupa toda la CPU.
+ * Las partidas usan el modelo {@link Game} y {@link GameRules} como las
+ * partidas en línea (reloj, fin de partida), sin persistirse en la base de
+ * datos: el PGN se añade por lotes a un fichero por torneo y, al terminar, se
+ * escribe el resumen con las diferencias de Elo.
+ *
+ * Los motores (y sus tablas de transposición) se reutilizan entre partidas del
+ * mismo torneo y se sueltan al terminar o cancelarlo. Como cada hilo puede
+ * tener a la vez un motor de cada configuración, un torneo no se acepta si
+ * hilos x suma de tablas supera chess.tournament.max-hash-mb.
+ */
+@Service
+public class TournamentService {
+
+    private static final Logger log = LoggerFactory.getLogger(TournamentService.class);
+
+    @Autowired
+    private PgnExportService pgnExportService;
+
+    @Value("${chess.tournament.workers:0}")
+    private int workers;
+
+    @Value("${chess.tournament.dir:${java.io.tmpdir}/chess-tournaments}")
+    private String tournamentDir;
+
+    @Value("${chess.tournament.pgn-batch:50}")
+    private int pgnBatch;
+
+    @Value("${chess.tournament.max-games:10000}")
+    private int maxGames;
+
+    @Value("${chess.tournament.max-hash-mb:4096}")
+    private long maxHashMegabytes;
+
+    private final Map<Long, Tournament> tournaments = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    // Motores libres por torneo y configuración: como mucho uno por hilo y configuración
+    private final Map<Long, Map<EngineConfig, Queue<Engine>>> idleEngines = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(Paths.get(tournamentDir));
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tournament-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Tournament start(List<EngineConfig> configs, int gamesPerPair, int clockSeconds, int maxPlies) {
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("El torneo necesita al menos un motor");
+        }
+        if (configs.stream().map(EngineConfig::name).distinct().count() != configs.size()) {
+            throw new IllegalArgumentException("Los nombres de los motores deben ser distintos");
+        }
+        if (gamesPerPair <= 0 || clockSeconds <= 0 || maxPlies <= 0) {
+            throw new IllegalArgumentException("Partidas, reloj y límite de jugadas deben ser positivos");
+        }
+
+        long id = ids.incrementAndGet();
+        Path pgnFile = Paths.get(tournamentDir, "tournament-" + id + ".pgn");
+        Tournament tournament = new Tournament(id, configs, gamesPerPair, clockSeconds, maxPlies, pgnFile);
+        if (tournament.getTotalGames() > maxGames) {
+            throw new IllegalArgumentException("El torneo supera el máximo de " + maxGames + " partidas");
+        }
+        // Un motor solo juega contra sí mismo: cada hilo usa dos de su configuración
+        long hashPerThread = configs.size() == 1 ? 2L * configs.get(0).hashMegabytes()
+                : configs.stream().mapToLong(EngineConfig::hashMegabytes).sum();
+        long hashMegabytes = executor.getMaximumPoolSize() * hashPerThread;
+        if (hashMegabytes > maxHashMegabytes) {
+            throw new IllegalArgumentException("Las tablas de transposición del torneo necesitarían " + hashMegabytes
+                    + " MB; el máximo es " + maxHashMegabytes + " MB");
+        }
+        Map<EngineConfig, Queue<Engine>> pool = new ConcurrentHashMap<>();
+        for (EngineConfig config : configs) {
+            pool.put(config, new ConcurrentLinkedQueue<>());
+        }
+        idleEngines.put(id, pool);
+        tournaments.put(id, tournament);
+
+        for (Tournament.Pairing pairing : tournament.getPairings()) {
+            for (int round = 1; round <= gamesPerPair; round++) {
+                // Colores alternos: cada motor juega la mitad de las partidas con blancas
+                boolean firstIsWhite = round % 2 == 1;
+                int gameRound = round;
+                executor.execute(() -> playGame(tournament, pairing, gameRound, firstIsWhite));
+            }
+        }
+        log.info("Torneo {} iniciado: {} motores, {} partidas en {} hilos", id, configs.size(),
+                tournament.getTotalGames(), executor.getMaximumPoolSize());
+        return tournament;
+    }
+
+    public Optional<Tournament> findTournament(long id) {
+        return Optional.ofNullable(tournaments.get(id));
+    }
+
+    /**
+     * Cancela las partidas que aún no han empezado; las que están en juego terminan.
+     */
+    public Tournament cancel(long id) {
+        Tournament tournament = tournaments.get(id);
+        if (tournament == null) {
+            throw new IllegalArgumentException("Torneo no encontrado: " + id);
+        }
+        if (tournament.getStatus() == Tournament.Status.RUNNING) {
+            tournament.finish(Tournament.Status.CANCELLED);
+            idleEngines.remove(id);
+            flushPgn(tournament);
+            writeSummary(tournament);
+        }
+        return tournament;
+    }
+
+    void playGame(Tournament tournament, Tournament.Pairing pairing, int round, boolean firstIsWhite) {
+        if (tournament.isCancelled()) {
+            return;
+        }
+        EngineConfig whiteConfig = firstIsWhite ? pairing.getFirst() : pairing.getSecond();
+        EngineConfig blackConfig = firstIsWhite ? pairing.getSecond() : pairing.getFirst();
+        Engine white = borrowEngine(tournament, whiteConfig);
+        Engine black = borrowEngine(tournament, blackConfig);
+        white.newGame();
+        black.newGame();
+
+        Game game = new Game(PlayerColor.WHITE, tournament.getClockSeconds(), tournament.getClockSeconds());
+        Double firstScore = null;
+        String pgn = null;
+        try {
+            play(game, white, whiteConfig, black, blackConfig, tournament.getMaxPlies());
+            double whiteScore = game.getWinner() == Winner.WHITE ? 1 : game.getWinner() == Winner.BLACK ? 0 : 0.5;
+            firstScore = firstIsWhite ? whiteScore : 1 - whiteScore;
+
+            Writer writer = new StringWriter();
+            pgnExportService.writeGame(game, "Torneo " + tournament.getId(), String.valueOf(round),
+                    whiteConfig.name(), blackConfig.name(), writer);
+            pgn = writer.toString();
+        } catch (RuntimeException | IOException e) {
+            log.warn("Partida del torneo {} ({} - {}) fallida: {}", tournament.getId(), whiteConfig.name(),
+                    blackConfig.name(), e.getMessage());
+        } finally {
+            returnEngine(tournament, whiteConfig, white);
+            returnEngine(tournament, blackConfig, black);
+        }
+
+        if (pgn != null && tournament.addPgn(pgn) >= pgnBatch) {
+            flushPgn(tournament);
+        }
+        int done = tournament.gameDone(pairing, firstScore, game.getMoves().size());
+        if (done == tournament.getTotalGames() && tournament.getStatus() == Tournament.Status.RUNNING) {
+            tournament.finish(Tournament.Status.COMPLETED);
+            idleEngines.remove(tournament.getId());
+            flushPgn(tournament);
+            writeSummary(tournament);
+            log.info("Torneo {} terminado en {} s", tournament.getId(),
+                    (tournament.getFinishedAt().toEpochMilli() - tournament.getCreatedAt().toEpochMilli()) / 1000);
+        }
+    }
+
+    /**
+     * Juega la partida hasta el final con las mismas reglas que las partidas en línea.
+     * Si se alcanza el límite de jugadas se adjudica como tablas.
+     */
+    static void play(Game game, Engine white, EngineConfig whiteConfig, Engine black, EngineConfig blackConfig,
+            int maxPlies) {
+        Board board = new Board();
+        while (game.isActive()) {
+            if (game.getMoves().size() >= maxPlies) {
+                game.setStatusEnum(GameStatus.ADJUDICATED);
+                game.setWinner(Winner.DRAW);
+                return;
+            }
+            boolean whiteToMove = game.getTurnEnum() == PlayerColor.WHITE;
+            Engine engine = whiteToMove ? white : black;
+            EngineConfig config = whiteToMove ? whiteConfig : blackConfig;
+
+            // Reparto del reloj: una fracción del tiempo restante, como haría un jugador
+            long clockBudget = game.getCurrentPlayerClock() * 1000L / 30;
+            SearchResult result = engine.search(board, config.limits(clockBudget));
+            if (!result.hasMove()) {
+                GameRules.evaluateGameState(board, game);
+                if (game.isActive()) {
+                    game.setStatusEnum(GameStatus.ADJUDICATED);
+                    game.setWinner(Winner.DRAW);
+                }
+                return;
+            }
+            board = GameRules.applyMove(game, result.bestMove(), board);
+            if (board == null) {
+                return; // derrota por tiempo
+            }
+        }
+    }
+
+    private Engine borrowEngine(Tournament tournament, EngineConfig config) {
+        Map<EngineConfig, Queue<Engine>> pool = idleEngines.get(tournament.getId());
+        Engine engine = pool != null ? pool.get(config).poll() : null;
+        return engine != null ? engine : config.create();
+    }
+
+    // Si el torneo ya terminó su pool no existe y el motor se suelta con su tabla
+    private void returnEngine(Tournament tournament, EngineConfig config, Engine engine) {
+        Map<EngineConfig, Queue<Engine>> pool = idleEngines.get(tournament.getId());
+        if (pool != null) {
+            pool.get(config).offer(engine);
+        }
+    }
+
+    private void flushPgn(Tournament tournament) {
+        tournament.getWriteLock().lock();
+        try {
+            List<String> batch = tournament.drainPgn();
+            if (batch.isEmpty()) {
+                return;
+            }
+            Files.writeString(tournament.getPgnFile(), String.join("", batch), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("No se pudo escribir el PGN del torneo {}", tournament.getId(), e);
+        } finally {
+            tournament.getWriteLock().unlock();
+        }
+    }
+
+    private void writeSummary(Tournament tournament) {
+        Path summary = Paths.get(tournamentDir, "tournament-" + tournament.getId() + ".txt");
+        try {
+            Files.writeString(summary, describe(tournament), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("No se pudo escribir el resumen del torneo {}", tournament.getId(), e);
+        }
+    }
+
+    /**
+     * Resumen legible: progreso, resultado de cada emparejamiento con su Elo y clasificación.
+     */
+    public String describe(Tournament tournament) {
+        StringBuilder text = new StringBuilder();
+        text.append("Torneo ").append(tournament.getId()).append(": ").append(tournament.getStatus()).append("\n");
+        text.append("Partidas: ").append(tournament.getFinishedGames()).append(" / ")
+                .append(tournament.getTotalGames());
+        if (tournament.getFailedGames() > 0) {
+            text.append(" (").append(tournament.getFailedGames()).append(" fallidas)");
+        }
+        text.append("\n");
+        if (tournament.getFinishedGames() > 0) {
+            text.append(String.format("Media de jugadas por partida: %.1f%n",
+                    (double) tournament.getTotalPlies() / tournament.getFinishedGames()));
+        }
+        text.append("Reloj: ").append(tournament.getClockSeconds()).append(" s | PGN: ")
+                .append(tournament.getPgnFile()).append("\n\n");
+
+        Map<String, Double> points = new HashMap<>();
+        for (Tournament.Pairing pairing : tournament.getPairings()) {
+            EloEstimate estimate = pairing.estimate();
+            text.append(pairing.getFirst().name()).append(" vs ").append(pairing.getSecond().name()).append(": ")
+                    .append(estimate).append("\n");
+            points.merge(pairing.getFirst().name(), estimate.wins() + 0.5 * estimate.draws(), Double::sum);
+            points.merge(pairing.getSecond().name(), estimate.losses() + 0.5 * estimate.draws(), Double::sum);
+        }
+
+        if (tournament.getEngines().size() > 1) {
+            text.append("\nClasificación:\n");
+            points.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .forEach(entry -> text.append(String.format("  %s: %.1f%n", entry.getKey(), entry.getValue())));
+        }
+        return text.toString();
+    }
+}
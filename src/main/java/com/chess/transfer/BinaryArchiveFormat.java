@@ -0,0 +1,162 @@
+package com.chess.transfer;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveCodec;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.service.GameRules;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binario de archivo de partidas (.chsa). Todos los enteros en big endian.
+ *
+ * <pre>
+ * cabecera : "CHSA" · u16 versión · u16 flags (0)
+ * bloque   : 'B' · i32 partidas · i64 id mínimo · i64 id máximo · i32 bytes sin comprimir
+ *            · i32 bytes comprimidos · i32 CRC32 (sin comprimir) · datos Deflate
+ * índice   : 'I' · i32 bloques · por bloque (i64 offset · i64 id mínimo · i64 id máximo · i32 partidas)
+ * cola     : i64 offset del índice · "CHSI"
+ * </pre>
+ *
+ * Dentro de un bloque, cada partida es un registro de metadatos seguido de sus
+ * movimientos empaquetados con {@link MoveCodec} (2 bytes por movimiento). Los
+ * enums se guardan por nombre para no depender del orden de declaración.
+ *
+ * <pre>
+ * partida  : i64 id · estado · ganador · color · turno · tablas ofrecidas por (UTF, "" si no)
+ *            · i32 reloj blancas · i32 reloj negras · i64 creación (ms) · i64 último movimiento (-1)
+ *            · i64 jugador blancas (-1) · i64 jugador negras (-1)
+ *            · [v2] i64 fin (-1) · u8 hay huella · i64 huella · i32 bytes del PGN original (-1 si se
+ *              deduce de los movimientos) · PGN UTF-8
+ *            · i32 movimientos · 2 bytes por movimiento
+ * </pre>
+ *
+ * Los archivos de la versión 1 no traen fin, huella ni PGN original: al leerlos
+ * el fin de las partidas terminadas se toma del último movimiento (o la creación).
+ * La cola de tamaño fijo permite localizar el índice desde el final del fichero
+ * y leer un único bloque para recuperar una partida por id.
+ */
+final class BinaryArchiveFormat {
+
+    static final int MAGIC = 0x43485341;       // "CHSA"
+    static final int INDEX_MAGIC = 0x43485349; // "CHSI"
+    static final int VERSION = 2;
+    static final int MIN_VERSION = 1;
+
+    static final byte BLOCK_TAG = 'B';
+    static final byte INDEX_TAG = 'I';
+
+    static final int HEADER_LENGTH = 8;
+    static final int TRAILER_LENGTH = 12;
+    static final int BLOCK_HEADER_LENGTH = 1 + 4 + 8 + 8 + 4 + 4 + 4;
+    static final int INDEX_ENTRY_LENGTH = 8 + 8 + 8 + 4;
+
+    // Límites de cordura al leer: un fichero dañado no debe provocar reservas enormes
+    static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+    static final int MAX_MOVES = 10_000;
+    static final int MAX_PGN_BYTES = 1024 * 1024;
+
+    private static final long NO_VALUE = -1L;
+
+    private BinaryArchiveFormat() {
+        // Utility class - no instances
+    }
+
+    static void writeGame(Game game, DataOutputStream out) throws IOException {
+        out.writeLong(game.getId());
+        out.writeUTF(game.getStatusEnum().name());
+        out.writeUTF(game.getWinner().name());
+        out.writeUTF(game.getPlayerColorEnum().name());
+        out.writeUTF(game.getTurnEnum().name());
+        out.writeUTF(game.getDrawOfferedBy() != null ? game.getDrawOfferedBy().name() : "");
+        out.writeInt(game.getWhiteClock());
+        out.writeInt(game.getBlackClock());
+        out.writeLong(game.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        out.writeLong(game.getLastMoveTimestamp() != null ? game.getLastMoveTimestamp().toEpochMilli() : NO_VALUE);
+        out.writeLong(game.getWhitePlayerId() != null ? game.getWhitePlayerId() : NO_VALUE);
+        out.writeLong(game.getBlackPlayerId() != null ? game.getBlackPlayerId() : NO_VALUE);
+        out.writeLong(game.getFinishedAt() != null ? game.getFinishedAt().toEpochMilli() : NO_VALUE);
+        out.writeBoolean(game.getContentHash() != null);
+        out.writeLong(game.getContentHash() != null ? game.getContentHash() : 0L);
+        // Solo el PGN que no se deduce de los movimientos (partidas importadas con etiquetas y comentarios)
+        String pgn = game.getPgn();
+        if (pgn != null && !pgn.equals(GameRules.generatePgn(game.getMoves()))) {
+            byte[] bytes = pgn.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            out.writeInt(-1);
+        }
+        byte[] packed = game.getPackedMoves();
+        out.writeInt(packed.length / 2);
+        out.write(packed);
+    }
+
+    static Game readGame(DataInputStream in, int version) throws IOException {
+        try {
+            Game game = new Game();
+            game.setId(in.readLong());
+            GameStatus status = GameStatus.valueOf(in.readUTF());
+            game.setWinner(Winner.valueOf(in.readUTF()));
+            game.setPlayerColorEnum(PlayerColor.valueOf(in.readUTF()));
+            game.setTurnEnum(PlayerColor.valueOf(in.readUTF()));
+            String drawOfferedBy = in.readUTF();
+            game.setDrawOfferedBy(drawOfferedBy.isEmpty() ? null : PlayerColor.valueOf(drawOfferedBy));
+            game.setWhiteClock(in.readInt());
+            game.setBlackClock(in.readInt());
+            game.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC));
+            long lastMove = in.readLong();
+            game.setLastMoveTimestamp(lastMove != NO_VALUE ? Instant.ofEpochMilli(lastMove) : null);
+            long white = in.readLong();
+            long black = in.readLong();
+            game.setWhitePlayerId(white != NO_VALUE ? white : null);
+            game.setBlackPlayerId(black != NO_VALUE ? black : null);
+
+            Instant finishedAt = null;
+            if (version >= 2) {
+                long finished = in.readLong();
+                finishedAt = finished != NO_VALUE ? Instant.ofEpochMilli(finished) : null;
+                boolean hashed = in.readBoolean();
+                long hash = in.readLong();
+                game.setContentHash(hashed ? hash : null);
+                int pgnLength = in.readInt();
+                if (pgnLength < -1 || pgnLength > MAX_PGN_BYTES) {
+                    throw new IOException("Longitud de PGN inválida en el archivo: " + pgnLength);
+                }
+                if (pgnLength >= 0) {
+                    byte[] pgn = new byte[pgnLength];
+                    in.readFully(pgn);
+                    game.setPgn(new String(pgn, StandardCharsets.UTF_8));
+                }
+            } else if (status != GameStatus.ACTIVE) {
+                finishedAt = game.getLastMoveTimestamp() != null
+                        ? game.getLastMoveTimestamp()
+                        : game.getCreatedAt().toInstant(ZoneOffset.UTC);
+            }
+            // Sin setStatusEnum: el fin es el del origen, no el momento de la importación
+            game.restoreStatus(status, finishedAt);
+
+            int moveCount = in.readInt();
+            if (moveCount < 0 || moveCount > MAX_MOVES) {
+                throw new IOException("Número de movimientos inválido en el archivo: " + moveCount);
+            }
+            byte[] packed = new byte[moveCount * 2];
+            in.readFully(packed);
+            game.setMoves(MoveCodec.unpack(packed));
+            if (game.getPgn() == null) {
+                game.setPgn(GameRules.generatePgn(game.getMoves()));
+            }
+            return game;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Registro de partida inválido en el archivo: " + e.getMessage(), e);
+        }
+    }
+}
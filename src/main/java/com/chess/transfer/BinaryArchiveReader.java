@@ -0,0 +1,189 @@
+package com.chess.transfer;
+
+import com.chess.model.Game;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lectura de archivos binarios de partidas ({@link BinaryArchiveFormat}).
+ *
+ * {@link #stream} recorre el archivo bloque a bloque desde cualquier InputStream
+ * (una subida HTTP, por ejemplo) sin cargarlo entero; {@link #find} usa el índice
+ * del final del fichero para leer solo el bloque que contiene una partida.
+ */
+public final class BinaryArchiveReader {
+
+    @FunctionalInterface
+    public interface BlockHandler {
+        void handle(List<Game> games) throws IOException;
+    }
+
+    private BinaryArchiveReader() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Entrega cada bloque, ya descomprimido y verificado, al handler.
+     * Devuelve el número total de partidas leídas.
+     */
+    public static long stream(InputStream input, BlockHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        Inflater inflater = new Inflater();
+        try {
+            int version = readHeader(in);
+            long total = 0;
+            while (true) {
+                byte tag = in.readByte();
+                if (tag == BinaryArchiveFormat.INDEX_TAG) {
+                    return total;
+                }
+                if (tag != BinaryArchiveFormat.BLOCK_TAG) {
+                    throw new IOException("Archivo binario dañado: marca de bloque inesperada " + tag);
+                }
+                List<Game> games = readBlock(in, inflater, version);
+                handler.handle(games);
+                total += games.size();
+            }
+        } catch (EOFException e) {
+            throw new IOException("Archivo binario truncado", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Busca una partida por id leyendo solo el índice y el bloque que la contiene.
+     */
+    public static Optional<Game> find(Path file, long gameId) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            Inflater inflater = new Inflater();
+            try {
+                in.seek(0);
+                int version = readHeader(in);
+                for (BinaryArchiveWriter.BlockEntry entry : readIndex(in)) {
+                    if (gameId < entry.minId() || gameId > entry.maxId()) {
+                        continue;
+                    }
+                    in.seek(entry.offset());
+                    if (in.readByte() != BinaryArchiveFormat.BLOCK_TAG) {
+                        throw new IOException("Archivo binario dañado: el índice no apunta a un bloque");
+                    }
+                    for (Game game : readBlock(in, inflater, version)) {
+                        if (game.getId() == gameId) {
+                            return Optional.of(game);
+                        }
+                    }
+                }
+                return Optional.empty();
+            } finally {
+                inflater.end();
+            }
+        } catch (EOFException e) {
+            throw new IOException("Archivo binario truncado", e);
+        }
+    }
+
+    static List<BinaryArchiveWriter.BlockEntry> readIndex(RandomAccessFile in) throws IOException {
+        long length = in.length();
+        if (length < BinaryArchiveFormat.HEADER_LENGTH + BinaryArchiveFormat.TRAILER_LENGTH) {
+            throw new IOException("Archivo binario truncado");
+        }
+        in.seek(0);
+        readHeader(in);
+
+        in.seek(length - BinaryArchiveFormat.TRAILER_LENGTH);
+        long indexOffset = in.readLong();
+        if (in.readInt() != BinaryArchiveFormat.INDEX_MAGIC || indexOffset < BinaryArchiveFormat.HEADER_LENGTH
+                || indexOffset >= length) {
+            throw new IOException("Archivo binario sin índice válido");
+        }
+        in.seek(indexOffset);
+        if (in.readByte() != BinaryArchiveFormat.INDEX_TAG) {
+            throw new IOException("Archivo binario sin índice válido");
+        }
+        int blocks = in.readInt();
+        if (blocks < 0 || (long) blocks * BinaryArchiveFormat.INDEX_ENTRY_LENGTH > length - indexOffset) {
+            throw new IOException("Archivo binario con índice dañado");
+        }
+        List<BinaryArchiveWriter.BlockEntry> index = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            index.add(new BinaryArchiveWriter.BlockEntry(in.readLong(), in.readLong(), in.readLong(), in.readInt()));
+        }
+        return index;
+    }
+
+    private static int readHeader(DataInput in) throws IOException {
+        if (in.readInt() != BinaryArchiveFormat.MAGIC) {
+            throw new IOException("No es un archivo binario de partidas");
+        }
+        int version = in.readUnsignedShort();
+        if (version < BinaryArchiveFormat.MIN_VERSION || version > BinaryArchiveFormat.VERSION) {
+            throw new IOException("Versión de archivo binario no soportada: " + version);
+        }
+        in.readUnsignedShort(); // flags, reservado
+        return version;
+    }
+
+    // Lee un bloque justo después de su marca
+    private static List<Game> readBlock(DataInput in, Inflater inflater, int version) throws IOException {
+        int games = in.readInt();
+        in.readLong(); // id mínimo: solo lo usa el índice
+        in.readLong(); // id máximo
+        int rawLength = in.readInt();
+        int compressedLength = in.readInt();
+        int checksum = in.readInt();
+        if (games < 0 || rawLength < 0 || compressedLength < 0
+                || rawLength > BinaryArchiveFormat.MAX_BLOCK_BYTES
+                || compressedLength > BinaryArchiveFormat.MAX_BLOCK_BYTES) {
+            throw new IOException("Archivo binario dañado: cabecera de bloque inválida");
+        }
+
+        byte[] compressed = new byte[compressedLength];
+        in.readFully(compressed);
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != rawLength) {
+                throw new IOException("Archivo binario dañado: bloque incompleto");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Archivo binario dañado: " + e.getMessage(), e);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Archivo binario dañado: checksum de bloque incorrecto");
+        }
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(raw));
+        List<Game> result = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            result.add(BinaryArchiveFormat.readGame(data, version));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,209 @@
+package com.chess.transfer;
+
+import com.chess.event.GameEvents;
+import com.chess.model.Game;
+import com.chess.model.GameFingerprint;
+import com.chess.service.ExportBatches;
+import com.chess.service.GameDedupService;
+import com.chess.service.GameRules;
+import com.chess.service.PgnExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exportación e importación de partidas en el formato binario comprimido
+ * ({@link BinaryArchiveFormat}), pensado para copias de seguridad y para mover
+ * datos entre clústeres.
+ *
+ * La importación no vuelve a validar los movimientos (el archivo lleva CRC por
+ * bloque y los movimientos ya están en formato interno) e inserta cada bloque
+ * con un único batch JDBC en su propia transacción. Las partidas reciben ids
+ * nuevos y se publican como importadas para que los índices derivados
+ * (posiciones, explorador, estadísticas) las incluyan.
+ *
+ * Cada partida conserva su momento de fin, su PGN original y su huella de
+ * deduplicación del origen. Las que no tienen huella (jugadas en el servidor)
+ * reciben una calculada con el resultado, la fecha de creación y los
+ * movimientos; así reimportar el mismo archivo no duplica partidas, y dos
+ * partidas distintas con los mismos movimientos (abandonos sin jugar, por
+ * ejemplo) no se confunden.
+ */
+@Service
+public class BinaryArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryArchiveService.class);
+
+    private static final String INSERT_GAME = "INSERT INTO games (pgn, winner, status, player_color, turn, "
+            + "last_move_timestamp, draw_offered_by, white_clock, black_clock, created_at, packed_moves, "
+            + "white_player_id, black_player_id, rating_pending, finished_at, content_hash) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public record ImportResult(long games, long blocks, long duplicates) {
+    }
+
+    @Autowired
+    private ExportBatches exportBatches;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private GameEvents gameEvents;
+
+    @Autowired
+    private GameDedupService gameDedupService;
+
+    @Value("${chess.export.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chess.export.binary.games-per-block:1000}")
+    private int gamesPerBlock;
+
+    @Value("${chess.export.binary.compression-level:6}")
+    private int compressionLevel;
+
+    /**
+     * Escribe en out todas las partidas (vivas y archivadas) que cumplen el filtro.
+     * Devuelve el número de partidas exportadas.
+     */
+    public long export(ExportBatches.ExportFilter filter, OutputStream out) throws IOException {
+        BinaryArchiveWriter writer = new BinaryArchiveWriter(out, gamesPerBlock, compressionLevel);
+        exportBatches.forEachBatch(filter, batchSize, batch -> {
+            for (Game game : batch) {
+                writer.write(game);
+            }
+        });
+        writer.finish();
+        log.debug("Exportadas {} partidas a archivo binario", writer.getGamesWritten());
+        return writer.getGamesWritten();
+    }
+
+    /**
+     * Importa un archivo binario leyéndolo en streaming. Si keepPlayers es false
+     * se descartan los ids de jugador, que solo tienen sentido en el clúster de origen.
+     * Las partidas que ya existen se omiten y se cuentan como duplicadas.
+     * Los bloques ya insertados se conservan aunque un bloque posterior falle.
+     */
+    public ImportResult importArchive(InputStream in, boolean keepPlayers) throws IOException {
+        long[] blocks = {0};
+        long[] imported = {0};
+        long games = BinaryArchiveReader.stream(in, block -> {
+            for (Game game : block) {
+                if (!keepPlayers) {
+                    game.setWhitePlayerId(null);
+                    game.setBlackPlayerId(null);
+                }
+                if (game.getContentHash() == null) {
+                    game.setContentHash(fingerprint(game));
+                }
+            }
+            try {
+                imported[0] += transactionTemplate.execute(status -> insertBlock(gameDedupService.filterNew(block)));
+            } catch (DataIntegrityViolationException e) {
+                // Otro nodo guardó alguna de estas partidas y el filtro local no lo sabía:
+                // se repite el bloque comprobando todas las huellas en la base de datos
+                log.debug("Conflicto de huellas al importar un bloque, se repite");
+                imported[0] += transactionTemplate.execute(
+                        status -> insertBlock(gameDedupService.filterNewChecked(block)));
+            }
+            blocks[0]++;
+        });
+        log.info("Importadas {} partidas desde archivo binario ({} bloques, {} duplicadas)", imported[0],
+                blocks[0], games - imported[0]);
+        return new ImportResult(imported[0], blocks[0], games - imported[0]);
+    }
+
+    private static long fingerprint(Game game) {
+        return GameFingerprint.of(Map.of("Result", PgnExportService.result(game),
+                "Date", String.valueOf(game.getCreatedAt())), game.getMoves());
+    }
+
+    private int insertBlock(List<Game> block) {
+        if (block.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_GAME, new String[] {"id"})) {
+                for (Game game : block) {
+                    bind(statement, game);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Game game : block) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("La base de datos no devolvió los ids generados");
+                        }
+                        game.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        gameDedupService.added(block);
+        // Ya con ids: los listeners actualizan los índices derivados tras el commit
+        for (Game game : block) {
+            gameEvents.created(game, true);
+        }
+        return block.size();
+    }
+
+    private static void bind(PreparedStatement statement, Game game) throws SQLException {
+        statement.setString(1, game.getPgn() != null ? game.getPgn() : GameRules.generatePgn(game.getMoves()));
+        statement.setString(2, game.getWinner().name());
+        statement.setString(3, game.getStatusEnum().name());
+        statement.setString(4, game.getPlayerColorEnum().name());
+        statement.setString(5, game.getTurnEnum().name());
+        if (game.getLastMoveTimestamp() != null) {
+            statement.setObject(6, OffsetDateTime.ofInstant(game.getLastMoveTimestamp(), ZoneOffset.UTC));
+        } else {
+            statement.setNull(6, Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+        statement.setString(7, game.getDrawOfferedBy() != null ? game.getDrawOfferedBy().name() : null);
+        statement.setInt(8, game.getWhiteClock());
+        statement.setInt(9, game.getBlackClock());
+        statement.setObject(10, game.getCreatedAt());
+        statement.setBytes(11, game.getPackedMoves());
+        setNullableLong(statement, 12, game.getWhitePlayerId());
+        setNullableLong(statement, 13, game.getBlackPlayerId());
+        // Resultados ya puntuados en el origen: no vuelven a entrar en un periodo de rating
+        statement.setBoolean(14, false);
+        if (game.getFinishedAt() != null) {
+            statement.setObject(15, OffsetDateTime.ofInstant(game.getFinishedAt(), ZoneOffset.UTC));
+        } else {
+            statement.setNull(15, Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+        setNullableLong(statement, 16, game.getContentHash());
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value)
+            throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
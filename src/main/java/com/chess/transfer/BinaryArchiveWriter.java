@@ -0,0 +1,137 @@
+package com.chess.transfer;
+
+import com.chess.model.Game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Escribe un archivo binario de partidas ({@link BinaryArchiveFormat}) en streaming:
+ * acumula partidas hasta completar un bloque, lo comprime y lo envía a la salida,
+ * de modo que la memoria usada es la de un bloque. {@link #finish()} escribe el
+ * último bloque, el índice y la cola; no cierra la salida.
+ */
+public class BinaryArchiveWriter {
+
+    private final DataOutputStream out;
+    private final int gamesPerBlock;
+    private final Deflater deflater;
+
+    private final ByteArrayOutputStream raw = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream rawOut = new DataOutputStream(raw);
+    private final List<BlockEntry> index = new ArrayList<>();
+    private byte[] compressed = new byte[64 * 1024];
+
+    private long offset;
+    private int blockGames;
+    private long blockMinId;
+    private long blockMaxId;
+    private long gamesWritten;
+
+    record BlockEntry(long offset, long minId, long maxId, int games) {
+    }
+
+    public BinaryArchiveWriter(OutputStream out, int gamesPerBlock, int compressionLevel) throws IOException {
+        if (gamesPerBlock <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.out = new DataOutputStream(out);
+        this.gamesPerBlock = gamesPerBlock;
+        this.deflater = new Deflater(compressionLevel);
+
+        this.out.writeInt(BinaryArchiveFormat.MAGIC);
+        this.out.writeShort(BinaryArchiveFormat.VERSION);
+        this.out.writeShort(0);
+        offset = BinaryArchiveFormat.HEADER_LENGTH;
+    }
+
+    public void write(Game game) throws IOException {
+        long id = game.getId();
+        if (blockGames == 0) {
+            blockMinId = id;
+            blockMaxId = id;
+        } else {
+            blockMinId = Math.min(blockMinId, id);
+            blockMaxId = Math.max(blockMaxId, id);
+        }
+        BinaryArchiveFormat.writeGame(game, rawOut);
+        blockGames++;
+        gamesWritten++;
+        if (blockGames == gamesPerBlock) {
+            writeBlock();
+        }
+    }
+
+    public long getGamesWritten() {
+        return gamesWritten;
+    }
+
+    /**
+     * Cierra el último bloque y escribe el índice y la cola.
+     */
+    public void finish() throws IOException {
+        try {
+            writeBlock();
+
+            long indexOffset = offset;
+            out.writeByte(BinaryArchiveFormat.INDEX_TAG);
+            out.writeInt(index.size());
+            for (BlockEntry entry : index) {
+                out.writeLong(entry.offset());
+                out.writeLong(entry.minId());
+                out.writeLong(entry.maxId());
+                out.writeInt(entry.games());
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(BinaryArchiveFormat.INDEX_MAGIC);
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (blockGames == 0) {
+            return;
+        }
+        rawOut.flush();
+        byte[] data = raw.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        index.add(new BlockEntry(offset, blockMinId, blockMaxId, blockGames));
+        out.writeByte(BinaryArchiveFormat.BLOCK_TAG);
+        out.writeInt(blockGames);
+        out.writeLong(blockMinId);
+        out.writeLong(blockMaxId);
+        out.writeInt(data.length);
+        out.writeInt(length);
+        out.writeInt((int) crc.getValue());
+        out.write(compressed, 0, length);
+        // Cada bloque es un trozo de la respuesta: se envía antes de preparar el siguiente
+        out.flush();
+        offset += BinaryArchiveFormat.BLOCK_HEADER_LENGTH + length;
+
+        raw.reset();
+        blockGames = 0;
+    }
+}
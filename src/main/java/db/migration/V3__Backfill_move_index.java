@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Numera los movimientos ya guardados en game_moves. Hasta ahora la tabla no
+ * tenía orden propio, así que se conserva el orden en que la base los devuelve,
+ * que es el mismo que veía Hibernate al cargar la colección.
+ */
+public class V3__Backfill_move_index extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery(
+                        "SELECT DISTINCT game_id FROM game_moves WHERE move_index IS NULL")) {
+            while (rows.next()) {
+                renumber(connection, rows.getLong(1));
+            }
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE game_moves ALTER COLUMN move_index SET NOT NULL");
+            ddl.execute("ALTER TABLE game_moves ADD CONSTRAINT pk_game_moves PRIMARY KEY (game_id, move_index)");
+        }
+    }
+
+    private void renumber(Connection connection, long gameId) throws Exception {
+        List<String> moves = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT move_notation FROM game_moves WHERE game_id = ?")) {
+            select.setLong(1, gameId);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    moves.add(rows.getString(1));
+                }
+            }
+        }
+
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM game_moves WHERE game_id = ?")) {
+            delete.setLong(1, gameId);
+            delete.executeUpdate();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO game_moves (game_id, move_index, move_notation) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < moves.size(); i++) {
+                insert.setLong(1, gameId);
+                insert.setInt(2, i);
+                insert.setString(3, moves.get(i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Análisis de las partidas terminadas: una fila por jugada con la evaluación tras
+-- jugarla (centipeones, a favor de blancas), la mejor jugada y la pérdida respecto a ella
+CREATE TABLE IF NOT EXISTS move_annotations (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    game_id     BIGINT      NOT NULL,
+    ply         INTEGER     NOT NULL,
+    move        VARCHAR(5)  NOT NULL,
+    best_move   VARCHAR(5),
+    eval_cp     INTEGER     NOT NULL,
+    cp_loss     INTEGER     NOT NULL,
+    judgement   VARCHAR(20),
+    depth       INTEGER     NOT NULL,
+    analyzed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_move_annotations_game_ply ON move_annotations (game_id, ply);
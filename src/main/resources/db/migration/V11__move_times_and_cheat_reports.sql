@@ -0,0 +1,26 @@
+-- Tiempo de reflexión de cada movimiento (4 bytes por movimiento, ms; -1 si no consta)
+ALTER TABLE games ADD COLUMN IF NOT EXISTS move_times BYTEA;
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS move_times BYTEA;
+
+-- Último informe antitrampas de cada jugador (sus partidas recientes)
+CREATE TABLE IF NOT EXISTS player_cheat_reports (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    player_id        BIGINT           NOT NULL,
+    games            INTEGER          NOT NULL,
+    moves_analyzed   INTEGER          NOT NULL,
+    engine_matches   INTEGER          NOT NULL,
+    match_rate       DOUBLE PRECISION NOT NULL,
+    average_loss     INTEGER          NOT NULL,
+    timed_moves      INTEGER          NOT NULL,
+    mean_think_ms    INTEGER          NOT NULL,
+    think_time_cv    DOUBLE PRECISION NOT NULL,
+    think_p10_ms     INTEGER          NOT NULL,
+    think_p50_ms     INTEGER          NOT NULL,
+    think_p90_ms     INTEGER          NOT NULL,
+    flagged          BOOLEAN          NOT NULL,
+    reasons          VARCHAR(500),
+    computed_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_player_cheat_reports_player UNIQUE (player_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_player_cheat_reports_flagged ON player_cheat_reports (flagged, match_rate);
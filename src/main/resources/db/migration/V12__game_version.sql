@@ -0,0 +1,2 @@
+-- Versión para el bloqueo optimista de las partidas vivas (@Version en Game)
+ALTER TABLE games ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
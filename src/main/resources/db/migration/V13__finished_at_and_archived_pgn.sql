@@ -0,0 +1,16 @@
+-- Momento de fin de partida: el archivado y los análisis por antigüedad lo usan
+-- en lugar de la fecha de creación. Para las partidas ya terminadas se toma el
+-- último movimiento registrado (o la creación si no lo hay).
+ALTER TABLE games ADD COLUMN IF NOT EXISTS finished_at TIMESTAMP WITH TIME ZONE;
+UPDATE games SET finished_at = COALESCE(last_move_timestamp, CAST(created_at AS TIMESTAMP WITH TIME ZONE))
+    WHERE status <> 'ACTIVE' AND finished_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_games_status_finished_at ON games (status, finished_at);
+
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS finished_at TIMESTAMP WITH TIME ZONE;
+UPDATE archived_games SET finished_at = COALESCE(last_move_timestamp, CAST(created_at AS TIMESTAMP WITH TIME ZONE))
+    WHERE finished_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_archived_games_finished_at ON archived_games (finished_at);
+
+-- PGN original comprimido de las partidas cuyo PGN no se deduce de los movimientos
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS compressed_pgn BYTEA;
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS pgn_length INTEGER;
@@ -0,0 +1,2 @@
+-- Clave Zobrist de la posición actual de cada partida viva (tablero en memoria válido)
+ALTER TABLE games ADD COLUMN IF NOT EXISTS position_key BIGINT;
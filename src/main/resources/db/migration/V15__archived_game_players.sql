@@ -0,0 +1,4 @@
+-- Partidas archivadas por jugador: el análisis antitrampas lee también las últimas
+-- partidas de cada jugador que ya se han archivado
+CREATE INDEX IF NOT EXISTS idx_archived_games_white_player_id ON archived_games (white_player_id);
+CREATE INDEX IF NOT EXISTS idx_archived_games_black_player_id ON archived_games (black_player_id);
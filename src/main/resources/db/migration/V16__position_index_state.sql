@@ -0,0 +1,11 @@
+-- Progreso del relleno del índice de posiciones: hasta qué id se comprobaron las
+-- partidas vivas y archivadas, y cuándo empezó la última pasada completa. Al
+-- arrancar solo se revisa lo posterior, no todo el histórico.
+CREATE TABLE IF NOT EXISTS position_index_state (
+    id                  INTEGER PRIMARY KEY,
+    live_checked_id     BIGINT  NOT NULL,
+    archived_checked_id BIGINT  NOT NULL,
+    checked_at          TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO position_index_state (id, live_checked_id, archived_checked_id) VALUES (1, 0, 0);
@@ -0,0 +1,20 @@
+-- Esquema inicial, equivalente al que generaba Hibernate con ddl-auto=update.
+-- Las bases existentes se marcan como baseline (versión 1) y arrancan en V2.
+
+CREATE TABLE IF NOT EXISTS games (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pgn                 TEXT,
+    winner              VARCHAR(20) NOT NULL,
+    status              VARCHAR(20) NOT NULL,
+    player_color        VARCHAR(20) NOT NULL,
+    turn                VARCHAR(20) NOT NULL,
+    last_move_timestamp TIMESTAMP WITH TIME ZONE,
+    white_clock         INTEGER     NOT NULL,
+    black_clock         INTEGER     NOT NULL,
+    created_at          TIMESTAMP   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS game_moves (
+    game_id       BIGINT       NOT NULL REFERENCES games (id),
+    move_notation VARCHAR(255)
+);
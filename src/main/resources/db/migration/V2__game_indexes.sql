@@ -0,0 +1,16 @@
+-- Columnas añadidas después del baseline
+ALTER TABLE games ADD COLUMN IF NOT EXISTS draw_offered_by VARCHAR(20);
+
+-- Hibernate generaba CHECK sobre los enums; impiden añadir valores nuevos (p. ej. ADJUDICATED)
+ALTER TABLE games DROP CONSTRAINT IF EXISTS games_status_check;
+ALTER TABLE games DROP CONSTRAINT IF EXISTS games_winner_check;
+ALTER TABLE games DROP CONSTRAINT IF EXISTS games_player_color_check;
+ALTER TABLE games DROP CONSTRAINT IF EXISTS games_turn_check;
+
+-- Recorridos por estado (adjudicación, archivo) y consultas por fecha de creación
+CREATE INDEX IF NOT EXISTS idx_games_status_id ON games (status, id);
+CREATE INDEX IF NOT EXISTS idx_games_status_created_at ON games (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_games_created_at ON games (created_at);
+
+-- Orden explícito de los movimientos; se rellena en V3 y pasa a formar la clave primaria
+ALTER TABLE game_moves ADD COLUMN IF NOT EXISTS move_index INTEGER;
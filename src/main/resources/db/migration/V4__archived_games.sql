@@ -0,0 +1,17 @@
+-- Almacén frío de partidas terminadas (movimientos empaquetados y comprimidos)
+CREATE TABLE IF NOT EXISTS archived_games (
+    id                  BIGINT      PRIMARY KEY,
+    status              VARCHAR(20) NOT NULL,
+    winner              VARCHAR(20) NOT NULL,
+    player_color        VARCHAR(20) NOT NULL,
+    turn                VARCHAR(20) NOT NULL,
+    white_clock         INTEGER     NOT NULL,
+    black_clock         INTEGER     NOT NULL,
+    last_move_timestamp TIMESTAMP WITH TIME ZONE,
+    created_at          TIMESTAMP   NOT NULL,
+    archived_at         TIMESTAMP WITH TIME ZONE NOT NULL,
+    move_count          INTEGER     NOT NULL,
+    compressed_moves    BYTEA       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_games_created_at ON archived_games (created_at);
@@ -0,0 +1,3 @@
+-- Movimientos empaquetados (2 bytes por movimiento). game_moves queda como formato
+-- heredado: las partidas se migran solas al recibir su siguiente movimiento.
+ALTER TABLE games ADD COLUMN IF NOT EXISTS packed_moves BYTEA;
@@ -0,0 +1,24 @@
+-- Jugadores registrados con rating Glicko-2
+CREATE TABLE IF NOT EXISTS players (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username         VARCHAR(50)      NOT NULL,
+    rating           DOUBLE PRECISION NOT NULL,
+    rating_deviation DOUBLE PRECISION NOT NULL,
+    volatility       DOUBLE PRECISION NOT NULL,
+    games_played     INTEGER          NOT NULL,
+    created_at       TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_rated_at    TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_players_username UNIQUE (username)
+);
+
+-- Jugadores de cada partida y marca de resultado pendiente de puntuar
+ALTER TABLE games ADD COLUMN IF NOT EXISTS white_player_id BIGINT;
+ALTER TABLE games ADD COLUMN IF NOT EXISTS black_player_id BIGINT;
+ALTER TABLE games ADD COLUMN IF NOT EXISTS rating_pending BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_games_white_player_id ON games (white_player_id);
+CREATE INDEX IF NOT EXISTS idx_games_black_player_id ON games (black_player_id);
+CREATE INDEX IF NOT EXISTS idx_games_rating_pending_id ON games (rating_pending, id);
+
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS white_player_id BIGINT;
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS black_player_id BIGINT;
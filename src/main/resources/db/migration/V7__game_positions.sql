@@ -0,0 +1,11 @@
+-- Índice de posiciones: una fila por posición alcanzada en cada partida.
+-- move_code es el movimiento (MoveCodec, 16 bits) que llevó a la posición; null en la inicial.
+CREATE TABLE IF NOT EXISTS game_positions (
+    game_id       BIGINT   NOT NULL,
+    ply           INTEGER  NOT NULL,
+    position_hash BIGINT   NOT NULL,
+    move_code     SMALLINT,
+    CONSTRAINT pk_game_positions PRIMARY KEY (game_id, ply)
+);
+
+CREATE INDEX IF NOT EXISTS idx_game_positions_hash_game ON game_positions (position_hash, game_id);
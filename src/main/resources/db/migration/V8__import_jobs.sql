@@ -0,0 +1,19 @@
+-- Importaciones PGN asíncronas con punto de reanudación (byte del fichero subido)
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status         VARCHAR(20)  NOT NULL,
+    file_path      VARCHAR(500) NOT NULL,
+    file_size      BIGINT       NOT NULL,
+    white_clock    INTEGER      NOT NULL,
+    black_clock    INTEGER      NOT NULL,
+    next_offset    BIGINT       NOT NULL,
+    games_imported BIGINT       NOT NULL,
+    games_failed   BIGINT       NOT NULL,
+    active_millis  BIGINT       NOT NULL,
+    errors         TEXT,
+    created_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at     TIMESTAMP WITH TIME ZONE,
+    finished_at    TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_status ON import_jobs (status, id);
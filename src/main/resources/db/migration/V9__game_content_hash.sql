@@ -0,0 +1,9 @@
+-- Huella canónica de las partidas importadas. Única: importar dos veces la misma
+-- partida no crea otra fila (las partidas jugadas aquí la tienen a NULL).
+ALTER TABLE games ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_games_content_hash ON games (content_hash);
+
+ALTER TABLE archived_games ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+CREATE INDEX IF NOT EXISTS idx_archived_games_content_hash ON archived_games (content_hash);
+
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS games_duplicate BIGINT NOT NULL DEFAULT 0;
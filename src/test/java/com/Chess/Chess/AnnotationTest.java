@@ -0,0 +1,89 @@
+package com.Chess.Chess;
+
+import com.chess.annotation.AnnotationService;
+import com.chess.annotation.GameAnalyzer;
+import com.chess.engine.TranspositionTable;
+import com.chess.engine.eval.PieceSquareEvaluator;
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveAnnotation;
+import com.chess.model.MoveJudgement;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.service.PgnExportService;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test del análisis de partidas: pérdida en centipeones, calificación de jugadas y PGN anotado
+ */
+public class AnnotationTest {
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DE ANÁLISIS DE PARTIDAS ===");
+
+        // Test 1: Calificación por pérdida
+        System.out.println("\n1. CALIFICACIÓN:");
+        check("49 cp: buena jugada", MoveJudgement.of(49) == null);
+        check("50 cp: imprecisión", MoveJudgement.of(50) == MoveJudgement.INACCURACY);
+        check("150 cp: error", MoveJudgement.of(150) == MoveJudgement.MISTAKE);
+        check("300 cp: error grave", MoveJudgement.of(300) == MoveJudgement.BLUNDER);
+
+        // Test 2: Pérdida de cada jugada a partir de las evaluaciones (desde el bando que mueve)
+        System.out.println("\n2. PÉRDIDA POR JUGADA:");
+        List<String> moves = List.of("e2e4", "e7e5", "d1h5", "e8e7", "h5e5");
+        GameAnalyzer.PositionEval[] evals = {
+                new GameAnalyzer.PositionEval(30, "e2e4"),    // inicial, juegan blancas
+                new GameAnalyzer.PositionEval(-30, "e7e5"),   // tras 1. e4
+                new GameAnalyzer.PositionEval(25, "g1f3"),    // tras 1... e5: Dh5 no era lo mejor
+                new GameAnalyzer.PositionEval(40, "b8c6"),    // tras 2. Dh5 (bueno para negras: +40)
+                new GameAnalyzer.PositionEval(29_990, "h5e5"), // tras 2... Re7?? mate para blancas
+                new GameAnalyzer.PositionEval(-29_999, null) }; // tras 3. Dxe5#
+        List<MoveAnnotation> annotations = GameAnalyzer.annotations(7L, moves, evals, 8);
+        int[] losses = annotations.stream().mapToInt(MoveAnnotation::getCpLoss).toArray();
+        System.out.println("  Pérdidas: " + Arrays.toString(losses));
+        check("La mejor jugada no pierde nada", losses[0] == 0 && losses[1] == 0 && losses[4] == 0);
+        check("2. Dh5: 25 - (-40) = 65 cp, imprecisión",
+                losses[2] == 65 && annotations.get(2).getJudgement() == MoveJudgement.INACCURACY);
+        check("2... Re7: mates acotados a " + MoveAnnotation.MAX_EVAL + " cp, error grave",
+                losses[3] == 40 + MoveAnnotation.MAX_EVAL && annotations.get(3).getJudgement() == MoveJudgement.BLUNDER);
+        check("Evaluación a favor de blancas", annotations.get(0).getEvalCp() == 30
+                && annotations.get(1).getEvalCp() == 25 && annotations.get(4).getEvalCp() == MoveAnnotation.MAX_EVAL);
+
+        // Test 3: PGN anotado con NAG y comentarios
+        System.out.println("\n3. PGN ANOTADO:");
+        Game game = new Game(PlayerColor.WHITE, 300, 300);
+        game.setMoves(moves);
+        game.setStatusEnum(GameStatus.MATE);
+        game.setWinner(Winner.WHITE);
+        StringWriter writer = new StringWriter();
+        new PgnExportService().writeGame(game, "Prueba", "1", "Blancas", "Negras",
+                AnnotationService.pgnAnnotations(moves, annotations), writer);
+        String pgn = writer.toString();
+        System.out.println(pgn.trim());
+        check("NAG de imprecisión con la mejor jugada", pgn.contains("$6 {Imprecisión (-0.40). Mejor era"));
+        check("NAG de error grave", pgn.contains("$4 {Error grave (+10.00)."));
+        check("La jugada de negras tras un comentario lleva número", pgn.contains("2... "));
+
+        // Test 4: El fork-join rellena todas las posiciones (necesita las reglas completas de chesslib)
+        System.out.println("\n4. ANÁLISIS EN PARALELO:");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            GameAnalyzer.PositionEval[] computed = GameAnalyzer.analyse(moves, 2, new TranspositionTable(1),
+                    new PieceSquareEvaluator(), pool);
+            check("Una evaluación por posición (" + computed.length + ")", computed.length == moves.size() + 1
+                    && Arrays.stream(computed).allMatch(eval -> eval != null));
+        } catch (RuntimeException e) {
+            System.out.println("  ❌ Error en el análisis: " + e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
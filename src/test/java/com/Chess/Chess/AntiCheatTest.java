@@ -0,0 +1,86 @@
+package com.Chess.Chess;
+
+import com.chess.anticheat.PlayerStats;
+import com.chess.model.CheatReport;
+import com.chess.model.Game;
+import com.chess.model.MoveAnnotation;
+import com.chess.model.MoveTimes;
+import com.chess.model.PlayerColor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test del análisis antitrampas: tiempos por jugada y marcado por coincidencia con el motor
+ */
+public class AntiCheatTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE ANÁLISIS ANTITRAMPAS ===");
+
+        // Test 1: Tiempos de reflexión guardados con cada jugada
+        System.out.println("\n1. TIEMPOS POR JUGADA:");
+        Game game = new Game(PlayerColor.WHITE, 300, 300);
+        game.addMove("e2e4", MoveTimes.UNKNOWN);
+        game.addMove("e7e5", 1500);
+        game.addMove("g1f3", 820);
+        check("Un tiempo por jugada", Arrays.equals(game.getMoveTimes(), new int[] {MoveTimes.UNKNOWN, 1500, 820}));
+        byte[] packed = MoveTimes.pack(new int[] {100, 2000});
+        check("Empaquetado ida y vuelta", Arrays.equals(MoveTimes.unpack(packed, 2), new int[] {100, 2000}));
+        check("Jugadas sin tiempo (columna antigua) como UNKNOWN",
+                Arrays.equals(MoveTimes.unpack(packed, 3), new int[] {100, 2000, MoveTimes.UNKNOWN})
+                        && MoveTimes.unpack(null, 1)[0] == MoveTimes.UNKNOWN);
+
+        // Test 2: Blancas juegan siempre la del motor en ~2 s; negras fallan y piensan irregularmente
+        System.out.println("\n2. ESTADÍSTICAS POR JUGADOR:");
+        int plies = 60;
+        List<MoveAnnotation> annotations = new ArrayList<>();
+        int[] times = new int[plies];
+        for (int ply = 1; ply <= plies; ply++) {
+            boolean white = ply % 2 == 1;
+            String move = "m" + ply;
+            String best = white || ply % 4 == 0 ? move : "otra";
+            int loss = move.equals(best) ? 0 : 80;
+            // Desde la jugada 51 la partida está decidida: las jugadas a partir de la 52 no cuentan
+            int eval = ply > 50 ? 900 : 20;
+            annotations.add(new MoveAnnotation(1L, ply, move, best, eval, loss, 8));
+            times[ply - 1] = white ? 2000 + (ply % 3) * 50 : 300 + (ply * 997) % 9000;
+        }
+        PlayerStats.Thresholds thresholds = new PlayerStats.Thresholds(15, 0.85, 20, 0.7, 0.25);
+
+        PlayerStats whiteStats = new PlayerStats(10, 500);
+        whiteStats.addGame(annotations, times, true);
+        check("Sin apertura ni posiciones decididas (" + whiteStats.getMoves() + " jugadas)",
+                whiteStats.getMoves() == 21);
+        check("Coincidencia 100% y pérdida 0", whiteStats.getMatchRate() == 1.0 && whiteStats.getAverageLoss() == 0);
+        CheatReport whiteReport = new CheatReport(1L);
+        whiteStats.applyTo(whiteReport, thresholds);
+        check("Blancas marcadas por precisión y por tiempos: " + whiteReport.getReasons(),
+                whiteReport.isFlagged() && whiteReport.getReasons().contains("coincidencia")
+                        && whiteReport.getReasons().contains("uniformes"));
+        check("Mediana de tiempos " + whiteReport.getThinkP50Millis() + " ms",
+                whiteReport.getThinkP50Millis() >= 2000 && whiteReport.getThinkP50Millis() <= 2100);
+
+        PlayerStats blackStats = new PlayerStats(10, 500);
+        blackStats.addGame(annotations, times, false);
+        CheatReport blackReport = new CheatReport(2L);
+        blackStats.applyTo(blackReport, thresholds);
+        check("Negras: coincidencia " + Math.round(blackReport.getMatchRate() * 100) + "%, no marcadas",
+                !blackReport.isFlagged() && blackReport.getReasons() == null);
+        check("Tiempos irregulares (CV " + String.format("%.2f", blackReport.getThinkTimeCv()) + ")",
+                blackReport.getThinkTimeCv() > 0.25
+                        && blackReport.getThinkP10Millis() < blackReport.getThinkP90Millis());
+
+        // Test 3: Pocas jugadas no bastan para marcar
+        System.out.println("\n3. MUESTRA MÍNIMA:");
+        PlayerStats few = new PlayerStats(10, 500);
+        few.addGame(annotations.subList(0, 20), times, true);
+        CheatReport fewReport = new CheatReport(3L);
+        few.applyTo(fewReport, thresholds);
+        check("5 jugadas perfectas no marcan", few.getMoves() == 5 && !fewReport.isFlagged());
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
@@ -0,0 +1,139 @@
+package com.Chess.Chess;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.transfer.BinaryArchiveReader;
+import com.chess.transfer.BinaryArchiveWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.Deflater;
+
+/**
+ * Test del formato binario de archivo de partidas: ida y vuelta, acceso por índice y datos dañados
+ */
+public class BinaryArchiveTest {
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DEL ARCHIVO BINARIO DE PARTIDAS ===");
+
+        List<String> moves = Arrays.asList("e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5a4", "g8f6");
+        List<Game> games = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            Game game = new Game(PlayerColor.WHITE, 300, 300);
+            game.setId(id);
+            game.setMoves(moves.subList(0, (int) (id % moves.size()) + 1));
+            if (id % 3 == 0) {
+                game.setStatusEnum(GameStatus.MATE);
+                game.setWinner(Winner.BLACK);
+                game.setLastMoveTimestamp(Instant.ofEpochMilli(1_700_000_000_000L + id));
+                game.setFinishedAt(Instant.ofEpochMilli(1_700_000_000_500L + id));
+            }
+            if (id % 7 == 0) {
+                game.setContentHash(id * 31);
+                game.setPgn("[Event \"Importada " + id + "\"]\n\n1. e4 {comentario} *");
+            }
+            if (id % 5 == 0) {
+                game.setWhitePlayerId(id * 10);
+            }
+            games.add(game);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryArchiveWriter writer = new BinaryArchiveWriter(out, 1000, Deflater.DEFAULT_COMPRESSION);
+        for (Game game : games) {
+            writer.write(game);
+        }
+        writer.finish();
+        byte[] archive = out.toByteArray();
+
+        // Test 1: Lectura secuencial por bloques
+        System.out.println("\n1. LECTURA EN STREAMING:");
+        List<Game> read = new ArrayList<>();
+        List<Integer> blockSizes = new ArrayList<>();
+        long total = BinaryArchiveReader.stream(new ByteArrayInputStream(archive), block -> {
+            blockSizes.add(block.size());
+            read.addAll(block);
+        });
+        System.out.println("  Partidas: " + total + " | bloques: " + blockSizes + " | bytes: " + archive.length
+                + " (" + String.format("%.1f", (double) archive.length / total) + " por partida)");
+        boolean same = read.size() == games.size();
+        for (int i = 0; same && i < games.size(); i++) {
+            same = equivalent(games.get(i), read.get(i));
+        }
+        System.out.println(same ? "  ✅ Todas las partidas recuperadas" : "  ❌ Partidas distintas tras la lectura");
+
+        // Test 2: Acceso aleatorio mediante el índice
+        System.out.println("\n2. ACCESO POR ÍNDICE:");
+        Path file = Files.createTempFile("games", ".chsa");
+        try {
+            Files.write(file, archive);
+            for (long id : new long[] { 1, 1000, 1001, 2345, 2500 }) {
+                Optional<Game> found = BinaryArchiveReader.find(file, id);
+                boolean ok = found.isPresent() && equivalent(games.get((int) id - 1), found.get());
+                System.out.println((ok ? "  ✅ " : "  ❌ ") + "Partida " + id);
+            }
+            System.out.println(BinaryArchiveReader.find(file, 9999).isEmpty()
+                    ? "  ✅ Id inexistente no encontrado" : "  ❌ Id inexistente encontrado");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Test 3: Metadatos que se conservan del origen
+        System.out.println("\n3. FIN, PGN ORIGINAL Y HUELLA:");
+        Game finished = read.get(2);
+        System.out.println(finished.getStatusEnum() == GameStatus.MATE
+                && Instant.ofEpochMilli(1_700_000_000_503L).equals(finished.getFinishedAt())
+                ? "  ✅ Fin de la partida del origen, no el de la lectura"
+                : "  ❌ Fin distinto: " + finished.getFinishedAt());
+        System.out.println(read.get(0).getFinishedAt() == null && !finished.isRatingPending()
+                ? "  ✅ Partida activa sin fin y terminada sin rating pendiente"
+                : "  ❌ Estado de fin o rating alterado");
+        Game imported = read.get(6);
+        System.out.println(imported.getPgn().contains("Importada 7") && Long.valueOf(217).equals(imported.getContentHash())
+                && read.get(0).getContentHash() == null
+                ? "  ✅ PGN original y huella conservados"
+                : "  ❌ PGN o huella perdidos: " + imported.getContentHash());
+
+        // Test 4: Archivos dañados
+        System.out.println("\n4. ARCHIVOS DAÑADOS:");
+        byte[] corrupted = archive.clone();
+        corrupted[200] ^= 0x55;
+        expectFailure("Bloque modificado", corrupted);
+        expectFailure("Archivo truncado", Arrays.copyOf(archive, archive.length / 2));
+        expectFailure("Cabecera ajena", "[Event \"PGN\"]".getBytes());
+    }
+
+    private static boolean equivalent(Game expected, Game actual) {
+        return expected.getId().equals(actual.getId())
+                && expected.getMoves().equals(actual.getMoves())
+                && expected.getStatusEnum() == actual.getStatusEnum()
+                && expected.getWinner() == actual.getWinner()
+                && expected.getWhiteClock() == actual.getWhiteClock()
+                && expected.getCreatedAt().withNano(expected.getCreatedAt().getNano() / 1_000_000 * 1_000_000)
+                        .equals(actual.getCreatedAt())
+                && Objects.equals(expected.getLastMoveTimestamp(), actual.getLastMoveTimestamp())
+                && Objects.equals(expected.getFinishedAt(), actual.getFinishedAt())
+                && Objects.equals(expected.getContentHash(), actual.getContentHash())
+                && Objects.equals(expected.getWhitePlayerId(), actual.getWhitePlayerId());
+    }
+
+    private static void expectFailure(String label, byte[] data) {
+        try {
+            BinaryArchiveReader.stream(new ByteArrayInputStream(data), block -> { });
+            System.out.println("  ❌ " + label + ": aceptado");
+        } catch (IOException e) {
+            System.out.println("  ✅ " + label + ": rechazado (" + e.getMessage() + ")");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.Chess.Chess;
+
+import com.chess.cluster.ConsistentHashRing;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test del reparto de partidas entre nodos con hash consistente
+ */
+public class ConsistentHashRingTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE HASH CONSISTENTE ===");
+        int games = 100_000;
+
+        // Test 1: Reparto uniforme entre tres nodos
+        System.out.println("\n1. REPARTO ENTRE 3 NODOS:");
+        List<String> three = Arrays.asList("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+        ConsistentHashRing ring = new ConsistentHashRing(three, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= games; id++) {
+            counts.merge(ring.ownerOf(id), 1, Integer::sum);
+        }
+        counts.forEach((node, count) -> {
+            double share = 100.0 * count / games;
+            System.out.println((Math.abs(share - 33.3) < 5 ? "  ✅ " : "  ❌ ") + node + ": "
+                    + String.format("%.1f%%", share));
+        });
+
+        // Test 2: Al añadir un nodo solo se mueve ~1/4 de las partidas, y todas hacia el nuevo
+        System.out.println("\n2. ALTA DE UN CUARTO NODO:");
+        List<String> four = Arrays.asList("http://localhost:8080", "http://localhost:8081",
+                "http://localhost:8082", "http://localhost:8083");
+        ConsistentHashRing grown = new ConsistentHashRing(four, 128);
+        int moved = 0;
+        int movedElsewhere = 0;
+        for (long id = 1; id <= games; id++) {
+            String before = ring.ownerOf(id);
+            String after = grown.ownerOf(id);
+            if (!before.equals(after)) {
+                moved++;
+                if (!after.equals("http://localhost:8083")) {
+                    movedElsewhere++;
+                }
+            }
+        }
+        double movedShare = 100.0 * moved / games;
+        System.out.println((movedShare < 35 ? "  ✅ " : "  ❌ ") + "Partidas que cambian de nodo: "
+                + String.format("%.1f%%", movedShare));
+        System.out.println((movedElsewhere == 0 ? "  ✅ " : "  ❌ ")
+                + "Partidas movidas entre nodos antiguos: " + movedElsewhere);
+
+        // Test 3: Al quitar el nodo se recupera exactamente el reparto original
+        System.out.println("\n3. BAJA DEL CUARTO NODO:");
+        int mismatches = 0;
+        ConsistentHashRing shrunk = new ConsistentHashRing(three, 128);
+        for (long id = 1; id <= games; id++) {
+            if (!ring.ownerOf(id).equals(shrunk.ownerOf(id))) {
+                mismatches++;
+            }
+        }
+        System.out.println((mismatches == 0 ? "  ✅ " : "  ❌ ") + "Diferencias con el reparto original: " + mismatches);
+
+        System.out.println("\n=== TESTS COMPLETADOS ===");
+    }
+}
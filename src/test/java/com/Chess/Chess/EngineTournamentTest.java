@@ -0,0 +1,80 @@
+package com.Chess.Chess;
+
+import com.chess.engine.AlphaBetaEngine;
+import com.chess.engine.EngineConfig;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.TranspositionTable;
+import com.chess.tournament.EloEstimate;
+import com.github.bhlangonijr.chesslib.Board;
+
+/**
+ * Test del motor propio (tabla de transposición, búsqueda) y de la estimación de Elo de los torneos
+ */
+public class EngineTournamentTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE MOTOR Y TORNEOS ===");
+
+        // Test 1: Empaquetado de entradas de la tabla de transposición
+        System.out.println("\n1. TABLA DE TRANSPOSICIÓN:");
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(0x1234_5678_9ABC_DEF0L, 7, TranspositionTable.LOWER, -29_995, 0x0ABC);
+        long entry = table.probe(0x1234_5678_9ABC_DEF0L);
+        check("Entrada recuperada", entry != 0
+                && TranspositionTable.depth(entry) == 7
+                && TranspositionTable.bound(entry) == TranspositionTable.LOWER
+                && TranspositionTable.score(entry) == -29_995
+                && TranspositionTable.move(entry) == 0x0ABC);
+        check("Otra clave en la misma ranura no valida", table.probe(0x1234_5678_9ABC_DEF0L ^ (1L << 40)) == 0);
+        table.store(0x1234_5678_9ABC_DEF0L, 9, TranspositionTable.EXACT, 35, 0);
+        check("Sin jugada nueva se conserva la anterior",
+                TranspositionTable.move(table.probe(0x1234_5678_9ABC_DEF0L)) == 0x0ABC);
+
+        // Test 2: Búsqueda (necesita las reglas completas de chesslib)
+        System.out.println("\n2. BÚSQUEDA:");
+        try {
+            Board board = new Board();
+            board.loadFromFen("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+            SearchResult result = new AlphaBetaEngine("test", 4).search(board, SearchLimits.of(4, 2000));
+            System.out.println("  Mejor jugada: " + result.bestMove() + " | puntuación: " + result.score()
+                    + " | profundidad: " + result.depth() + " | nodos: " + result.nodes()
+                    + " | PV: " + result.pv());
+            check("Mate en 1 encontrado (a1a8)", "a1a8".equals(result.bestMove()) && result.mateIn() == 1);
+            check("El tablero queda como estaba", board.getFen().equals("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1"));
+        } catch (RuntimeException e) {
+            System.out.println("  ❌ Error en la búsqueda: " + e.getMessage());
+        }
+
+        // Test 3: Configuración de motores
+        System.out.println("\n3. CONFIGURACIÓN DE MOTORES:");
+        EngineConfig config = EngineConfig.parse("rapido:4:100");
+        check("rapido:4:100", config.depth() == 4 && config.moveTimeMillis() == 100
+                && config.hashMegabytes() == EngineConfig.DEFAULT_HASH_MB);
+        check("El reloj limita el tiempo por jugada", config.limits(40).moveTimeMillis() == 40);
+        for (String invalid : new String[] { "sinprofundidad", "x:0", "x:4:-1", "x:a" }) {
+            try {
+                EngineConfig.parse(invalid);
+                System.out.println("  ❌ Aceptado: " + invalid);
+            } catch (IllegalArgumentException e) {
+                System.out.println("  ✅ Rechazado: " + invalid + " (" + e.getMessage() + ")");
+            }
+        }
+
+        // Test 4: Diferencia de Elo con intervalo de confianza
+        System.out.println("\n4. ESTIMACIÓN DE ELO:");
+        EloEstimate even = EloEstimate.of(40, 20, 40);
+        System.out.println("  40/20/40: " + even);
+        check("Igualdad da 0 Elo", Math.abs(even.elo()) < 1e-9 && even.lower() < 0 && even.upper() > 0);
+        EloEstimate better = EloEstimate.of(60, 20, 20);
+        System.out.println("  60/20/20: " + better);
+        check("70% de puntuación ≈ +147 Elo", Math.abs(better.elo() - 147.2) < 0.5);
+        EloEstimate more = EloEstimate.of(600, 200, 200);
+        System.out.println("  600/200/200: " + more);
+        check("Diez veces más partidas estrechan el intervalo", more.errorMargin() < better.errorMargin() / 3);
+        check("Todo ganado: diferencia infinita", Double.isInfinite(EloEstimate.of(10, 0, 0).elo()));
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
@@ -0,0 +1,202 @@
+package com.Chess.Chess;
+
+import com.chess.engine.eval.Accumulator;
+import com.chess.engine.eval.IncrementalEvaluator;
+import com.chess.engine.eval.NnueEvaluator;
+import com.chess.engine.eval.NnueNetwork;
+import com.chess.engine.eval.PieceSquareEvaluator;
+import com.github.bhlangonijr.chesslib.Side;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test y benchmark de la evaluación incremental: la actualización jugada a jugada
+ * debe coincidir con el recálculo completo, y se mide evaluaciones por segundo
+ */
+public class EvaluationBenchmark {
+
+    private static final int E = Accumulator.EMPTY;
+
+    // Posición inicial por ordinal de Piece (0-5 blancas, 6-11 negras), A1 = 0
+    private static final int[] START = {
+            3, 1, 2, 4, 5, 2, 1, 3,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            E, E, E, E, E, E, E, E,
+            E, E, E, E, E, E, E, E,
+            E, E, E, E, E, E, E, E,
+            E, E, E, E, E, E, E, E,
+            6, 6, 6, 6, 6, 6, 6, 6,
+            9, 7, 8, 10, 11, 8, 7, 9 };
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DE EVALUACIÓN INCREMENTAL ===");
+
+        NnueNetwork network = randomNetwork(256, 42);
+        IncrementalEvaluator pst = new PieceSquareEvaluator();
+        IncrementalEvaluator nnue = new NnueEvaluator(network);
+
+        // Test 1: Posición inicial simétrica
+        System.out.println("\n1. POSICIÓN INICIAL:");
+        Accumulator start = pst.newAccumulator();
+        start.reset(START);
+        check("Tablas pieza-casilla: 0 para ambos bandos",
+                start.evaluate(Side.WHITE) == 0 && start.evaluate(Side.BLACK) == 0);
+        Accumulator nnueStart = nnue.newAccumulator();
+        nnueStart.reset(START);
+        check("NNUE: misma puntuación para el bando que mueve (posición simétrica)",
+                nnueStart.evaluate(Side.WHITE) == nnueStart.evaluate(Side.BLACK));
+
+        // Test 2: Jugadas aleatorias: incremental == recálculo, y deshacer vuelve al origen
+        System.out.println("\n2. INCREMENTAL FRENTE A RECÁLCULO:");
+        checkRandomWalk("Tablas pieza-casilla", pst);
+        checkRandomWalk("NNUE", nnue);
+
+        // Test 3: Ida y vuelta del archivo de red
+        System.out.println("\n3. ARCHIVO DE RED:");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        network.write(out);
+        Accumulator reloaded = new NnueEvaluator(NnueNetwork.read(new ByteArrayInputStream(out.toByteArray())))
+                .newAccumulator();
+        reloaded.reset(START);
+        check("Misma evaluación tras leer la red (" + out.size() / 1024 + " KB)",
+                reloaded.evaluate(Side.WHITE) == nnueStart.evaluate(Side.WHITE));
+        try {
+            NnueNetwork.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+            System.out.println("  ❌ Aceptada una cabecera inválida");
+        } catch (IOException e) {
+            System.out.println("  ✅ Cabecera inválida rechazada: " + e.getMessage());
+        }
+
+        // Test 4: Evaluaciones por segundo
+        System.out.println("\n4. RENDIMIENTO:");
+        benchmark("Tablas pieza-casilla", pst);
+        benchmark("NNUE (768x2 -> 256x2 -> 1)", nnue);
+    }
+
+    private static void checkRandomWalk(String label, IncrementalEvaluator evaluator) {
+        Random random = new Random(7);
+        int[] board = START.clone();
+        Accumulator incremental = evaluator.newAccumulator();
+        Accumulator scratch = evaluator.newAccumulator();
+        incremental.reset(board);
+        int initial = incremental.evaluate(Side.WHITE);
+
+        List<int[]> played = new ArrayList<>();
+        boolean consistent = true;
+        for (int step = 0; step < 400; step++) {
+            int[] move = randomMove(board, random, step % 2 == 0);
+            if (move == null) {
+                break;
+            }
+            apply(incremental, board, move);
+            played.add(move);
+            scratch.reset(board);
+            Side side = step % 2 == 0 ? Side.BLACK : Side.WHITE;
+            consistent &= incremental.evaluate(side) == scratch.evaluate(side);
+        }
+        check(label + ": coincide en " + played.size() + " jugadas", consistent);
+
+        for (int i = played.size() - 1; i >= 0; i--) {
+            int[] move = played.get(i);
+            incremental.undoMove();
+            board[move[1]] = move[0];
+            board[move[2]] = move[3];
+        }
+        check(label + ": deshacer todas vuelve a la posición inicial",
+                incremental.evaluate(Side.WHITE) == initial && Arrays.equals(board, START));
+    }
+
+    private static void benchmark(String label, IncrementalEvaluator evaluator) {
+        Random random = new Random(11);
+        int[] board = START.clone();
+        List<int[]> moves = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            moves.add(randomMove(board, random, i % 2 == 0));
+        }
+        Accumulator accumulator = evaluator.newAccumulator();
+        long sink = 0;
+
+        for (int round = 0; round < 3; round++) { // la primera ronda calienta el JIT
+            int iterations = 200_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                accumulator.reset(board);
+                sink += accumulator.evaluate(Side.WHITE);
+            }
+            double full = iterations / ((System.nanoTime() - start) / 1e9);
+
+            accumulator.reset(board);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                int[] move = moves.get(i & 1023);
+                accumulator.beginMove();
+                accumulator.movePiece(move[0], move[1], move[2]);
+                sink += accumulator.evaluate(Side.BLACK);
+                accumulator.undoMove();
+            }
+            double incremental = iterations / ((System.nanoTime() - start) / 1e9);
+            if (round == 2) {
+                System.out.printf("  %s: recálculo %,.0f evals/s | incremental %,.0f evals/s (x%.1f)%n",
+                        label, full, incremental, incremental / full);
+            }
+        }
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+    }
+
+    // Mueve una pieza cualquiera del bando a una casilla sin pieza propia ni rey (no hace falta que sea legal)
+    private static int[] randomMove(int[] board, Random random, boolean white) {
+        for (int attempt = 0; attempt < 1000; attempt++) {
+            int from = random.nextInt(64);
+            int to = random.nextInt(64);
+            int piece = board[from];
+            int target = board[to];
+            if (piece == E || (piece < 6) != white || from == to) {
+                continue;
+            }
+            if (target != E && ((target < 6) == white || target % 6 == 5)) {
+                continue;
+            }
+            return new int[] { piece, from, to, target };
+        }
+        return null;
+    }
+
+    private static void apply(Accumulator accumulator, int[] board, int[] move) {
+        accumulator.beginMove();
+        if (move[3] != E) {
+            accumulator.removePiece(move[3], move[2]);
+        }
+        accumulator.movePiece(move[0], move[1], move[2]);
+        board[move[2]] = move[0];
+        board[move[1]] = E;
+    }
+
+    private static NnueNetwork randomNetwork(int hidden, long seed) {
+        Random random = new Random(seed);
+        short[] inputWeights = new short[NnueNetwork.INPUTS * hidden];
+        for (int i = 0; i < inputWeights.length; i++) {
+            inputWeights[i] = (short) (random.nextInt(129) - 64);
+        }
+        short[] bias = new short[hidden];
+        for (int i = 0; i < hidden; i++) {
+            bias[i] = (short) random.nextInt(128);
+        }
+        short[] outputWeights = new short[2 * hidden];
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) (random.nextInt(65) - 32);
+        }
+        return new NnueNetwork(hidden, inputWeights, bias, outputWeights, 0);
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
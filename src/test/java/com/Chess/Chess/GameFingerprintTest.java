@@ -0,0 +1,73 @@
+package com.Chess.Chess;
+
+import com.chess.model.GameFingerprint;
+import com.chess.service.LongBloomFilter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Test de la huella canónica de partidas importadas y del filtro de Bloom de duplicados
+ */
+public class GameFingerprintTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE HUELLA DE PARTIDAS ===");
+
+        List<String> moves = Arrays.asList("e2e4", "e7e5", "g1f3", "b8c6");
+        String pgn = "[Event \"Open de Madrid\"]\n[Site \"Madrid\"]\n[Date \"2024.05.01\"]\n[Round \"3\"]\n"
+                + "[White \"García, Ana\"]\n[Black \"López, Luis\"]\n[Result \"1-0\"]\n[Annotator \"X\"]\n\n"
+                + "1. e4 e5 2. Nf3 Nc6 1-0";
+        long base = GameFingerprint.of(GameFingerprint.parseTags(pgn), moves);
+
+        // Test 1: Variaciones de formato que no cambian la partida
+        System.out.println("\n1. MISMA PARTIDA CON OTRO FORMATO:");
+        String reformatted = "[White   \"garcía,  Ana \"]\n[Event \"OPEN DE MADRID\"]\n[Black \"López, Luis\"]\n"
+                + "[Site \"Madrid\"]\n[Date \"2024.05.01\"]\n[Round \"3\"]\n[Result \"1-0\"]\n\n"
+                + "1. e4 {apertura} e5 2. Nf3 Nc6 1-0";
+        check("Orden, mayúsculas, espacios y etiquetas extra",
+                GameFingerprint.of(GameFingerprint.parseTags(reformatted), moves) == base);
+        check("Fecha desconocida equivale a ausente",
+                GameFingerprint.of(GameFingerprint.parseTags("[Date \"????.??.??\"]"), moves)
+                        == GameFingerprint.of(GameFingerprint.parseTags(""), moves));
+
+        // Test 2: Cambios que sí distinguen partidas
+        System.out.println("\n2. PARTIDAS DISTINTAS:");
+        check("Otra ronda", GameFingerprint.of(GameFingerprint.parseTags(pgn.replace("\"3\"", "\"4\"")), moves) != base);
+        check("Otro resultado",
+                GameFingerprint.of(GameFingerprint.parseTags(pgn.replace("\"1-0\"", "\"0-1\"")), moves) != base);
+        check("Un movimiento menos", GameFingerprint.of(GameFingerprint.parseTags(pgn), moves.subList(0, 3)) != base);
+        check("Movimientos en otro orden", GameFingerprint.of(GameFingerprint.parseTags(pgn),
+                Arrays.asList("g1f3", "b8c6", "e2e4", "e7e5")) != base);
+
+        // Test 3: Filtro de Bloom
+        System.out.println("\n3. FILTRO DE BLOOM (100.000 huellas, 1% objetivo):");
+        LongBloomFilter filter = new LongBloomFilter(100_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] inserted = new long[100_000];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = random.nextLong();
+            filter.put(inserted[i]);
+        }
+        boolean allFound = true;
+        for (long key : inserted) {
+            allFound &= filter.mightContain(key);
+        }
+        check("Sin falsos negativos", allFound);
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        double rate = 100.0 * falsePositives / probes;
+        System.out.println(String.format("  Falsos positivos: %.2f%% | %d bits, %d hashes", rate,
+                filter.getBitCount(), filter.getHashCount()));
+        check("Tasa de falsos positivos cerca del objetivo", rate < 1.5);
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
@@ -0,0 +1,72 @@
+package com.Chess.Chess;
+
+import com.chess.service.GameCheckpoints;
+import com.chess.service.GameRules;
+import com.github.bhlangonijr.chesslib.Board;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test de los puntos de control de la búsqueda de posiciones (/games/{id}/position)
+ */
+public class GameSeekTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE PUNTOS DE CONTROL ===");
+
+        // Test 1: Punto de partida y movimientos a reproducir para cada ply (K = 10)
+        System.out.println("\n1. ÍNDICES Y DESPLAZAMIENTOS:");
+        GameCheckpoints three = new GameCheckpoints(10, List.of("ply0", "ply10", "ply20"));
+        check("Ply 0: posición inicial sin reproducir nada", three.indexFor(0) == 0 && three.plyOf(0) == 0);
+        check("Ply 9: punto 0 y 9 movimientos", three.indexFor(9) == 0 && 9 - three.plyOf(three.indexFor(9)) == 9);
+        check("Ply 10 (múltiplo de K): su propio punto, sin reproducir",
+                three.indexFor(10) == 1 && three.plyOf(1) == 10 && three.fen(1).equals("ply10"));
+        check("Ply 20 (último punto): sin reproducir", three.indexFor(20) == 2 && three.plyOf(2) == 20);
+        check("Último ply 25: punto 20 y 5 movimientos", three.indexFor(25) == 2 && three.lastPly() == 20);
+        check("Por encima de los puntos guardados: el último", three.indexFor(47) == 2);
+
+        // Test 2: Extender solo cuando la partida alcanza un nuevo múltiplo de K
+        System.out.println("\n2. EXTENSIÓN:");
+        List<String> twentyNine = Arrays.asList(new String[29]);
+        check("29 movimientos ya cubiertos por 3 puntos: misma instancia", three.extend(twentyNine) == three);
+        check("Partida sin movimientos: solo la inicial",
+                GameCheckpoints.initial(10).extend(List.of()).size() == 1);
+        check("Intervalo no positivo rechazado", rejects(() -> new GameCheckpoints(0, List.of("x"))));
+
+        // Test 3: Posiciones reproducidas desde los puntos frente a la partida completa
+        System.out.println("\n3. POSICIONES:");
+        List<String> moves = Arrays.asList("e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6", "d2d3", "f8c5",
+                "e1g1", "e8g8", "c2c3", "d7d6", "b1d2", "a7a6");
+        try {
+            GameCheckpoints checkpoints = GameCheckpoints.initial(4).extend(moves);
+            check("Puntos en 0, 4, 8 y 12", checkpoints.size() == 4 && checkpoints.lastPly() == 12);
+            check("Partida en curso: 2 movimientos más no añaden puntos",
+                    checkpoints.extend(moves.subList(0, 13)) == checkpoints);
+            boolean same = true;
+            for (int ply = 0; ply <= moves.size(); ply++) {
+                String expected = GameRules.reconstructBoard(moves.subList(0, ply)).getFen();
+                Board board = checkpoints.boardAt(moves, ply);
+                same &= expected.equals(board.getFen()) && ply - checkpoints.plyOf(checkpoints.indexFor(ply)) < 4;
+            }
+            check("FEN correcto en todos los plies reproduciendo menos de K movimientos", same);
+            GameCheckpoints grown = GameCheckpoints.initial(4).extend(moves.subList(0, 6)).extend(moves);
+            check("Extender por partes da los mismos puntos",
+                    grown.size() == 4 && grown.fen(3).equals(checkpoints.fen(3)));
+        } catch (RuntimeException e) {
+            check("Reproducción de la partida: " + e.getMessage(), false);
+        }
+    }
+
+    private static boolean rejects(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
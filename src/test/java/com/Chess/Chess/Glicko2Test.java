@@ -0,0 +1,58 @@
+package com.Chess.Chess;
+
+import com.chess.rating.Glicko2Calculator;
+import com.chess.rating.Glicko2Calculator.Rating;
+import com.chess.rating.Glicko2Calculator.Result;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test del cálculo Glicko-2 con el ejemplo del artículo de Glickman
+ */
+public class Glicko2Test {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE RATING GLICKO-2 ===");
+        Glicko2Calculator calculator = new Glicko2Calculator(0.5);
+
+        // Test 1: Ejemplo de referencia (1500/200/0.06 contra 1400, 1550 y 1700)
+        System.out.println("\n1. EJEMPLO DE REFERENCIA:");
+        Rating player = new Rating(1500, 200, 0.06);
+        Rating updated = calculator.rate(player, List.of(
+                new Result(new Rating(1400, 30, 0.06), 1.0),
+                new Result(new Rating(1550, 100, 0.06), 0.0),
+                new Result(new Rating(1700, 300, 0.06), 0.0)));
+        check("Rating ≈ 1464.06", updated.rating(), 1464.06, 0.01);
+        check("Desviación ≈ 151.52", updated.deviation(), 151.52, 0.01);
+        check("Volatilidad ≈ 0.05999", updated.volatility(), 0.05999, 0.00001);
+
+        // Test 2: Sin partidas solo aumenta la desviación
+        System.out.println("\n2. PERIODO SIN PARTIDAS:");
+        Rating idle = calculator.rate(player, Collections.emptyList());
+        check("Rating sin cambios", idle.rating(), 1500, 0.0);
+        System.out.println((idle.deviation() > 200 ? "  ✅ " : "  ❌ ") + "Desviación crece: " + idle.deviation());
+
+        // Test 3: Tablas entre iguales no mueven el rating
+        System.out.println("\n3. TABLAS ENTRE IGUALES:");
+        Rating drawn = calculator.rate(player, List.of(new Result(player, 0.5)));
+        check("Rating sin cambios", drawn.rating(), 1500, 0.001);
+
+        // Test 4: Varios periodos sin partidas equivalen a aplicar el paso vacío tantas veces
+        System.out.println("\n4. INACTIVIDAD PROLONGADA:");
+        Rating settled = new Rating(1800, 50, 0.06);
+        Rating stepped = settled;
+        for (int i = 0; i < 90; i++) {
+            stepped = calculator.rate(stepped, Collections.emptyList());
+        }
+        check("90 periodos de golpe = 90 pasos", calculator.idle(settled, 90).deviation(), stepped.deviation(), 0.001);
+        check("Tope de desviación", calculator.idle(settled, 100_000).deviation(), 350, 0.0);
+        check("Sin periodos no cambia", calculator.idle(settled, 0).deviation(), 50, 0.0);
+
+        System.out.println("\n=== TESTS COMPLETADOS ===");
+    }
+
+    private static void check(String label, double actual, double expected, double tolerance) {
+        boolean ok = Math.abs(actual - expected) <= tolerance;
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label + " (obtenido " + String.format("%.5f", actual) + ")");
+    }
+}
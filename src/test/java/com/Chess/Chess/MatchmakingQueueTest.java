@@ -0,0 +1,64 @@
+package com.Chess.Chess;
+
+import com.chess.matchmaking.MatchTicket;
+import com.chess.matchmaking.MatchmakingQueue;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Test de la cola de emparejamiento: ventana de rating, ampliación con la espera y rendimiento
+ */
+public class MatchmakingQueueTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE COLA DE EMPAREJAMIENTO ===");
+        long now = System.currentTimeMillis();
+
+        // Test 1: Empareja al rival más cercano dentro de la ventana
+        System.out.println("\n1. RIVAL MÁS CERCANO:");
+        MatchmakingQueue queue = new MatchmakingQueue(50, 10, 400);
+        queue.enqueue(new MatchTicket(1, 101, 1500, 300, now));
+        queue.enqueue(new MatchTicket(2, 102, 1540, 300, now));
+        queue.enqueue(new MatchTicket(3, 103, 1520, 300, now));
+        List<MatchTicket[]> pairs = queue.pair(now);
+        boolean nearest = pairs.size() == 1 && pairs.get(0)[0].getId() == 1 && pairs.get(0)[1].getId() == 3;
+        System.out.println((nearest ? "  ✅ " : "  ❌ ") + "1500 emparejado con 1520; queda en cola: " + queue.size());
+
+        // Test 2: Fuera de la ventana no se empareja hasta que la espera la amplía
+        System.out.println("\n2. AMPLIACIÓN DE LA VENTANA:");
+        MatchmakingQueue wide = new MatchmakingQueue(50, 10, 400);
+        wide.enqueue(new MatchTicket(10, 201, 1200, 300, now));
+        wide.enqueue(new MatchTicket(11, 202, 1400, 300, now));
+        boolean notYet = wide.pair(now).isEmpty();
+        boolean later = wide.pair(now + 16_000).size() == 1;
+        System.out.println((notYet ? "  ✅ " : "  ❌ ") + "Diferencia 200 rechazada al principio");
+        System.out.println((later ? "  ✅ " : "  ❌ ") + "Aceptada tras 16 s de espera");
+
+        // Test 3: Un ticket cancelado no se empareja
+        System.out.println("\n3. CANCELACIÓN:");
+        MatchmakingQueue cancel = new MatchmakingQueue(50, 10, 400);
+        MatchTicket gone = new MatchTicket(20, 301, 1500, 300, now);
+        cancel.enqueue(gone);
+        cancel.enqueue(new MatchTicket(21, 302, 1500, 300, now));
+        cancel.cancel(gone, now);
+        System.out.println((cancel.pair(now).isEmpty() ? "  ✅ " : "  ❌ ") + "Sin pareja tras cancelar");
+
+        // Test 4: Rendimiento con muchos jugadores
+        System.out.println("\n4. RENDIMIENTO:");
+        int players = 200_000;
+        MatchmakingQueue big = new MatchmakingQueue(50, 10, 400);
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            int rating = 800 + ThreadLocalRandom.current().nextInt(1600);
+            big.enqueue(new MatchTicket(1000 + i, 10_000 + i, rating, 300, now));
+        }
+        long enqueued = System.nanoTime();
+        int paired = big.pair(now).size();
+        long done = System.nanoTime();
+        System.out.printf("  Altas: %d en %.1f ms (%.0f/s)%n", players, (enqueued - start) / 1e6,
+                players / ((enqueued - start) / 1e9));
+        System.out.printf("  Parejas: %d en %.1f ms; quedan %d%n", paired, (done - enqueued) / 1e6, big.size());
+
+        System.out.println("\n=== TESTS COMPLETADOS ===");
+    }
+}
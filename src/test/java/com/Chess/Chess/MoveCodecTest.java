@@ -0,0 +1,57 @@
+package com.Chess.Chess;
+
+import com.chess.model.MoveCodec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test de la codificación compacta de movimientos (16 bits) y la conversión LAN/SAN
+ */
+public class MoveCodecTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE CODIFICACIÓN BINARIA DE MOVIMIENTOS ===");
+
+        // Test 1: Ida y vuelta de movimientos sueltos
+        System.out.println("\n1. CODIFICAR Y DECODIFICAR:");
+        String[] samples = { "e2e4", "g1f3", "e1g1", "a7a8q", "h2h1n", "b7c8r" };
+        for (String lan : samples) {
+            short code = MoveCodec.encode(lan);
+            String decoded = MoveCodec.decode(code);
+            System.out.println((lan.equals(decoded) ? "✅ " : "❌ ") + lan + " -> 0x"
+                    + Integer.toHexString(code & 0xFFFF) + " -> " + decoded);
+        }
+
+        // Test 2: Empaquetado de una partida
+        System.out.println("\n2. EMPAQUETADO DE PARTIDA:");
+        List<String> game = Arrays.asList("e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6");
+        byte[] packed = MoveCodec.pack(game);
+        List<String> unpacked = MoveCodec.unpack(packed);
+        int textBytes = String.join(" ", game).length();
+        System.out.println("  Movimientos: " + game.size() + " | bytes empaquetados: " + packed.length
+                + " | bytes texto: " + textBytes);
+        System.out.println(game.equals(unpacked) ? "  ✅ Lista recuperada correctamente" : "  ❌ Lista distinta: " + unpacked);
+
+        // Test 3: Movimientos inválidos
+        System.out.println("\n3. MOVIMIENTOS INVÁLIDOS:");
+        for (String invalid : new String[] { "e9e4", "e2", "e7e8k", "" }) {
+            try {
+                MoveCodec.encode(invalid);
+                System.out.println("  ❌ Aceptado: '" + invalid + "'");
+            } catch (IllegalArgumentException e) {
+                System.out.println("  ✅ Rechazado: '" + invalid + "' (" + e.getMessage() + ")");
+            }
+        }
+
+        // Test 4: Conversión LAN <-> SAN
+        System.out.println("\n4. CONVERSIÓN LAN <-> SAN:");
+        try {
+            List<String> san = MoveCodec.toSan(game);
+            System.out.println("  SAN: " + san);
+            List<String> lan = MoveCodec.fromSan(String.join(" ", san));
+            System.out.println(game.equals(lan) ? "  ✅ SAN -> LAN coincide" : "  ❌ SAN -> LAN: " + lan);
+        } catch (Exception e) {
+            System.out.println("  ❌ Error en conversión: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.Chess.Chess;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga contra un servidor ya arrancado. Cada cliente crea una partida
+ * y juega una apertura fija, midiendo la latencia de cada movimiento.
+ *
+ * Uso: java MoveLoadTest [baseUrl] [clientes] [partidasPorCliente] [ruta]
+ * Para comparar modos, arrancar el servidor con y sin --spring.profiles.active=virtual
+ * y lanzar la misma prueba contra cada uno. Con ruta=/reactive/games y el puerto de la
+ * API reactiva (chess.reactive.port, p. ej. http://localhost:8081) se mide la API
+ * reactiva en memoria sobre Netty en lugar de la bloqueante (/games).
+ */
+public class MoveLoadTest {
+
+    private static final String[] OPENING = { "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6", "d2d3", "f8c5" };
+    private static final Pattern GAME_ID = Pattern.compile("ID del Juego: (-?\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int gamesPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        String gamesPath = args.length > 3 ? args[3] : "/games";
+
+        System.out.println("=== PRUEBA DE CARGA DE MOVIMIENTOS ===");
+        System.out.println("Servidor: " + baseUrl + gamesPath + " | clientes: " + clients
+                + " | partidas/cliente: " + gamesPerClient);
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<long[]> latenciesPerClient = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (ExecutorService clientsPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] latencies = new long[gamesPerClient * OPENING.length];
+                latenciesPerClient.add(latencies);
+                clientsPool.submit(() -> runClient(http, baseUrl + gamesPath, gamesPerClient, latencies, errors));
+            }
+            clientsPool.shutdown();
+            clientsPool.awaitTermination(30, TimeUnit.MINUTES);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] all = latenciesPerClient.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+
+        System.out.println("\n=== RESULTADOS ===");
+        System.out.println("Movimientos OK: " + all.length + " | errores: " + errors.get());
+        System.out.printf("Throughput: %.1f movimientos/s en %.1f s%n", all.length / seconds, seconds);
+        if (all.length > 0) {
+            System.out.printf("Latencia p50: %.1f ms | p99: %.1f ms | máx: %.1f ms%n",
+                    percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static void runClient(HttpClient http, String gamesUrl, int games, long[] latencies, AtomicLong errors) {
+        int index = 0;
+        for (int g = 0; g < games; g++) {
+            try {
+                String created = post(http, gamesUrl + "/create?playerColor=WHITE&timeControlSeconds=600");
+                Matcher matcher = GAME_ID.matcher(created);
+                if (!matcher.find()) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+                String gameId = matcher.group(1);
+
+                for (String move : OPENING) {
+                    long t0 = System.nanoTime();
+                    post(http, gamesUrl + "/" + gameId + "/move/pgn?move=" + move);
+                    latencies[index++] = System.nanoTime() - t0;
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private static String post(HttpClient http, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
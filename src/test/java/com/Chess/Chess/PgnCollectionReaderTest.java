@@ -0,0 +1,88 @@
+package com.Chess.Chess;
+
+import com.chess.service.PgnCollectionReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test de la división de colecciones PGN en partidas y de la reanudación por offset
+ */
+public class PgnCollectionReaderTest {
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DE LECTURA DE COLECCIONES PGN ===");
+
+        String collection = "\uFEFF[Event \"Uno\"]\r\n[White \"Blancas\"]\r\n\r\n1. e4 e5 2. Nf3 Nc6 1-0\r\n\r\n"
+                + "[Event \"Dos – Ñandú\"]\n\n1. d4 d5\n2. c4 *\n"
+                + "[Event \"Tres\"]\n1. c4 {comentario} e5 0-1\n\n"
+                + "1. f4 e5 *\n";
+        byte[] bytes = collection.getBytes(StandardCharsets.UTF_8);
+
+        // Test 1: División completa
+        System.out.println("\n1. DIVISIÓN EN PARTIDAS:");
+        List<PgnCollectionReader.PgnChunk> chunks = readAll(bytes, 0);
+        for (PgnCollectionReader.PgnChunk chunk : chunks) {
+            System.out.println("  [" + chunk.startOffset() + ", " + chunk.endOffset() + ") "
+                    + chunk.text().trim().replace("\n", " | "));
+        }
+        System.out.println(chunks.size() == 4 ? "  ✅ 4 partidas" : "  ❌ Se esperaban 4 partidas: " + chunks.size());
+        System.out.println(chunks.get(chunks.size() - 1).endOffset() == bytes.length
+                ? "  ✅ La última partida termina al final del fichero" : "  ❌ Offset final incorrecto");
+
+        // Test 2: Reanudar desde el offset de cada partida da el mismo resultado
+        System.out.println("\n2. REANUDACIÓN DESDE OFFSET:");
+        for (int i = 1; i < chunks.size(); i++) {
+            long offset = chunks.get(i - 1).endOffset();
+            List<PgnCollectionReader.PgnChunk> resumed = readAll(bytes, offset);
+            boolean ok = resumed.equals(chunks.subList(i, chunks.size()));
+            System.out.println((ok ? "  ✅ " : "  ❌ ") + "Desde el byte " + offset + ": " + resumed.size() + " partidas");
+        }
+
+        // Test 3: Fichero vacío o solo con espacios
+        System.out.println("\n3. FICHERO SIN PARTIDAS:");
+        System.out.println(readAll("\n\n  \n".getBytes(StandardCharsets.UTF_8), 0).isEmpty()
+                ? "  ✅ Ninguna partida" : "  ❌ Se leyeron partidas de un fichero vacío");
+
+        // Test 4: Partidas demasiado grandes se saltan sin detener la lectura
+        System.out.println("\n4. PARTIDAS DEMASIADO GRANDES:");
+        String manyMoves = "1. e4 e5 2. Nf3 Nc6\n".repeat(60_000);
+        String longLine = "1. d4 {" + "x".repeat(1_200_000) + "} d5 *\n";
+        String oversized = "[Event \"Uno\"]\n\n1. e4 e5 1-0\n\n"
+                + "[Event \"Grande\"]\n\n" + manyMoves + "1-0\n\n"
+                + "[Event \"Línea\"]\n\n" + longLine + "\n"
+                + "[Event \"Cuatro\"]\n\n1. c4 *\n";
+        byte[] big = oversized.getBytes(StandardCharsets.UTF_8);
+        List<PgnCollectionReader.PgnChunk> bigChunks = readAll(big, 0);
+        boolean split = bigChunks.size() == 4;
+        System.out.println(split ? "  ✅ 4 partidas" : "  ❌ Se esperaban 4 partidas: " + bigChunks.size());
+        if (split) {
+            System.out.println(bigChunks.get(1).error() != null && bigChunks.get(1).text().isEmpty()
+                    && bigChunks.get(2).error() != null
+                    ? "  ✅ Las dos grandes marcadas con error (" + bigChunks.get(1).error() + ")"
+                    : "  ❌ Partidas grandes sin marcar");
+            System.out.println(bigChunks.get(0).error() == null && bigChunks.get(3).error() == null
+                    && bigChunks.get(3).text().contains("Cuatro")
+                    ? "  ✅ La lectura sigue en la partida siguiente" : "  ❌ Partidas vecinas alteradas");
+            boolean contiguous = bigChunks.get(3).endOffset() == big.length;
+            for (int i = 1; i < bigChunks.size(); i++) {
+                contiguous &= bigChunks.get(i).startOffset() == bigChunks.get(i - 1).endOffset();
+            }
+            System.out.println(contiguous ? "  ✅ Offsets contiguos hasta el final" : "  ❌ Offsets con huecos");
+        }
+    }
+
+    private static List<PgnCollectionReader.PgnChunk> readAll(byte[] bytes, long offset) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        in.skipNBytes(offset);
+        PgnCollectionReader reader = new PgnCollectionReader(in, offset);
+        List<PgnCollectionReader.PgnChunk> chunks = new ArrayList<>();
+        PgnCollectionReader.PgnChunk chunk;
+        while ((chunk = reader.next()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
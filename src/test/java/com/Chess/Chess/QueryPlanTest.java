@@ -0,0 +1,123 @@
+package com.Chess.Chess;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica las migraciones sobre H2, siembra partidas y comprueba que las
+ * consultas por estado y fecha usan los índices declarados.
+ */
+public class QueryPlanTest {
+
+    private static final String URL = "jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1";
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO games (winner, status, player_color, turn, white_clock, black_clock, created_at, "
+                                + "finished_at) VALUES (?, ?, 'WHITE', 'WHITE', 300, 300, ?, ?)")) {
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+            for (int i = 0; i < 5000; i++) {
+                boolean active = i % 50 == 0;
+                insert.setString(1, active ? "NONE" : "DRAW");
+                insert.setString(2, active ? "ACTIVE" : "DRAW");
+                insert.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(i)));
+                insert.setTimestamp(4, active ? null : Timestamp.valueOf(start.plusMinutes(i + 30)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+
+            try (Statement analyze = connection.createStatement()) {
+                analyze.execute("ANALYZE");
+            }
+        }
+    }
+
+    @Test
+    public void activeGamesScanUsesStatusIndex() throws Exception {
+        String plan = explain("SELECT id FROM games WHERE status = 'ACTIVE' AND id > 0 ORDER BY id LIMIT 200");
+        assertTrue(plan.contains("IDX_GAMES_STATUS"), plan);
+    }
+
+    @Test
+    public void createdAtRangeUsesIndex() throws Exception {
+        String plan = explain("SELECT id FROM games WHERE created_at >= TIMESTAMP '2024-01-03 00:00:00' "
+                + "AND created_at < TIMESTAMP '2024-01-03 01:00:00'");
+        assertTrue(plan.contains("IDX_GAMES_CREATED_AT"), plan);
+    }
+
+    @Test
+    public void archiveCandidatesUseFinishedAtIndex() throws Exception {
+        String plan = explain("SELECT id FROM games WHERE status IN ('DRAW', 'MATE') "
+                + "AND finished_at < TIMESTAMP WITH TIME ZONE '2024-01-01 02:00:00+00' AND rating_pending = FALSE "
+                + "ORDER BY id LIMIT 500");
+        assertTrue(plan.contains("IDX_GAMES_STATUS_FINISHED_AT"), plan);
+    }
+
+    @Test
+    public void archivedGamesByPlayerUsePlayerIndexes() throws Exception {
+        String white = explain("SELECT id FROM archived_games WHERE white_player_id = 7");
+        assertTrue(white.contains("IDX_ARCHIVED_GAMES_WHITE_PLAYER_ID"), white);
+        String black = explain("SELECT id FROM archived_games WHERE black_player_id = 7");
+        assertTrue(black.contains("IDX_ARCHIVED_GAMES_BLACK_PLAYER_ID"), black);
+    }
+
+    @Test
+    public void movesAreKeyedByGameAndIndex() throws Exception {
+        String plan = explain("SELECT move_notation FROM game_moves WHERE game_id = 1 ORDER BY move_index");
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    public void positionSearchUsesHashIndex() throws Exception {
+        String plan = explain("SELECT DISTINCT game_id FROM game_positions WHERE position_hash = 42 AND game_id > 0 "
+                + "ORDER BY game_id LIMIT 50");
+        assertTrue(plan.contains("IDX_GAME_POSITIONS_HASH_GAME"), plan);
+    }
+
+    @Test
+    public void duplicateLookupUsesContentHashIndexes() throws Exception {
+        String live = explain("SELECT content_hash FROM games WHERE content_hash IN (1, 2, 3)");
+        assertTrue(live.contains("UK_GAMES_CONTENT_HASH"), live);
+        String archived = explain("SELECT content_hash FROM archived_games WHERE content_hash IN (1, 2, 3)");
+        assertTrue(archived.contains("IDX_ARCHIVED_GAMES_CONTENT_HASH"), archived);
+    }
+
+    @Test
+    public void annotationsAreKeyedByGameAndPly() throws Exception {
+        String plan = explain("SELECT * FROM move_annotations WHERE game_id = 1 ORDER BY ply");
+        assertTrue(plan.contains("UK_MOVE_ANNOTATIONS_GAME_PLY"), plan);
+    }
+
+    @Test
+    public void flaggedPlayersUseFlaggedIndex() throws Exception {
+        String plan = explain("SELECT * FROM player_cheat_reports WHERE flagged = TRUE ORDER BY match_rate DESC");
+        assertTrue(plan.contains("IDX_PLAYER_CHEAT_REPORTS_FLAGGED"), plan);
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+            StringBuilder plan = new StringBuilder();
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+            return plan.toString().toUpperCase();
+        }
+    }
+}
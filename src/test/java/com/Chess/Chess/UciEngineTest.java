@@ -0,0 +1,144 @@
+package com.Chess.Chess;
+
+import com.chess.engine.Engine;
+import com.chess.engine.EnginePool;
+import com.chess.engine.PonderSearch;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+import com.chess.engine.uci.UciEngine;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test del puente UCI con un motor falso (src/test/resources/fake-uci-engine.sh):
+ * arranque, búsqueda, corte por tiempo, motor colgado, reutilización del pool
+ * y búsqueda durante el turno del rival
+ */
+public class UciEngineTest {
+
+    private static final List<String> COMMAND = List.of("sh", "src/test/resources/fake-uci-engine.sh");
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DEL PUENTE UCI ===");
+
+        // Test 1: Arranque y búsqueda
+        System.out.println("\n1. BÚSQUEDA:");
+        try (UciEngine engine = new UciEngine("fake", COMMAND, Map.of("Hash", "32"), 300)) {
+            check("Nombre del motor leído del handshake", engine.getName().equals("fake (FakeUci)"));
+            SearchResult start = engine.search(List.of(), SearchLimits.of(5, 200));
+            System.out.println("  Resultado: " + start);
+            check("Jugada y respuesta esperada", "e2e4".equals(start.bestMove()) && "e7e5".equals(start.ponderMove()));
+            check("Mate en 3 traducido a puntuación", start.isMate() && start.mateIn() == 3);
+            SearchResult reply = engine.search(List.of("e2e4"), SearchLimits.of(5, 200));
+            check("Posición enviada con las jugadas", "e7e5".equals(reply.bestMove()) && reply.score() == -20
+                    && reply.pv().equals(List.of("e7e5", "g1f3")) && reply.nodes() == 1500);
+        }
+
+        // Test 2: El motor que no contesta a tiempo recibe "stop" y devuelve su jugada
+        System.out.println("\n2. CORTE POR TIEMPO:");
+        try (UciEngine engine = new UciEngine("fake", COMMAND, Map.of(), 200)) {
+            long start = System.nanoTime();
+            SearchResult result = engine.search(List.of(), SearchLimits.of(64, 100));
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("  Resultado tras " + elapsed + " ms: " + result);
+            check("Jugada tras el stop", "d2d4".equals(result.bestMove()) && result.depth() == 5);
+            check("Respeta el plazo más el margen", elapsed < 100 + 200 + 150);
+            check("Sigue utilizable", engine.isAlive()
+                    && "e2e4".equals(engine.search(List.of(), SearchLimits.of(5, 100)).bestMove()));
+        }
+
+        // Test 3: Motor colgado: se descarta y el pool arranca otro
+        System.out.println("\n3. POOL DE MOTORES:");
+        try (EnginePool pool = new EnginePool(1, index -> new UciEngine("fake-" + index, COMMAND, Map.of(), 100))) {
+            Engine first = pool.borrow(1000);
+            first.search(List.of(), SearchLimits.of(5, 100));
+            pool.release(first, false);
+            Engine again = pool.borrow(1000);
+            check("El motor libre se reutiliza", again == first && pool.getCreatedCount() == 1);
+
+            try {
+                again.search(List.of(), SearchLimits.of(63, 50));
+                System.out.println("  ❌ El motor colgado devolvió resultado");
+            } catch (IllegalStateException e) {
+                System.out.println("  ✅ Motor colgado detectado: " + e.getMessage());
+            }
+            check("El motor colgado queda inutilizable", !again.isAlive());
+            pool.release(again, true);
+
+            Engine replacement = pool.borrow(1000);
+            check("Se arranca un motor nuevo", replacement != again && pool.getCreatedCount() == 2
+                    && "e2e4".equals(replacement.search(List.of(), SearchLimits.of(5, 100)).bestMove()));
+
+            try {
+                pool.borrow(50);
+                System.out.println("  ❌ Préstamo por encima del tamaño del pool");
+            } catch (IllegalStateException e) {
+                System.out.println("  ✅ Pool lleno: " + e.getMessage());
+            }
+            pool.release(replacement, false);
+        }
+
+        // Test 4: Búsqueda durante el turno del rival (acierto inmediato, acierto con plazo, fallo)
+        System.out.println("\n4. PENSAR EN EL TURNO DEL RIVAL:");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (EnginePool pool = new EnginePool(1, index -> new UciEngine("fake-" + index, COMMAND, Map.of(), 200))) {
+            // Búsqueda que no termina sola: la respuesta inmediata podría devolver el motor antes de comprobarlo
+            PonderSearch busy = PonderSearch.start(pool, List.of(), SearchLimits.of(64, 5000), executor);
+            check("La búsqueda ocupa el motor", busy != null
+                    && PonderSearch.start(pool, List.of("d2d4"), SearchLimits.of(5, 5000), executor) == null);
+            busy.cancel();
+            check("El motor vuelve al pool", waitIdle(pool));
+
+            PonderSearch ready = PonderSearch.start(pool, List.of("e2e4"), SearchLimits.of(5, 5000), executor);
+            long start = System.nanoTime();
+            SearchResult hit = ready.await(500);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            check("Acierto: respuesta ya calculada (" + elapsed + " ms)", hit != null
+                    && "e7e5".equals(hit.bestMove()) && ready.isFor(List.of("e2e4")) && elapsed < 200);
+            check("El motor vuelve al pool", waitIdle(pool));
+
+            PonderSearch slow = PonderSearch.start(pool, List.of(), SearchLimits.of(64, 5000), executor);
+            start = System.nanoTime();
+            SearchResult late = slow.await(100);
+            elapsed = (System.nanoTime() - start) / 1_000_000;
+            check("Acierto con búsqueda larga: se corta al agotar el plazo (" + elapsed + " ms)",
+                    late != null && "d2d4".equals(late.bestMove()) && elapsed < 400);
+            check("El motor vuelve al pool", waitIdle(pool));
+
+            PonderSearch miss = PonderSearch.start(pool, List.of(), SearchLimits.of(64, 5000), executor);
+            Thread.sleep(50);
+            miss.cancel();
+            check("Fallo: se cancela sin resultado", miss.await(1000) == null);
+            check("El mismo motor vuelve al pool", waitIdle(pool) && pool.getCreatedCount() == 1);
+
+            // El corte puede llegar antes de que el executor arranque la búsqueda: no se pierde
+            PonderSearch early = PonderSearch.start(pool, List.of(), SearchLimits.of(64, 5000), executor);
+            early.cancel();
+            start = System.nanoTime();
+            SearchResult none = early.await(2000);
+            elapsed = (System.nanoTime() - start) / 1_000_000;
+            check("Corte antes de empezar: termina sin agotar el plazo (" + elapsed + " ms)",
+                    none == null && elapsed < 1000);
+            check("El motor vuelve al pool", waitIdle(pool));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean waitIdle(EnginePool pool) throws InterruptedException {
+        for (int i = 0; i < 100 && pool.getIdleCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+        return pool.getIdleCount() == 1;
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
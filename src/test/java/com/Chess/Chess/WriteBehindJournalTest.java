@@ -0,0 +1,67 @@
+package com.Chess.Chess;
+
+import com.chess.model.Game;
+import com.chess.model.GameStatus;
+import com.chess.model.MoveTimes;
+import com.chess.model.PlayerColor;
+import com.chess.model.Winner;
+import com.chess.service.WriteBehindGameStore;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test de la reaplicación del diario de la persistencia diferida (write-behind) tras un reinicio
+ */
+public class WriteBehindJournalTest {
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL DIARIO DE MOVIMIENTOS ===");
+
+        // Test 1: Líneas con y sin tiempo por movimiento
+        System.out.println("\n1. LÍNEAS DE 11 Y 10 CAMPOS:");
+        Game game = new Game(PlayerColor.WHITE, 300, 300);
+        replay(game, "7|1|e2e4|298|300|BLACK|active|NONE|1700000000000||1850");
+        check("Movimiento con tiempo reaplicado", game.getMoves().equals(List.of("e2e4"))
+                && game.getMoveTimes()[0] == 1850);
+        check("Relojes, turno y hora del último movimiento",
+                game.getWhiteClock() == 298 && game.getTurnEnum() == PlayerColor.BLACK
+                        && game.getLastMoveTimestamp().toEpochMilli() == 1700000000000L);
+        replay(game, "7|2|e7e5|298|295|WHITE|active|NONE|1700000005000|");
+        check("Línea antigua de 10 campos: tiempo desconocido",
+                game.getMoves().equals(List.of("e2e4", "e7e5"))
+                        && game.getMoveTimes()[1] == MoveTimes.UNKNOWN && game.getBlackClock() == 295);
+
+        // Test 2: Líneas que el volcado ya cubría
+        System.out.println("\n2. LÍNEAS YA VOLCADAS:");
+        replay(game, "7|1|e2e4|298|300|BLACK|active|NONE|1700000000000||1850");
+        check("Un movimiento ya volcado no se repite ni retrocede el estado",
+                game.getMoves().size() == 2 && game.getTurnEnum() == PlayerColor.WHITE && game.getBlackClock() == 295);
+        replay(game, "7|5|g1f3|290|295|BLACK|active|NONE|1700000009000||700");
+        check("Un hueco en la secuencia no aplica el movimiento", game.getMoves().size() == 2
+                && game.getWhiteClock() == 298);
+
+        // Test 3: Cambio de estado sin movimiento
+        System.out.println("\n3. LÍNEA SOLO DE ESTADO:");
+        replay(game, "7|2||298|295|WHITE|active|NONE|1700000005000|BLACK|");
+        check("Oferta de tablas sin movimiento", game.getMoves().size() == 2
+                && game.getDrawOfferedBy() == PlayerColor.BLACK);
+        replay(game, "7|2||0|295|WHITE|timeout|BLACK|1700000005000||");
+        check("Derrota por tiempo", game.getStatusEnum() == GameStatus.TIMEOUT && game.getWinner() == Winner.BLACK
+                && game.getWhiteClock() == 0 && game.getMoves().size() == 2 && game.getDrawOfferedBy() == null);
+
+        // Test 4: Escrituras interrumpidas
+        System.out.println("\n4. LÍNEAS INCOMPLETAS:");
+        check("Línea cortada descartada",
+                WriteBehindGameStore.parseRecord("7|3|g1f3|290|295|BLACK|act") == null);
+        check("Línea completa aceptada", Arrays.asList(
+                WriteBehindGameStore.parseRecord("7|3|g1f3|290|295|BLACK|active|NONE|1||")).size() == 11);
+    }
+
+    private static void replay(Game game, String line) {
+        WriteBehindGameStore.replay(game, WriteBehindGameStore.parseRecord(line));
+    }
+
+    private static void check(String label, boolean ok) {
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + label);
+    }
+}
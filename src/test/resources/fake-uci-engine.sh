@@ -0,0 +1,44 @@
+#!/bin/sh
+# Motor UCI de pruebas: responde al protocolo sin calcular nada.
+#   go ... depth 64  -> no contesta hasta recibir "stop" (prueba del corte por tiempo)
+#   go ... depth 63  -> no contesta nunca (prueba del motor colgado)
+#   position ... moves ... e2e4 -> responde con e7e5; en otro caso, e2e4
+last=""
+searching=""
+while read -r line; do
+    case "$line" in
+        uci)
+            echo "id name FakeUci"
+            echo "id author pruebas"
+            echo "option name Hash type spin default 16 min 1 max 1024"
+            echo "uciok" ;;
+        isready)
+            echo "readyok" ;;
+        position*)
+            case "$line" in
+                *moves*) last="${line##* }" ;;
+                *) last="" ;;
+            esac ;;
+        go*depth\ 63*)
+            searching="hang" ;;
+        go*depth\ 64*)
+            searching="stop" ;;
+        go*)
+            if [ "$last" = "e2e4" ]; then
+                echo "info depth 3 score cp -20 nodes 1500 pv e7e5 g1f3"
+                echo "bestmove e7e5 ponder g1f3"
+            else
+                echo "info depth 1 score cp 10 nodes 20 pv e2e4"
+                echo "info depth 2 score mate 3 nodes 400 pv e2e4 e7e5 d1h5"
+                echo "bestmove e2e4 ponder e7e5"
+            fi ;;
+        stop)
+            if [ "$searching" = "stop" ]; then
+                echo "info depth 5 score cp 33 nodes 9000 pv d2d4"
+                echo "bestmove d2d4"
+            fi
+            searching="" ;;
+        quit)
+            exit 0 ;;
+    esac
+done